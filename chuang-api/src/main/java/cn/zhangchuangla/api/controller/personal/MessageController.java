@@ -2,6 +2,7 @@ package cn.zhangchuangla.api.controller.personal;
 
 import cn.zhangchuangla.common.core.base.BaseController;
 import cn.zhangchuangla.common.core.entity.base.AjaxResult;
+import cn.zhangchuangla.common.core.entity.base.CursorPage;
 import cn.zhangchuangla.common.core.entity.base.TableDataResult;
 import cn.zhangchuangla.common.core.utils.Assert;
 import cn.zhangchuangla.system.message.model.dto.UserMessageDto;
@@ -63,6 +64,28 @@ public class MessageController extends BaseController {
         return getTableData(sysMessagePage, userMessageListVos, extra);
     }
 
+    /**
+     * 游标分页获取用户消息列表。
+     *
+     * <p>不返回总记录数，使用返回的 nextCursor 作为下一页的 after 参数。</p>
+     *
+     * @param request 查询与分页参数
+     * @return 表格数据，包含列表、下一页游标与扩展的已读/未读统计
+     */
+    @GetMapping("/list/cursor")
+    @Operation(summary = "游标分页获取用户消息列表")
+    public AjaxResult<TableDataResult> listUserMessageByCursor(@Parameter(description = "消息列表查询，包含游标和筛选条件")
+                                                               @ParameterObject UserMessageListQueryRequest request) {
+        CursorPage<UserMessageDto> messagePage = messageQueryService.listUserMessageByCursor(request);
+        UserMessageReadCountDto userMessageReadCountDto = messageQueryService.getUserMessageReadCount();
+
+        Map<String, Object> extra = new HashMap<>();
+        extra.put("read", userMessageReadCountDto.getRead());
+        extra.put("unread", userMessageReadCountDto.getUnRead());
+        List<UserMessageListVo> userMessageListVos = copyListProperties(messagePage.getRecords(), UserMessageListVo.class);
+        return getTableData(messagePage, userMessageListVos, extra);
+    }
+
 
     /**
      * 根据消息ID获取消息详情。
@@ -2,6 +2,7 @@ package cn.zhangchuangla.api.controller.system;
 
 import cn.zhangchuangla.common.core.base.BaseController;
 import cn.zhangchuangla.common.core.entity.base.AjaxResult;
+import cn.zhangchuangla.common.core.entity.base.CursorPage;
 import cn.zhangchuangla.common.core.entity.base.TableDataResult;
 import cn.zhangchuangla.common.core.enums.BusinessType;
 import cn.zhangchuangla.common.core.utils.Assert;
@@ -59,6 +60,26 @@ public class LoginLogController extends BaseController {
         return getTableData(sysLoginLogPage, sysLoginLogListVos);
     }
 
+    /**
+     * 游标分页获取登录日志列表
+     * <p>
+     * 不返回总记录数，使用返回的 nextCursor 作为下一页的 after 参数，翻页深度不影响查询耗时。
+     * </p>
+     *
+     * @param request 登录日志列表查询参数
+     * @return 登录日志列表
+     */
+    @GetMapping("/list/cursor")
+    @Operation(summary = "游标分页获取登录日志列表")
+    @PreAuthorize("@ss.hasPermission('system:log-login:list')")
+    public AjaxResult<TableDataResult> listLoginLogByCursor(@Parameter(description = "登录日志列表查询参数")
+                                                            @Validated @ParameterObject SysLoginLogQueryRequest request) {
+        CursorPage<SysLoginLog> sysLoginLogPage = sysLoginLogService.listLoginLogByCursor(request);
+        List<SysLoginLogListVo> sysLoginLogListVos = copyListProperties(sysLoginLogPage.getRecords(),
+                SysLoginLogListVo.class);
+        return getTableData(sysLoginLogPage, sysLoginLogListVos);
+    }
+
 
     /**
      * 导出登录日志
@@ -71,9 +92,11 @@ public class LoginLogController extends BaseController {
     @PreAuthorize("@ss.hasPermission('system:log-login:export')")
     @OperationLog(title = "登录日志", businessType = BusinessType.EXPORT)
     public void exportStorageConfig(@RequestBody(required = false) SysLoginLogQueryRequest request, HttpServletResponse response) {
-        List<SysLoginLog> loginLogs = sysLoginLogService.exportLoginLog(request);
-        List<SysLoginLogVo> storageConfigListVos = copyListProperties(loginLogs, SysLoginLogVo.class);
-        excelExporter.exportExcel(response, storageConfigListVos, SysLoginLogVo.class, "存储配置列表");
+        try (ExcelExporter.StreamWriter<SysLoginLogVo> writer =
+                     excelExporter.openStream(response, SysLoginLogVo.class, "存储配置列表")) {
+            sysLoginLogService.exportLoginLog(request,
+                    context -> writer.write(copyProperties(context.getResultObject(), SysLoginLogVo.class)));
+        }
     }
 
     /**
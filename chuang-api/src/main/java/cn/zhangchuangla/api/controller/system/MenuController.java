@@ -47,8 +47,7 @@ public class MenuController extends BaseController {
     @GetMapping("/route")
     public AjaxResult<List<RouterVo>> getRoute() {
         Set<String> roles = getRoles();
-        List<SysMenu> list = sysMenuService.listMenuByRoleName(roles);
-        List<RouterVo> routerVos = sysMenuService.buildRouteVo(list);
+        List<RouterVo> routerVos = sysMenuService.listRouteByRoles(roles);
         return AjaxResult.success(routerVos);
     }
 
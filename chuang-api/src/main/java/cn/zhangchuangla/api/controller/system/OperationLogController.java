@@ -2,6 +2,7 @@ package cn.zhangchuangla.api.controller.system;
 
 import cn.zhangchuangla.common.core.base.BaseController;
 import cn.zhangchuangla.common.core.entity.base.AjaxResult;
+import cn.zhangchuangla.common.core.entity.base.CursorPage;
 import cn.zhangchuangla.common.core.entity.base.TableDataResult;
 import cn.zhangchuangla.common.core.enums.BusinessType;
 import cn.zhangchuangla.common.core.utils.Assert;
@@ -61,6 +62,26 @@ public class OperationLogController extends BaseController {
         return getTableData(sysOperationLogPage, sysOperationLogListVos);
     }
 
+    /**
+     * 游标分页获取操作日志列表
+     * <p>
+     * 不返回总记录数，使用返回的 nextCursor 作为下一页的 after 参数，翻页深度不影响查询耗时。
+     * </p>
+     *
+     * @param request 操作日志列表查询参数
+     * @return 操作日志列表
+     */
+    @GetMapping("/list/cursor")
+    @Operation(summary = "游标分页获取操作日志列表")
+    @PreAuthorize("@ss.hasPermission('system:log-operation:list')")
+    public AjaxResult<TableDataResult> listOperationLogByCursor(@Parameter(description = "操作日志列表查询参数")
+                                                                @Validated @ParameterObject SysOperationLogQueryRequest request) {
+        CursorPage<SysOperationLog> sysOperationLogPage = sysOperationLogService.listOperationLogByCursor(request);
+        List<SysOperationLogListVo> sysOperationLogListVos = copyListProperties(sysOperationLogPage.getRecords(),
+                SysOperationLogListVo.class);
+        return getTableData(sysOperationLogPage, sysOperationLogListVos);
+    }
+
     /**
      * 导出操作日志
      */
@@ -71,9 +92,11 @@ public class OperationLogController extends BaseController {
     public void exportOperationLog(@Parameter(description = "登录日志导出")
                                        @RequestBody(required = false) SysOperationLogQueryRequest request,
                                    HttpServletResponse response) {
-        List<SysOperationLog> sysOperationLogs = sysOperationLogService.exportOperationLog(request);
-        List<SysOperationLogVo> sysOperationLogVos = copyListProperties(sysOperationLogs, SysOperationLogVo.class);
-        excelExporter.exportExcel(response, sysOperationLogVos, SysOperationLogVo.class, "操作日志");
+        try (ExcelExporter.StreamWriter<SysOperationLogVo> writer =
+                     excelExporter.openStream(response, SysOperationLogVo.class, "操作日志")) {
+            sysOperationLogService.exportOperationLog(request,
+                    context -> writer.write(copyProperties(context.getResultObject(), SysOperationLogVo.class)));
+        }
     }
 
     /**
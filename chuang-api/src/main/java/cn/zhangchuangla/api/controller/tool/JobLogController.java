@@ -101,8 +101,10 @@ public class JobLogController extends BaseController {
     @OperationLog(title = "定时任务日志", businessType = BusinessType.EXPORT)
     public void exportJobLog(@Parameter(description = "定时任务日志查询参数") @RequestBody(required = false) SysJobLogQueryRequest request,
                              HttpServletResponse response) {
-        List<SysJobLog> sysJobLogPage = sysJobLogService.exportJobLogList(request);
-        List<SysJobLogVo> sysJobLogVos = copyListProperties(sysJobLogPage, SysJobLogVo.class);
-        excelExporter.exportExcel(response, sysJobLogVos, SysJobLogVo.class, "定时任务日志列表");
+        try (ExcelExporter.StreamWriter<SysJobLogVo> writer =
+                     excelExporter.openStream(response, SysJobLogVo.class, "定时任务日志列表")) {
+            sysJobLogService.exportJobLogList(request,
+                    context -> writer.write(copyProperties(context.getResultObject(), SysJobLogVo.class)));
+        }
     }
 }
@@ -0,0 +1,116 @@
+package cn.zhangchuangla.benchmark;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 基准测试结果对比工具
+ * <p>
+ * 读取 JMH 的 JSON 结果，与基线逐项对比。吞吐量模式下分数越高越好，其余模式分数越低越好；
+ * 性能下降超过阈值的项目视为回归，存在回归时抛出异常使构建失败。
+ * 基线不存在时，要求基线（CI环境）则抛出异常，否则只打印本次结果，可将结果文件复制为基线后提交。
+ * </p>
+ * <pre>
+ * 用法: BenchmarkComparator &lt;基线文件&gt; &lt;结果文件&gt; [阈值百分比，默认10] [是否要求基线，默认false]
+ * </pre>
+ *
+ * @author Chuang
+ */
+public final class BenchmarkComparator {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+    private BenchmarkComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("用法: BenchmarkComparator <基线文件> <结果文件> [阈值百分比] [是否要求基线]");
+        }
+        Path baselinePath = Path.of(args[0]);
+        Path resultPath = Path.of(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        // 属性未设置时 Maven 原样传入占位符，按false处理
+        boolean requireBaseline = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        Map<String, Score> current = read(resultPath);
+        if (!Files.exists(baselinePath)) {
+            if (requireBaseline) {
+                throw new IllegalStateException(String.format("基线文件不存在: %s，无法进行回归对比。"
+                        + "请在CI所用的机器上运行基准测试，将 %s 复制为基线后提交", baselinePath, resultPath));
+            }
+            System.out.printf("基线文件不存在: %s，本次共 %d 项结果，可复制 %s 作为基线%n",
+                    baselinePath, current.size(), resultPath);
+            return;
+        }
+        Map<String, Score> baseline = read(baselinePath);
+
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-90s %15s %15s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null || before.value() == 0) {
+                System.out.printf("%-90s %15s %15.3f %9s%n", entry.getKey(), "-", now.value(), "new");
+                continue;
+            }
+            double change = (now.value() - before.value()) / before.value() * 100;
+            // 非吞吐量模式分数越低越好，统一换算为“正数表示变好”
+            double improvement = now.higherIsBetter() ? change : -change;
+            String flag = improvement < -threshold ? " REGRESSION" : "";
+            System.out.printf("%-90s %15.3f %15.3f %+8.1f%%%s%n", entry.getKey(), before.value(), now.value(),
+                    change, flag);
+            if (!flag.isEmpty()) {
+                regressions.add(String.format("%s (%+.1f%%)", entry.getKey(), change));
+            }
+        }
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> System.out.printf("%-90s %15.3f %15s %9s%n", key, baseline.get(key).value(), "-", "missing"));
+
+        if (!regressions.isEmpty()) {
+            throw new IllegalStateException("以下基准测试性能下降超过 " + threshold + "%: " + String.join(", ", regressions));
+        }
+        System.out.printf("未发现超过 %.1f%% 的性能回归%n", threshold);
+    }
+
+    /**
+     * 读取 JMH JSON 结果，以“基准方法+参数+模式”作为键
+     */
+    private static Map<String, Score> read(Path path) throws IOException {
+        JSONArray results = JSON.parseArray(Files.readString(path, StandardCharsets.UTF_8));
+        Map<String, Score> scores = new TreeMap<>();
+        for (int i = 0; i < results.size(); i++) {
+            JSONObject result = results.getJSONObject(i);
+            String mode = result.getString("mode");
+            StringBuilder key = new StringBuilder(result.getString("benchmark"));
+            JSONObject params = result.getJSONObject("params");
+            if (params != null && !params.isEmpty()) {
+                key.append(new TreeMap<>(params));
+            }
+            key.append(" [").append(mode).append(']');
+            JSONObject primaryMetric = result.getJSONObject("primaryMetric");
+            scores.put(key.toString(), new Score(primaryMetric.getDoubleValue("score"), "thrpt".equals(mode)));
+        }
+        return scores;
+    }
+
+    /**
+     * 单项分数
+     *
+     * @param value          分数
+     * @param higherIsBetter 是否越高越好
+     */
+    private record Score(double value, boolean higherIsBetter) {
+    }
+}
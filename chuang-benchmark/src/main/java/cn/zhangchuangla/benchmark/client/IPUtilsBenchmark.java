@@ -0,0 +1,66 @@
+package cn.zhangchuangla.benchmark.client;
+
+import cn.zhangchuangla.benchmark.support.BenchmarkFixtures;
+import cn.zhangchuangla.common.core.utils.client.IPUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IP工具基准测试
+ * <p>
+ * 覆盖代理头解析和 ip2region 归属地查询，查询使用整库缓存模式与结果缓存，与默认配置一致。
+ * </p>
+ *
+ * @author Chuang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IPUtilsBenchmark {
+
+    private static final String[] PUBLIC_IPS = {
+            "114.114.114.114", "223.5.5.5", "119.29.29.29", "180.76.76.76", "1.2.4.8",
+            "8.8.8.8", "101.226.4.6", "123.125.81.6", "140.207.198.6", "61.139.2.69"
+    };
+
+    private MockHttpServletRequest proxiedRequest;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        IPUtils ipUtils = new IPUtils();
+        BenchmarkFixtures.inject(ipUtils, "mode", "buffer");
+        BenchmarkFixtures.inject(ipUtils, "cacheSize", 10000L);
+        ipUtils.init();
+
+        proxiedRequest = new MockHttpServletRequest("GET", "/system/user/list");
+        proxiedRequest.addHeader("X-Forwarded-For", "unknown, 114.114.114.114, 10.0.0.1");
+        proxiedRequest.setRemoteAddr("10.0.0.2");
+    }
+
+    @Benchmark
+    public String ipAddress() {
+        return IPUtils.getIpAddress(proxiedRequest);
+    }
+
+    @Benchmark
+    public String regionPublic() {
+        index = (index + 1) % PUBLIC_IPS.length;
+        return IPUtils.getRegion(PUBLIC_IPS[index]);
+    }
+
+    @Benchmark
+    public String regionPrivate() {
+        return IPUtils.getRegion("192.168.1.10");
+    }
+
+    @Benchmark
+    public String regionIpv6() {
+        return IPUtils.getRegion("2408:8207:2440:4bb0::1");
+    }
+}
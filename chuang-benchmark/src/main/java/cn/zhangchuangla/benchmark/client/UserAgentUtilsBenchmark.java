@@ -0,0 +1,53 @@
+package cn.zhangchuangla.benchmark.client;
+
+import cn.zhangchuangla.benchmark.support.BenchmarkFixtures.UserAgents;
+import cn.zhangchuangla.common.core.entity.device.BrowserDevice;
+import cn.zhangchuangla.common.core.utils.client.UserAgentUtils;
+import eu.bitwalker.useragentutils.UserAgent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User-Agent解析基准测试
+ *
+ * @author Chuang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserAgentUtilsBenchmark {
+
+    @Param({"chrome", "safari", "wechat"})
+    public String client;
+
+    private String userAgent;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        userAgent = switch (client) {
+            case "safari" -> UserAgents.SAFARI_IPHONE;
+            case "wechat" -> UserAgents.WECHAT_ANDROID;
+            default -> UserAgents.CHROME_WINDOWS;
+        };
+    }
+
+    /**
+     * 带缓存的完整解析，对应登录日志和操作日志的调用方式
+     */
+    @Benchmark
+    public BrowserDevice parseCached() {
+        return UserAgentUtils.parse(userAgent);
+    }
+
+    /**
+     * 不经过缓存的底层解析
+     */
+    @Benchmark
+    public UserAgent parseUncached() {
+        return UserAgentUtils.parseUserAgent(userAgent);
+    }
+}
@@ -0,0 +1,123 @@
+package cn.zhangchuangla.benchmark.excel;
+
+import cn.zhangchuangla.benchmark.support.CountingRedisCache;
+import cn.zhangchuangla.common.excel.annotation.Excel;
+import cn.zhangchuangla.common.excel.core.DictDataHandler;
+import cn.zhangchuangla.common.excel.core.DictLabelSource;
+import cn.zhangchuangla.common.excel.utils.ExcelExporter;
+import lombok.Data;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 带字典列的Excel导出基准测试
+ * <p>
+ * 3个字典列的实体，Redis替身始终未命中，字典数据由内存数据源提供，两者都统计调用次数。
+ * exportCached 对应字典缓存已加载的常态；exportAfterInvalidation 在每次导出前清空本地缓存，
+ * 对应字典刚发生变更的情况，每次导出只会对Redis和数据源各访问一次。
+ * 测量结束时校验访问次数不超过导出次数，即字典标签解析没有按行访问Redis或数据库。
+ * </p>
+ *
+ * @author Chuang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExcelDictExportBenchmark {
+
+    private static final int ROWS = 10000;
+
+    private static final Map<String, Map<String, String>> DICT_LABELS = Map.of(
+            "sys_user_sex", Map.of("0", "男", "1", "女", "2", "未知"),
+            "sys_normal_disable", Map.of("0", "正常", "1", "停用"),
+            "sys_notice_type", Map.of("1", "通知", "2", "公告", "3", "提醒"));
+
+    private final AtomicLong redisCalls = new AtomicLong();
+    private final AtomicLong sourceCalls = new AtomicLong();
+    private final AtomicLong exports = new AtomicLong();
+
+    private DictDataHandler dictDataHandler;
+    private ExcelExporter excelExporter;
+    private List<DictRow> rows;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        DictLabelSource dictLabelSource = dictTypes -> {
+            sourceCalls.incrementAndGet();
+            return DICT_LABELS;
+        };
+        dictDataHandler = new DictDataHandler(CountingRedisCache.create(redisCalls), null, dictLabelSource, 500, 3600);
+        excelExporter = new ExcelExporter(dictDataHandler);
+        rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(DictRow.sample(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void verifyNoPerRowLookups() {
+        long exportCount = exports.get();
+        if (redisCalls.get() > exportCount || sourceCalls.get() > exportCount) {
+            throw new IllegalStateException(String.format("字典标签解析按行访问了外部存储: 导出 %d 次，Redis %d 次，数据源 %d 次",
+                    exportCount, redisCalls.get(), sourceCalls.get()));
+        }
+        System.out.printf("导出 %d 次（共 %d 行），Redis访问 %d 次，数据源访问 %d 次%n",
+                exportCount, exportCount * ROWS, redisCalls.get(), sourceCalls.get());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void exportCached() {
+        exports.incrementAndGet();
+        excelExporter.exportExcel(OutputStream.nullOutputStream(), rows, DictRow.class, "benchmark");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void exportAfterInvalidation() {
+        exports.incrementAndGet();
+        dictDataHandler.clearAllLocalCache();
+        excelExporter.exportExcel(OutputStream.nullOutputStream(), rows, DictRow.class, "benchmark");
+    }
+
+    /**
+     * 带字典列的导出实体
+     */
+    @Data
+    public static class DictRow {
+
+        @Excel(name = "编号", sort = 1)
+        private Long id;
+
+        @Excel(name = "用户名", sort = 2)
+        private String username;
+
+        @Excel(name = "性别", sort = 3, dictKey = "sys_user_sex")
+        private Integer gender;
+
+        @Excel(name = "状态", sort = 4, dictKey = "sys_normal_disable")
+        private Integer status;
+
+        @Excel(name = "通知类型", sort = 5, dictKey = "sys_notice_type")
+        private String noticeType;
+
+        static DictRow sample(int i) {
+            DictRow row = new DictRow();
+            row.setId((long) i);
+            row.setUsername("user" + i);
+            row.setGender(i % 3);
+            row.setStatus(i % 2);
+            row.setNoticeType(String.valueOf(1 + i % 3));
+            return row;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package cn.zhangchuangla.benchmark.redis;
+
+import cn.zhangchuangla.benchmark.support.BenchmarkFixtures;
+import cn.zhangchuangla.common.core.entity.Option;
+import cn.zhangchuangla.common.redis.config.FastJson2JsonRedisSerializer;
+import cn.zhangchuangla.common.redis.config.FastJson2JsonbRedisSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis序列化基准测试
+ * <p>
+ * 对比JSON与JSONB两种格式的序列化和反序列化开销，载荷为缓存中常见的三类值：
+ * 在线用户对象、权限标识集合 {@code Set<String>} 以及下拉选项列表 {@code List<Option<String>>}。
+ * 序列化方法通过 {@link SerializedSize} 报告每个值序列化后的字节数，用于对比两种格式的Redis内存占用。
+ * </p>
+ *
+ * @author Chuang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    @Param({"onlineLoginUser", "stringSet", "optionList"})
+    private String payloadType;
+
+    private FastJson2JsonRedisSerializer<Object> jsonSerializer;
+    private FastJson2JsonbRedisSerializer<Object> jsonbSerializer;
+    private Object payload;
+    private byte[] jsonBytes;
+    private byte[] jsonbBytes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        jsonSerializer = new FastJson2JsonRedisSerializer<>(Object.class);
+        jsonbSerializer = new FastJson2JsonbRedisSerializer<>(Object.class, true, null);
+        payload = switch (payloadType) {
+            case "onlineLoginUser" -> BenchmarkFixtures.onlineLoginUser("benchmark-token");
+            case "stringSet" -> permissionSet();
+            case "optionList" -> optionList();
+            default -> throw new IllegalArgumentException("未知的载荷类型: " + payloadType);
+        };
+        jsonBytes = jsonSerializer.serialize(payload);
+        jsonbBytes = jsonbSerializer.serialize(payload);
+    }
+
+    @Benchmark
+    public byte[] jsonSerialize(SerializedSize size) {
+        byte[] bytes = jsonSerializer.serialize(payload);
+        size.bytesPerValue = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object jsonDeserialize() {
+        return jsonSerializer.deserialize(jsonBytes);
+    }
+
+    @Benchmark
+    public byte[] jsonbSerialize(SerializedSize size) {
+        byte[] bytes = jsonbSerializer.serialize(payload);
+        size.bytesPerValue = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object jsonbDeserialize() {
+        return jsonbSerializer.deserialize(jsonbBytes);
+    }
+
+    /**
+     * 权限标识集合，与角色权限缓存中的值结构一致
+     */
+    private static Set<String> permissionSet() {
+        Set<String> permissions = new HashSet<>();
+        BenchmarkFixtures.rolePermissions(1, 50).forEach(row -> permissions.add(row.getValue()));
+        return permissions;
+    }
+
+    /**
+     * 下拉选项列表，与字典和菜单选项缓存中的值结构一致
+     */
+    private static List<Option<String>> optionList() {
+        List<Option<String>> options = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            options.add(new Option<>(String.valueOf(i), "选项" + i));
+        }
+        return options;
+    }
+
+    /**
+     * 每个值序列化后的字节数
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SerializedSize {
+
+        public long bytesPerValue;
+    }
+}
@@ -0,0 +1,56 @@
+package cn.zhangchuangla.benchmark.security;
+
+import cn.zhangchuangla.system.core.captcha.CaptchaImagePool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 图形验证码预生成池基准测试
+ * <p>
+ * 单线程测量请求线程取得一批验证码图片的耗时，即单核处理能力：
+ * 每批 {@value #BATCH} 次请求，每秒请求数 = {@value #BATCH} / 批耗时（秒）。
+ * 池化场景每轮测量前由同一线程预先填满池，对应突发流量到来时池中已有存货的情况；
+ * 同步场景关闭预生成池，每次请求都在请求线程渲染。
+ * </p>
+ *
+ * @author Chuang
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = CaptchaImagePoolBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = CaptchaImagePoolBenchmark.BATCH)
+@Threads(1)
+@Fork(1)
+public class CaptchaImagePoolBenchmark {
+
+    static final int BATCH = 500;
+
+    private CaptchaImagePool pooled;
+    private CaptchaImagePool synchronous;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // 不启动后台补充线程，池的填充由每轮测量前的Setup完成
+        pooled = new CaptchaImagePool(true, BATCH, BATCH, 1);
+        synchronous = new CaptchaImagePool(false, 1, 1, 1);
+    }
+
+    @Setup(Level.Iteration)
+    public void fillPool() {
+        while (pooled.refill() > 0) {
+            // 填满为止
+        }
+    }
+
+    @Benchmark
+    public CaptchaImagePool.CaptchaImage takePooled() {
+        return pooled.take();
+    }
+
+    @Benchmark
+    public CaptchaImagePool.CaptchaImage renderSynchronously() {
+        return synchronous.take();
+    }
+}
@@ -0,0 +1,87 @@
+package cn.zhangchuangla.benchmark.security;
+
+import cn.zhangchuangla.benchmark.support.BenchmarkFixtures;
+import cn.zhangchuangla.framework.security.property.SecurityProperties;
+import cn.zhangchuangla.framework.security.token.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT解析基准测试
+ * <p>
+ * 对比 {@link JwtTokenProvider#getClaimsFromToken(String)} 开启与关闭Claims缓存时的吞吐量：
+ * 关闭时每次都完整解析并进行HMAC验签，开启时热点令牌只复制缓存中的Claims。
+ * 所有线程共享同一个解析器和缓存，parse1Thread、parse8Threads、parse32Threads 分别以1、8、32个线程并发解析，
+ * 每个线程轮流解析 tokenCount 个不同的令牌，用于观察缓存在多线程竞争下的扩展性。
+ * </p>
+ *
+ * @author Chuang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    @Param({"true", "false"})
+    private boolean claimsCacheEnabled;
+
+    @Param({"1000"})
+    private int tokenCount;
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SecurityProperties securityProperties = BenchmarkFixtures.securityProperties();
+        securityProperties.setClaimsCacheEnabled(claimsCacheEnabled);
+        jwtTokenProvider = new JwtTokenProvider(securityProperties);
+        jwtTokenProvider.init();
+        tokens = new String[tokenCount];
+        for (int i = 0; i < tokenCount; i++) {
+            tokens[i] = jwtTokenProvider.createJwt("benchmark-token-" + i, "admin");
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Claims parse1Thread(Cursor cursor) {
+        return parse(cursor);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Claims parse8Threads(Cursor cursor) {
+        return parse(cursor);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Claims parse32Threads(Cursor cursor) {
+        return parse(cursor);
+    }
+
+    private Claims parse(Cursor cursor) {
+        return jwtTokenProvider.getClaimsFromToken(tokens[cursor.next(tokens.length)]);
+    }
+
+    /**
+     * 每个线程独立的令牌下标，各线程从不同位置开始轮询
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int index = (int) (Thread.currentThread().getId() * 31);
+
+        int next(int length) {
+            index = (index + 1) % length;
+            return index;
+        }
+    }
+}
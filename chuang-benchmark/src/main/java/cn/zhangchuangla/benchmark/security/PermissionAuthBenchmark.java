@@ -0,0 +1,76 @@
+package cn.zhangchuangla.benchmark.security;
+
+import cn.zhangchuangla.benchmark.support.BenchmarkFixtures;
+import cn.zhangchuangla.benchmark.support.InMemorySysMenuMapper;
+import cn.zhangchuangla.common.core.constant.SecurityConstants;
+import cn.zhangchuangla.common.core.entity.security.SysUserDetails;
+import cn.zhangchuangla.framework.security.component.PermissionAuth;
+import cn.zhangchuangla.system.core.cache.RolePermissionCache;
+import cn.zhangchuangla.system.core.service.impl.SysPermissionServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 权限校验基准测试
+ * <p>
+ * 角色权限索引由内存中的菜单Mapper替身加载，模拟50个角色、每个角色200个权限。
+ * </p>
+ *
+ * @author Chuang
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PermissionAuthBenchmark {
+
+    private PermissionAuth permissionAuth;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        RolePermissionCache rolePermissionCache = new RolePermissionCache(null, null,
+                InMemorySysMenuMapper.create(BenchmarkFixtures.rolePermissions(50, 200)));
+        SysPermissionServiceImpl sysPermissionService =
+                new SysPermissionServiceImpl(null, null, null, rolePermissionCache, null);
+        permissionAuth = new PermissionAuth(sysPermissionService);
+        // 预先加载快照，避免首次加载计入测量
+        rolePermissionCache.get();
+
+        Set<SimpleGrantedAuthority> authorities = Set.of(
+                new SimpleGrantedAuthority(SecurityConstants.ROLE_PREFIX + "role3"),
+                new SimpleGrantedAuthority(SecurityConstants.ROLE_PREFIX + "role7"));
+        SysUserDetails userDetails = new SysUserDetails();
+        userDetails.setUserId(1L);
+        userDetails.setUsername("admin");
+        userDetails.setAuthorities(authorities);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, authorities));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean granted() {
+        return permissionAuth.hasPermission("system:module12:action5");
+    }
+
+    @Benchmark
+    public boolean denied() {
+        return permissionAuth.hasPermission("system:unknown:action");
+    }
+
+    @Benchmark
+    public boolean specificRole() {
+        return permissionAuth.isSpecificRole("role7");
+    }
+}
@@ -0,0 +1,103 @@
+package cn.zhangchuangla.benchmark.security;
+
+import cn.zhangchuangla.benchmark.support.BenchmarkFixtures;
+import cn.zhangchuangla.common.core.enums.LimitAlgorithm;
+import cn.zhangchuangla.framework.limiter.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 限流器单次请求开销基准测试
+ * <p>
+ * 通过 {@link RateLimiterEngine} 调用各限流算法，Redis由替身代替：每次脚本调用计数并按 rttMicros 自旋模拟一次网络往返，
+ * 限流脚本总是放行，混合模式每次领取一整块配额。测量结束时打印每次请求平均访问Redis的次数。
+ * 本地令牌桶在突发用完后多数请求被拒绝，拒绝与放行的开销相同。
+ * </p>
+ *
+ * @author Chuang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final String KEY = "rate_limit:benchmark:/system/user/list";
+    private static final int MAX_COUNT = 10000;
+    private static final int PERIOD = 1;
+
+    @Param({"LOCAL_TOKEN_BUCKET", "HYBRID", "FIXED_WINDOW", "GCRA", "SLIDING_WINDOW_LOG"})
+    private LimitAlgorithm algorithm;
+
+    /**
+     * 模拟的单次网络往返时间（微秒）
+     */
+    @Param({"0", "100"})
+    private long rttMicros;
+
+    private final AtomicLong redisCalls = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+
+    private RateLimiterEngine engine;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StringRedisTemplate redisTemplate = new CountingScriptTemplate(redisCalls, TimeUnit.MICROSECONDS.toNanos(rttMicros));
+        LocalTokenBucketRateLimiter localLimiter = new LocalTokenBucketRateLimiter();
+        HybridRateLimiter hybridLimiter = new HybridRateLimiter(redisTemplate);
+        BenchmarkFixtures.inject(hybridLimiter, "chunkRatio", 0.1);
+        engine = new RateLimiterEngine(List.of(
+                localLimiter,
+                hybridLimiter,
+                new FixedWindowRateLimiter(redisTemplate),
+                new GcraRateLimiter(redisTemplate),
+                new SlidingWindowLogRateLimiter(redisTemplate)), localLimiter);
+    }
+
+    @TearDown(Level.Trial)
+    public void printRedisCalls() {
+        System.out.printf("%s: 每次请求访问Redis %.4f 次%n", algorithm,
+                requests.get() == 0 ? 0.0 : (double) redisCalls.get() / requests.get());
+    }
+
+    @Benchmark
+    public boolean tryAcquire() {
+        requests.incrementAndGet();
+        return engine.tryAcquire(algorithm, KEY, MAX_COUNT, PERIOD, 1);
+    }
+
+    /**
+     * 限流脚本替身，只计数和模拟往返延迟
+     */
+    private static final class CountingScriptTemplate extends StringRedisTemplate {
+
+        private final AtomicLong calls;
+        private final long rttNanos;
+
+        private CountingScriptTemplate(AtomicLong calls, long rttNanos) {
+            this.calls = calls;
+            this.rttNanos = rttNanos;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+            calls.incrementAndGet();
+            if (rttNanos > 0) {
+                long deadline = System.nanoTime() + rttNanos;
+                while (System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+            }
+            // 混合模式的领取脚本返回领取数量，其余脚本返回1表示放行
+            return (T) (script.getScriptAsString().contains("chunk") ? Long.valueOf(args[1].toString()) : Long.valueOf(1L));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package cn.zhangchuangla.benchmark.security;
+
+import cn.zhangchuangla.common.core.entity.security.SysUserDetails;
+import cn.zhangchuangla.common.core.utils.SecurityUtils;
+import cn.zhangchuangla.framework.aspect.SpelKeyEvaluator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 切面自定义Key的SpEL求值基准测试
+ * <p>
+ * parsePerCall 为原先切面中的做法：每次调用都解析表达式并以解释模式求值；
+ * cachedEvaluator 使用 {@link SpelKeyEvaluator}，表达式按方法缓存并编译为字节码。
+ * 两者都从安全上下文读取当前用户，测试线程预先设置了登录用户。
+ * </p>
+ *
+ * @author Chuang
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpelKeyEvaluatorBenchmark {
+
+    @Param({"#user.userId + ':' + #args[0]", "#orderId + ':' + #items[0].sku"})
+    private String expression;
+
+    private final ExpressionParser spelParser = new SpelExpressionParser();
+
+    private SpelKeyEvaluator spelKeyEvaluator;
+
+    private Method method;
+
+    private Object[] args;
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchMethodException {
+        spelKeyEvaluator = new SpelKeyEvaluator();
+        method = OrderController.class.getMethod("submit", String.class, List.class);
+        args = new Object[]{"ORDER-20240101-0001", List.of(new OrderItem("SKU-1"), new OrderItem("SKU-2"))};
+
+        SysUserDetails userDetails = new SysUserDetails();
+        userDetails.setUserId(1L);
+        userDetails.setUsername("admin");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, List.of()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public String parsePerCall() {
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("args", args);
+        context.setVariable("request", null);
+        try {
+            context.setVariable("user", SecurityUtils.getLoginUser());
+        } catch (Exception ignore) {
+        }
+        // 原先只支持 #args，这里按参数位置补上参数名，保证两种做法能求值相同的表达式
+        context.setVariable("orderId", args[0]);
+        context.setVariable("items", args[1]);
+        return String.valueOf(spelParser.parseExpression(expression).getValue(context));
+    }
+
+    @Benchmark
+    public String cachedEvaluator() {
+        return spelKeyEvaluator.evaluate(method, expression, args, null);
+    }
+
+    public static class OrderController {
+
+        public void submit(String orderId, List<OrderItem> items) {
+        }
+    }
+
+    public record OrderItem(String sku) {
+    }
+}
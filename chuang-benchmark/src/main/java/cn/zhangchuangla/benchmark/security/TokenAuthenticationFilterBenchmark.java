@@ -0,0 +1,105 @@
+package cn.zhangchuangla.benchmark.security;
+
+import cn.zhangchuangla.benchmark.support.BenchmarkFixtures;
+import cn.zhangchuangla.benchmark.support.InMemoryRedisTokenStore;
+import cn.zhangchuangla.framework.model.entity.OnlineLoginUser;
+import cn.zhangchuangla.framework.security.filter.TokenAuthenticationFilter;
+import cn.zhangchuangla.framework.security.property.SecurityProperties;
+import cn.zhangchuangla.framework.security.token.AccessTokenNearCache;
+import cn.zhangchuangla.framework.security.token.JwtTokenProvider;
+import cn.zhangchuangla.framework.security.token.TokenService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌认证过滤器基准测试
+ * <p>
+ * 覆盖白名单放行、近端缓存命中和近端缓存未命中回源三条路径。近端缓存为真实的Caffeine实现，
+ * 令牌存储、失效广播和访问时间回写使用的Redis由替身代替。
+ * </p>
+ *
+ * @author Chuang
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenAuthenticationFilterBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> {
+    };
+
+    private TokenAuthenticationFilter filter;
+    private AccessTokenNearCache nearCache;
+    private MockHttpServletRequest whitelistRequest;
+    private MockHttpServletRequest cachedRequest;
+    private MockHttpServletRequest uncachedRequest;
+    private String uncachedTokenId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SecurityProperties securityProperties = BenchmarkFixtures.securityProperties();
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(securityProperties);
+        jwtTokenProvider.init();
+        nearCache = BenchmarkFixtures.accessTokenNearCache(securityProperties);
+        InMemoryRedisTokenStore tokenStore = new InMemoryRedisTokenStore(securityProperties, nearCache);
+        TokenService tokenService = new TokenService(jwtTokenProvider, null, null, tokenStore, nearCache);
+
+        filter = new TokenAuthenticationFilter();
+        BenchmarkFixtures.inject(filter, "securityProperties", securityProperties);
+        BenchmarkFixtures.inject(filter, "tokenService", tokenService);
+
+        String cachedTokenId = "cached-token";
+        OnlineLoginUser cachedUser = BenchmarkFixtures.onlineLoginUser(cachedTokenId);
+        tokenStore.putAccessToken(cachedTokenId, cachedUser);
+        nearCache.put(cachedTokenId, cachedUser, nearCache.generation());
+
+        uncachedTokenId = "uncached-token";
+        tokenStore.putAccessToken(uncachedTokenId, BenchmarkFixtures.onlineLoginUser(uncachedTokenId));
+
+        String header = securityProperties.getHeader();
+        whitelistRequest = new MockHttpServletRequest("POST", "/auth/login");
+        cachedRequest = new MockHttpServletRequest("GET", "/system/user/list");
+        cachedRequest.addHeader(header, jwtTokenProvider.createJwt(cachedTokenId, "admin"));
+        uncachedRequest = new MockHttpServletRequest("GET", "/system/user/list");
+        uncachedRequest.addHeader(header, jwtTokenProvider.createJwt(uncachedTokenId, "admin"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        nearCache.destroy();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse whitelist() throws Exception {
+        return doFilter(whitelistRequest);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse nearCacheHit() throws Exception {
+        return doFilter(cachedRequest);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse nearCacheMiss() throws Exception {
+        nearCache.invalidate(uncachedTokenId);
+        return doFilter(uncachedRequest);
+    }
+
+    private MockHttpServletResponse doFilter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, NOOP_CHAIN);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
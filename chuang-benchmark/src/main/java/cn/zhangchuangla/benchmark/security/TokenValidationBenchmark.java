@@ -0,0 +1,273 @@
+package cn.zhangchuangla.benchmark.security;
+
+import cn.zhangchuangla.benchmark.support.BenchmarkFixtures;
+import cn.zhangchuangla.common.redis.config.FastJson2JsonRedisSerializer;
+import cn.zhangchuangla.common.redis.constant.RedisConstants;
+import cn.zhangchuangla.common.redis.core.RedisCache;
+import cn.zhangchuangla.framework.model.entity.OnlineLoginUser;
+import cn.zhangchuangla.framework.security.filter.TokenAuthenticationFilter;
+import cn.zhangchuangla.framework.security.property.SecurityProperties;
+import cn.zhangchuangla.framework.security.token.AccessTokenNearCache;
+import cn.zhangchuangla.framework.security.token.JwtTokenProvider;
+import cn.zhangchuangla.framework.security.token.RedisTokenStore;
+import cn.zhangchuangla.framework.security.token.TokenService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 访问令牌校验Redis往返基准测试
+ * <p>
+ * 对比近端缓存未命中时校验访问令牌的两种实现：
+ * legacyGetTtlSet 为改造前的 GET + GET + TTL + SET，整个在线用户对象重新序列化写回；
+ * touchScript 为 {@link RedisTokenStore#touchAccessToken(String)} 的单次Lua脚本调用。
+ * filterNearCacheHit 与 filterNearCacheMiss 经过完整的 {@link TokenAuthenticationFilter}：解析JWT、查询近端缓存，
+ * 未命中时通过真实的 {@link RedisTokenStore} 执行校验脚本并写回近端缓存，即认证请求在过滤器中的端到端耗时。
+ * Redis由内存替身代替，每条命令按 rttMicros 自旋模拟一次网络往返，并使用项目的FastJson序列化器编解码；
+ * 校验脚本的替身与真实脚本执行相同的读写：读取用户字段、写入 accessTime 字段并更新全局会话索引中已有成员的分数。
+ * 以SampleTime模式运行，结果中的p0.99即单次校验的p99延迟；测量结束时打印每次校验的Redis命令数。
+ * </p>
+ *
+ * @author Chuang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenValidationBenchmark {
+
+    private static final String ACCESS_TOKEN_ID = "benchmark-token";
+
+    private static final String ACCESS_TOKEN_KEY = RedisConstants.Auth.USER_ACCESS_TOKEN + ACCESS_TOKEN_ID;
+
+    private static final String CACHED_TOKEN_ID = "benchmark-cached-token";
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> {
+    };
+
+    /**
+     * 模拟的单次网络往返时间（微秒）
+     */
+    @Param({"0", "100"})
+    private long rttMicros;
+
+    private final AtomicLong commands = new AtomicLong();
+    private final AtomicLong legacyValidations = new AtomicLong();
+    private final AtomicLong legacyCommands = new AtomicLong();
+    private final AtomicLong touchValidations = new AtomicLong();
+    private final AtomicLong touchCommands = new AtomicLong();
+
+    private RedisCache redisCache;
+    private RedisTokenStore redisTokenStore;
+    private AccessTokenNearCache nearCache;
+    private TokenAuthenticationFilter filter;
+    private MockHttpServletRequest cachedRequest;
+    private MockHttpServletRequest uncachedRequest;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        FastJson2JsonRedisSerializer<Object> serializer = new FastJson2JsonRedisSerializer<>(Object.class);
+        SimulatedRedisTemplate redisTemplate = new SimulatedRedisTemplate(serializer, commands, TimeUnit.MICROSECONDS.toNanos(rttMicros));
+        OnlineLoginUser onlineUser = BenchmarkFixtures.onlineLoginUser(ACCESS_TOKEN_ID);
+        redisTemplate.putString(ACCESS_TOKEN_KEY, onlineUser);
+        redisTemplate.putAccessToken(ACCESS_TOKEN_ID, onlineUser);
+        redisTemplate.putAccessToken(CACHED_TOKEN_ID, BenchmarkFixtures.onlineLoginUser(CACHED_TOKEN_ID));
+
+        SecurityProperties securityProperties = BenchmarkFixtures.securityProperties();
+        nearCache = BenchmarkFixtures.accessTokenNearCache(securityProperties);
+        redisCache = new RedisCache(redisTemplate, null);
+        redisTokenStore = new RedisTokenStore(redisCache, null, securityProperties, nearCache, null);
+
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(securityProperties);
+        jwtTokenProvider.init();
+        TokenService tokenService = new TokenService(jwtTokenProvider, null, null, redisTokenStore, nearCache);
+        filter = new TokenAuthenticationFilter();
+        BenchmarkFixtures.inject(filter, "securityProperties", securityProperties);
+        BenchmarkFixtures.inject(filter, "tokenService", tokenService);
+
+        String header = securityProperties.getHeader();
+        cachedRequest = new MockHttpServletRequest("GET", "/system/user/list");
+        cachedRequest.addHeader(header, jwtTokenProvider.createJwt(CACHED_TOKEN_ID, "admin"));
+        uncachedRequest = new MockHttpServletRequest("GET", "/system/user/list");
+        uncachedRequest.addHeader(header, jwtTokenProvider.createJwt(ACCESS_TOKEN_ID, "admin"));
+        // 预先经过一次过滤器，使缓存命中场景从第一次调用起即命中近端缓存
+        doFilter(cachedRequest);
+    }
+
+    @TearDown(Level.Trial)
+    public void printCommandCount() {
+        nearCache.destroy();
+        if (legacyValidations.get() > 0) {
+            System.out.printf("legacyGetTtlSet: 每次校验 %.2f 条Redis命令%n",
+                    (double) legacyCommands.get() / legacyValidations.get());
+        }
+        if (touchValidations.get() > 0) {
+            System.out.printf("touchScript: 每次校验 %.2f 条Redis命令%n",
+                    (double) touchCommands.get() / touchValidations.get());
+        }
+    }
+
+    @Benchmark
+    public OnlineLoginUser legacyGetTtlSet() {
+        long before = commands.get();
+        OnlineLoginUser onlineUser = redisCache.getCacheObject(ACCESS_TOKEN_KEY);
+        OnlineLoginUser current = redisCache.getCacheObject(ACCESS_TOKEN_KEY);
+        Long expire = redisCache.getExpire(ACCESS_TOKEN_KEY);
+        if (current != null && expire != null && expire > 0) {
+            current.setAccessTime(System.currentTimeMillis());
+            redisCache.setCacheObject(ACCESS_TOKEN_KEY, current, expire);
+        }
+        legacyCommands.addAndGet(commands.get() - before);
+        legacyValidations.incrementAndGet();
+        return onlineUser;
+    }
+
+    @Benchmark
+    public OnlineLoginUser touchScript() {
+        long before = commands.get();
+        OnlineLoginUser onlineUser = redisTokenStore.touchAccessToken(ACCESS_TOKEN_ID);
+        touchCommands.addAndGet(commands.get() - before);
+        touchValidations.incrementAndGet();
+        return onlineUser;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterNearCacheHit() {
+        return doFilter(cachedRequest);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterNearCacheMiss() {
+        nearCache.invalidate(ACCESS_TOKEN_ID);
+        return doFilter(uncachedRequest);
+    }
+
+    private MockHttpServletResponse doFilter(MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, NOOP_CHAIN);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        if (response.getStatus() != 200) {
+            throw new IllegalStateException("令牌校验失败，响应状态: " + response.getStatus());
+        }
+        return response;
+    }
+
+    /**
+     * 内存Redis替身，只实现令牌校验用到的命令；值以序列化后的字节保存，每条命令计数并模拟一次往返
+     */
+    private static final class SimulatedRedisTemplate extends RedisTemplate<Object, Object> {
+
+        private final RedisSerializer<Object> serializer;
+        private final AtomicLong commands;
+        private final long rttNanos;
+        private final Map<Object, byte[]> strings = new ConcurrentHashMap<>();
+        private final Map<Object, Map<Object, byte[]>> hashes = new ConcurrentHashMap<>();
+        private final Map<Object, Map<Object, Double>> sortedSets = new ConcurrentHashMap<>();
+        private final ValueOperations<Object, Object> valueOperations;
+
+        @SuppressWarnings("unchecked")
+        SimulatedRedisTemplate(RedisSerializer<Object> serializer, AtomicLong commands, long rttNanos) {
+            this.serializer = serializer;
+            this.commands = commands;
+            this.rttNanos = rttNanos;
+            setValueSerializer(serializer);
+            this.valueOperations = (ValueOperations<Object, Object>) Proxy.newProxyInstance(
+                    ValueOperations.class.getClassLoader(), new Class<?>[]{ValueOperations.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "get" -> {
+                            roundTrip();
+                            yield serializer.deserialize(strings.get(args[0]));
+                        }
+                        case "set" -> {
+                            roundTrip();
+                            strings.put(args[0], serializer.serialize(args[1]));
+                            yield null;
+                        }
+                        case "toString" -> "SimulatedValueOperations";
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        void putString(String key, Object value) {
+            strings.put(key, serializer.serialize(value));
+        }
+
+        /**
+         * 按 {@link RedisTokenStore} 的结构写入访问令牌Hash，并加入全局会话索引
+         */
+        void putAccessToken(String accessTokenId, OnlineLoginUser onlineUser) {
+            long accessTime = System.currentTimeMillis();
+            Map<Object, byte[]> fields = new ConcurrentHashMap<>();
+            fields.put(RedisConstants.Auth.ACCESS_TOKEN_USER_FIELD, serializer.serialize(onlineUser));
+            fields.put(RedisConstants.Auth.ACCESS_TOKEN_ACCESS_TIME_FIELD, String.valueOf(accessTime).getBytes(StandardCharsets.UTF_8));
+            hashes.put(RedisConstants.Auth.USER_ACCESS_TOKEN + accessTokenId, fields);
+            sortedSets.computeIfAbsent(RedisConstants.Auth.SESSIONS_ACCESS_TOKEN_GLOBAL_INDEX, key -> new ConcurrentHashMap<>())
+                    .put(accessTokenId, (double) accessTime);
+        }
+
+        @Override
+        public ValueOperations<Object, Object> opsForValue() {
+            return valueOperations;
+        }
+
+        @Override
+        public Long getExpire(Object key, TimeUnit timeUnit) {
+            roundTrip();
+            return strings.containsKey(key) ? 1800L : -2L;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T execute(RedisScript<T> script, RedisSerializer<?> argsSerializer, RedisSerializer<T> resultSerializer,
+                             List<Object> keys, Object... args) {
+            // 对应访问令牌校验脚本，与真实脚本一样读取用户字段、HSET accessTime、ZADD XX 更新会话索引，只有一次往返
+            roundTrip();
+            synchronized (this) {
+                Map<Object, byte[]> fields = hashes.get(keys.get(0));
+                byte[] user = fields == null ? null : fields.get(args[0]);
+                if (user == null) {
+                    return null;
+                }
+                fields.put(args[1], args[2].toString().getBytes(StandardCharsets.UTF_8));
+                Map<Object, Double> index = sortedSets.get(keys.get(1));
+                if (index != null) {
+                    index.computeIfPresent(args[3], (member, score) -> Double.parseDouble(args[2].toString()));
+                }
+                return (T) serializer.deserialize(user);
+            }
+        }
+
+        private void roundTrip() {
+            commands.incrementAndGet();
+            if (rttNanos > 0) {
+                long deadline = System.nanoTime() + rttNanos;
+                while (System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package cn.zhangchuangla.benchmark.support;
+
+import cn.zhangchuangla.common.core.entity.KeyValue;
+import cn.zhangchuangla.common.redis.core.RedisCache;
+import cn.zhangchuangla.common.redis.core.RedisPubSub;
+import cn.zhangchuangla.framework.model.entity.OnlineLoginUser;
+import cn.zhangchuangla.framework.security.property.SecurityProperties;
+import cn.zhangchuangla.framework.security.token.AccessTokenNearCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 基准测试公共数据
+ *
+ * @author Chuang
+ */
+public final class BenchmarkFixtures {
+
+    /**
+     * 固定的HS256密钥，仅用于基准测试
+     */
+    private static final String JWT_SECRET = Base64.getEncoder()
+            .encodeToString("echo-pro-benchmark-secret-key-0123456789abcdef".getBytes());
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * 使用默认配置的安全属性
+     *
+     * @return 安全属性
+     */
+    public static SecurityProperties securityProperties() {
+        SecurityProperties securityProperties = new SecurityProperties();
+        securityProperties.setSecret(JWT_SECRET);
+        securityProperties.setSession(new SecurityProperties.SessionConfig());
+        return securityProperties;
+    }
+
+    /**
+     * 访问令牌近端缓存，使用真实的Caffeine缓存，只替换Redis：
+     * 访问时间回写脚本不执行任何操作，失效广播不发送，也不会收到其他节点的消息。使用完毕需调用 destroy 停止回写线程。
+     *
+     * @param securityProperties 安全属性
+     * @return 已初始化的近端缓存
+     */
+    public static AccessTokenNearCache accessTokenNearCache(SecurityProperties securityProperties) {
+        RedisTemplate<Object, Object> redisTemplate = new RedisTemplate<>() {
+            @Override
+            public <T> T execute(RedisScript<T> script, RedisSerializer<?> argsSerializer,
+                                 RedisSerializer<T> resultSerializer, List<Object> keys, Object... args) {
+                return null;
+            }
+        };
+        RedisPubSub redisPubSub = new RedisPubSub(new StringRedisTemplate() {
+            @Override
+            public Long convertAndSend(String channel, Object message) {
+                return 0L;
+            }
+        }, new RedisMessageListenerContainer());
+        AccessTokenNearCache nearCache = new AccessTokenNearCache(securityProperties,
+                new RedisCache(redisTemplate, null), redisPubSub, new SimpleMeterRegistry());
+        nearCache.init();
+        return nearCache;
+    }
+
+    /**
+     * 在线用户
+     *
+     * @param accessTokenId 访问令牌ID
+     * @return 在线用户
+     */
+    public static OnlineLoginUser onlineLoginUser(String accessTokenId) {
+        return OnlineLoginUser.builder()
+                .accessTokenId(accessTokenId)
+                .refreshTokenId("refresh-" + accessTokenId)
+                .userId(1L)
+                .username("admin")
+                .deptId(100L)
+                .roles(Set.of("admin", "common"))
+                .ip("127.0.0.1")
+                .location("本机")
+                .accessTime(System.currentTimeMillis())
+                .userAgent(UserAgents.CHROME_WINDOWS)
+                .build();
+    }
+
+    /**
+     * 生成角色权限关系，模拟 sys_role_menu 与 sys_menu 的关联查询结果
+     *
+     * @param roleCount          角色数量
+     * @param permissionsPerRole 每个角色的权限数量
+     * @return 角色标识与权限标识
+     */
+    public static List<KeyValue> rolePermissions(int roleCount, int permissionsPerRole) {
+        List<KeyValue> rows = new ArrayList<>(roleCount * permissionsPerRole);
+        for (int role = 0; role < roleCount; role++) {
+            for (int permission = 0; permission < permissionsPerRole; permission++) {
+                KeyValue row = new KeyValue();
+                row.setKey("role" + role);
+                row.setValue("system:module" + (permission / 10) + ":action" + (permission % 10));
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 为 {@code @Autowired} 字段注入依赖
+     *
+     * @param target    目标对象
+     * @param fieldName 字段名
+     * @param value     字段值
+     */
+    public static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException("字段不存在: " + fieldName);
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    /**
+     * 常见的User-Agent
+     */
+    public static final class UserAgents {
+
+        public static final String CHROME_WINDOWS = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+                + "(KHTML, like Gecko) Chrome/124.0.0.0 Safari/537.36";
+
+        public static final String SAFARI_IPHONE = "Mozilla/5.0 (iPhone; CPU iPhone OS 17_4 like Mac OS X) "
+                + "AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.4 Mobile/15E148 Safari/604.1";
+
+        public static final String WECHAT_ANDROID = "Mozilla/5.0 (Linux; Android 13; M2102K1C Build/TKQ1.221114.001; wv) "
+                + "AppleWebKit/537.36 (KHTML, like Gecko) Version/4.0 Chrome/116.0.0.0 Mobile Safari/537.36 "
+                + "MicroMessenger/8.0.47.2560(0x28002F35) WeChat/arm64 Weixin NetType/WIFI Language/zh_CN";
+
+        private UserAgents() {
+        }
+    }
+}
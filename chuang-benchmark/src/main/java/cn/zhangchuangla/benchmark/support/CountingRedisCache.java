@@ -0,0 +1,47 @@
+package cn.zhangchuangla.benchmark.support;
+
+import cn.zhangchuangla.common.redis.core.RedisCache;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 统计访问次数的Redis替身，所有值操作都视为未命中
+ *
+ * @author Chuang
+ */
+public final class CountingRedisCache {
+
+    private CountingRedisCache() {
+    }
+
+    /**
+     * 创建Redis缓存替身
+     *
+     * @param calls 值操作调用次数
+     * @return Redis缓存
+     */
+    @SuppressWarnings("unchecked")
+    public static RedisCache create(AtomicLong calls) {
+        ValueOperations<Object, Object> valueOperations = (ValueOperations<Object, Object>) Proxy.newProxyInstance(
+                ValueOperations.class.getClassLoader(), new Class<?>[]{ValueOperations.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> "CountingValueOperations";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> {
+                        calls.incrementAndGet();
+                        yield null;
+                    }
+                });
+        RedisTemplate<Object, Object> redisTemplate = new RedisTemplate<>() {
+            @Override
+            public ValueOperations<Object, Object> opsForValue() {
+                return valueOperations;
+            }
+        };
+        return new RedisCache(redisTemplate, null);
+    }
+}
@@ -0,0 +1,47 @@
+package cn.zhangchuangla.benchmark.support;
+
+import cn.zhangchuangla.framework.model.entity.OnlineLoginUser;
+import cn.zhangchuangla.framework.security.property.SecurityProperties;
+import cn.zhangchuangla.framework.security.token.AccessTokenNearCache;
+import cn.zhangchuangla.framework.security.token.RedisTokenStore;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于内存的令牌存储，用于模拟近端缓存未命中后回源Redis的路径
+ *
+ * @author Chuang
+ */
+public class InMemoryRedisTokenStore extends RedisTokenStore {
+
+    private final Map<String, OnlineLoginUser> accessTokens = new ConcurrentHashMap<>();
+
+    public InMemoryRedisTokenStore(SecurityProperties securityProperties, AccessTokenNearCache accessTokenNearCache) {
+        super(null, null, securityProperties, accessTokenNearCache, null);
+    }
+
+    /**
+     * 写入访问令牌
+     *
+     * @param accessTokenId 访问令牌ID
+     * @param onlineUser    在线用户
+     */
+    public void putAccessToken(String accessTokenId, OnlineLoginUser onlineUser) {
+        accessTokens.put(accessTokenId, onlineUser);
+    }
+
+    @Override
+    public OnlineLoginUser getAccessToken(String accessTokenId) {
+        return accessTokens.get(accessTokenId);
+    }
+
+    @Override
+    public OnlineLoginUser touchAccessToken(String accessTokenId) {
+        OnlineLoginUser onlineUser = accessTokens.get(accessTokenId);
+        if (onlineUser != null) {
+            onlineUser.setAccessTime(System.currentTimeMillis());
+        }
+        return onlineUser;
+    }
+}
@@ -0,0 +1,35 @@
+package cn.zhangchuangla.benchmark.support;
+
+import cn.zhangchuangla.common.core.entity.KeyValue;
+import cn.zhangchuangla.system.core.mapper.SysMenuMapper;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * 基于内存的菜单Mapper，只支持角色权限关系查询
+ *
+ * @author Chuang
+ */
+public final class InMemorySysMenuMapper {
+
+    private InMemorySysMenuMapper() {
+    }
+
+    /**
+     * 创建Mapper替身
+     *
+     * @param rolePermissions 角色权限关系
+     * @return Mapper
+     */
+    public static SysMenuMapper create(List<KeyValue> rolePermissions) {
+        return (SysMenuMapper) Proxy.newProxyInstance(SysMenuMapper.class.getClassLoader(),
+                new Class<?>[]{SysMenuMapper.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "listRolePermission" -> rolePermissions;
+                    case "toString" -> "InMemorySysMenuMapper";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,173 @@
+package cn.zhangchuangla.benchmark.system;
+
+import cn.zhangchuangla.common.core.entity.KeyValue;
+import cn.zhangchuangla.common.core.utils.BeanCotyUtils;
+import cn.zhangchuangla.system.core.cache.MenuSnapshot;
+import cn.zhangchuangla.system.core.enums.MenuTypeEnum;
+import cn.zhangchuangla.system.core.model.entity.SysMenu;
+import cn.zhangchuangla.system.core.model.vo.menu.MenuOption;
+import cn.zhangchuangla.system.core.model.vo.menu.MetaVo;
+import cn.zhangchuangla.system.core.model.vo.menu.RouterVo;
+import cn.zhangchuangla.system.core.service.impl.SysMenuServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 菜单树与路由树构建基准测试
+ * <p>
+ * legacyRouterTree、legacyMenuTree 为改造前的递归构建：每一层都遍历整个菜单列表筛选子菜单并排序，复杂度为O(n²)；
+ * snapshotRouterTree 调用 {@link SysMenuServiceImpl#buildRouteVo(List)}，先一次遍历按父菜单ID建立索引再构建；
+ * snapshotMenuTree 与菜单树接口一致，直接使用 {@link MenuSnapshot} 中已建立的索引；
+ * snapshotLoad 为菜单变更后重建快照的开销。
+ * 菜单数据按目录、菜单、按钮三层随机生成，随机种子固定，各实现构建的是同一棵树。
+ * </p>
+ *
+ * @author Chuang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MenuTreeBenchmark {
+
+    private static final long ROOT_MENU_ID = 0L;
+
+    private static final int MENU_STATUS_ENABLE = 0;
+
+    @Param({"200", "2000", "20000"})
+    private int menuCount;
+
+    private List<SysMenu> menus;
+
+    private List<KeyValue> roleMenus;
+
+    private MenuSnapshot snapshot;
+
+    private SysMenuServiceImpl sysMenuService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        menus = generateMenus(menuCount);
+        roleMenus = new ArrayList<>(menuCount);
+        for (SysMenu menu : menus) {
+            roleMenus.add(new KeyValue("admin", menu.getId().toString()));
+        }
+        snapshot = MenuSnapshot.of(menus, roleMenus);
+        sysMenuService = new SysMenuServiceImpl(null, null, null);
+    }
+
+    @Benchmark
+    public List<RouterVo> legacyRouterTree() {
+        return legacyBuildRouterTree(menus, ROOT_MENU_ID);
+    }
+
+    @Benchmark
+    public List<RouterVo> snapshotRouterTree() {
+        return sysMenuService.buildRouteVo(menus);
+    }
+
+    @Benchmark
+    public List<MenuOption> legacyMenuTree() {
+        return legacyBuildMenuTreeOption(menus, ROOT_MENU_ID);
+    }
+
+    @Benchmark
+    public List<MenuOption> snapshotMenuTree() {
+        return sysMenuService.buildMenuTreeOption(snapshot.getChildrenByParentId(), ROOT_MENU_ID);
+    }
+
+    @Benchmark
+    public MenuSnapshot snapshotLoad() {
+        return MenuSnapshot.of(menus, roleMenus);
+    }
+
+    /**
+     * 改造前的路由树构建
+     */
+    private List<RouterVo> legacyBuildRouterTree(List<SysMenu> menuList, Long parentId) {
+        return menuList.stream()
+                .filter(menu -> parentId.equals(menu.getParentId()))
+                .filter(menu -> menu.getStatus() == MENU_STATUS_ENABLE)
+                .filter(menu -> !MenuTypeEnum.BUTTON.getValue().equals(menu.getType()))
+                .sorted(Comparator.comparing(SysMenu::getSort).reversed())
+                .map(menu -> {
+                    RouterVo routerVo = new RouterVo();
+                    routerVo.setName(menu.getName());
+                    routerVo.setType(menu.getType());
+                    routerVo.setPath(menu.getPath());
+                    routerVo.setComponent(menu.getComponent());
+                    MetaVo metaVo = BeanCotyUtils.copyProperties(menu, MetaVo.class);
+                    if (MenuTypeEnum.EMBEDDED.getValue().equals(menu.getType())) {
+                        metaVo.setIframeSrc(menu.getLink());
+                        metaVo.setLink(null);
+                    }
+                    routerVo.setMeta(metaVo);
+                    List<RouterVo> children = legacyBuildRouterTree(menuList, menu.getId());
+                    if (!children.isEmpty()) {
+                        routerVo.setChildren(children);
+                    }
+                    return routerVo;
+                })
+                .toList();
+    }
+
+    /**
+     * 改造前的菜单树构建
+     */
+    private List<MenuOption> legacyBuildMenuTreeOption(List<SysMenu> menuList, Long parentId) {
+        return menuList.stream()
+                .filter(menu -> parentId.equals(menu.getParentId()))
+                .sorted(Comparator.comparing(SysMenu::getSort).reversed())
+                .map(menu -> {
+                    MenuOption menuOption = new MenuOption();
+                    menuOption.setId(menu.getId());
+                    menuOption.setTitle(menu.getTitle());
+                    menuOption.setIcon(menu.getIcon());
+                    menuOption.setChildren(legacyBuildMenuTreeOption(menuList, menu.getId()));
+                    return menuOption;
+                })
+                .toList();
+    }
+
+    /**
+     * 生成三层菜单：约5%为目录，20%为菜单，其余为按钮，约5%的菜单为停用状态
+     */
+    private static List<SysMenu> generateMenus(int count) {
+        Random random = new Random(42);
+        int catalogCount = Math.max(1, count / 20);
+        int menuCount = Math.max(1, count / 5);
+        List<SysMenu> menus = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            SysMenu menu = new SysMenu();
+            menu.setId((long) i);
+            if (i <= catalogCount) {
+                menu.setParentId(ROOT_MENU_ID);
+                menu.setType(MenuTypeEnum.CATALOG.getValue());
+            } else if (i <= catalogCount + menuCount) {
+                menu.setParentId(1L + random.nextInt(catalogCount));
+                menu.setType(i % 10 == 0 ? MenuTypeEnum.EMBEDDED.getValue() : MenuTypeEnum.MENU.getValue());
+                menu.setComponent("/system/page" + i + "/index");
+                menu.setLink(i % 10 == 0 ? "https://example.com/page" + i : null);
+            } else {
+                menu.setParentId(catalogCount + 1L + random.nextInt(menuCount));
+                menu.setType(MenuTypeEnum.BUTTON.getValue());
+                menu.setPermission("system:page" + i + ":query");
+            }
+            menu.setName("Menu" + i);
+            menu.setTitle("菜单" + i);
+            menu.setPath("/menu" + i);
+            menu.setIcon("icon-" + (i % 32));
+            menu.setStatus(random.nextInt(20) == 0 ? 1 : MENU_STATUS_ENABLE);
+            menu.setSort(random.nextInt(100));
+            menus.add(menu);
+        }
+        return menus;
+    }
+}
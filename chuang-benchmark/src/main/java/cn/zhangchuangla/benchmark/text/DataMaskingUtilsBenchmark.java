@@ -0,0 +1,92 @@
+package cn.zhangchuangla.benchmark.text;
+
+import cn.zhangchuangla.common.core.annotation.DataMasking;
+import cn.zhangchuangla.common.core.enums.MaskingType;
+import cn.zhangchuangla.common.core.utils.DataMaskingUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 数据脱敏基准测试
+ * <p>
+ * mask 为按注解查找缓存的入口，compiled 为序列化器持有脱敏器后的路径，
+ * regexPerCall 为每次调用都编译正则的做法，作为对照。
+ * </p>
+ *
+ * @author Chuang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataMaskingUtilsBenchmark {
+
+    @Param({"MOBILE_PHONE", "ID_CARD", "EMAIL", "NAME", "BANK_CARD", "CUSTOM"})
+    public String type;
+
+    private DataMasking dataMasking;
+    private DataMaskingUtils.Masker masker;
+    private String value;
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchFieldException {
+        String fieldName = type.toLowerCase();
+        dataMasking = MaskedFields.class.getDeclaredField(fieldName).getAnnotation(DataMasking.class);
+        value = switch (MaskingType.valueOf(type)) {
+            case MOBILE_PHONE -> "18800000000";
+            case ID_CARD -> "110101199003077777";
+            case EMAIL -> "zhangchuang@example.com";
+            case NAME -> "张三丰";
+            case BANK_CARD -> "6222021234567890123";
+            default -> "secret-1234567890";
+        };
+        masker = DataMaskingUtils.compile(dataMasking);
+    }
+
+    @Benchmark
+    public String mask() {
+        return DataMaskingUtils.mask(value, dataMasking);
+    }
+
+    @Benchmark
+    public String compiled() {
+        return masker.mask(value);
+    }
+
+    @Benchmark
+    public String regexPerCall() {
+        MaskingType maskingType = dataMasking.type();
+        String regex = maskingType == MaskingType.CUSTOM ? dataMasking.regex() : maskingType.getRegex();
+        String replacement = maskingType == MaskingType.CUSTOM ? dataMasking.replacement() : maskingType.getReplacement();
+        return Pattern.matches(regex, value) ? value.replaceAll(regex, replacement) : value;
+    }
+
+    /**
+     * 注解载体
+     */
+    @SuppressWarnings("unused")
+    private static final class MaskedFields {
+
+        @DataMasking(type = MaskingType.MOBILE_PHONE)
+        private String mobile_phone;
+
+        @DataMasking(type = MaskingType.ID_CARD)
+        private String id_card;
+
+        @DataMasking(type = MaskingType.EMAIL)
+        private String email;
+
+        @DataMasking(type = MaskingType.NAME)
+        private String name;
+
+        @DataMasking(type = MaskingType.BANK_CARD)
+        private String bank_card;
+
+        @DataMasking(regex = "(\\w{3})\\w*(\\w{4})", replacement = "$1****$2")
+        private String custom;
+    }
+}
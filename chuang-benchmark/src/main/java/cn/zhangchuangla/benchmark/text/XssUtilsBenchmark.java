@@ -0,0 +1,99 @@
+package cn.zhangchuangla.benchmark.text;
+
+import cn.zhangchuangla.common.core.utils.XssUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * XSS清洗基准测试
+ * <p>
+ * 公告语料取自富文本编辑器的典型输出（内联样式、图片、表格、列表和链接），
+ * 标题为不含标签的纯文本，走跳过解析的快速路径。
+ * </p>
+ *
+ * @author Chuang
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XssUtilsBenchmark {
+
+    private static final String SHORT_HTML = "<p>系统将于<b>今晚22:00</b>进行维护，"
+            + "<a href=\"https://example.com/notice\">查看详情</a></p>";
+
+    private static final String MALICIOUS_HTML = "<p onclick=\"alert(1)\">公告</p><script>alert(document.cookie)</script>"
+            + "<img src=\"javascript:alert(1)\" onerror=\"alert(2)\"><a href=\"javascript:void(0)\">点击</a>";
+
+    private static final String PLAIN_TITLE = "关于2025年国庆节放假安排及系统停机维护的通知";
+
+    private static final String[] NOTICE_CORPUS = {
+            "<p style=\"text-align: center;\"><span style=\"font-size: 18px;\"><strong>关于国庆节放假安排的通知</strong></span></p>"
+                    + "<p>各位同事：</p><p style=\"text-indent: 2em;\">根据国家规定，结合公司实际情况，现将放假安排通知如下：</p>"
+                    + "<ol><li>10月1日至10月7日放假调休，共7天。</li><li>9月29日（星期日）、10月12日（星期六）上班。</li></ol>"
+                    + "<p style=\"text-align: right;\">行政部<br>2025年9月20日</p>",
+            "<h2>系统升级公告</h2><p>为提升服务质量，系统将于<span style=\"color: rgb(225, 60, 57);\">本周六 22:00 - 次日 02:00</span>"
+                    + "进行升级维护，期间以下功能暂停使用：</p><ul><li>在线支付</li><li>报表导出</li><li>消息推送</li></ul>"
+                    + "<p>升级内容详见<a href=\"https://example.com/release/2.3.0\" target=\"_blank\">版本说明</a>，给您带来不便敬请谅解。</p>",
+            "<p>本月考核结果如下：</p><table border=\"1\" cellpadding=\"4\" cellspacing=\"0\" style=\"width: 100%;\"><thead>"
+                    + "<tr><th>部门</th><th>完成率</th><th>评级</th></tr></thead><tbody>"
+                    + "<tr><td>研发部</td><td>98%</td><td>A</td></tr><tr><td>市场部</td><td>91%</td><td>B</td></tr>"
+                    + "<tr><td>运营部</td><td>95%</td><td>A</td></tr><tr><td>客服部</td><td>88%</td><td>B</td></tr></tbody></table>"
+                    + "<p><img src=\"https://example.com/upload/2025/09/chart.png\" alt=\"考核趋势\" style=\"max-width: 100%;\"></p>",
+            "<p><span style=\"font-family: 微软雅黑;\">&nbsp;&nbsp;各部门请注意，办公区将于下周一起进行消防演练，</span>"
+                    + "<span style=\"font-family: 微软雅黑;\">请提前熟悉<b>疏散路线</b>和<em>集合地点</em>。</span></p>"
+                    + "<blockquote>演练期间请勿使用电梯。</blockquote><p><br></p><p>联系人：张三 &lt;zhangsan@example.com&gt;</p>"
+    };
+
+    private String longHtml;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StringBuilder html = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            html.append("<h2>第").append(i).append("节</h2>")
+                    .append("<p>正文内容<strong>重点</strong><em>说明</em>，<a href=\"https://example.com/")
+                    .append(i).append("\">链接</a></p>")
+                    .append("<img src=\"https://example.com/").append(i).append(".png\" alt=\"图片\">")
+                    .append("<table><tr><th>列1</th><th>列2</th></tr><tr><td>1</td><td>2</td></tr></table>");
+        }
+        longHtml = html.toString();
+    }
+
+    @Benchmark
+    public String sanitizeShort() {
+        return XssUtils.sanitizeHtml(SHORT_HTML);
+    }
+
+    @Benchmark
+    public String sanitizeMalicious() {
+        return XssUtils.sanitizeHtml(MALICIOUS_HTML);
+    }
+
+    @Benchmark
+    public String sanitizeLong() {
+        return XssUtils.sanitizeHtml(longHtml);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void sanitizeNoticeCorpus(Blackhole blackhole) {
+        for (String notice : NOTICE_CORPUS) {
+            blackhole.consume(XssUtils.sanitizeHtml(notice));
+        }
+    }
+
+    @Benchmark
+    public String sanitizePlainTitle() {
+        return XssUtils.sanitizeHtml(PLAIN_TITLE);
+    }
+
+    @Benchmark
+    public String extractPlainText() {
+        return XssUtils.extractPlainText(longHtml);
+    }
+}
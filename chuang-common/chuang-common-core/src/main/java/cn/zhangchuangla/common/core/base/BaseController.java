@@ -1,6 +1,7 @@
 package cn.zhangchuangla.common.core.base;
 
 import cn.zhangchuangla.common.core.entity.base.AjaxResult;
+import cn.zhangchuangla.common.core.entity.base.CursorPage;
 import cn.zhangchuangla.common.core.entity.base.PageResult;
 import cn.zhangchuangla.common.core.entity.base.TableDataResult;
 import cn.zhangchuangla.common.core.entity.security.SysUserDetails;
@@ -103,6 +104,29 @@ public class BaseController {
     }
 
 
+    /**
+     * 封装游标分页数据，不返回总记录数，前端通过 nextCursor 获取下一页
+     *
+     * @param page 游标分页结果
+     * @param rows 列表数据
+     * @return 封装后的分页数据
+     */
+    protected AjaxResult<TableDataResult> getTableData(CursorPage<?> page, List<?> rows) {
+        return TableDataResult.build(page, rows);
+    }
+
+    /**
+     * 封装游标分页数据，不返回总记录数，前端通过 nextCursor 获取下一页
+     *
+     * @param page  游标分页结果
+     * @param rows  列表数据
+     * @param extra 额外的数据
+     * @return 封装后的分页数据
+     */
+    protected AjaxResult<TableDataResult> getTableData(CursorPage<?> page, List<?> rows, Map<String, Object> extra) {
+        return TableDataResult.build(page, rows, extra);
+    }
+
     /**
      * 获取当前用户信息
      *
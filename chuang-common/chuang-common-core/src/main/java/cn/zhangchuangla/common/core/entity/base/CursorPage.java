@@ -0,0 +1,62 @@
+package cn.zhangchuangla.common.core.entity.base;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游标分页结果
+ * <p>
+ * 不统计总数，只返回当前页数据与下一页游标；查询时多取一条记录判断是否还有下一页。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+
+    /**
+     * 每页记录数
+     */
+    private long size;
+
+    /**
+     * 下一页游标，没有更多数据时为null
+     */
+    private String nextCursor;
+
+    /**
+     * 列表数据
+     */
+    private List<T> records;
+
+    /**
+     * 根据多取一条的查询结果构建分页
+     *
+     * @param fetched  按 size + 1 条查询到的记录
+     * @param size     每页记录数
+     * @param cursorOf 从记录中提取游标
+     * @return 游标分页结果
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, PageCursor> cursorOf) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(size, null, fetched);
+        }
+        List<T> records = fetched.subList(0, size);
+        return new CursorPage<>(size, cursorOf.apply(records.get(size - 1)).encode(), records);
+    }
+
+    /**
+     * 是否还有下一页
+     *
+     * @return 存在下一页游标时返回true
+     */
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
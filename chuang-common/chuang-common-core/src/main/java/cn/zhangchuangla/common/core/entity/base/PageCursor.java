@@ -0,0 +1,66 @@
+package cn.zhangchuangla.common.core.entity.base;
+
+import cn.zhangchuangla.common.core.enums.ResultCode;
+import cn.zhangchuangla.common.core.exception.ParamException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * 游标分页位置
+ * <p>
+ * 由排序时间和主键组成，按“时间倒序、主键倒序”翻页时，下一页只需查询位于该位置之后的记录，
+ * 数据库可直接沿复合索引定位，不需要像 OFFSET 那样扫描并丢弃前面的所有行。
+ * 文本格式为“毫秒时间戳,主键”，例如 {@code 1755330073000,1024}。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Data
+@AllArgsConstructor
+public class PageCursor {
+
+    /**
+     * 上一页最后一条记录的排序时间
+     */
+    private Date time;
+
+    /**
+     * 上一页最后一条记录的主键
+     */
+    private Long id;
+
+    /**
+     * 解析游标文本
+     *
+     * @param cursor 游标文本，为空表示从第一页开始
+     * @return 游标，文本为空时返回null
+     * @throws ParamException 游标格式不正确时抛出
+     */
+    public static PageCursor parse(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        int separator = cursor.indexOf(',');
+        if (separator <= 0 || separator == cursor.length() - 1) {
+            throw new ParamException(ResultCode.PARAM_ERROR, "分页游标格式不正确");
+        }
+        try {
+            long time = Long.parseLong(cursor.substring(0, separator).trim());
+            long id = Long.parseLong(cursor.substring(separator + 1).trim());
+            return new PageCursor(new Date(time), id);
+        } catch (NumberFormatException e) {
+            throw new ParamException(ResultCode.PARAM_ERROR, "分页游标格式不正确");
+        }
+    }
+
+    /**
+     * 转换为游标文本
+     *
+     * @return 游标文本
+     */
+    public String encode() {
+        return time.getTime() + "," + id;
+    }
+}
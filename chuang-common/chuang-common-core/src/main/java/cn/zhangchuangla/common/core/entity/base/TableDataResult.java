@@ -62,6 +62,12 @@ public class TableDataResult implements Serializable {
     @Schema(description = "其他参数")
     private Map<String, Object> extra;
 
+    /**
+     * 下一页游标，仅游标分页返回，为空表示没有更多数据
+     */
+    @Schema(description = "下一页游标，仅游标分页返回")
+    private String nextCursor;
+
     /**
      * 默认构造函数，初始化基本属性
      */
@@ -91,6 +97,31 @@ public class TableDataResult implements Serializable {
     }
 
 
+    /**
+     * 从游标分页结果和自定义行数据构建 TableDataResult，不包含总记录数和页码
+     *
+     * @param page 游标分页结果
+     * @param rows 自定义行数据
+     * @return TableDataResult 实例
+     */
+    public static AjaxResult<TableDataResult> build(CursorPage<?> page, List<?> rows) {
+        return build(page, rows, null);
+    }
+
+    /**
+     * 从游标分页结果、自定义行数据、其他参数构建 TableDataResult
+     *
+     * @param page  游标分页结果
+     * @param rows  自定义行数据
+     * @param extra 其他参数
+     * @return TableDataResult 实例
+     */
+    public static AjaxResult<TableDataResult> build(CursorPage<?> page, List<?> rows, Map<String, Object> extra) {
+        TableDataResult result = new TableDataResult(rows, null, page.getSize(), null, extra);
+        result.setNextCursor(page.getNextCursor());
+        return AjaxResult.success(result);
+    }
+
     /**
      * 从 Page 对象构建 TableDataResult
      *
@@ -2,39 +2,71 @@ package cn.zhangchuangla.common.core.entity.device;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
 
 /**
+ * 一次解析得到的 User-Agent 信息，不可变，可在多线程间共享和缓存
+ *
  * @author Chuang
  * <p>
  * created on 2025/7/24 23:39
  */
-@Data
+@Getter
+@ToString
 @AllArgsConstructor
-@NoArgsConstructor
 @Builder
 public class BrowserDevice {
 
     /**
      * 操作系统
      */
-    private String osName;
+    private final String osName;
+
+    /**
+     * 操作系统版本
+     */
+    private final String osVersion;
 
     /**
      * 设备类型 PC Mobile Tablet
      */
-    private String deviceType;
+    private final String deviceType;
+
+    /**
+     * 设备生产厂家
+     */
+    private final String deviceManufacturer;
+
+    /**
+     * 是否为移动设备（手机或平板）
+     */
+    private final boolean mobile;
 
     /**
      * 浏览器名称
      */
-    private String browserName;
+    private final String browserName;
 
     /**
      * 浏览器版本
      */
-    private String browserVersion;
+    private final String browserVersion;
+
+    /**
+     * 浏览器类型
+     */
+    private final String browserType;
+
+    /**
+     * 浏览器生产厂商
+     */
+    private final String browserManufacturer;
+
+    /**
+     * 浏览器渲染引擎
+     */
+    private final String browserRenderingEngine;
 
 
 }
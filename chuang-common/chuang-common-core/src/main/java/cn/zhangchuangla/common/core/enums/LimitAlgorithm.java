@@ -0,0 +1,44 @@
+package cn.zhangchuangla.common.core.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 限流算法枚举
+ *
+ * @author Chuang
+ */
+@Getter
+@RequiredArgsConstructor
+public enum LimitAlgorithm {
+
+    /**
+     * Redis固定窗口计数，每次请求访问一次Redis
+     */
+    FIXED_WINDOW("Redis固定窗口"),
+
+    /**
+     * 本地令牌桶，只在当前节点内生效，不访问Redis
+     */
+    LOCAL_TOKEN_BUCKET("本地令牌桶"),
+
+    /**
+     * Redis滑动窗口日志，精确但每次请求访问一次Redis
+     */
+    SLIDING_WINDOW_LOG("Redis滑动窗口日志"),
+
+    /**
+     * Redis通用信元速率算法（GCRA），每个Key只保存一个时间戳
+     */
+    GCRA("Redis GCRA"),
+
+    /**
+     * 混合模式，节点从Redis按块领取配额后在本地消耗
+     */
+    HYBRID("本地+Redis混合");
+
+    /**
+     * 算法描述
+     */
+    private final String description;
+}
@@ -12,18 +12,21 @@ import java.io.IOException;
 
 /**
  * 数据脱敏 JSON 序列化器
+ * <p>
+ * 在 {@link #createContextual} 中为每个属性编译一次脱敏器，序列化时不再解析注解和正则。
+ * </p>
  *
  * @author Chuang
  */
 public class DataMaskingSerializer extends JsonSerializer<String> implements ContextualSerializer {
 
-    private DataMasking dataMasking;
+    private DataMaskingUtils.Masker masker;
 
     public DataMaskingSerializer() {
     }
 
     public DataMaskingSerializer(DataMasking dataMasking) {
-        this.dataMasking = dataMasking;
+        this.masker = DataMaskingUtils.compile(dataMasking);
     }
 
     @Override
@@ -33,9 +36,8 @@ public class DataMaskingSerializer extends JsonSerializer<String> implements Con
             return;
         }
 
-        if (dataMasking != null) {
-            String maskedValue = DataMaskingUtils.mask(value, dataMasking);
-            gen.writeString(maskedValue);
+        if (masker != null) {
+            gen.writeString(masker.mask(value));
         } else {
             gen.writeString(value);
         }
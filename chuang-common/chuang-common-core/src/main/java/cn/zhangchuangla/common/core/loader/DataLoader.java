@@ -1,5 +1,7 @@
 package cn.zhangchuangla.common.core.loader;
 
+import java.util.Set;
+
 /**
  * 数据加载器接口，所有模块加载器需实现此接口
  *
@@ -15,7 +17,7 @@ public interface DataLoader {
     String getName();
 
     /**
-     * 获取加载优先级，数值越小优先级越高
+     * 获取加载优先级，数值越小优先级越高；仅在多个加载器同时就绪时决定提交顺序
      */
     int getOrder();
 
@@ -25,7 +27,7 @@ public interface DataLoader {
     boolean load();
 
     /**
-     * 是否允许异步加载
+     * 是否允许异步加载；异步加载器不阻塞启动流程，除非失败时需要阻止启动
      */
     default boolean isAsync() {
         return false;
@@ -37,4 +39,19 @@ public interface DataLoader {
     default boolean blockStartupOnFailure() {
         return false;
     }
+
+    /**
+     * 依赖的加载器名称，依赖全部加载成功后才会执行；依赖失败时本加载器被跳过
+     */
+    default Set<String> dependsOn() {
+        return Set.of();
+    }
+
+    /**
+     * 就绪条件，依赖完成后仍需等待外部条件满足（如外部服务可用）时覆盖此方法，
+     * 协调器会轮询直到返回true或超时
+     */
+    default boolean isReady() {
+        return true;
+    }
 }
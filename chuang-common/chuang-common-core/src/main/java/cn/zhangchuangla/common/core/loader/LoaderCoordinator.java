@@ -1,20 +1,29 @@
 package cn.zhangchuangla.common.core.loader;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
-import java.util.Comparator;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.stream.Collectors;
 
 /**
  * 数据加载协调器，负责在应用启动时协调各模块数据加载
+ * <p>
+ * 根据 {@link DataLoader#dependsOn()} 构建依赖图，启动前检查缺失依赖和循环依赖；
+ * 依赖全部成功的加载器立即提交到线程池执行，互不依赖的加载器并行运行。
+ * 启动流程等待所有同步加载器以及失败时需要阻止启动的加载器完成，其余异步加载器在后台继续执行。
+ * 全部完成后输出耗时报告，并记录到Micrometer。
+ * </p>
  *
  * @author Chuang
  */
@@ -24,8 +33,17 @@ import java.util.concurrent.*;
 public class LoaderCoordinator implements CommandLineRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(LoaderCoordinator.class);
+
+    private static final String METRIC_NAME = "app.loader.duration";
+
+    /**
+     * 就绪条件轮询间隔（毫秒）
+     */
+    private static final long READINESS_POLL_INTERVAL_MILLIS = 200;
+
     private final Map<String, LoaderStatus> loaderStatusMap = new ConcurrentHashMap<>();
     private final List<DataLoader> loaders;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
 
     /**
      * 加载超时时间
@@ -34,22 +52,25 @@ public class LoaderCoordinator implements CommandLineRunner {
     private int loaderTimeoutSeconds;
 
     /**
-     * 异步加载器线程池大小
+     * 加载器线程池大小
      */
     @Value("${app.loader.async-pool-size:10}")
     private int asyncPoolSize;
 
     /**
-     * 是否快速失败，如果为true，则遇到异常就立即停止加载器执行
+     * 是否快速失败，如果为true，则遇到异常后不再启动新的加载器
      */
     @Value("${app.loader.fail-fast:false}")
     private boolean failFast;
 
+    private volatile boolean aborted;
+
     @Override
     public void run(String... args) {
         logger.info("================ 开始数据加载过程 ================");
         long startTime = System.currentTimeMillis();
         loaderStatusMap.clear();
+        aborted = false;
 
         // 检查是否有DataLoader
         if (loaders == null || loaders.isEmpty()) {
@@ -57,204 +78,205 @@ public class LoaderCoordinator implements CommandLineRunner {
             return;
         }
 
-        // 按优先级排序
-        loaders.sort(Comparator.comparingInt(DataLoader::getOrder));
-
-        // 初始化状态跟踪
-        for (DataLoader loader : loaders) {
-            loaderStatusMap.put(loader.getName(), new LoaderStatus(loader.getName()));
+        List<DataLoader> orderedLoaders = resolveExecutionOrder(loaders);
+        for (DataLoader loader : orderedLoaders) {
+            loaderStatusMap.put(loader.getName(), new LoaderStatus(loader.getName(), loader.dependsOn()));
         }
 
-        // 分离同步和异步加载器
-        List<DataLoader> syncLoaders = loaders.stream()
-                .filter(loader -> !loader.isAsync())
-                .toList();
-
-        List<DataLoader> asyncLoaders = loaders.stream()
-                .filter(DataLoader::isAsync)
-                .toList();
-
-        logger.info("发现 {} 个同步加载器, {} 个异步加载器", syncLoaders.size(), asyncLoaders.size());
+        long blockingCount = orderedLoaders.stream().filter(this::isBlocking).count();
+        logger.info("发现 {} 个加载器，其中 {} 个阻塞启动流程", orderedLoaders.size(), blockingCount);
 
-        // 首先执行同步加载器（顺序执行）
-        boolean syncLoadersSuccess = executeSyncLoaders(syncLoaders);
+        ExecutorService executorService = new ThreadPoolExecutor(
+                asyncPoolSize, asyncPoolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "async-loader-thread");
+                    t.setDaemon(true);
+                    return t;
+                });
 
-        // 如果同步加载器失败并且配置为快速失败，则不执行异步加载器
-        if (!syncLoadersSuccess && failFast) {
-            logger.error("同步加载器执行失败，系统配置为快速失败，跳过异步加载器执行");
-            printSummary(startTime);
-            return;
+        // 按拓扑顺序创建任务，每个任务在其依赖全部完成后执行
+        Map<String, CompletableFuture<Boolean>> futures = new LinkedHashMap<>();
+        for (DataLoader loader : orderedLoaders) {
+            CompletableFuture<?>[] dependencies = loader.dependsOn().stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture<Boolean> future = CompletableFuture.allOf(dependencies)
+                    .thenApplyAsync(ignored -> execute(loader, startTime), executorService)
+                    .exceptionally(e -> false);
+            futures.put(loader.getName(), future);
         }
 
-        // 然后并行执行异步加载器
-        executeAsyncLoaders(asyncLoaders);
+        // 全部完成后输出报告并关闭线程池，异步加载器可能在启动流程结束后才完成
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, e) -> {
+                    printSummary(startTime);
+                    executorService.shutdown();
+                });
 
-        // 打印最终摘要
-        printSummary(startTime);
+        awaitBlockingLoaders(orderedLoaders, futures);
     }
 
     /**
-     * 执行同步加载器
+     * 检查依赖并按拓扑顺序排列加载器，同一层级内按 {@link DataLoader#getOrder()} 排序
      *
-     * @return 是否全部成功
+     * @param loaders 所有加载器
+     * @return 拓扑顺序
      */
-    private boolean executeSyncLoaders(List<DataLoader> syncLoaders) {
-        boolean allSuccess = true;
-
-        for (DataLoader loader : syncLoaders) {
-            String loaderName = loader.getName();
-            LoaderStatus status = loaderStatusMap.get(loaderName);
-            status.markStart();
-
-            logger.info("开始执行同步加载器: {}", loaderName);
-            try {
-                boolean load = loader.load();
-                if (load) {
-                    status.markSuccess();
-                } else {
-                    allSuccess = false;
-                    String errorMsg = "加载器返回false，表示加载失败";
-                    status.markFailure(errorMsg);
-                    logger.error("同步加载器执行失败: {} - {}", loaderName, errorMsg);
-                    boolean blockStartup = loader.blockStartupOnFailure();
-                    if (blockStartup) {
-                        throw new RuntimeException("加载器 " + loaderName + " 加载失败，阻止项目启动");
-                    }
-                }
-                logger.info("同步加载器执行完成: {} (耗时: {}ms)", loaderName, status.getDuration());
-            } catch (Exception e) {
-                allSuccess = false;
-                String errorMsg = e.getMessage();
-                status.markFailure(errorMsg);
-                logger.error("同步加载器执行失败: {} - {}", loaderName, errorMsg, e);
-                boolean blockStartup = loader.blockStartupOnFailure();
-                if (blockStartup) {
-                    throw new RuntimeException("加载器 " + loaderName + " 加载失败，阻止项目启动", e);
+    static List<DataLoader> resolveExecutionOrder(List<DataLoader> loaders) {
+        Map<String, DataLoader> loaderMap = new HashMap<>();
+        for (DataLoader loader : loaders) {
+            if (loaderMap.put(loader.getName(), loader) != null) {
+                throw new IllegalStateException("加载器名称重复: " + loader.getName());
+            }
+        }
+
+        Map<String, Integer> inDegree = new HashMap<>();
+        Map<String, List<DataLoader>> dependents = new HashMap<>();
+        for (DataLoader loader : loaders) {
+            for (String dependency : loader.dependsOn()) {
+                if (!loaderMap.containsKey(dependency)) {
+                    throw new IllegalStateException("加载器 " + loader.getName() + " 依赖的加载器不存在: " + dependency);
                 }
+                dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(loader);
+            }
+            inDegree.put(loader.getName(), loader.dependsOn().size());
+        }
 
-                if (failFast) {
-                    logger.error("系统配置为快速失败模式，中止后续加载器执行");
-                    // 标记后续未执行的同步加载器为跳过
-                    markRemainingSyncLoadersSkipped(syncLoaders, loaderName);
-                    break;
+        // Kahn算法，就绪队列按优先级排序
+        PriorityQueue<DataLoader> ready = new PriorityQueue<>(
+                Comparator.comparingInt(DataLoader::getOrder).thenComparing(DataLoader::getName));
+        loaders.stream().filter(loader -> inDegree.get(loader.getName()) == 0).forEach(ready::add);
+        List<DataLoader> ordered = new ArrayList<>(loaders.size());
+        while (!ready.isEmpty()) {
+            DataLoader loader = ready.poll();
+            ordered.add(loader);
+            for (DataLoader dependent : dependents.getOrDefault(loader.getName(), List.of())) {
+                if (inDegree.merge(dependent.getName(), -1, Integer::sum) == 0) {
+                    ready.add(dependent);
                 }
             }
         }
 
-        return allSuccess;
+        if (ordered.size() < loaders.size()) {
+            String cycle = inDegree.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 0)
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            throw new IllegalStateException("加载器之间存在循环依赖: " + cycle);
+        }
+        return ordered;
     }
 
     /**
-     * 执行异步加载器
+     * 执行单个加载器，依赖失败或快速失败时跳过
+     *
+     * @return 是否加载成功
      */
-    private void executeAsyncLoaders(List<DataLoader> asyncLoaders) {
-        if (asyncLoaders.isEmpty()) {
-            return;
+    private boolean execute(DataLoader loader, long coordinatorStartTime) {
+        String loaderName = loader.getName();
+        LoaderStatus status = loaderStatusMap.get(loaderName);
+        status.markStart(coordinatorStartTime);
+
+        List<String> failedDependencies = loader.dependsOn().stream()
+                .filter(dependency -> !loaderStatusMap.get(dependency).success)
+                .sorted()
+                .toList();
+        if (!failedDependencies.isEmpty()) {
+            status.markSkipped("依赖加载失败: " + String.join(", ", failedDependencies));
+            logger.warn("跳过加载器: {} - 依赖加载失败: {}", loaderName, failedDependencies);
+            return false;
+        }
+        if (aborted) {
+            status.markSkipped("快速失败模式，已中止");
+            return false;
         }
 
-        // 创建线程池，大小可配置
-        ExecutorService executorService = new ThreadPoolExecutor(
-                asyncPoolSize, asyncPoolSize,
-                0L, TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>(),
-                r -> {
-                    Thread t = new Thread(r, "async-loader-thread");
-                    t.setDaemon(true);
-                    return t;
-                });
-
+        logger.info("开始执行加载器: {}", loaderName);
         try {
-            // 创建异步任务
-            List<CompletableFuture<Void>> futures = asyncLoaders.stream()
-                    .map(loader -> CompletableFuture.runAsync(() -> {
-                                String loaderName = loader.getName();
-                                LoaderStatus status = loaderStatusMap.get(loaderName);
-                                status.markStart();
-
-                                logger.info("开始执行异步加载器: {}", loaderName);
-                                try {
-                                    boolean load = loader.load();
-                                    if (load) {
-                                        status.markSuccess();
-                                    } else {
-                                        String errorMsg = "加载器返回false，表示加载失败";
-                                        status.markFailure(errorMsg);
-                                        logger.error("异步加载器执行失败: {} - {}", loaderName, errorMsg);
-                                        boolean blockStartup = loader.blockStartupOnFailure();
-                                        if (blockStartup) {
-                                            throw new RuntimeException("加载器 " + loaderName + " 加载失败，阻止项目启动");
-                                        }
-                                    }
-                                    logger.info("异步加载器执行完成: {} (耗时: {}ms)", loaderName, status.getDuration());
-                                } catch (Exception e) {
-                                    String errorMsg = e.getMessage();
-                                    status.markFailure(errorMsg);
-                                    logger.error("异步加载器执行失败: {} - {}", loaderName, errorMsg, e);
-                                    boolean blockStartup = loader.blockStartupOnFailure();
-                                    if (blockStartup) {
-                                        throw new RuntimeException("加载器 " + loaderName + " 加载失败，阻止项目启动", e);
-                                    }
-                                }
-                            }, executorService)
-                            // 每个任务设置单独超时，避免长尾拖慢整体
-                            .orTimeout(loaderTimeoutSeconds, TimeUnit.SECONDS))
-                    .toList();
-
-            // 设置超时等待所有异步加载完成
-            try {
-                CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
-                all.get(loaderTimeoutSeconds, TimeUnit.SECONDS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                logger.error("异步加载器执行被中断", e);
-            } catch (ExecutionException e) {
-                logger.error("异步加载器执行发生错误", e);
-                if (failFast) {
-                    futures.forEach(f -> f.cancel(true));
-                    executorService.shutdownNow();
-                }
-            } catch (TimeoutException e) {
-                logger.error("异步加载器执行超时 ({}秒)", loaderTimeoutSeconds, e);
-                futures.forEach(f -> f.cancel(true));
-                executorService.shutdownNow();
+            if (!awaitReady(loader)) {
+                fail(loader, status, "等待就绪条件超时", null);
+                return false;
             }
-        } finally {
-            executorService.shutdown();
-            try {
-                if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
-                    logger.warn("异步加载器线程池未能在5秒内正常关闭，尝试强制关闭");
-                    executorService.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                logger.error("等待线程池关闭时被中断", e);
-                executorService.shutdownNow();
+            if (loader.load()) {
+                status.markSuccess();
+                logger.info("加载器执行完成: {} (耗时: {}ms)", loaderName, status.getDuration());
+                return true;
             }
+            fail(loader, status, "加载器返回false，表示加载失败", null);
+        } catch (Exception e) {
+            fail(loader, status, e.getMessage(), e);
+        }
+        return false;
+    }
+
+    private void fail(DataLoader loader, LoaderStatus status, String errorMsg, Exception e) {
+        status.markFailure(errorMsg);
+        if (e != null) {
+            logger.error("加载器执行失败: {} - {}", loader.getName(), errorMsg, e);
+        } else {
+            logger.error("加载器执行失败: {} - {}", loader.getName(), errorMsg);
+        }
+        if (failFast) {
+            aborted = true;
+            logger.error("系统配置为快速失败模式，不再启动后续加载器");
         }
     }
 
     /**
-     * 标记同步阶段未执行的加载器为跳过
+     * 轮询就绪条件，最长等待加载超时时间
      */
-    private void markRemainingSyncLoadersSkipped(List<DataLoader> syncLoaders, String failedLoaderName) {
-        boolean afterFailed = false;
-        for (DataLoader loader : syncLoaders) {
-            String name = loader.getName();
-            if (name.equals(failedLoaderName)) {
-                afterFailed = true;
-                continue;
+    private boolean awaitReady(DataLoader loader) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(loaderTimeoutSeconds);
+        while (!loader.isReady()) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
             }
-            if (afterFailed) {
-                LoaderStatus status = loaderStatusMap.get(name);
-                if (status != null) {
-                    status.markSkipped();
-                }
+            Thread.sleep(READINESS_POLL_INTERVAL_MILLIS);
+        }
+        return true;
+    }
+
+    /**
+     * 等待阻塞启动的加载器完成，失败且要求阻止启动时抛出异常
+     */
+    private void awaitBlockingLoaders(List<DataLoader> orderedLoaders, Map<String, CompletableFuture<Boolean>> futures) {
+        List<DataLoader> blockingLoaders = orderedLoaders.stream().filter(this::isBlocking).toList();
+        if (blockingLoaders.isEmpty()) {
+            return;
+        }
+        CompletableFuture<?>[] blockingFutures = blockingLoaders.stream()
+                .map(loader -> futures.get(loader.getName()))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(blockingFutures).get(loaderTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("加载器执行被中断", e);
+        } catch (ExecutionException e) {
+            logger.error("加载器执行发生错误", e);
+        } catch (TimeoutException e) {
+            logger.error("加载器执行超时 ({}秒)", loaderTimeoutSeconds);
+        }
+
+        for (DataLoader loader : blockingLoaders) {
+            if (loader.blockStartupOnFailure() && !Boolean.TRUE.equals(futures.get(loader.getName()).getNow(false))) {
+                throw new RuntimeException("加载器 " + loader.getName() + " 加载失败，阻止项目启动");
             }
         }
     }
 
     /**
-     * 打印加载摘要
+     * 启动流程是否需要等待该加载器
+     */
+    private boolean isBlocking(DataLoader loader) {
+        return !loader.isAsync() || loader.blockStartupOnFailure();
+    }
+
+    /**
+     * 打印加载报告并记录耗时指标
      */
     private void printSummary(long startTime) {
         long totalTime = System.currentTimeMillis() - startTime;
@@ -266,19 +288,19 @@ public class LoaderCoordinator implements CommandLineRunner {
         logger.info("================ 数据加载过程摘要 ================");
         logger.info("总耗时: {}ms, 成功: {}, 失败: {}", totalTime, successCount, failureCount);
 
-        // 如果有失败的加载器，打印它们的信息
-        if (failureCount > 0) {
-            logger.error("以下加载器执行失败:");
-            loaderStatusMap.values().stream()
-                    .filter(status -> !status.success)
-                    .forEach(status -> logger.error("  - {}", status));
-        }
-
-        // 打印所有加载器的详细信息（按耗时排序）
-        logger.info("所有加载器执行详情 (按耗时排序):");
+        // 按开始时间输出时间线，便于观察并行情况
+        logger.info(String.format("  %-24s %-4s %8s %8s  %s", "加载器", "状态", "开始(ms)", "耗时(ms)", "依赖/错误"));
         loaderStatusMap.values().stream()
-                .sorted(Comparator.comparingLong(LoaderStatus::getDuration).reversed())
-                .forEach(status -> logger.info("  - {}", status));
+                .sorted(Comparator.comparingLong(LoaderStatus::getOffset))
+                .forEach(status -> logger.info("  {}", status));
+
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        loaderStatusMap.values().forEach(status -> Timer.builder(METRIC_NAME)
+                .description("启动数据加载器耗时")
+                .tag("loader", status.name)
+                .tag("result", status.getResult())
+                .register(meterRegistry)
+                .record(status.getDuration(), TimeUnit.MILLISECONDS));
 
         logger.info("================ 数据加载过程结束 ================");
     }
@@ -288,18 +310,22 @@ public class LoaderCoordinator implements CommandLineRunner {
      */
     private static class LoaderStatus {
         private final String name;
-        private long startTime;
-        private long endTime;
-        private boolean success;
-        private String errorMessage;
-        private boolean skipped;
-
-        public LoaderStatus(String name) {
+        private final Set<String> dependsOn;
+        private volatile long offset;
+        private volatile long startTime;
+        private volatile long endTime;
+        private volatile boolean success;
+        private volatile String errorMessage;
+        private volatile boolean skipped;
+
+        public LoaderStatus(String name, Set<String> dependsOn) {
             this.name = name;
+            this.dependsOn = dependsOn;
         }
 
-        public void markStart() {
+        public void markStart(long coordinatorStartTime) {
             this.startTime = System.currentTimeMillis();
+            this.offset = startTime - coordinatorStartTime;
         }
 
         public void markSuccess() {
@@ -313,24 +339,34 @@ public class LoaderCoordinator implements CommandLineRunner {
             this.errorMessage = errorMessage;
         }
 
-        public void markSkipped() {
+        public void markSkipped(String reason) {
             this.endTime = System.currentTimeMillis();
             this.success = false;
             this.skipped = true;
+            this.errorMessage = reason;
         }
 
         public long getDuration() {
-            return endTime - startTime;
+            return Math.max(endTime - startTime, 0);
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public String getState() {
+            return skipped ? "跳过" : (success ? "成功" : "失败");
+        }
+
+        public String getResult() {
+            return skipped ? "skipped" : (success ? "success" : "failure");
         }
 
         @Override
         public String toString() {
-            String state = skipped ? "跳过" : (success ? "成功" : "失败");
-            return String.format("%s [%s] %dms %s",
-                    name,
-                    state,
-                    getDuration(),
-                    errorMessage != null ? "- " + errorMessage : "");
+            String detail = errorMessage != null ? "- " + errorMessage
+                    : (dependsOn.isEmpty() ? "" : "<- " + String.join(", ", dependsOn));
+            return String.format("%-24s %-4s %8d %8d  %s", name, getState(), offset, getDuration(), detail);
         }
     }
 }
@@ -4,15 +4,47 @@ import cn.zhangchuangla.common.core.annotation.DataMasking;
 import cn.zhangchuangla.common.core.enums.MaskingType;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * 数据脱敏工具类
+ * <p>
+ * 每个脱敏注解编译为一个 {@link Masker}：正则在编译时预先构建，手机号、身份证号和银行卡号
+ * 使用字符判断代替正则匹配。编译结果按注解缓存，序列化器在创建时即持有编译结果。
+ * </p>
  *
  * @author Chuang
  */
 public class DataMaskingUtils {
 
+    /**
+     * 预定义脱敏类型的正则
+     */
+    private static final Map<MaskingType, Pattern> PREDEFINED_PATTERNS = new EnumMap<>(MaskingType.class);
+
+    /**
+     * 替换字符串中的连续*号
+     */
+    private static final Pattern MASK_RUN_PATTERN = Pattern.compile("\\*+");
+
+    /**
+     * 注解到脱敏器的缓存
+     */
+    private static final Map<DataMasking, Masker> MASKER_CACHE = new ConcurrentHashMap<>();
+
+    static {
+        for (MaskingType type : MaskingType.values()) {
+            if (type != MaskingType.CUSTOM) {
+                PREDEFINED_PATTERNS.put(type, Pattern.compile(type.getRegex()));
+            }
+        }
+    }
+
     /**
      * 执行数据脱敏
      *
@@ -24,64 +56,145 @@ public class DataMaskingUtils {
         if (StringUtils.isBlank(data)) {
             return data;
         }
+        return MASKER_CACHE.computeIfAbsent(dataMasking, DataMaskingUtils::compile).mask(data);
+    }
 
+    /**
+     * 将脱敏注解编译为脱敏器，结果可重复使用
+     *
+     * @param dataMasking 脱敏注解
+     * @return 脱敏器
+     */
+    public static Masker compile(DataMasking dataMasking) {
         MaskingType type = dataMasking.type();
-
         // 如果是自定义类型，使用注解中的正则表达式
-        if (type == MaskingType.CUSTOM) {
-            return maskWithCustomRegex(data, dataMasking);
-        }
-
-        // 使用预定义的脱敏规则
-        return maskWithPredefinedType(data, type, dataMasking);
+        Masker masker = type == MaskingType.CUSTOM
+                ? compileCustomRegex(dataMasking)
+                : compilePredefinedType(type, dataMasking);
+        return data -> StringUtils.isBlank(data) ? data : masker.mask(data);
     }
 
     /**
-     * 使用自定义正则表达式进行脱敏
+     * 编译自定义正则表达式脱敏
      */
-    private static String maskWithCustomRegex(String data, DataMasking dataMasking) {
+    private static Masker compileCustomRegex(DataMasking dataMasking) {
         String regex = dataMasking.regex();
         String replacement = dataMasking.replacement();
 
         if (StringUtils.isBlank(regex)) {
             // 如果没有指定正则表达式，使用前后保留字符数的方式
-            return maskWithKeepChars(data, dataMasking.prefixKeep(), dataMasking.suffixKeep(),
-                    dataMasking.maskChar(), dataMasking.preserveLength(), dataMasking.maskLength());
+            int prefixKeep = dataMasking.prefixKeep();
+            int suffixKeep = dataMasking.suffixKeep();
+            String maskChar = dataMasking.maskChar();
+            boolean preserveLength = dataMasking.preserveLength();
+            int maskLength = dataMasking.maskLength();
+            return data -> maskWithKeepChars(data, prefixKeep, suffixKeep, maskChar, preserveLength, maskLength);
         }
 
+        Pattern pattern;
         try {
-            return data.replaceAll(regex, replacement);
-        } catch (Exception e) {
+            pattern = Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
             // 如果正则表达式有问题，返回原始数据
-            return data;
+            return data -> data;
         }
+        return data -> {
+            try {
+                return pattern.matcher(data).replaceAll(replacement);
+            } catch (Exception e) {
+                return data;
+            }
+        };
     }
 
     /**
-     * 使用预定义的脱敏类型进行脱敏
+     * 编译预定义脱敏类型
      */
-    private static String maskWithPredefinedType(String data, MaskingType type, DataMasking dataMasking) {
-        String regex = type.getRegex();
-        String replacement = type.getReplacement();
+    private static Masker compilePredefinedType(MaskingType type, DataMasking dataMasking) {
+        String maskChar = dataMasking.maskChar();
+        boolean preserveLength = dataMasking.preserveLength();
+        int maskLength = dataMasking.maskLength();
+        Masker fallback = data -> maskWithDefaultKeepChars(data, type, maskChar, preserveLength, maskLength);
 
-        // 如果指定了自定义脱敏字符，替换默认的*号
-        if (!"*".equals(dataMasking.maskChar())) {
-            replacement = replacement.replaceAll("\\*+", generateMaskChars(4, dataMasking.maskChar()));
+        // 纯数字类型且脱敏字符不含替换字符串的转义符时，直接拼接，结果与正则替换一致
+        int prefixLength = digitPrefixLength(type);
+        if (prefixLength > 0 && maskChar.indexOf('$') < 0 && maskChar.indexOf('\\') < 0) {
+            String mask = generateMaskChars(4, maskChar);
+            return data -> {
+                try {
+                    if (isDigitsOfType(data, type)) {
+                        return data.substring(0, prefixLength) + mask + data.substring(data.length() - 4);
+                    }
+                    return fallback.mask(data);
+                } catch (Exception e) {
+                    return data;
+                }
+            };
         }
 
-        try {
-            // 检查数据是否匹配正则表达式
-            if (Pattern.matches(regex, data)) {
-                return data.replaceAll(regex, replacement);
-            } else {
+        String replacement = type.getReplacement();
+        // 如果指定了自定义脱敏字符，替换默认的*号
+        if (!"*".equals(maskChar)) {
+            try {
+                replacement = MASK_RUN_PATTERN.matcher(replacement).replaceAll(generateMaskChars(4, maskChar));
+            } catch (RuntimeException e) {
+                // 脱敏字符无法作为替换字符串，保持与逐次处理时相同的异常行为
+                return data -> {
+                    throw e;
+                };
+            }
+        }
+        Pattern pattern = PREDEFINED_PATTERNS.get(type);
+        String compiledReplacement = replacement;
+        return data -> {
+            try {
+                // 检查数据是否匹配正则表达式
+                Matcher matcher = pattern.matcher(data);
+                if (matcher.matches()) {
+                    return matcher.replaceAll(compiledReplacement);
+                }
                 // 如果不匹配，尝试使用通用的前后保留字符数方式
-                return maskWithDefaultKeepChars(data, type, dataMasking.maskChar(),
-                        dataMasking.preserveLength(), dataMasking.maskLength());
+                return fallback.mask(data);
+            } catch (Exception e) {
+                // 如果出现异常，返回原始数据
+                return data;
+            }
+        };
+    }
+
+    /**
+     * 纯数字脱敏类型保留的前缀长度，非纯数字类型返回0
+     */
+    private static int digitPrefixLength(MaskingType type) {
+        return switch (type) {
+            case MOBILE_PHONE -> 3;
+            case BANK_CARD -> 4;
+            case ID_CARD -> 6;
+            default -> 0;
+        };
+    }
+
+    /**
+     * 判断数据是否完整匹配纯数字类型的正则
+     */
+    private static boolean isDigitsOfType(String data, MaskingType type) {
+        int length = data.length();
+        boolean lengthMatched = switch (type) {
+            case MOBILE_PHONE -> length == 11;
+            case ID_CARD -> length == 18;
+            case BANK_CARD -> length >= 8;
+            default -> false;
+        };
+        if (!lengthMatched) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = data.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
             }
-        } catch (Exception e) {
-            // 如果出现异常，返回原始数据
-            return data;
         }
+        return true;
     }
 
     /**
@@ -175,4 +288,19 @@ public class DataMaskingUtils {
     private static String generateMaskChars(int count, String maskChar) {
         return String.valueOf(maskChar).repeat(Math.max(0, count));
     }
+
+    /**
+     * 编译后的脱敏器
+     */
+    @FunctionalInterface
+    public interface Masker {
+
+        /**
+         * 执行脱敏
+         *
+         * @param data 原始数据
+         * @return 脱敏后的数据
+         */
+        String mask(String data);
+    }
 }
@@ -3,6 +3,7 @@ package cn.zhangchuangla.common.core.utils;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import org.jsoup.safety.Cleaner;
 import org.jsoup.safety.Safelist;
 
 /**
@@ -10,42 +11,53 @@ import org.jsoup.safety.Safelist;
  * 1. sanitizeHtml: 以严格白名单清洗富文本，保留常用安全标签与必要属性
  * 2. extractPlainText: 从富文本中仅提取纯文字（不包含图片、表格等）
  * 3. extractTextTableImage: 提取文字与图片、表格（仅结构化文本 + 图片链接），丢弃其他不必要内容
+ * <p>
+ * 白名单在类加载时构建一次并在线程间共享，构建后不再修改；清洗只解析一次，直接输出清洗后文档的 body。
+ * </p>
  *
  * @author Chuang
  */
 public final class XssUtils {
 
+    /**
+     * 文字、表格与图片白名单
+     */
+    private static final Cleaner TEXT_TABLE_IMAGE_CLEANER = new Cleaner(new Safelist()
+            .addTags("p", "br", "table", "thead", "tbody", "tr", "th", "td", "img")
+            .addAttributes("img", "src", "alt", "title"));
+
     private XssUtils() {
     }
 
     /**
-     * 使用白名单清洗 HTML，移除潜在的 XSS 向量。
+     * 使用富文本白名单清洗 HTML，移除潜在的 XSS 向量。
      * 白名单允许的标签：p, br, b, i, u, em, strong, a(href,title,target,rel), ul, ol, li, span, div,
      * h1-h6, blockquote, code, pre, img(src,alt,title), table, thead, tbody, tr, th, td
      */
     public static String sanitizeHtml(String html) {
+        return sanitizeHtml(html, Policy.RICH_TEXT);
+    }
+
+    /**
+     * 使用指定白名单清洗 HTML，移除潜在的 XSS 向量。
+     * 不含 '&lt;' 和 '&amp;' 的输入不可能包含标签或实体，跳过解析，仅转义 '&gt;'。
+     *
+     * @param html   原始 HTML
+     * @param policy 清洗策略
+     * @return 清洗后的 HTML
+     */
+    public static String sanitizeHtml(String html, Policy policy) {
         if (html == null || html.isEmpty()) {
             return html;
         }
-
-        Safelist safelist = Safelist.relaxed()
-                .addTags("table", "thead", "tbody", "tr", "th", "td",
-                        "video", "source")
-                .addAttributes("a", "href", "title", "target", "rel")
-                .addAttributes("img", "src", "alt", "title")
-                .addAttributes("table", "border", "cellpadding", "cellspacing")
-                .addAttributes("video", "controls", "width", "height", "poster")
-                .addAttributes("source", "src", "type")
-                .addProtocols("a", "href", "http", "https", "mailto")
-                .addProtocols("img", "src", "http", "https", "data")
-                .addProtocols("video", "poster", "http", "https")
-                .addProtocols("source", "src", "http", "https");
+        if (html.indexOf('<') < 0 && html.indexOf('&') < 0) {
+            return html.indexOf('>') < 0 ? html : html.replace(">", "&gt;");
+        }
 
         // 清理 HTML（Safelist 默认会移除 script 等可执行标签）
-        String cleaned = Jsoup.clean(html, safelist);
+        Document document = policy.cleaner.clean(Jsoup.parseBodyFragment(html, ""));
 
         // 补充处理链接的安全属性
-        Document document = Jsoup.parse(cleaned);
         for (Element a : document.select("a[href]")) {
             a.attr("rel", "noopener noreferrer nofollow");
             if (!a.hasAttr("target")) {
@@ -77,16 +89,51 @@ public final class XssUtils {
         if (html == null || html.isEmpty()) {
             return html;
         }
-        Safelist safelist = new Safelist()
-                .addTags("p", "br", "table", "thead", "tbody", "tr", "th", "td", "img")
-                .addAttributes("img", "src", "alt", "title");
-        String kept = Jsoup.clean(html, safelist);
+        Document document = TEXT_TABLE_IMAGE_CLEANER.clean(Jsoup.parseBodyFragment(html, ""));
 
-        // 二次处理：去掉 table/td/th 上的 style/class 等属性（如有残留）
-        Document document = Jsoup.parse(kept);
+        // 去掉 table/td/th 上的 style/class 等属性（如有残留）
         document.select("table, thead, tbody, tr, th, td").forEach(Element::clearAttributes);
         return document.body().html();
     }
-}
 
+    /**
+     * HTML 清洗策略
+     */
+    public enum Policy {
+
+        /**
+         * 严格：移除全部标签，仅保留转义后的文本
+         */
+        STRICT(Safelist.none()),
 
+        /**
+         * 基础：仅保留简单的文本格式标签与链接
+         */
+        BASIC(Safelist.basic()),
+
+        /**
+         * 富文本：在基础之上允许标题、图片、表格与视频
+         */
+        RICH_TEXT(Safelist.relaxed()
+                .addTags("table", "thead", "tbody", "tr", "th", "td",
+                        "video", "source")
+                .addAttributes("a", "href", "title", "target", "rel")
+                .addAttributes("img", "src", "alt", "title")
+                .addAttributes("table", "border", "cellpadding", "cellspacing")
+                .addAttributes("video", "controls", "width", "height", "poster")
+                .addAttributes("source", "src", "type")
+                .addProtocols("a", "href", "http", "https", "mailto")
+                .addProtocols("img", "src", "http", "https", "data")
+                .addProtocols("video", "poster", "http", "https")
+                .addProtocols("source", "src", "http", "https"));
+
+        /**
+         * 清洗器只读取白名单，可在线程间共享
+         */
+        private final Cleaner cleaner;
+
+        Policy(Safelist safelist) {
+            this.cleaner = new Cleaner(safelist);
+        }
+    }
+}
@@ -19,16 +19,7 @@ public class DeviceUtils {
      * @return 浏览器设备信息
      */
     public static BrowserDevice getBrowserDeviceInfo(String userAgent) {
-        String browserName = UserAgentUtils.getBrowserName(userAgent);
-        String osName = UserAgentUtils.getOsName(userAgent);
-        String deviceType = UserAgentUtils.getDeviceType(userAgent);
-        String browserVersion = UserAgentUtils.getBrowserVersion(userAgent);
-        return BrowserDevice.builder()
-                .browserName(browserName)
-                .browserVersion(browserVersion)
-                .deviceType(deviceType)
-                .osName(osName)
-                .build();
+        return UserAgentUtils.parse(userAgent);
     }
 
     /**
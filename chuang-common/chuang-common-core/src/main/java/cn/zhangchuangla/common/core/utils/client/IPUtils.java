@@ -1,11 +1,14 @@
 package cn.zhangchuangla.common.core.utils.client;
 
 import cn.zhangchuangla.common.core.entity.IPEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.lionsoul.ip2region.xdb.Searcher;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.InputStream;
@@ -38,7 +41,31 @@ public class IPUtils {
     private static final String LOCALHOST_IO_INFO = "本机";
     // 定义运营商NAT的标识
     private static final String CGN_IP_INFO = "运营商NAT";
+    /**
+     * 整库缓存模式：xdb 文件一次性读入内存，查询无文件IO且并发安全
+     */
+    private static final String MODE_BUFFER = "buffer";
     private static Searcher searcher;
+    /**
+     * 文件查询模式下 Searcher 不是并发安全的，需要串行访问
+     */
+    private static boolean searcherThreadSafe;
+    /**
+     * 热点IP的查询结果缓存，缓存中的对象不对外暴露，返回时复制
+     */
+    private static Cache<String, IPEntity> regionCache;
+
+    /**
+     * 查询模式：buffer（整库缓存，默认）或 file（按需读文件，占用内存最少）
+     */
+    @Value("${app.ip2region.mode:buffer}")
+    private String mode;
+
+    /**
+     * 查询结果缓存的最大条目数，0表示不缓存
+     */
+    @Value("${app.ip2region.cache-size:10000}")
+    private long cacheSize;
 
     // --- IP 地址获取逻辑 (基本不变) ---
 
@@ -225,7 +252,7 @@ public class IPUtils {
      * （内部使用，优先调用 getRegionEntity 获取结构化数据）
      *
      * @param ip IP地址
-     * @return 地理位置原始字符串，查询失败或 searcher 未初始化返回 null
+     * @return 地理位置原始字符串，库中没有记录时返回空字符串，查询失败或 searcher 未初始化返回 null
      */
     private static String getRegionString(String ip) {
         if (searcher == null) {
@@ -238,9 +265,16 @@ public class IPUtils {
         }
 
         try {
-            String region = searcher.search(ip);
-            // ip2region 可能返回 null 或空字符串
-            return StringUtils.isBlank(region) ? null : region;
+            String region;
+            if (searcherThreadSafe) {
+                region = searcher.search(ip);
+            } else {
+                synchronized (IPUtils.class) {
+                    region = searcher.search(ip);
+                }
+            }
+            // ip2region 可能返回 null 或空字符串，均表示库中没有记录
+            return StringUtils.isBlank(region) ? "" : region;
         } catch (Exception e) {
             log.error("Ip2region search error for IP: {}", ip, e);
             return null;
@@ -351,6 +385,54 @@ public class IPUtils {
      * @return IPEntity对象，包含国家、省/州、城市和ISP信息。IPv6地址、私网或CGN地址会返回特定标识。
      */
     public static IPEntity getRegionEntity(String ip) {
+        IPEntity ipEntity;
+        if (regionCache == null || StringUtils.isBlank(ip)) {
+            ipEntity = lookupRegionEntity(ip);
+        } else {
+            // 查询失败时返回null，Caffeine不缓存null，下次调用重新查询
+            IPEntity cached = regionCache.get(ip, IPUtils::lookupRegionEntity);
+            ipEntity = cached == null ? null : copyOf(cached);
+        }
+        return ipEntity != null ? ipEntity : unknownRegionEntity(ip);
+    }
+
+    /**
+     * 查询失败时返回的地理位置信息
+     *
+     * @param ip IP地址
+     * @return 区域和运营商均为未知的IPEntity
+     */
+    private static IPEntity unknownRegionEntity(String ip) {
+        IPEntity ipEntity = new IPEntity();
+        ipEntity.setIp(ip);
+        ipEntity.setRegion(UNKNOWN_IP_INFO);
+        ipEntity.setISP(UNKNOWN_IP_INFO);
+        return ipEntity;
+    }
+
+    /**
+     * 复制地理位置信息，避免调用方修改缓存中的对象
+     *
+     * @param source 缓存中的地理位置信息
+     * @return 新的地理位置信息对象
+     */
+    private static IPEntity copyOf(IPEntity source) {
+        IPEntity ipEntity = new IPEntity();
+        ipEntity.setIp(source.getIp());
+        ipEntity.setCountry(source.getCountry());
+        ipEntity.setArea(source.getArea());
+        ipEntity.setISP(source.getISP());
+        ipEntity.setRegion(source.getRegion());
+        return ipEntity;
+    }
+
+    /**
+     * 查询IP地址的地理位置信息
+     *
+     * @param ip IP地址
+     * @return IPEntity对象，searcher 未初始化或查询出错时返回null，结果不应被缓存
+     */
+    private static IPEntity lookupRegionEntity(String ip) {
         IPEntity ipEntity = new IPEntity();
         // 将原始 IP 存入实体
         ipEntity.setIp(ip);
@@ -391,8 +473,12 @@ public class IPUtils {
 
         // 4. 调用 ip2region 查询公网 IPv4 地址
         String regionResult = getRegionString(ip);
+        if (regionResult == null) {
+            log.warn("Could not determine region for public IP: {}", ip);
+            return null;
+        }
 
-        if (regionResult != null) {
+        if (!regionResult.isEmpty()) {
             // 解析 ip2region 返回的字符串: 国家|区域|省份|城市|ISP
             String[] parts = regionResult.split("\\|");
             int expectedLength = 5;
@@ -437,8 +523,8 @@ public class IPUtils {
                 ipEntity.setISP(UNKNOWN_IP_INFO);
             }
         } else {
-            // ip2region 查询无结果或出错
-            log.warn("Could not determine region for public IP: {}", ip);
+            // ip2region 库中没有该IP的记录
+            log.debug("No ip2region record for public IP: {}", ip);
             ipEntity.setRegion(UNKNOWN_IP_INFO);
             ipEntity.setISP(UNKNOWN_IP_INFO);
         }
@@ -448,8 +534,8 @@ public class IPUtils {
 
     /**
      * 初始化 ip2region
-     * 从 ClassPath 加载 xdb 文件到临时文件进行初始化
-     * ·
+     * 默认将 xdb 文件整体读入内存，查询不再访问文件且并发安全；
+     * file 模式下从 ClassPath 复制到临时文件后按需读取
      */
     @PostConstruct
     public void init() {
@@ -462,18 +548,31 @@ public class IPUtils {
                 inputStream = Files.newInputStream(Path.of(DB_CLASSPATH_PATH));
             }
 
+            if (MODE_BUFFER.equalsIgnoreCase(mode)) {
+                byte[] content = inputStream.readAllBytes();
+                searcher = Searcher.newWithBuffer(content);
+                searcherThreadSafe = true;
+                log.info("Ip2region searcher initialized in buffer mode, size: {} bytes.", content.length);
+            } else {
+                // 将资源文件复制到临时文件，确保 Searcher 可以访问
+                Path tempDbPath = Files.createTempFile("ip2region_", ".xdb");
+                // 程序退出时删除临时文件
+                tempDbPath.toFile().deleteOnExit();
+
+                Files.copy(inputStream, tempDbPath, StandardCopyOption.REPLACE_EXISTING);
+                log.info("Copied ip2region.xdb to temporary file: {}", tempDbPath);
+
+                // 使用临时文件路径初始化 Searcher 对象
+                searcher = Searcher.newWithFileOnly(tempDbPath.toString());
+                searcherThreadSafe = false;
+                log.info("Ip2region searcher initialized successfully using temp file.");
+            }
 
-            // 将资源文件复制到临时文件，确保 Searcher 可以访问
-            Path tempDbPath = Files.createTempFile("ip2region_", ".xdb");
-            // 程序退出时删除临时文件
-            tempDbPath.toFile().deleteOnExit();
-
-            Files.copy(inputStream, tempDbPath, StandardCopyOption.REPLACE_EXISTING);
-            log.info("Copied ip2region.xdb to temporary file: {}", tempDbPath);
-
-            // 使用临时文件路径初始化 Searcher 对象
-            searcher = Searcher.newWithFileOnly(tempDbPath.toString());
-            log.info("Ip2region searcher initialized successfully using temp file.");
+            if (cacheSize > 0) {
+                regionCache = Caffeine.newBuilder()
+                        .maximumSize(cacheSize)
+                        .build();
+            }
 
         } catch (Exception e) {
             log.error("Ip2region searcher initialization failed.", e);
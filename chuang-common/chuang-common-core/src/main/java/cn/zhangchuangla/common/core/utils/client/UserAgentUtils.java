@@ -1,9 +1,11 @@
 package cn.zhangchuangla.common.core.utils.client;
 
-import eu.bitwalker.useragentutils.Browser;
-import eu.bitwalker.useragentutils.DeviceType;
-import eu.bitwalker.useragentutils.OperatingSystem;
-import eu.bitwalker.useragentutils.UserAgent;
+import cn.zhangchuangla.common.core.entity.device.BrowserDevice;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.bitwalker.useragentutils.*;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -22,6 +24,25 @@ public class UserAgentUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(UserAgentUtils.class);
 
+    private static final String UNKNOWN = "unknown";
+
+    /**
+     * 参与缓存的 User-Agent 最大长度
+     */
+    private static final int MAX_CACHEABLE_LENGTH = 1024;
+
+    /**
+     * User-Agent 解析结果缓存，命中率通过 Micrometer 全局注册表上报
+     */
+    private static final Cache<String, BrowserDevice> CACHE = Caffeine.newBuilder()
+            .maximumSize(5000)
+            .recordStats()
+            .build();
+
+    static {
+        CaffeineCacheMetrics.monitor(Metrics.globalRegistry, CACHE, "user-agent");
+    }
+
     /**
      * 从 HttpServletRequest 中获取 User-Agent 字符串
      *
@@ -40,41 +61,53 @@ public class UserAgentUtils {
      */
     public static UserAgent parseUserAgent(String userAgentStr) {
         if (StringUtils.isBlank(userAgentStr)) {
-            return UserAgent.parseUserAgentString("unknown");
+            return UserAgent.parseUserAgentString(UNKNOWN);
         }
         return UserAgent.parseUserAgentString(userAgentStr);
     }
 
     /**
-     * 获取操作系统对象
+     * 解析 User-Agent，返回缓存的不可变解析结果
+     * <p>
+     * 所有字段在一次解析中计算完成，同一 User-Agent 只解析一次，其余取值方法都基于本方法
+     * </p>
      *
      * @param userAgentStr User-Agent 字符串
-     * @return OperatingSystem 操作系统对象
-     */
-    private static OperatingSystem getOperatingSystem(String userAgentStr) {
-        return parseUserAgent(userAgentStr).getOperatingSystem();
-
-    }
-
-    /**
-     * 获取操作系统对象
-     *
-     * @param request HttpServletRequest
-     * @return OperatingSystem 操作系统对象
+     * @return 解析结果
      */
-    private static OperatingSystem getOperatingSystem(HttpServletRequest request) {
-        String userAgent = getUserAgent(request);
-        return parseUserAgent(userAgent).getOperatingSystem();
+    public static BrowserDevice parse(String userAgentStr) {
+        String key = StringUtils.isBlank(userAgentStr) ? UNKNOWN : userAgentStr;
+        // 超长的 User-Agent 不进入缓存，避免被构造的请求头占满内存
+        if (key.length() > MAX_CACHEABLE_LENGTH) {
+            return doParse(key);
+        }
+        return CACHE.get(key, UserAgentUtils::doParse);
     }
 
     /**
-     * 获取浏览器对象
+     * 一次性解析 User-Agent 的全部字段
      *
      * @param userAgentStr User-Agent 字符串
-     * @return Browser 浏览器对象
-     */
-    private static Browser getBrowser(String userAgentStr) {
-        return parseUserAgent(userAgentStr).getBrowser();
+     * @return 解析结果
+     */
+    private static BrowserDevice doParse(String userAgentStr) {
+        UserAgent userAgent = UserAgent.parseUserAgentString(userAgentStr);
+        OperatingSystem operatingSystem = userAgent.getOperatingSystem();
+        Browser browser = userAgent.getBrowser();
+        DeviceType deviceType = operatingSystem.getDeviceType();
+        Version browserVersion = browser.getVersion(userAgentStr);
+        return BrowserDevice.builder()
+                .osName(operatingSystem.getName())
+                .osVersion(parseOsVersion(userAgentStr))
+                .deviceType(deviceType.getName())
+                .deviceManufacturer(operatingSystem.getManufacturer().toString())
+                .mobile(deviceType.equals(DeviceType.MOBILE) || deviceType.equals(DeviceType.TABLET))
+                .browserName(browser.getName())
+                .browserVersion(browserVersion != null ? browserVersion.toString() : null)
+                .browserType(browser.getBrowserType().getName())
+                .browserManufacturer(browser.getManufacturer().getName())
+                .browserRenderingEngine(browser.getRenderingEngine().name())
+                .build();
     }
 
     /**
@@ -84,8 +117,7 @@ public class UserAgentUtils {
      * @return 设备类型：Mobile / Tablet / Computer
      */
     public static String getDeviceType(String userAgentStr) {
-        DeviceType deviceType = getOperatingSystem(userAgentStr).getDeviceType();
-        return deviceType.getName();
+        return parse(userAgentStr).getDeviceType();
     }
 
     /**
@@ -95,7 +127,7 @@ public class UserAgentUtils {
      * @return 操作系统名称
      */
     public static String getOsName(String userAgentStr) {
-        return getOperatingSystem(userAgentStr).getName();
+        return parse(userAgentStr).getOsName();
     }
 
     /**
@@ -106,13 +138,26 @@ public class UserAgentUtils {
      */
     public static String getOsVersion(String userAgentStr) {
         if (StringUtils.isBlank(userAgentStr)) {
-            return "unknown";
+            return UNKNOWN;
         }
+        return parse(userAgentStr).getOsVersion();
+    }
 
-        String osVersion = "unknown";
+    /**
+     * 从 User-Agent 括号内的平台信息中提取操作系统版本
+     *
+     * @param userAgentStr User-Agent 字符串
+     * @return 操作系统版本
+     */
+    private static String parseOsVersion(String userAgentStr) {
+        String osVersion = UNKNOWN;
+        int start = userAgentStr.indexOf("(");
+        int end = userAgentStr.indexOf(")");
+        if (start < 0 || end <= start) {
+            return osVersion;
+        }
         try {
-            String[] strArr = userAgentStr.substring(userAgentStr.indexOf("(") + 1,
-                    userAgentStr.indexOf(")")).split(";");
+            String[] strArr = userAgentStr.substring(start + 1, end).split(";");
             if (strArr.length > 1) {
                 osVersion = strArr[1].trim();
             }
@@ -130,7 +175,7 @@ public class UserAgentUtils {
      * @return 浏览器名称
      */
     public static String getBrowserName(String userAgentStr) {
-        return getBrowser(userAgentStr).getName();
+        return parse(userAgentStr).getBrowserName();
     }
 
     /**
@@ -140,8 +185,7 @@ public class UserAgentUtils {
      * @return 浏览器名称
      */
     public static String getBrowserName(HttpServletRequest httpServletRequest) {
-        String userAgentStr = getUserAgent(httpServletRequest);
-        return getBrowser(userAgentStr).getName();
+        return parse(getUserAgent(httpServletRequest)).getBrowserName();
     }
 
     /**
@@ -151,7 +195,7 @@ public class UserAgentUtils {
      * @return 浏览器类型
      */
     public static String getBrowserType(String userAgentStr) {
-        return getBrowser(userAgentStr).getBrowserType().getName();
+        return parse(userAgentStr).getBrowserType();
     }
 
     /**
@@ -161,7 +205,7 @@ public class UserAgentUtils {
      * @return 浏览器版本号
      */
     public static String getBrowserVersion(String userAgentStr) {
-        return getBrowser(userAgentStr).getVersion(userAgentStr).toString();
+        return parse(userAgentStr).getBrowserVersion();
     }
 
     /**
@@ -171,7 +215,7 @@ public class UserAgentUtils {
      * @return 浏览器生产厂商
      */
     public static String getBrowserManufacturer(String userAgentStr) {
-        return getBrowser(userAgentStr).getManufacturer().getName();
+        return parse(userAgentStr).getBrowserManufacturer();
     }
 
     /**
@@ -181,7 +225,7 @@ public class UserAgentUtils {
      * @return 渲染引擎名称
      */
     public static String getBrowserRenderingEngine(String userAgentStr) {
-        return getBrowser(userAgentStr).getRenderingEngine().name();
+        return parse(userAgentStr).getBrowserRenderingEngine();
     }
 
     /**
@@ -191,7 +235,7 @@ public class UserAgentUtils {
      * @return 设备生产厂家
      */
     public static String getDeviceManufacturer(String userAgentStr) {
-        return getOperatingSystem(userAgentStr).getManufacturer().toString();
+        return parse(userAgentStr).getDeviceManufacturer();
     }
 
     /**
@@ -201,8 +245,7 @@ public class UserAgentUtils {
      * @return true：移动设备；false：非移动设备
      */
     public static boolean isMobileDevice(String userAgentStr) {
-        DeviceType deviceType = getOperatingSystem(userAgentStr).getDeviceType();
-        return deviceType.equals(DeviceType.MOBILE) || deviceType.equals(DeviceType.TABLET);
+        return parse(userAgentStr).isMobile();
     }
 
 
@@ -0,0 +1,331 @@
+package cn.zhangchuangla.common.core.loader;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 数据加载协调器测试
+ * <p>
+ * 覆盖依赖图检查（循环依赖、缺失依赖、拓扑顺序）、加载失败沿依赖传播以及 blockStartupOnFailure 阻止启动，
+ * 并验证互不依赖的加载器并行执行后启动耗时明显小于串行执行。
+ * </p>
+ *
+ * @author Chuang
+ */
+class LoaderCoordinatorTest {
+
+    private static final long LOAD_MILLIS = 300;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Queue<String> loaded = new ConcurrentLinkedQueue<>();
+
+    @Test
+    void testCycleDetected() {
+        List<DataLoader> loaders = List.of(
+                loader("a").dependsOn("c"),
+                loader("b").dependsOn("a"),
+                loader("c").dependsOn("b"),
+                loader("independent"));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> LoaderCoordinator.resolveExecutionOrder(loaders));
+        assertTrue(e.getMessage().contains("a, b, c"), e.getMessage());
+        assertFalse(e.getMessage().contains("independent"), e.getMessage());
+    }
+
+    @Test
+    void testCycleStopsStartupBeforeAnyLoad() {
+        LoaderCoordinator coordinator = coordinator(List.of(
+                loader("a").dependsOn("b"),
+                loader("b").dependsOn("a"),
+                loader("independent")));
+
+        assertThrows(IllegalStateException.class, coordinator::run);
+        assertTrue(loaded.isEmpty(), "存在循环依赖时不能执行任何加载器");
+    }
+
+    @Test
+    void testMissingDependencyDetected() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> LoaderCoordinator.resolveExecutionOrder(List.of(loader("a").dependsOn("missing"))));
+        assertTrue(e.getMessage().contains("missing"), e.getMessage());
+    }
+
+    @Test
+    void testDuplicateNameDetected() {
+        assertThrows(IllegalStateException.class,
+                () -> LoaderCoordinator.resolveExecutionOrder(List.of(loader("a"), loader("a"))));
+    }
+
+    @Test
+    void testExecutionOrderFollowsDependenciesThenOrder() {
+        List<DataLoader> ordered = LoaderCoordinator.resolveExecutionOrder(List.of(
+                loader("config").order(5),
+                loader("dict").order(1).dependsOn("config"),
+                loader("job").order(0).dependsOn("config", "dict"),
+                loader("storage").order(2)));
+
+        assertEquals(List.of("storage", "config", "dict", "job"),
+                ordered.stream().map(DataLoader::getName).toList());
+    }
+
+    @Test
+    void testFailureSkipsDependents() {
+        TestLoader dependent = loader("dependent").dependsOn("failing");
+        TestLoader transitive = loader("transitive").dependsOn("dependent");
+        LoaderCoordinator coordinator = coordinator(List.of(
+                loader("failing").result(false),
+                dependent,
+                transitive,
+                loader("independent")));
+
+        coordinator.run();
+
+        assertEquals(0, dependent.loadCount.get(), "依赖失败时不能执行");
+        assertEquals(0, transitive.loadCount.get(), "间接依赖失败时同样跳过");
+        assertTrue(loaded.contains("independent"));
+    }
+
+    @Test
+    void testSkippedDependentBlocksStartup() {
+        LoaderCoordinator coordinator = coordinator(List.of(
+                loader("failing").result(false),
+                loader("critical").dependsOn("failing").blockOnFailure()));
+
+        RuntimeException e = assertThrows(RuntimeException.class, coordinator::run);
+        assertTrue(e.getMessage().contains("critical"), e.getMessage());
+    }
+
+    @Test
+    void testFailingLoaderBlocksStartup() {
+        LoaderCoordinator coordinator = coordinator(List.of(
+                loader("failing").error().blockOnFailure(),
+                loader("other")));
+
+        RuntimeException e = assertThrows(RuntimeException.class, coordinator::run);
+        assertTrue(e.getMessage().contains("failing"), e.getMessage());
+    }
+
+    @Test
+    void testFailingAsyncLoaderBlocksStartup() {
+        LoaderCoordinator coordinator = coordinator(List.of(
+                loader("async").async().result(false).blockOnFailure()));
+
+        assertThrows(RuntimeException.class, coordinator::run);
+    }
+
+    @Test
+    void testNonBlockingFailureDoesNotStopStartup() {
+        LoaderCoordinator coordinator = coordinator(List.of(
+                loader("failing").error(),
+                loader("async").async().result(false)));
+
+        assertDoesNotThrow(() -> coordinator.run());
+    }
+
+    @Test
+    void testFailFastSkipsLaterLoaders() {
+        // later 与失败的加载器没有依赖关系，只因快速失败而跳过
+        TestLoader later = loader("later").dependsOn("slow");
+        LoaderCoordinator coordinator = coordinator(List.of(
+                loader("failing").result(false),
+                loader("slow").sleep(LOAD_MILLIS),
+                later));
+        setField(coordinator, "failFast", true);
+
+        coordinator.run();
+
+        assertEquals(0, later.loadCount.get());
+    }
+
+    @Test
+    void testIndependentLoadersRunInParallel() {
+        List<DataLoader> loaders = List.of(
+                loader("storage").sleep(LOAD_MILLIS),
+                loader("dict").sleep(LOAD_MILLIS),
+                loader("config").sleep(LOAD_MILLIS),
+                loader("job").sleep(LOAD_MILLIS));
+        LoaderCoordinator coordinator = coordinator(loaders);
+
+        long start = System.nanoTime();
+        coordinator.run();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(4, loaded.size());
+        // 串行执行需要 4 × 300ms，并行执行约等于单个加载器的耗时
+        assertTrue(elapsedMillis < LOAD_MILLIS * 2, "互不依赖的加载器没有并行执行，耗时: " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void testDependencyChainReducesWallClockToCriticalPath() {
+        LoaderCoordinator coordinator = coordinator(List.of(
+                loader("config").sleep(LOAD_MILLIS),
+                loader("dict").sleep(LOAD_MILLIS).dependsOn("config"),
+                loader("storage").sleep(LOAD_MILLIS),
+                loader("job").sleep(LOAD_MILLIS).dependsOn("storage")));
+
+        long start = System.nanoTime();
+        coordinator.run();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        List<String> order = List.copyOf(loaded);
+        assertTrue(order.indexOf("config") < order.indexOf("dict"));
+        assertTrue(order.indexOf("storage") < order.indexOf("job"));
+        // 两条链互不依赖，耗时为最长链 2 × 300ms 而不是 4 × 300ms
+        assertTrue(elapsedMillis >= LOAD_MILLIS * 2, "依赖没有按顺序执行，耗时: " + elapsedMillis + "ms");
+        assertTrue(elapsedMillis < LOAD_MILLIS * 3, "两条依赖链没有并行执行，耗时: " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void testTimingRecordedPerLoader() throws InterruptedException {
+        LoaderCoordinator coordinator = coordinator(List.of(
+                loader("ok"),
+                loader("failing").result(false),
+                loader("skipped").dependsOn("failing")));
+
+        coordinator.run();
+
+        // 报告在全部加载器完成后异步输出
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.find("app.loader.duration").timers().size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(1, meterRegistry.get("app.loader.duration").tags("loader", "ok", "result", "success").timer().count());
+        assertEquals(1, meterRegistry.get("app.loader.duration").tags("loader", "failing", "result", "failure").timer().count());
+        assertEquals(1, meterRegistry.get("app.loader.duration").tags("loader", "skipped", "result", "skipped").timer().count());
+    }
+
+    private LoaderCoordinator coordinator(List<DataLoader> loaders) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        LoaderCoordinator coordinator = new LoaderCoordinator(loaders, beanFactory.getBeanProvider(MeterRegistry.class));
+        setField(coordinator, "loaderTimeoutSeconds", 10);
+        setField(coordinator, "asyncPoolSize", 4);
+        setField(coordinator, "failFast", false);
+        return coordinator;
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private TestLoader loader(String name) {
+        return new TestLoader(name);
+    }
+
+    /**
+     * 可配置耗时、结果和依赖的测试加载器
+     */
+    private final class TestLoader implements DataLoader {
+
+        private final String name;
+        private final AtomicInteger loadCount = new AtomicInteger();
+        private int order;
+        private Set<String> dependsOn = Set.of();
+        private boolean async;
+        private boolean blockStartupOnFailure;
+        private long sleepMillis;
+        private boolean result = true;
+        private boolean error;
+
+        private TestLoader(String name) {
+            this.name = name;
+        }
+
+        TestLoader order(int order) {
+            this.order = order;
+            return this;
+        }
+
+        TestLoader dependsOn(String... names) {
+            this.dependsOn = Set.of(names);
+            return this;
+        }
+
+        TestLoader async() {
+            this.async = true;
+            return this;
+        }
+
+        TestLoader blockOnFailure() {
+            this.blockStartupOnFailure = true;
+            return this;
+        }
+
+        TestLoader sleep(long millis) {
+            this.sleepMillis = millis;
+            return this;
+        }
+
+        TestLoader result(boolean result) {
+            this.result = result;
+            return this;
+        }
+
+        TestLoader error() {
+            this.error = true;
+            return this;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+
+        @Override
+        public boolean load() {
+            loadCount.incrementAndGet();
+            if (sleepMillis > 0) {
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (error) {
+                throw new IllegalStateException("模拟加载异常: " + name);
+            }
+            loaded.add(name);
+            return result;
+        }
+
+        @Override
+        public boolean isAsync() {
+            return async;
+        }
+
+        @Override
+        public boolean blockStartupOnFailure() {
+            return blockStartupOnFailure;
+        }
+
+        @Override
+        public Set<String> dependsOn() {
+            return dependsOn;
+        }
+    }
+}
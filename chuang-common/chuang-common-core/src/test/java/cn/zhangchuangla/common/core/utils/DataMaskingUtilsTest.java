@@ -0,0 +1,133 @@
+package cn.zhangchuangla.common.core.utils;
+
+import cn.zhangchuangla.common.core.annotation.DataMasking;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static cn.zhangchuangla.common.core.enums.MaskingType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 数据脱敏测试
+ * <p>
+ * 期望值由改为预编译脱敏器之前的逐次正则实现生成，用于保证脱敏结果逐字节不变。
+ * </p>
+ *
+ * @author Chuang
+ */
+class DataMaskingUtilsTest {
+
+    /**
+     * 字段名、原始值、期望的脱敏结果
+     */
+    private static final String[][] GOLDEN = {
+                {"phone", "18800000000", "188****0000"},
+                {"phone", "1880000000", "188***0000"},
+                {"phone", "+8618800000000", "+86*******0000"},
+                {"phone", " ", " "},
+                {"phoneHash", "18800000000", "188####0000"},
+                {"phoneHash", "188-0000-0000", "188######0000"},
+                {"idCard", "110101199003077777", "110101****7777"},
+                {"idCard", "11010119900307777X", "110101********777X"},
+                {"email", "zhangchuang@example.com", "z***@example.com"},
+                {"email", "zhang.chuang@example.com", "z***********@example.com"},
+                {"email", "noatsign", "n*******"},
+                {"name", "张三丰", "张**"},
+                {"name", "张 三", "张**"},
+                {"name", "Li", "L**"},
+                {"bankCard", "6222021234567890123", "6222****0123"},
+                {"bankCard", "12345678", "1234****5678"},
+                {"bankCard", "6222 0212 3456 7890", "6222***********7890"},
+                {"address", "北京市朝阳区某某街道123号", "北京市****3号"},
+                {"address", "北京", "北*"},
+                {"password", "password123", "************"},
+                {"password", "pass word", "************"},
+                {"passwordFixed", "password123", "************"},
+                {"fixedPhone", "010-12345678", "010-****5678"},
+                {"fixedPhone", "0755-1234567", "0755-****4567"},
+                {"secretKey", "sk_1234567890abcdef", "sk_****cdef"},
+                {"secretKey", "sk-1234567890", "sk-*******890"},
+                {"customRegex", "secret1234567890", "sec****7890"},
+                {"customRegex", "ab", "ab"},
+                {"customKeep", "abcdefgh", "ab****gh"},
+                {"customKeep", "abc", "a*c"},
+                {"customDefault", "abcdefghi", "abc***ghi"},
+                {"customDefault", "ab", "a*"},
+    };
+
+    @Test
+    void testMaskMatchesGoldenOutput() throws NoSuchFieldException {
+        for (String[] golden : GOLDEN) {
+            DataMasking dataMasking = MaskedFields.class.getDeclaredField(golden[0]).getAnnotation(DataMasking.class);
+            assertEquals(golden[2], DataMaskingUtils.mask(golden[1], dataMasking), golden[0] + ": " + golden[1]);
+            assertEquals(golden[2], DataMaskingUtils.compile(dataMasking).mask(golden[1]), golden[0] + ": " + golden[1]);
+        }
+    }
+
+    @Test
+    void testBlankValueUnchanged() throws NoSuchFieldException {
+        DataMasking dataMasking = MaskedFields.class.getDeclaredField("phone").getAnnotation(DataMasking.class);
+        assertNull(DataMaskingUtils.mask(null, dataMasking));
+        assertEquals("", DataMaskingUtils.compile(dataMasking).mask(""));
+    }
+
+    @Test
+    void testSerializerUsesMasker() throws Exception {
+        MaskedFields fields = new MaskedFields();
+        fields.phone = "18800000000";
+        fields.email = "zhangchuang@example.com";
+        String json = new ObjectMapper().writeValueAsString(fields);
+        assertTrue(json.contains("\"phone\":\"188****0000\""), json);
+        assertTrue(json.contains("\"email\":\"z***@example.com\""), json);
+        assertTrue(json.contains("\"name\":null"), json);
+    }
+
+    /**
+     * 注解载体
+     */
+    @SuppressWarnings("unused")
+    static class MaskedFields {
+
+        @DataMasking(type = MOBILE_PHONE)
+        public String phone;
+
+        @DataMasking(type = MOBILE_PHONE, maskChar = "#")
+        public String phoneHash;
+
+        @DataMasking(type = ID_CARD)
+        public String idCard;
+
+        @DataMasking(type = EMAIL)
+        public String email;
+
+        @DataMasking(type = NAME)
+        public String name;
+
+        @DataMasking(type = BANK_CARD)
+        public String bankCard;
+
+        @DataMasking(type = ADDRESS)
+        public String address;
+
+        @DataMasking(type = PASSWORD)
+        public String password;
+
+        @DataMasking(type = PASSWORD, preserveLength = false)
+        public String passwordFixed;
+
+        @DataMasking(type = FIXED_PHONE)
+        public String fixedPhone;
+
+        @DataMasking(type = SECRET_KEY)
+        public String secretKey;
+
+        @DataMasking(regex = "(\\w{3})\\w*(\\w{4})", replacement = "$1****$2")
+        public String customRegex;
+
+        @DataMasking(prefixKeep = 2, suffixKeep = 2)
+        public String customKeep;
+
+        @DataMasking
+        public String customDefault;
+    }
+}
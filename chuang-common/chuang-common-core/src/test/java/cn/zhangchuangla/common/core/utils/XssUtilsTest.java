@@ -0,0 +1,107 @@
+package cn.zhangchuangla.common.core.utils;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Attribute;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * XSS清洗测试
+ * <p>
+ * 对常见XSS载荷逐一清洗，解析清洗结果并确认不存在可执行标签、事件属性和危险协议。
+ * </p>
+ *
+ * @author Chuang
+ */
+class XssUtilsTest {
+
+    private static final List<String> PAYLOADS = List.of(
+            "<script>alert(1)</script>",
+            "<SCRIPT SRC=http://xss.rocks/xss.js></SCRIPT>",
+            "<img src=x onerror=alert(1)>",
+            "<IMG SRC=\"javascript:alert('XSS');\">",
+            "<IMG SRC=JaVaScRiPt:alert('XSS')>",
+            "<IMG SRC=&#106;&#97;&#118;&#97;&#115;&#99;&#114;&#105;&#112;&#116;&#58;&#97;&#108;&#101;&#114;&#116;&#40;&#49;&#41;>",
+            "<IMG SRC=\"jav&#x09;ascript:alert('XSS');\">",
+            "<img src=\"data:image/svg+xml;base64,PHN2Zy8+\" onload=alert(1)>",
+            "<svg/onload=alert(1)>",
+            "<body onload=alert(1)>",
+            "<iframe src=\"javascript:alert(1)\"></iframe>",
+            "<a href=\"javascript:alert(1)\">click</a>",
+            "<a href=\"  JAVASCRIPT:alert(1)\">click</a>",
+            "<a href=\"vbscript:msgbox(1)\">click</a>",
+            "<a href=\"data:text/html,<script>alert(1)</script>\">click</a>",
+            "<div style=\"background:url(javascript:alert(1))\">x</div>",
+            "<p onclick=\"alert(1)\" onmouseover=alert(2)>p</p>",
+            "<object data=\"javascript:alert(1)\"></object>",
+            "<embed src=\"data:text/html;base64,PHNjcmlwdD5hbGVydCgxKTwvc2NyaXB0Pg==\">",
+            "<math><mtext><table><mglyph><style><img src=x onerror=alert(1)>",
+            "<noscript><p title=\"</noscript><img src=x onerror=alert(1)>\">",
+            "<form action=\"javascript:alert(1)\"><input type=submit></form>",
+            "<video poster=javascript:alert(1)><source src=javascript:alert(2)></video>",
+            "<meta http-equiv=\"refresh\" content=\"0;url=javascript:alert(1)\">",
+            "<link rel=stylesheet href=javascript:alert(1)>",
+            "<<script>script>alert(1)<</script>/script>",
+            "<scr<script>ipt>alert(1)</script>",
+            "\"><script>alert(1)</script>",
+            "<table background=\"javascript:alert(1)\"><tr><td>x</td></tr></table>",
+            "<style>body{background:url(javascript:alert(1))}</style>",
+            "<base href=\"javascript:alert(1)//\">"
+    );
+
+    private static final String FORBIDDEN_TAGS = "script, style, iframe, frame, frameset, object, embed, svg, math, "
+            + "form, input, meta, link, base, noscript";
+
+    @Test
+    void testPayloadsAreNeutralized() {
+        for (XssUtils.Policy policy : XssUtils.Policy.values()) {
+            for (String payload : PAYLOADS) {
+                assertSafe(XssUtils.sanitizeHtml(payload, policy), policy + ": " + payload);
+            }
+        }
+    }
+
+    @Test
+    void testSafeContentPreserved() {
+        String cleaned = XssUtils.sanitizeHtml("<p>系统将于<b>今晚22:00</b>维护，<a href=\"https://example.com/notice\">查看详情</a></p>");
+        Element link = Jsoup.parseBodyFragment(cleaned).selectFirst("a");
+        assertNotNull(link, cleaned);
+        assertEquals("https://example.com/notice", link.attr("href"));
+        assertEquals("noopener noreferrer nofollow", link.attr("rel"));
+        assertEquals("_blank", link.attr("target"));
+        assertTrue(cleaned.contains("<b>今晚22:00</b>"), cleaned);
+    }
+
+    @Test
+    void testStrictPolicyRemovesAllTags() {
+        String cleaned = XssUtils.sanitizeHtml("<p>公告<b>内容</b></p>", XssUtils.Policy.STRICT);
+        assertEquals("公告内容", cleaned);
+    }
+
+    @Test
+    void testPlainTextFastPath() {
+        assertEquals("系统维护通知", XssUtils.sanitizeHtml("系统维护通知"));
+        assertEquals("a &gt; b", XssUtils.sanitizeHtml("a > b"));
+        assertEquals("", XssUtils.sanitizeHtml(""));
+        assertNull(XssUtils.sanitizeHtml(null));
+    }
+
+    private static void assertSafe(String cleaned, String message) {
+        Element body = Jsoup.parseBodyFragment(cleaned).body();
+        assertTrue(body.select(FORBIDDEN_TAGS).isEmpty(), message + " -> " + cleaned);
+        for (Element element : body.getAllElements()) {
+            for (Attribute attribute : element.attributes()) {
+                String name = attribute.getKey().toLowerCase(Locale.ROOT);
+                assertFalse(name.startsWith("on") || name.equals("style"), message + " -> " + cleaned);
+                String value = attribute.getValue().replaceAll("[\\s\\p{Cntrl}]", "").toLowerCase(Locale.ROOT);
+                assertFalse(value.startsWith("javascript:") || value.startsWith("vbscript:")
+                        || value.startsWith("data:text"), message + " -> " + cleaned);
+            }
+        }
+    }
+}
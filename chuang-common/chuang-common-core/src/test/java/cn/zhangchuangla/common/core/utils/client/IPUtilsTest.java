@@ -0,0 +1,223 @@
+package cn.zhangchuangla.common.core.utils.client;
+
+import cn.zhangchuangla.common.core.entity.IPEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.lionsoul.ip2region.xdb.Searcher;
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IP地理位置查询测试
+ * <p>
+ * 测试用的xdb库在内存中按ip2region格式生成，只包含少量网段。
+ * 覆盖未初始化和查询出错时不缓存失败结果，以及多线程并发查询结果与单线程无缓存查询一致。
+ * </p>
+ *
+ * @author Chuang
+ */
+class IPUtilsTest {
+
+    private static final List<String> IPS = List.of(
+            "1.2.3.4", "1.2.200.1", "8.8.8.8", "9.9.9.9",
+            "10.0.0.1", "172.16.5.4", "192.168.1.1", "127.0.0.1", "100.64.0.1",
+            "2001:db8::1", "");
+
+    @AfterEach
+    void tearDown() throws Exception {
+        setStatic("searcher", null);
+        setStatic("searcherThreadSafe", false);
+        setStatic("regionCache", null);
+    }
+
+    @Test
+    void testRegionParsing() throws Exception {
+        useSearcher(Searcher.newWithBuffer(buildXdb()), true, 0);
+
+        IPEntity shenzhen = IPUtils.getRegionEntity("1.2.3.4");
+        assertEquals("中国", shenzhen.getCountry());
+        assertEquals("广东省", shenzhen.getArea());
+        assertEquals("广东省 深圳市", shenzhen.getRegion());
+        assertEquals("电信", shenzhen.getISP());
+
+        assertEquals("美国 Google", IPUtils.getRegion("8.8.8.8"));
+        assertEquals("局域网", IPUtils.getRegionEntity("192.168.1.1").getCountry());
+        assertEquals("未知", IPUtils.getRegionEntity("9.9.9.9").getRegion());
+    }
+
+    @Test
+    void testUninitializedLookupNotCached() throws Exception {
+        Cache<String, IPEntity> cache = useSearcher(null, true, 100);
+
+        IPEntity failed = IPUtils.getRegionEntity("8.8.8.8");
+        assertEquals("未知", failed.getRegion());
+        assertNull(cache.getIfPresent("8.8.8.8"), "未初始化时的查询结果不能进入缓存");
+
+        setStatic("searcher", Searcher.newWithBuffer(buildXdb()));
+        assertEquals("Google", IPUtils.getRegionEntity("8.8.8.8").getISP());
+        assertNotNull(cache.getIfPresent("8.8.8.8"));
+    }
+
+    @Test
+    void testLookupErrorNotCached() throws Exception {
+        byte[] content = buildXdb();
+        // 只保留文件头，查询时读取向量索引越界
+        Cache<String, IPEntity> cache = useSearcher(Searcher.newWithBuffer(Arrays.copyOf(content, 256)), true, 100);
+
+        assertEquals("未知", IPUtils.getRegionEntity("8.8.8.8").getISP());
+        assertNull(cache.getIfPresent("8.8.8.8"), "查询出错的结果不能进入缓存");
+
+        setStatic("searcher", Searcher.newWithBuffer(content));
+        assertEquals("Google", IPUtils.getRegionEntity("8.8.8.8").getISP());
+    }
+
+    @Test
+    void testNotFoundIsCached() throws Exception {
+        Cache<String, IPEntity> cache = useSearcher(Searcher.newWithBuffer(buildXdb()), true, 100);
+
+        assertEquals("未知", IPUtils.getRegionEntity("9.9.9.9").getRegion());
+        assertNotNull(cache.getIfPresent("9.9.9.9"), "库中没有记录属于正常结果，应当缓存");
+    }
+
+    @Test
+    void testConcurrentLookupsInBufferMode() throws Exception {
+        assertConcurrentLookups(Searcher.newWithBuffer(buildXdb()), true);
+    }
+
+    @Test
+    void testConcurrentLookupsInFileMode() throws Exception {
+        Path dbPath = Files.createTempFile("ip2region_test_", ".xdb");
+        Files.write(dbPath, buildXdb());
+        Searcher searcher = Searcher.newWithFileOnly(dbPath.toString());
+        try {
+            assertConcurrentLookups(searcher, false);
+        } finally {
+            searcher.close();
+            Files.deleteIfExists(dbPath);
+        }
+    }
+
+    /**
+     * 先在无缓存的情况下单线程查询得到期望结果，再开启容量很小的缓存并发查询，
+     * 每个结果都必须与期望一致，且修改返回对象不影响其他调用方
+     */
+    private void assertConcurrentLookups(Searcher searcher, boolean threadSafe) throws Exception {
+        useSearcher(searcher, threadSafe, 0);
+        Map<String, IPEntity> expected = new HashMap<>();
+        for (String ip : IPS) {
+            expected.put(ip, IPUtils.getRegionEntity(ip));
+        }
+
+        // 缓存容量小于IP数量，并发查询的同时不断发生淘汰
+        useSearcher(searcher, threadSafe, 4);
+        int threads = 16;
+        int iterations = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    start.await();
+                    int checked = 0;
+                    for (int i = 0; i < iterations; i++) {
+                        String ip = IPS.get(random.nextInt(IPS.size()));
+                        IPEntity actual = IPUtils.getRegionEntity(ip);
+                        assertEquals(expected.get(ip), actual, ip);
+                        actual.setCountry("已修改");
+                        actual.setRegion("已修改");
+                        checked++;
+                    }
+                    return checked;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(threads * iterations, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Cache<String, IPEntity> useSearcher(Searcher searcher, boolean threadSafe, long cacheSize) throws Exception {
+        Cache<String, IPEntity> cache = cacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(cacheSize).executor(Runnable::run).build()
+                : null;
+        setStatic("searcher", searcher);
+        setStatic("searcherThreadSafe", threadSafe);
+        setStatic("regionCache", cache);
+        return cache;
+    }
+
+    private static void setStatic(String name, Object value) throws Exception {
+        Field field = IPUtils.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(null, value);
+    }
+
+    /**
+     * 按ip2region xdb格式生成测试库：256字节文件头、256x256向量索引、地区数据、14字节的网段索引
+     */
+    private static byte[] buildXdb() {
+        List<Object[]> segments = List.of(
+                new Object[]{"1.2.0.0", "1.2.127.255", "中国|0|广东省|深圳市|电信"},
+                new Object[]{"1.2.128.0", "1.2.255.255", "中国|0|广东省|广州市|联通"},
+                new Object[]{"8.8.0.0", "8.8.255.255", "美国|0|0|0|Google"});
+        int dataStart = Searcher.HeaderInfoLength + Searcher.VectorIndexRows * Searcher.VectorIndexCols * Searcher.VectorIndexSize;
+        List<byte[]> regions = segments.stream()
+                .map(segment -> ((String) segment[2]).getBytes(StandardCharsets.UTF_8))
+                .toList();
+        int segmentStart = dataStart + regions.stream().mapToInt(region -> region.length).sum();
+        ByteBuffer buffer = ByteBuffer.allocate(segmentStart + segments.size() * Searcher.SegmentIndexSize)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        int dataPtr = dataStart;
+        for (int i = 0; i < segments.size(); i++) {
+            long startIp = ipToLong((String) segments.get(i)[0]);
+            long endIp = ipToLong((String) segments.get(i)[1]);
+            byte[] region = regions.get(i);
+            buffer.put(dataPtr, region);
+
+            int segmentPtr = segmentStart + i * Searcher.SegmentIndexSize;
+            buffer.putInt(segmentPtr, (int) startIp);
+            buffer.putInt(segmentPtr + 4, (int) endIp);
+            buffer.putShort(segmentPtr + 8, (short) region.length);
+            buffer.putInt(segmentPtr + 10, dataPtr);
+
+            // 测试网段都不跨越前两段地址，只需登记一个向量索引单元
+            int vectorPtr = Searcher.HeaderInfoLength
+                    + (int) ((startIp >>> 24) & 0xFF) * Searcher.VectorIndexCols * Searcher.VectorIndexSize
+                    + (int) ((startIp >>> 16) & 0xFF) * Searcher.VectorIndexSize;
+            if (buffer.getInt(vectorPtr) == 0) {
+                buffer.putInt(vectorPtr, segmentPtr);
+            }
+            buffer.putInt(vectorPtr + 4, segmentPtr);
+            dataPtr += region.length;
+        }
+        return buffer.array();
+    }
+
+    private static long ipToLong(String ip) {
+        long value = 0;
+        for (String part : ip.split("\\.")) {
+            value = (value << 8) | Integer.parseInt(part);
+        }
+        return value;
+    }
+}
@@ -3,47 +3,80 @@ package cn.zhangchuangla.common.excel.core;
 import cn.zhangchuangla.common.core.entity.Option;
 import cn.zhangchuangla.common.redis.constant.RedisConstants;
 import cn.zhangchuangla.common.redis.core.RedisCache;
-import lombok.RequiredArgsConstructor;
+import cn.zhangchuangla.common.redis.core.RedisPubSub;
+import cn.zhangchuangla.common.redis.core.VersionedLocalCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 字典数据处理器
  * 用于处理Excel导出时的字典值转换
+ * <p>
+ * 字典标签保存在有界的本地近端缓存中，按字典类型整体加载：先批量读取Redis，
+ * Redis中不存在的再通过 {@link DictLabelSource} 一次查询数据库，数据库中不存在的字典类型同样缓存为空映射，
+ * Redis与数据库均加载失败时不缓存，下次访问重新加载。
+ * </p>
+ * <p>
+ * 版本号与失效广播由 {@link VersionedLocalCache} 处理，快照为每个版本新建的空缓存，按需填充。
+ * 字典数据变更后调用 {@link #publishChange()}，所有节点切换到新版本的空缓存；
+ * 加载期间版本发生变化时，结果只会写入已被替换的旧缓存，不会把旧数据带入新版本。
+ * </p>
  *
  * @author Chuang
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
-public class DictDataHandler {
+public class DictDataHandler extends VersionedLocalCache<Cache<String, Map<String, String>>> {
 
     private final RedisCache redisCache;
+    private final DictLabelSource dictLabelSource;
+    private final long maximumSize;
+    private final long expireTime;
 
     /**
-     * 本地缓存，避免频繁访问Redis
+     * @param maximumSize 最多缓存的字典类型数量
+     * @param expireTime  缓存存活时间（秒）
      */
-    private final Map<String, Map<String, String>> localCache = new ConcurrentHashMap<>();
+    public DictDataHandler(RedisCache redisCache, RedisPubSub redisPubSub, DictLabelSource dictLabelSource,
+                           @Value("${app.excel.dict-cache.maximum-size:500}") long maximumSize,
+                           @Value("${app.excel.dict-cache.expire-time:3600}") long expireTime) {
+        super(redisCache, redisPubSub, "dict-label");
+        this.redisCache = redisCache;
+        this.dictLabelSource = dictLabelSource;
+        this.maximumSize = maximumSize;
+        this.expireTime = expireTime;
+    }
 
+    @Override
+    protected Cache<String, Map<String, String>> loadSnapshot() {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireTime))
+                .build();
+    }
 
     /**
-     * 清除本地缓存（全量）
+     * 清除本节点的本地缓存，不访问Redis，也不通知其他节点
      */
     public void clearAllLocalCache() {
-        localCache.clear();
+        reloadLocal();
     }
 
     /**
-     * 清除指定字典键的本地缓存
+     * 清除本节点指定字典类型的本地缓存
      */
     public void clearLocalCache(String dictKey) {
         if (StringUtils.isNotBlank(dictKey)) {
-            localCache.remove(dictKey);
+            get().invalidate(dictKey);
         }
     }
 
@@ -61,17 +94,14 @@ public class DictDataHandler {
 
         try {
             // 先从本地缓存获取
-            Map<String, String> dictMap = localCache.get(dictKey);
+            Map<String, String> dictMap = get().getIfPresent(dictKey);
             if (dictMap == null) {
-                // 从Redis获取字典数据
-                dictMap = loadDictFromRedis(dictKey);
-                if (dictMap != null && !dictMap.isEmpty()) {
-                    localCache.put(dictKey, dictMap);
-                }
+                dictMap = load(List.of(dictKey)).get(dictKey);
             }
 
-            if (dictMap != null && dictMap.containsKey(dictValue)) {
-                return dictMap.get(dictValue);
+            String label = dictMap.get(dictValue);
+            if (label != null) {
+                return label;
             }
 
             log.debug("未找到字典数据: dictType={}, dictValue={}", dictKey, dictValue);
@@ -83,53 +113,99 @@ public class DictDataHandler {
     }
 
     /**
-     * 从Redis加载字典数据
+     * 预加载字典数据到本地缓存，未缓存的字典类型一次批量加载
      *
-     * @param dictKey 字典类型
-     * @return 字典值到标签的映射
+     * @param dictKeys 字典类型列表
      */
-    private Map<String, String> loadDictFromRedis(String dictKey) {
-        try {
-            String cacheKey = String.format(RedisConstants.Dict.DICT_DATA_KEY, dictKey);
-            List<Option<String>> dictValues = redisCache.getCacheObject(cacheKey);
+    public void preloadDictData(List<String> dictKeys) {
+        if (dictKeys == null || dictKeys.isEmpty()) {
+            return;
+        }
 
-            if (dictValues == null || dictValues.isEmpty()) {
-                log.debug("Redis中未找到字典数据: dictType={}", dictKey);
-                return null;
-            }
+        Cache<String, Map<String, String>> localCache = get();
+        List<String> missing = dictKeys.stream()
+                .filter(StringUtils::isNotBlank)
+                .distinct()
+                .filter(dictKey -> localCache.getIfPresent(dictKey) == null)
+                .toList();
+        if (!missing.isEmpty()) {
+            load(missing);
+        }
+    }
+
+    /**
+     * 批量加载字典数据并放入本地缓存，先读Redis，Redis中不存在的再查询数据库
+     *
+     * @param dictKeys 字典类型列表
+     * @return 字典类型到字典值与标签映射，每个请求的字典类型都有对应的映射，加载失败的为空映射
+     */
+    private Map<String, Map<String, String>> load(List<String> dictKeys) {
+        // 先取得当前版本的缓存，加载期间版本变化时结果写入旧缓存后随之丢弃
+        Cache<String, Map<String, String>> localCache = get();
+        Map<String, Map<String, String>> loaded = new HashMap<>(dictKeys.size());
+        loadFromRedis(dictKeys, loaded);
+
+        List<String> missing = dictKeys.stream().filter(dictKey -> !loaded.containsKey(dictKey)).toList();
+        if (!missing.isEmpty() && loadFromSource(missing, loaded)) {
+            // 数据库查询成功但没有数据，说明字典类型不存在
+            missing.forEach(dictKey -> loaded.putIfAbsent(dictKey, Map.of()));
+        }
+        localCache.putAll(loaded);
 
-            Map<String, String> dictMap = new ConcurrentHashMap<>();
-            for (Option<String> item : dictValues) {
-                if (item != null && item.getValue() != null && item.getLabel() != null) {
-                    dictMap.put(item.getValue(), item.getLabel());
+        Map<String, Map<String, String>> result = new HashMap<>(loaded);
+        dictKeys.forEach(dictKey -> result.putIfAbsent(dictKey, Map.of()));
+        return result;
+    }
+
+    /**
+     * 从Redis批量加载字典数据，一次网络往返
+     *
+     * @param dictKeys 字典类型列表
+     * @param loaded   加载结果
+     */
+    private void loadFromRedis(List<String> dictKeys, Map<String, Map<String, String>> loaded) {
+        try {
+            List<String> cacheKeys = dictKeys.stream()
+                    .map(dictKey -> String.format(RedisConstants.Dict.DICT_DATA_KEY, dictKey))
+                    .toList();
+            List<List<Option<String>>> values = redisCache.multiGet(cacheKeys);
+            for (int i = 0; i < dictKeys.size() && i < values.size(); i++) {
+                List<Option<String>> dictValues = values.get(i);
+                if (dictValues == null || dictValues.isEmpty()) {
+                    continue;
                 }
+                Map<String, String> dictMap = new HashMap<>(dictValues.size());
+                for (Option<String> item : dictValues) {
+                    if (item != null && item.getValue() != null && item.getLabel() != null) {
+                        dictMap.put(item.getValue(), item.getLabel());
+                    }
+                }
+                loaded.put(dictKeys.get(i), Map.copyOf(dictMap));
             }
-
-            log.debug("从Redis加载字典数据成功: dictType={}, size={}", dictKey, dictMap.size());
-            return dictMap;
+            log.debug("从Redis加载字典数据: 请求 {} 个，命中 {} 个", dictKeys.size(), loaded.size());
         } catch (Exception e) {
-            log.error("从Redis加载字典数据失败: dictType={}", dictKey, e);
-            return null;
+            log.error("从Redis加载字典数据失败: dictTypes={}", dictKeys, e);
         }
     }
 
     /**
-     * 预加载字典数据到本地缓存
+     * 从数据源批量加载字典数据
      *
      * @param dictKeys 字典类型列表
+     * @param loaded   加载结果
+     * @return 是否查询成功
      */
-    public void preloadDictData(List<String> dictKeys) {
-        if (dictKeys == null || dictKeys.isEmpty()) {
-            return;
-        }
-
-        for (String dictKey : dictKeys) {
-            if (StringUtils.isNotBlank(dictKey) && !localCache.containsKey(dictKey)) {
-                Map<String, String> dictMap = loadDictFromRedis(dictKey);
-                if (dictMap != null && !dictMap.isEmpty()) {
-                    localCache.put(dictKey, dictMap);
-                }
+    private boolean loadFromSource(List<String> dictKeys, Map<String, Map<String, String>> loaded) {
+        try {
+            Map<String, Map<String, String>> labels = dictLabelSource.loadDictLabels(dictKeys);
+            if (labels != null) {
+                labels.forEach((dictKey, dictMap) -> loaded.put(dictKey, Map.copyOf(dictMap)));
             }
+            log.debug("从数据库加载字典数据: dictTypes={}", dictKeys);
+            return true;
+        } catch (Exception e) {
+            log.error("从数据库加载字典数据失败: dictTypes={}", dictKeys, e);
+            return false;
         }
     }
 }
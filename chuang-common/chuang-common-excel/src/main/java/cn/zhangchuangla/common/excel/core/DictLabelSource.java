@@ -0,0 +1,24 @@
+package cn.zhangchuangla.common.excel.core;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 字典标签数据源
+ * <p>
+ * Redis中没有字典缓存时，{@link DictDataHandler} 通过此接口从数据库批量加载字典数据，
+ * 由业务模块提供实现。
+ * </p>
+ *
+ * @author Chuang
+ */
+public interface DictLabelSource {
+
+    /**
+     * 批量加载字典数据
+     *
+     * @param dictTypes 字典类型集合
+     * @return 字典类型到（字典值到标签映射）的映射，不存在的字典类型可不返回
+     */
+    Map<String, Map<String, String>> loadDictLabels(Collection<String> dictTypes);
+}
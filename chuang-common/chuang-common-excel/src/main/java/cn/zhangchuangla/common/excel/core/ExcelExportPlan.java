@@ -0,0 +1,246 @@
+package cn.zhangchuangla.common.excel.core;
+
+import cn.zhangchuangla.common.excel.annotation.Excel;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Excel导出计划
+ * <p>
+ * 每个导出类只解析一次：扫描 {@code @Excel} 字段、生成属性读取器并预编译日期和数字格式，
+ * 导出时逐行直接调用读取器，不再对每个单元格做反射查找。
+ * 读取器通过 {@link MethodHandle} 直接读取字段，与逐个单元格反射读取字段的结果一致，不经过 getter，
+ * 因此 getter 中的脱敏、格式化等逻辑不影响导出值。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Slf4j
+public final class ExcelExportPlan {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * 普通字段，已按排序值排序
+     */
+    private final List<ExcelField> fields;
+
+    /**
+     * 需要展开的对象字段
+     */
+    private final List<ExpandGroup> expandGroups;
+
+    private ExcelExportPlan(List<ExcelField> fields, List<ExpandGroup> expandGroups) {
+        this.fields = fields;
+        this.expandGroups = expandGroups;
+    }
+
+    /**
+     * 解析导出类
+     *
+     * @param clazz 导出类型
+     * @return 导出计划
+     */
+    public static ExcelExportPlan compile(Class<?> clazz) {
+        List<ExcelField> fields = new ArrayList<>();
+        List<ExpandGroup> expandGroups = new ArrayList<>();
+        for (Field field : FieldUtils.getAllFieldsList(clazz)) {
+            // 过滤 static/transient 字段
+            int mod = field.getModifiers();
+            if (Modifier.isStatic(mod) || Modifier.isTransient(mod)) {
+                continue;
+            }
+            Excel excel = field.getAnnotation(Excel.class);
+            if (excel == null || !excel.isExport()) {
+                continue;
+            }
+            Function<Object, Object> accessor = compileAccessor(field);
+            if (excel.expandObject()) {
+                expandGroups.add(new ExpandGroup(accessor, excel.expandIsNullExport(),
+                        compileExpandedFields(field, accessor, excel.expandPrefix(), excel.sort())));
+            } else {
+                ExcelField excelField = new ExcelField(field, excel);
+                excelField.setAccessor(StringUtils.isNotBlank(excelField.getTargetAttr())
+                        ? compilePath(clazz, excelField.getTargetAttr()) : accessor);
+                fields.add(precompileFormats(excelField));
+            }
+        }
+        fields.sort(Comparator.comparingInt(ExcelField::getSort));
+        return new ExcelExportPlan(List.copyOf(fields), List.copyOf(expandGroups));
+    }
+
+    /**
+     * 根据样本数据确定最终导出的列
+     *
+     * @param sampleData 样本数据，用于判断对象是否需要展开
+     * @return 按排序值排序的字段列表
+     */
+    public List<ExcelField> resolveFields(List<?> sampleData) {
+        if (expandGroups.isEmpty()) {
+            return fields;
+        }
+        List<ExcelField> resolved = new ArrayList<>(fields);
+        for (ExpandGroup group : expandGroups) {
+            if (group.exportIfNull || group.hasNonNull(sampleData)) {
+                resolved.addAll(group.fields);
+            }
+        }
+        resolved.sort(Comparator.comparingInt(ExcelField::getSort));
+        return resolved;
+    }
+
+    private static List<ExcelField> compileExpandedFields(Field parentField, Function<Object, Object> parentAccessor,
+                                                          String prefix, int parentSort) {
+        List<ExcelField> expandedFields = new ArrayList<>();
+        List<Field> children = FieldUtils.getAllFieldsList(parentField.getType());
+        for (int i = 0; i < children.size(); i++) {
+            Field field = children.get(i);
+            Excel excel = field.getAnnotation(Excel.class);
+            if (excel == null || !excel.isExport()) {
+                continue;
+            }
+            ExcelField expandedField = new ExcelField(field, excel);
+
+            // 设置展开字段的标题（添加前缀）
+            String originalTitle = StringUtils.isNotBlank(excel.name()) ? excel.name() : field.getName();
+            expandedField.setTitle(StringUtils.isNotBlank(prefix) ? prefix + originalTitle : originalTitle);
+
+            // 字段路径格式为 "parentField.childField"，读取器由父子读取器组合而成
+            expandedField.setTargetAttr(parentField.getName() + "." + field.getName());
+            expandedField.setAccessor(chain(parentAccessor, compileAccessor(field)));
+
+            // 设置排序值：父排序权重大，子字段次之，减少冲突
+            int base = (parentSort == Integer.MAX_VALUE ? 0 : parentSort) * 1000;
+            int childSort = excel.sort() == Integer.MAX_VALUE ? i : excel.sort();
+            expandedField.setSort(base + childSort);
+
+            expandedFields.add(precompileFormats(expandedField));
+        }
+        expandedFields.sort(Comparator.comparingInt(ExcelField::getSort));
+        return List.copyOf(expandedFields);
+    }
+
+    /**
+     * 按声明类型逐级解析属性路径，某一级找不到字段时返回null，由调用方按运行时类型反射读取
+     */
+    private static Function<Object, Object> compilePath(Class<?> rootType, String attrPath) {
+        Function<Object, Object> accessor = null;
+        Class<?> currentType = rootType;
+        for (String attr : attrPath.split("\\.")) {
+            Field field = FieldUtils.getField(currentType, attr, true);
+            if (field == null) {
+                return null;
+            }
+            Function<Object, Object> next = compileAccessor(field);
+            accessor = accessor == null ? next : chain(accessor, next);
+            currentType = field.getType();
+        }
+        return accessor;
+    }
+
+    private static Function<Object, Object> chain(Function<Object, Object> parent, Function<Object, Object> child) {
+        return item -> {
+            Object value = parent.apply(item);
+            return value == null ? null : child.apply(value);
+        };
+    }
+
+    /**
+     * 生成字段读取器
+     */
+    private static Function<Object, Object> compileAccessor(Field field) {
+        try {
+            field.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+            return item -> {
+                try {
+                    return handle.invokeExact(item);
+                } catch (Throwable e) {
+                    throw new IllegalStateException("读取字段失败: " + field.getName(), e);
+                }
+            };
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.debug("字段 {} 无法生成MethodHandle读取器，改用反射", field.getName(), e);
+            return item -> {
+                try {
+                    return field.get(item);
+                } catch (IllegalAccessException ex) {
+                    throw new IllegalStateException("读取字段失败: " + field.getName(), ex);
+                }
+            };
+        }
+    }
+
+    /**
+     * 预编译日期和数字格式，格式串非法时保持为空，导出时按默认方式处理
+     */
+    private static ExcelField precompileFormats(ExcelField excelField) {
+        Class<?> type = excelField.getField().getType();
+        String dateFormat = excelField.getDateFormat();
+        try {
+            if (type == java.time.LocalDate.class) {
+                excelField.setDateTimeFormatter(java.time.format.DateTimeFormatter.ofPattern(
+                        StringUtils.isNotBlank(dateFormat) ? dateFormat : "yyyy-MM-dd"));
+            } else if (type == java.time.LocalDateTime.class || java.util.Date.class.isAssignableFrom(type)) {
+                excelField.setDateTimeFormatter(java.time.format.DateTimeFormatter.ofPattern(
+                        StringUtils.isNotBlank(dateFormat) ? dateFormat : "yyyy-MM-dd HH:mm:ss"));
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("字段 {} 的日期格式 {} 无效", excelField.getFieldName(), dateFormat);
+        }
+        String numFormat = excelField.getNumFormat();
+        if (StringUtils.isNotBlank(numFormat) && (type.isPrimitive() || Number.class.isAssignableFrom(type))) {
+            try {
+                new java.text.DecimalFormat(numFormat);
+                // DecimalFormat 非线程安全，按线程复用
+                excelField.setNumberFormat(ThreadLocal.withInitial(() -> new java.text.DecimalFormat(numFormat)));
+            } catch (IllegalArgumentException e) {
+                log.warn("字段 {} 的数字格式 {} 无效", excelField.getFieldName(), numFormat);
+            }
+        }
+        return excelField;
+    }
+
+    /**
+     * 需要展开的对象字段及其子字段
+     */
+    private static final class ExpandGroup {
+
+        private final Function<Object, Object> accessor;
+        private final boolean exportIfNull;
+        private final List<ExcelField> fields;
+
+        private ExpandGroup(Function<Object, Object> accessor, boolean exportIfNull, List<ExcelField> fields) {
+            this.accessor = accessor;
+            this.exportIfNull = exportIfNull;
+            this.fields = fields;
+        }
+
+        private boolean hasNonNull(List<?> sampleData) {
+            if (sampleData == null) {
+                return false;
+            }
+            for (Object item : sampleData) {
+                try {
+                    if (item != null && accessor.apply(item) != null) {
+                        return true;
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("检查字段值失败", e);
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -4,6 +4,9 @@ import cn.zhangchuangla.common.excel.annotation.Excel;
 import lombok.Data;
 
 import java.lang.reflect.Field;
+import java.text.DecimalFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Function;
 
 /**
  * Excel字段信息
@@ -129,6 +132,21 @@ public class ExcelField {
      */
     private java.util.List<ExcelField> expandedFields;
 
+    /**
+     * 预编译的属性读取器，为空时按字段路径反射读取
+     */
+    private Function<Object, Object> accessor;
+
+    /**
+     * 预编译的日期格式
+     */
+    private DateTimeFormatter dateTimeFormatter;
+
+    /**
+     * 预编译的数字格式
+     */
+    private ThreadLocal<DecimalFormat> numberFormat;
+
     public ExcelField(Field field, Excel excel) {
         this.field = field;
         this.excel = excel;
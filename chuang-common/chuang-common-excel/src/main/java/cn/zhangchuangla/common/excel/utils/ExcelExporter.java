@@ -3,6 +3,7 @@ package cn.zhangchuangla.common.excel.utils;
 import cn.zhangchuangla.common.core.exception.ServiceException;
 import cn.zhangchuangla.common.excel.annotation.Excel;
 import cn.zhangchuangla.common.excel.core.DictDataHandler;
+import cn.zhangchuangla.common.excel.core.ExcelExportPlan;
 import cn.zhangchuangla.common.excel.core.ExcelField;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -14,19 +15,21 @@ import org.dhatim.fastexcel.Worksheet;
 import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.lang.reflect.Field;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.Date;
-import java.util.List;
+import java.time.temporal.TemporalAccessor;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -44,8 +47,23 @@ public class ExcelExporter {
      * 默认每个Sheet的最大数据行数（不含表头/提示行）
      */
     private static final int DEFAULT_MAX_ROWS_PER_SHEET = 50000;
+
+    /**
+     * 流式导出时用于判断对象展开的样本行数
+     */
+    private static final int STREAM_SAMPLE_SIZE = 1000;
+
+    /**
+     * 流式导出时每写入多少行刷新一次输出流
+     */
+    private static final int STREAM_FLUSH_ROWS = 1000;
     private final DictDataHandler dictDataHandler;
 
+    /**
+     * 导出计划缓存，每个导出类只解析一次
+     */
+    private final Map<Class<?>, ExcelExportPlan> exportPlans = new ConcurrentHashMap<>();
+
     public ExcelExporter(DictDataHandler dictDataHandler) {
         this.dictDataHandler = dictDataHandler;
     }
@@ -151,128 +169,112 @@ public class ExcelExporter {
     }
 
     /**
-     * 获取类中的Excel字段信息
+     * 流式导出Excel到响应流，数据逐行写出，不需要一次性加载到内存
+     * <p>
+     * 可直接传入 MyBatis 的 {@code Cursor}，或使用 {@link #paged(int, IntFunction)} 包装分页查询。
+     * </p>
      *
-     * @param clazz 类型
-     * @param <T>   类型参数
-     * @return Excel字段列表
+     * @param response 响应对象
+     * @param rows     数据
+     * @param clazz    数据类型
+     * @param fileName 文件名
+     * @param <T>      数据类型
      */
-    private <T> List<ExcelField> getExcelFields(Class<T> clazz) {
-        return getExcelFields(clazz, null);
+    public <T> void exportStream(HttpServletResponse response, Iterable<T> rows, Class<T> clazz, String fileName) {
+        try (StreamWriter<T> writer = openStream(response, clazz, fileName)) {
+            for (T row : rows) {
+                writer.write(row);
+            }
+        }
     }
 
     /**
-     * 获取类中的Excel字段信息
+     * 打开流式导出写入器并设置响应头，适合配合 MyBatis {@code ResultHandler} 逐行推送数据
      *
-     * @param clazz      类型
-     * @param sampleData 样本数据，用于判断对象是否需要展开
-     * @param <T>        类型参数
-     * @return Excel字段列表
+     * @param response 响应对象
+     * @param clazz    数据类型
+     * @param fileName 文件名
+     * @param <T>      数据类型
+     * @return 写入器，使用完毕必须关闭
      */
-    private <T> List<ExcelField> getExcelFields(Class<T> clazz, List<T> sampleData) {
-        List<ExcelField> excelFields = new ArrayList<>();
-
-        Field[] fields = FieldUtils.getAllFieldsList(clazz).toArray(new Field[0]);
-        for (Field field : fields) {
-            // 过滤 static/transient 字段
-            int mod = field.getModifiers();
-            if (java.lang.reflect.Modifier.isStatic(mod) || java.lang.reflect.Modifier.isTransient(mod)) {
-                continue;
-            }
-            Excel excel = field.getAnnotation(Excel.class);
-            if (excel != null && excel.isExport()) {
-                field.setAccessible(true);
-
-                // 如果需要展开对象，处理对象字段
-                if (excel.expandObject()) {
-                    // 检查是否需要展开（根据 expandIsNullExport 和实际数据）
-                    boolean shouldExpand = excel.expandIsNullExport() || hasNonNullObjectInData(field, sampleData);
-
-                    if (shouldExpand) {
-                        List<ExcelField> expandedFields = getExpandedFields(field, excel.expandPrefix(), excel.sort());
-                        excelFields.addAll(expandedFields);
-                    }
-                } else {
-                    excelFields.add(new ExcelField(field, excel));
-                }
-            }
+    public <T> StreamWriter<T> openStream(HttpServletResponse response, Class<T> clazz, String fileName) {
+        try {
+            setResponseHeader(response, fileName);
+            return openStream(response.getOutputStream(), clazz, fileName);
+        } catch (IOException e) {
+            log.error("导出Excel失败", e);
+            throw new ServiceException("导出Excel失败");
         }
+    }
 
-        // 按sort排序
-        excelFields.sort(Comparator.comparingInt(ExcelField::getSort));
-
-        return excelFields;
+    /**
+     * 打开流式导出写入器
+     *
+     * @param outputStream 输出流
+     * @param clazz        数据类型
+     * @param sheetName    工作表名称
+     * @param <T>          数据类型
+     * @return 写入器，使用完毕必须关闭
+     */
+    public <T> StreamWriter<T> openStream(OutputStream outputStream, Class<T> clazz, String sheetName) {
+        return new StreamWriter<>(new Workbook(outputStream, "ExcelApp", "1.0"), clazz, sheetName);
     }
 
     /**
-     * 检查数据中是否有非null的对象
+     * 将分页查询包装为按需加载的数据源，某一页不足 pageSize 条时结束
      *
-     * @param field      字段
-     * @param sampleData 样本数据
+     * @param pageSize   每页条数
+     * @param pageLoader 按页码（从1开始）加载数据
      * @param <T>        数据类型
-     * @return 是否有非null对象
+     * @return 数据源
      */
-    private <T> boolean hasNonNullObjectInData(Field field, List<T> sampleData) {
-        if (CollectionUtils.isEmpty(sampleData)) {
-            return false;
-        }
+    public static <T> Iterable<T> paged(int pageSize, IntFunction<List<T>> pageLoader) {
+        return () -> new Iterator<>() {
+            private int pageNum = 0;
+            private Iterator<T> current = Collections.emptyIterator();
+            private boolean lastPage;
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && !lastPage) {
+                    List<T> page = pageLoader.apply(++pageNum);
+                    lastPage = page == null || page.size() < pageSize;
+                    current = page == null ? Collections.emptyIterator() : page.iterator();
+                }
+                return current.hasNext();
+            }
 
-        for (T item : sampleData) {
-            try {
-                Object value = FieldUtils.readField(field, item, true);
-                if (value != null) {
-                    return true;
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
                 }
-            } catch (Exception e) {
-                log.warn("检查字段值失败: {}", field.getName(), e);
+                return current.next();
             }
-        }
-        return false;
+        };
     }
 
     /**
-     * 获取展开对象的字段列表
+     * 获取类中的Excel字段信息
      *
-     * @param parentField 父字段（被展开的对象字段）
-     * @param prefix      列名前缀
-     * @param parentSort  父字段的排序值
-     * @return 展开的字段列表
+     * @param clazz 类型
+     * @param <T>   类型参数
+     * @return Excel字段列表
      */
-    private List<ExcelField> getExpandedFields(Field parentField, String prefix, int parentSort) {
-        List<ExcelField> expandedFields = new ArrayList<>();
-
-        Field[] fields = FieldUtils.getAllFieldsList(parentField.getType()).toArray(new Field[0]);
-        for (int i = 0; i < fields.length; i++) {
-            Field field = fields[i];
-            Excel excel = field.getAnnotation(Excel.class);
-            if (excel != null && excel.isExport()) {
-                field.setAccessible(true);
-
-                // 创建展开的字段，修改标题和字段路径
-                ExcelField expandedField = new ExcelField(field, excel);
-
-                // 设置展开字段的标题（添加前缀）
-                String originalTitle = StringUtils.isNotBlank(excel.name()) ? excel.name() : field.getName();
-                String expandedTitle = StringUtils.isNotBlank(prefix) ? prefix + originalTitle : originalTitle;
-                expandedField.setTitle(expandedTitle);
-
-                // 设置字段路径，用于后续获取值时使用 - 格式为 "parentField.childField"
-                expandedField.setTargetAttr(parentField.getName() + "." + field.getName());
-
-                // 设置排序值：父排序权重大，子字段次之，减少冲突
-                int base = (parentSort == Integer.MAX_VALUE ? 0 : parentSort) * 1000;
-                int childSort = excel.sort() == Integer.MAX_VALUE ? i : excel.sort();
-                int expandedSort = base + childSort;
-                expandedField.setSort(expandedSort);
-
-                expandedFields.add(expandedField);
-            }
-        }
-
-        // 按sort排序
-        expandedFields.sort(Comparator.comparingInt(ExcelField::getSort));
+    private <T> List<ExcelField> getExcelFields(Class<T> clazz) {
+        return getExcelFields(clazz, null);
+    }
 
-        return expandedFields;
+    /**
+     * 获取类中的Excel字段信息，类的解析结果会被缓存
+     *
+     * @param clazz      类型
+     * @param sampleData 样本数据，用于判断对象是否需要展开
+     * @param <T>        类型参数
+     * @return Excel字段列表
+     */
+    private <T> List<ExcelField> getExcelFields(Class<T> clazz, List<T> sampleData) {
+        return exportPlans.computeIfAbsent(clazz, ExcelExportPlan::compile).resolveFields(sampleData);
     }
 
     /**
@@ -352,35 +354,63 @@ public class ExcelExporter {
         }
 
         for (int rowIndex = 0; rowIndex < data.size(); rowIndex++) {
-            T item = data.get(rowIndex);
             // Excel行索引从1开始（0是表头）
-            int excelRowIndex = startRow + rowIndex;
-
-            for (int colIndex = 0; colIndex < excelFields.size(); colIndex++) {
-                ExcelField excelField = excelFields.get(colIndex);
-                Object value = getFieldValue(item, excelField);
-
-                // 处理字典映射与显示值
-                String cellValue = processCellValue(value, excelField);
-
-                // 优先按原始类型写入数值，避免精度丢失；字符串兜底
-                if (excelField.getColumnType() == Excel.ColumnType.IMAGE) {
-                    // 图片类型：当前简化为写入占位/URL 文本（FastExcel不直接支持图片绘制）
-                    if (value instanceof String) {
-                        worksheet.value(excelRowIndex, colIndex, (String) value);
-                    } else {
-                        worksheet.value(excelRowIndex, colIndex, "[image]");
-                    }
-                } else if (value instanceof Number && excelField.getColumnType() == Excel.ColumnType.NUMERIC) {
-                    worksheet.value(excelRowIndex, colIndex, ((Number) value).doubleValue());
-                } else if (cellValue != null) {
-                    worksheet.value(excelRowIndex, colIndex, cellValue);
-                }
-            }
+            writeRow(worksheet, data.get(rowIndex), excelFields, startRow + rowIndex, null, false);
         }
         return startRow + data.size() - 1;
     }
 
+    /**
+     * 写入一行数据
+     *
+     * @param worksheet     工作表
+     * @param item          数据对象
+     * @param excelFields   Excel字段列表
+     * @param excelRowIndex 行索引
+     * @param sums          统计列的累计值，为null时不统计
+     * @param inlineStrings 是否以内联方式写入字符串，为false时写入共享字符串表
+     */
+    private void writeRow(Worksheet worksheet, Object item, List<ExcelField> excelFields, int excelRowIndex,
+                          java.math.BigDecimal[] sums, boolean inlineStrings) {
+        for (int colIndex = 0; colIndex < excelFields.size(); colIndex++) {
+            ExcelField excelField = excelFields.get(colIndex);
+            Object value = getFieldValue(item, excelField);
+
+            if (sums != null && sums[colIndex] != null) {
+                sums[colIndex] = addStatistics(sums[colIndex], value);
+            }
+
+            // 处理字典映射与显示值
+            String cellValue = processCellValue(value, excelField);
+
+            // 优先按原始类型写入数值，避免精度丢失；字符串兜底
+            if (excelField.getColumnType() == Excel.ColumnType.IMAGE) {
+                // 图片类型：当前简化为写入占位/URL 文本（FastExcel不直接支持图片绘制）
+                writeString(worksheet, excelRowIndex, colIndex, value instanceof String ? (String) value : "[image]",
+                        inlineStrings);
+            } else if (value instanceof Number && excelField.getColumnType() == Excel.ColumnType.NUMERIC) {
+                worksheet.value(excelRowIndex, colIndex, ((Number) value).doubleValue());
+            } else if (cellValue != null) {
+                writeString(worksheet, excelRowIndex, colIndex, cellValue, inlineStrings);
+            }
+        }
+    }
+
+    /**
+     * 写入字符串单元格
+     * <p>
+     * 共享字符串表在关闭工作簿时才写出，期间保存在内存中，大小随不同取值的数量增长；
+     * 流式导出改为内联字符串，内存占用不随行数增长。
+     * </p>
+     */
+    private void writeString(Worksheet worksheet, int rowIndex, int colIndex, String value, boolean inline) {
+        if (inline) {
+            worksheet.inlineString(rowIndex, colIndex, value);
+        } else {
+            worksheet.value(rowIndex, colIndex, value);
+        }
+    }
+
     /**
      * 写入统计行（对开启 isStatistics 的列求和）
      */
@@ -398,12 +428,7 @@ public class ExcelExporter {
             if (field.getExcel() != null && field.getExcel().isStatistics()) {
                 java.math.BigDecimal sum = java.math.BigDecimal.ZERO;
                 for (T item : data) {
-                    Object v = getFieldValue(item, field);
-                    if (v instanceof Number) {
-                        sum = sum.add(new java.math.BigDecimal(((Number) v).toString()));
-                    } else if (v instanceof String && isNumeric((String) v)) {
-                        sum = sum.add(new java.math.BigDecimal((String) v));
-                    }
+                    sum = addStatistics(sum, getFieldValue(item, field));
                 }
                 worksheet.value(rowIndex, colIndex, sum.doubleValue());
                 if (!titleWritten) {
@@ -414,6 +439,18 @@ public class ExcelExporter {
         }
     }
 
+    /**
+     * 累加统计值，非数字忽略
+     */
+    private java.math.BigDecimal addStatistics(java.math.BigDecimal sum, Object v) {
+        if (v instanceof Number) {
+            return sum.add(new java.math.BigDecimal(v.toString()));
+        } else if (v instanceof String && isNumeric((String) v)) {
+            return sum.add(new java.math.BigDecimal((String) v));
+        }
+        return sum;
+    }
+
     /**
      * 获取字段值
      *
@@ -423,7 +460,9 @@ public class ExcelExporter {
      */
     private Object getFieldValue(Object item, ExcelField excelField) {
         try {
-            if (StringUtils.isNotBlank(excelField.getTargetAttr())) {
+            if (excelField.getAccessor() != null) {
+                return excelField.getAccessor().apply(item);
+            } else if (StringUtils.isNotBlank(excelField.getTargetAttr())) {
                 // 支持多级属性获取，包括展开对象的属性
                 return getNestedFieldValue(item, excelField.getTargetAttr());
             } else {
@@ -504,6 +543,21 @@ public class ExcelExporter {
             return "";
         }
 
+        // 优先使用预编译的格式
+        DateTimeFormatter formatter = excelField.getDateTimeFormatter();
+        if (formatter != null) {
+            if (value instanceof Date) {
+                return formatter.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(((Date) value).getTime()),
+                        ZoneId.systemDefault()));
+            }
+            if (value instanceof TemporalAccessor) {
+                return formatter.format((TemporalAccessor) value);
+            }
+        }
+        if (excelField.getNumberFormat() != null && value instanceof Number) {
+            return excelField.getNumberFormat().get().format(((Number) value).doubleValue());
+        }
+
         // 日期格式化
         if (value instanceof Date) {
             String dateFormat = StringUtils.isNotBlank(excelField.getDateFormat()) ? excelField.getDateFormat()
@@ -589,4 +643,157 @@ public class ExcelExporter {
             return false;
         }
     }
+
+    /**
+     * 流式导出写入器
+     * <p>
+     * 先缓存少量样本行用于判断对象字段是否展开，之后逐行写入并定期刷新到输出流，
+     * 每个工作表超过 {@value #DEFAULT_MAX_ROWS_PER_SHEET} 行时自动新建工作表。
+     * 统计行按工作表累加，字符串以内联方式写入，不保留已写出的数据。
+     * </p>
+     *
+     * @param <T> 数据类型
+     */
+    public class StreamWriter<T> implements Closeable {
+
+        private final Workbook workbook;
+        private final Class<T> clazz;
+        private final String sheetName;
+        private final List<T> samples = new ArrayList<>();
+
+        private List<ExcelField> excelFields;
+        private boolean hasHints;
+        private boolean hasStats;
+        private Worksheet worksheet;
+        private int sheetIndex;
+        private int sheetRows;
+        private int nextRowIndex;
+        private java.math.BigDecimal[] sums;
+
+        private StreamWriter(Workbook workbook, Class<T> clazz, String sheetName) {
+            this.workbook = workbook;
+            this.clazz = clazz;
+            this.sheetName = sheetName;
+        }
+
+        /**
+         * 写入一行数据
+         *
+         * @param row 数据对象
+         */
+        public void write(T row) {
+            if (row == null) {
+                return;
+            }
+            if (excelFields == null) {
+                samples.add(row);
+                if (samples.size() >= STREAM_SAMPLE_SIZE) {
+                    initialize();
+                }
+                return;
+            }
+            append(row);
+        }
+
+        /**
+         * 写完剩余数据并结束文件
+         */
+        @Override
+        public void close() {
+            try {
+                if (excelFields == null) {
+                    initialize();
+                }
+                if (!excelFields.isEmpty()) {
+                    if (worksheet == null) {
+                        newSheet();
+                    }
+                    finishSheet();
+                }
+                workbook.close();
+            } catch (IOException e) {
+                log.error("导出Excel失败", e);
+                throw new ServiceException("导出Excel失败");
+            }
+        }
+
+        private void initialize() {
+            excelFields = getExcelFields(clazz, samples);
+            if (CollectionUtils.isEmpty(excelFields)) {
+                log.warn("类 {} 中没有找到@Excel注解的字段", clazz.getSimpleName());
+                excelFields = List.of();
+                samples.clear();
+                return;
+            }
+            preloadDictData(excelFields);
+            hasHints = excelFields.stream().anyMatch(f -> f.getExcel() != null
+                    && (StringUtils.isNotBlank(f.getExcel().prompt())
+                    || (f.getExcel().combo() != null && f.getExcel().combo().length > 0)));
+            hasStats = excelFields.stream().anyMatch(f -> f.getExcel() != null && f.getExcel().isStatistics());
+            samples.forEach(this::append);
+            samples.clear();
+        }
+
+        private void append(T row) {
+            if (excelFields.isEmpty()) {
+                return;
+            }
+            if (worksheet == null || sheetRows >= DEFAULT_MAX_ROWS_PER_SHEET) {
+                newSheet();
+            }
+            writeRow(worksheet, row, excelFields, nextRowIndex++, sums, true);
+            if (++sheetRows % STREAM_FLUSH_ROWS == 0) {
+                try {
+                    worksheet.flush();
+                } catch (IOException e) {
+                    log.error("导出Excel失败", e);
+                    throw new ServiceException("导出Excel失败");
+                }
+            }
+        }
+
+        private void newSheet() {
+            finishSheet();
+            sheetIndex++;
+            worksheet = workbook.newWorksheet(sheetIndex == 1 ? sheetName : sheetName + "_" + sheetIndex);
+            // 列宽需要在数据刷新到输出流之前设置
+            setColumnWidth(worksheet, excelFields);
+            writeHeader(worksheet, excelFields, 0);
+            if (hasHints) {
+                writeHintsRow(worksheet, excelFields, 1);
+            }
+            nextRowIndex = hasHints ? 2 : 1;
+            sheetRows = 0;
+            sums = null;
+            if (hasStats) {
+                sums = new java.math.BigDecimal[excelFields.size()];
+                for (int i = 0; i < excelFields.size(); i++) {
+                    ExcelField field = excelFields.get(i);
+                    if (field.getExcel() != null && field.getExcel().isStatistics()) {
+                        sums[i] = java.math.BigDecimal.ZERO;
+                    }
+                }
+            }
+        }
+
+        private void finishSheet() {
+            if (worksheet == null) {
+                return;
+            }
+            if (sums != null && sheetRows > 0) {
+                worksheet.value(nextRowIndex, 0, "合计");
+                for (int i = 0; i < sums.length; i++) {
+                    if (sums[i] != null) {
+                        worksheet.value(nextRowIndex, i, sums[i].doubleValue());
+                    }
+                }
+            }
+            try {
+                worksheet.finish();
+            } catch (IOException e) {
+                log.error("导出Excel失败", e);
+                throw new ServiceException("导出Excel失败");
+            }
+        }
+    }
 }
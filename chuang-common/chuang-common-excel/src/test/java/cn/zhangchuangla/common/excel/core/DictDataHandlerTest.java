@@ -0,0 +1,74 @@
+package cn.zhangchuangla.common.excel.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 字典数据处理器测试
+ * <p>
+ * 不连接Redis，字典数据全部来自数据源；覆盖不存在的字典类型缓存为空映射，
+ * 以及数据源查询失败时不缓存、下次访问重新加载。
+ * </p>
+ *
+ * @author Chuang
+ */
+class DictDataHandlerTest {
+
+    private final AtomicInteger sourceCalls = new AtomicInteger();
+
+    private final AtomicBoolean sourceFailing = new AtomicBoolean();
+
+    private final DictDataHandler dictDataHandler = new DictDataHandler(null, null, dictTypes -> {
+        sourceCalls.incrementAndGet();
+        if (sourceFailing.get()) {
+            throw new IllegalStateException("模拟数据库不可用");
+        }
+        return dictTypes.contains("sys_user_sex") ? Map.of("sys_user_sex", Map.of("0", "男", "1", "女")) : Map.of();
+    }, 500, 3600);
+
+    @Test
+    void testLabelsCachedAfterFirstLoad() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("男", dictDataHandler.getDictLabel("sys_user_sex", "0"));
+            assertEquals("2", dictDataHandler.getDictLabel("sys_user_sex", "2"));
+        }
+        assertEquals(1, sourceCalls.get());
+    }
+
+    @Test
+    void testUnknownDictTypeCachedAsEmpty() {
+        assertEquals("1", dictDataHandler.getDictLabel("unknown", "1"));
+        assertEquals("1", dictDataHandler.getDictLabel("unknown", "1"));
+        assertEquals(1, sourceCalls.get(), "数据库中不存在的字典类型不应重复查询");
+    }
+
+    @Test
+    void testFailedLoadNotCached() {
+        sourceFailing.set(true);
+        assertEquals("0", dictDataHandler.getDictLabel("sys_user_sex", "0"));
+        dictDataHandler.preloadDictData(List.of("sys_user_sex"));
+        assertEquals(2, sourceCalls.get(), "加载失败时每次访问都应重新加载");
+
+        // 数据库恢复后立即得到正确的标签，而不是失败时的空映射
+        sourceFailing.set(false);
+        assertEquals("男", dictDataHandler.getDictLabel("sys_user_sex", "0"));
+        assertEquals("女", dictDataHandler.getDictLabel("sys_user_sex", "1"));
+        assertEquals(3, sourceCalls.get());
+    }
+
+    @Test
+    void testClearAllLocalCacheReloads() {
+        dictDataHandler.preloadDictData(List.of("sys_user_sex", "unknown"));
+        assertEquals(1, sourceCalls.get(), "多个字典类型一次批量加载");
+
+        dictDataHandler.clearAllLocalCache();
+        assertEquals("女", dictDataHandler.getDictLabel("sys_user_sex", "1"));
+        assertEquals(2, sourceCalls.get());
+    }
+}
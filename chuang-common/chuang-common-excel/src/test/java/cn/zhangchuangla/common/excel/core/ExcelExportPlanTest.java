@@ -0,0 +1,152 @@
+package cn.zhangchuangla.common.excel.core;
+
+import cn.zhangchuangla.common.excel.annotation.Excel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Excel导出计划测试
+ * <p>
+ * 导出值固定为字段值：getter 中的脱敏、格式化等逻辑不参与导出，
+ * 直接字段、targetAttr 多级路径以及展开对象的子字段均按字段读取。
+ * </p>
+ *
+ * @author Chuang
+ */
+class ExcelExportPlanTest {
+
+    @Test
+    void testExportReadsFieldsNotGetters() {
+        Map<String, Object> values = export(UserRow.sample());
+
+        assertEquals("13800138000", values.get("手机号"));
+        assertEquals(Boolean.TRUE, values.get("是否启用"));
+        assertEquals(1L, values.get("用户编号"));
+        // 父类字段同样按字段读取
+        assertEquals("admin", values.get("创建者"));
+    }
+
+    @Test
+    void testTargetAttrPathReadsFields() {
+        assertEquals("研发部", export(UserRow.sample()).get("部门"));
+    }
+
+    @Test
+    void testExpandedObjectReadsFields() {
+        Map<String, Object> values = export(UserRow.sample());
+
+        assertEquals("zhangsan@example.com", values.get("联系方式-邮箱"));
+    }
+
+    @Test
+    void testNullIntermediateValue() {
+        UserRow row = UserRow.sample();
+        row.dept = null;
+        row.contact = null;
+
+        ExcelExportPlan plan = ExcelExportPlan.compile(UserRow.class);
+        List<ExcelField> fields = plan.resolveFields(List.of(row));
+        ExcelField dept = fields.stream().filter(field -> "部门".equals(field.getTitle())).findFirst().orElseThrow();
+
+        assertNull(dept.getAccessor().apply(row));
+        // 样本中对象为空且未要求空值导出时不展开
+        assertTrue(fields.stream().noneMatch(field -> field.getTitle().startsWith("联系方式-")));
+    }
+
+    private static Map<String, Object> export(UserRow row) {
+        ExcelExportPlan plan = ExcelExportPlan.compile(UserRow.class);
+        return plan.resolveFields(List.of(row)).stream()
+                .collect(Collectors.toMap(ExcelField::getTitle, field -> {
+                    Function<Object, Object> accessor = field.getAccessor();
+                    return accessor.apply(row);
+                }));
+    }
+
+    public static class BaseRow {
+
+        @Excel(name = "创建者", sort = 100)
+        private String createBy;
+
+        public String getCreateBy() {
+            return "getter:" + createBy;
+        }
+    }
+
+    public static class UserRow extends BaseRow {
+
+        @Excel(name = "用户编号", sort = 1)
+        private Long userId;
+
+        @Excel(name = "手机号", sort = 2)
+        private String phone;
+
+        @Excel(name = "是否启用", sort = 3)
+        private boolean enabled;
+
+        @Excel(name = "部门", sort = 4, targetAttr = "dept.name")
+        private Dept dept;
+
+        @Excel(name = "联系方式", sort = 5, expandObject = true, expandPrefix = "联系方式-")
+        private Contact contact;
+
+        static UserRow sample() {
+            UserRow row = new UserRow();
+            ((BaseRow) row).createBy = "admin";
+            row.userId = 1L;
+            row.phone = "13800138000";
+            row.enabled = true;
+            row.dept = new Dept();
+            row.dept.name = "研发部";
+            row.contact = new Contact();
+            row.contact.email = "zhangsan@example.com";
+            return row;
+        }
+
+        public Long getUserId() {
+            return userId == null ? null : userId + 1000;
+        }
+
+        public String getPhone() {
+            return phone.substring(0, 3) + "****" + phone.substring(7);
+        }
+
+        public boolean isEnabled() {
+            return !enabled;
+        }
+
+        public Dept getDept() {
+            Dept copy = new Dept();
+            copy.name = "getter";
+            return copy;
+        }
+
+        public Contact getContact() {
+            return new Contact();
+        }
+    }
+
+    public static class Dept {
+
+        private String name;
+
+        public String getName() {
+            return "getter:" + name;
+        }
+    }
+
+    public static class Contact {
+
+        @Excel(name = "邮箱")
+        private String email;
+
+        public String getEmail() {
+            return "***";
+        }
+    }
+}
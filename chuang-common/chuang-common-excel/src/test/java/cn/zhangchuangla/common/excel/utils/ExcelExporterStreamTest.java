@@ -0,0 +1,148 @@
+package cn.zhangchuangla.common.excel.utils;
+
+import cn.zhangchuangla.common.excel.annotation.Excel;
+import cn.zhangchuangla.common.excel.core.DictDataHandler;
+import org.dhatim.fastexcel.reader.ReadableWorkbook;
+import org.dhatim.fastexcel.reader.Row;
+import org.dhatim.fastexcel.reader.Sheet;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Excel流式导出测试
+ * <p>
+ * 大数据量测试在 -Xmx256m 下（见本模块 surefire 配置）逐行生成100万行数据写入丢弃输出的流，
+ * 数据不在内存中保留，导出过程中堆内存占用不能随行数增长。
+ * </p>
+ *
+ * @author Chuang
+ */
+class ExcelExporterStreamTest {
+
+    private static final int MAX_ROWS_PER_SHEET = 50000;
+
+    private final ExcelExporter excelExporter =
+            new ExcelExporter(new DictDataHandler(null, null, dictTypes -> Map.of(), 500, 3600));
+
+    @Test
+    void testMillionRowsWithConstantHeap() {
+        int total = 1_000_000;
+        int checkpoint = 200_000;
+        CountingOutputStream output = new CountingOutputStream();
+        List<Long> usedHeap = new ArrayList<>();
+
+        try (ExcelExporter.StreamWriter<LogRow> writer = excelExporter.openStream(output, LogRow.class, "日志")) {
+            for (int i = 0; i < total; i++) {
+                writer.write(LogRow.of(i));
+                if ((i + 1) % checkpoint == 0) {
+                    usedHeap.add(usedHeapAfterGc());
+                }
+            }
+        }
+
+        long growth = usedHeap.get(usedHeap.size() - 1) - usedHeap.get(0);
+        System.out.printf("导出 %d 行，写出 %d 字节，各检查点堆内存 %s MB，最大堆 %d MB%n", total, output.count,
+                usedHeap.stream().map(bytes -> bytes >> 20).toList(), Runtime.getRuntime().maxMemory() >> 20);
+        assertTrue(output.count > 0);
+        // 已写出的行不保留在内存中，检查点之间只允许少量波动
+        assertTrue(growth < 32L << 20, "堆内存随行数增长: " + (growth >> 20) + "MB");
+    }
+
+    @Test
+    void testSheetRollover() throws Exception {
+        int total = MAX_ROWS_PER_SHEET * 2 + 10;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (ExcelExporter.StreamWriter<LogRow> writer = excelExporter.openStream(output, LogRow.class, "日志")) {
+            for (int i = 0; i < total; i++) {
+                writer.write(LogRow.of(i));
+            }
+        }
+
+        try (ReadableWorkbook workbook = new ReadableWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+            List<Sheet> sheets = workbook.getSheets().toList();
+            assertEquals(List.of("日志", "日志_2", "日志_3"), sheets.stream().map(Sheet::getName).toList());
+
+            List<Row> first = sheets.get(0).read();
+            assertEquals(MAX_ROWS_PER_SHEET + 1, first.size());
+            assertEquals("日志编号", first.get(0).getCellText(0));
+            assertEquals("user0", first.get(1).getCellText(1));
+            assertEquals(MAX_ROWS_PER_SHEET + 1, sheets.get(1).read().size());
+
+            List<Row> last = sheets.get(2).read();
+            assertEquals(11, last.size());
+            assertEquals("user" + (total - 1), last.get(10).getCellText(1));
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        return memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * 丢弃写入的数据，只统计字节数
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    public static class LogRow {
+
+        @Excel(name = "日志编号", sort = 1)
+        private Long id;
+
+        @Excel(name = "用户名", sort = 2)
+        private String username;
+
+        @Excel(name = "IP地址", sort = 3)
+        private String ip;
+
+        @Excel(name = "请求地址", sort = 4)
+        private String url;
+
+        @Excel(name = "状态", sort = 5)
+        private Integer status;
+
+        @Excel(name = "耗时", sort = 6, type = Excel.ColumnType.NUMERIC)
+        private Long costTime;
+
+        @Excel(name = "操作时间", sort = 7)
+        private LocalDateTime createTime;
+
+        static LogRow of(int i) {
+            LogRow row = new LogRow();
+            row.id = (long) i;
+            row.username = "user" + i;
+            row.ip = "10." + (i >> 16 & 0xFF) + "." + (i >> 8 & 0xFF) + "." + (i & 0xFF);
+            row.url = "/system/log/" + i;
+            row.status = i % 2;
+            row.costTime = (long) (i % 1000);
+            row.createTime = LocalDateTime.of(2025, 1, 1, 0, 0).plusSeconds(i);
+            return row;
+        }
+    }
+}
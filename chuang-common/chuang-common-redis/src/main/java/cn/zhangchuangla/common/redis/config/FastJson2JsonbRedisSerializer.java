@@ -0,0 +1,110 @@
+package cn.zhangchuangla.common.redis.config;
+
+import com.alibaba.fastjson2.JSONB;
+import com.alibaba.fastjson2.JSONReader;
+import com.alibaba.fastjson2.JSONWriter;
+import com.alibaba.fastjson2.SymbolTable;
+import com.alibaba.fastjson2.filter.Filter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Redis使用FastJson2 JSONB二进制格式序列化
+ * <p>
+ * 二进制数据以固定魔数开头，读取时根据魔数区分格式，没有魔数的数据交给
+ * {@link FastJson2JsonRedisSerializer} 按JSON解析，因此新旧两种格式可以同时存在，支持滚动迁移。
+ * 类型名通过 {@link SymbolTable} 注册为数字编号，不再逐条写入完整类名；注册表只能追加，
+ * 调整已有顺序会导致已写入的数据无法正确解析。
+ * </p>
+ * <p>
+ * 数字、字符串和布尔值始终按JSON写入，保证 INCR、Lua脚本和 StringRedisTemplate 仍能直接读写这些值。
+ * </p>
+ *
+ * @author Chuang
+ */
+public class FastJson2JsonbRedisSerializer<T> implements RedisSerializer<T> {
+
+    /**
+     * 二进制格式魔数，JSON文本不会以0x00开头
+     */
+    static final byte MAGIC = 0x00;
+
+    /**
+     * 二进制格式版本
+     */
+    static final byte VERSION = 0x01;
+
+    private static final int HEADER_LENGTH = 2;
+
+    /**
+     * 内置类型注册表，只能在末尾追加
+     */
+    private static final List<String> DEFAULT_TYPE_REGISTRY = List.of(
+            "java.util.HashSet",
+            "java.util.LinkedHashSet",
+            "java.util.ArrayList",
+            "java.util.HashMap",
+            "java.util.LinkedHashMap",
+            "cn.zhangchuangla.common.core.entity.Option",
+            "cn.zhangchuangla.framework.model.entity.OnlineLoginUser"
+    );
+
+    private static final Filter[] AUTO_TYPE_FILTERS = {FastJson2JsonRedisSerializer.AUTO_TYPE_FILTER};
+
+    private final Class<T> clazz;
+    private final boolean writeBinary;
+    private final SymbolTable symbolTable;
+    private final FastJson2JsonRedisSerializer<T> jsonSerializer;
+
+    /**
+     * @param clazz          反序列化目标类型
+     * @param writeBinary    是否以二进制格式写入，false时只写JSON但仍可读取二进制数据
+     * @param extraTypeNames 追加到内置注册表之后的类型名
+     */
+    public FastJson2JsonbRedisSerializer(Class<T> clazz, boolean writeBinary, List<String> extraTypeNames) {
+        this.clazz = clazz;
+        this.writeBinary = writeBinary;
+        this.jsonSerializer = new FastJson2JsonRedisSerializer<>(clazz);
+        Set<String> typeNames = new LinkedHashSet<>(DEFAULT_TYPE_REGISTRY);
+        if (extraTypeNames != null) {
+            typeNames.addAll(extraTypeNames);
+        }
+        this.symbolTable = JSONB.symbolTable(typeNames.toArray(new String[0]));
+    }
+
+    @Override
+    public byte[] serialize(T t) throws SerializationException {
+        if (t == null) {
+            return new byte[0];
+        }
+        if (!writeBinary || t instanceof CharSequence || t instanceof Number || t instanceof Boolean) {
+            return jsonSerializer.serialize(t);
+        }
+        byte[] body = JSONB.toBytes(t, symbolTable, JSONWriter.Feature.WriteClassName);
+        byte[] bytes = new byte[HEADER_LENGTH + body.length];
+        bytes[0] = MAGIC;
+        bytes[1] = VERSION;
+        System.arraycopy(body, 0, bytes, HEADER_LENGTH, body.length);
+        return bytes;
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH || bytes[1] != VERSION) {
+            throw new SerializationException("不支持的Redis二进制数据版本: " + (bytes.length < HEADER_LENGTH ? "缺失" : bytes[1]));
+        }
+        byte[] body = Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length);
+        return JSONB.parseObject(body, clazz, symbolTable, AUTO_TYPE_FILTERS, JSONReader.Feature.SupportAutoType);
+    }
+}
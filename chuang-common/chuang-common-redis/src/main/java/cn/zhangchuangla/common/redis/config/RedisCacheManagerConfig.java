@@ -20,11 +20,11 @@ import java.time.Duration;
 public class RedisCacheManagerConfig {
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        // key 使用 String 序列化，value 使用 FastJson 序列化
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, RedisProperties redisProperties) {
+        // key 使用 String 序列化，value 按配置使用 FastJson 的 JSON 或 JSONB 格式序列化
         RedisCacheConfiguration cacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new FastJson2JsonRedisSerializer<>(Object.class)))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(RedisConfig.valueSerializer(redisProperties)))
                 .entryTtl(Duration.ofHours(24))
                 .disableCachingNullValues();
 
@@ -5,6 +5,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 /**
@@ -19,17 +20,18 @@ public class RedisConfig {
      * RedisTemplate配置
      *
      * @param connectionFactory Redis连接工厂
+     * @param redisProperties   Redis配置
      * @return RedisTemplate
      */
     @Primary
     @Bean
     @SuppressWarnings(value = {"unchecked", "rawtypes"})
-    public RedisTemplate<Object, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<Object, Object> redisTemplate(RedisConnectionFactory connectionFactory, RedisProperties redisProperties) {
         RedisTemplate<Object, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-        // 创建FastJson2JsonRedisSerializer序列化器，用于处理值序列化
-        FastJson2JsonRedisSerializer serializer = new FastJson2JsonRedisSerializer(Object.class);
+        // 值序列化器按配置的格式写入，读取时同时兼容JSON和JSONB
+        RedisSerializer serializer = valueSerializer(redisProperties);
 
         // 使用StringRedisSerializer来序列化和反序列化redis的key值
         template.setKeySerializer(new StringRedisSerializer());
@@ -45,4 +47,16 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    /**
+     * 根据配置创建值序列化器
+     *
+     * @param redisProperties Redis配置
+     * @return 值序列化器
+     */
+    static RedisSerializer<Object> valueSerializer(RedisProperties redisProperties) {
+        RedisProperties.Serializer config = redisProperties.getSerializer();
+        boolean writeBinary = config.getMode() == RedisProperties.SerializerMode.JSONB;
+        return new FastJson2JsonbRedisSerializer<>(Object.class, writeBinary, config.getTypeRegistry());
+    }
 }
@@ -0,0 +1,29 @@
+package cn.zhangchuangla.common.redis.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis 发布/订阅监听容器配置
+ * 用于多节点之间广播本地缓存失效、版本变更等消息
+ *
+ * @author Chuang
+ */
+@Configuration
+public class RedisListenerConfig {
+
+    /**
+     * Redis消息监听容器
+     *
+     * @param connectionFactory Redis连接工厂
+     * @return RedisMessageListenerContainer
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
@@ -5,6 +5,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author Chuang
  * <p>
@@ -20,5 +23,37 @@ public class RedisProperties {
     @Min(value = 1, message = "scanCount不能小于1")
     public int scanCount = 1000;
 
+    /**
+     * 值序列化配置
+     */
+    public Serializer serializer = new Serializer();
+
+    /**
+     * 值序列化格式
+     */
+    public enum SerializerMode {
+        /**
+         * JSON文本，携带完整类名
+         */
+        JSON,
+        /**
+         * FastJson2 JSONB二进制，类型名按注册表编号
+         */
+        JSONB
+    }
+
+    @Data
+    public static class Serializer {
+
+        /**
+         * 写入格式，默认JSON。两种格式在读取时都能识别，滚动升级时应先全部升级到本版本，再切换为JSONB
+         */
+        private SerializerMode mode = SerializerMode.JSON;
+
+        /**
+         * 追加到内置注册表之后的类型全限定名，只能在末尾追加，所有节点必须保持一致
+         */
+        private List<String> typeRegistry = new ArrayList<>();
+    }
 
 }
@@ -68,6 +68,16 @@ public interface RedisConstants {
 
         String USER_ACCESS_TOKEN = "auth:token:access:";
 
+        /**
+         * 访问令牌Hash中保存在线用户信息的字段
+         */
+        String ACCESS_TOKEN_USER_FIELD = "user";
+
+        /**
+         * 访问令牌Hash中保存最后访问时间的字段
+         */
+        String ACCESS_TOKEN_ACCESS_TIME_FIELD = "accessTime";
+
         String USER_REFRESH_TOKEN = "auth:token:refresh:";
 
         String ROLE_KEY = "auth:role:";
@@ -76,6 +86,16 @@ public interface RedisConstants {
 
         String SESSIONS_DEVICE_KEY = "auth:session:device:";
 
+        /**
+         * 全局在线会话索引（ZSet），成员为访问令牌ID，分值为最后访问时间
+         */
+        String SESSIONS_ACCESS_TOKEN_GLOBAL_INDEX = "auth:session:global:access";
+
+        /**
+         * 全局登录设备索引（ZSet），成员为刷新令牌ID，分值为登录时间
+         */
+        String SESSIONS_DEVICE_GLOBAL_INDEX = "auth:session:global:device";
+
         /**
          * 密码重试限制前缀
          */
@@ -118,5 +138,58 @@ public interface RedisConstants {
 
     }
 
+    /**
+     * 消息模块
+     */
+    interface Message {
+
+        /**
+         * 用户消息计数Key格式: message:counter:{userId}，Hash字段为 total/read/version
+         */
+        String USER_COUNTER_KEY = "message:counter:";
+
+        /**
+         * 已缓存消息计数的用户索引（Set），成员为用户ID
+         */
+        String USER_COUNTER_INDEX = "message:counter:index";
+
+        /**
+         * 用户消息计数待提交标记Key格式: message:counter:pending:{userId}，值为尚未完成的事务数
+         */
+        String USER_COUNTER_PENDING_KEY = "message:counter:pending:";
+
+        /**
+         * 全员消息计数待提交标记，存在时所有用户的统计结果都不写入
+         */
+        String USER_COUNTER_PENDING_ALL = "message:counter:pending:all";
+    }
+
+    /**
+     * 本地缓存版本
+     */
+    interface LocalCache {
+
+        /**
+         * 本地缓存版本号Key格式: cache:version:{cacheName}
+         */
+        String VERSION_KEY = "cache:version:";
+    }
+
+    /**
+     * 发布/订阅频道
+     */
+    interface Channel {
+
+        /**
+         * 访问令牌本地缓存失效频道
+         */
+        String ACCESS_TOKEN_INVALIDATE = "channel:auth:token:invalidate";
+
+        /**
+         * 本地缓存版本变更频道格式: channel:cache:version:{cacheName}
+         */
+        String LOCAL_CACHE_VERSION = "channel:cache:version:";
+    }
+
 
 }
@@ -0,0 +1,36 @@
+package cn.zhangchuangla.common.redis.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 本地缓存失效广播消息
+ * 通过 Redis 发布/订阅在各节点之间传递，节点收到后丢弃对应的本地缓存
+ *
+ * @author Chuang
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidateMessage {
+
+    /**
+     * 需要失效的缓存键，为空表示整体失效
+     */
+    private List<String> keys;
+
+    /**
+     * 数据版本号，可选
+     */
+    private Long version;
+
+    /**
+     * 消息发布时间戳（毫秒），用于统计失效延迟
+     */
+    private long publishTime;
+}
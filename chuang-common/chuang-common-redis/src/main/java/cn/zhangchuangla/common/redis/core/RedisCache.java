@@ -4,15 +4,16 @@ package cn.zhangchuangla.common.redis.core;
 import cn.zhangchuangla.common.redis.config.RedisProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.Cursor;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ScanOptions;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.*;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Redis缓存操作工具类
@@ -64,6 +65,17 @@ public final class RedisCache {
     }
 
 
+    /**
+     * 将键中存储的数字值加一，键不存在时从0开始
+     *
+     * @param key 缓存的键值
+     * @return 自增后的值
+     */
+    public long increment(final String key) {
+        Long value = redisTemplate.opsForValue().increment(key);
+        return value == null ? 0L : value;
+    }
+
     /**
      * 设置有效时间
      *
@@ -99,6 +111,20 @@ public final class RedisCache {
     }
 
 
+    /**
+     * 批量获得缓存的基本对象，使用 MGET 一次网络往返
+     *
+     * @param keys 缓存键值列表
+     * @return 与键顺序一致的值列表，键不存在时对应 null
+     */
+    public <T> List<T> multiGet(final Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<T> values = redisTemplate.opsForValue().multiGet(keys);
+        return values == null ? new ArrayList<>() : values;
+    }
+
     /**
      * 删除单个对象
      *
@@ -119,6 +145,39 @@ public final class RedisCache {
         return redisTemplate.delete(collection);
     }
 
+    /**
+     * 使用 UNLINK 批量删除键，内存回收在 Redis 后台线程完成，不阻塞其他命令
+     *
+     * @param keys 缓存键值集合
+     * @return 删除成功的个数
+     */
+    public long unlink(final Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return 0L;
+        }
+        Long count = redisTemplate.unlink(keys);
+        return count == null ? 0L : count;
+    }
+
+    /**
+     * 在管道中执行一组命令，所有命令只需一次网络往返
+     * <p>
+     * 回调中的操作返回值均为 null，执行结果按命令顺序从本方法的返回值中获取
+     * </p>
+     *
+     * @param operations 管道内执行的操作
+     * @return 按命令顺序排列的执行结果
+     */
+    public List<Object> pipeline(final Consumer<RedisOperations> operations) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public Object execute(RedisOperations redisOperations) throws DataAccessException {
+                operations.accept(redisOperations);
+                return null;
+            }
+        });
+    }
+
 
     /**
      * 获得缓存的基本对象列表
@@ -176,13 +235,16 @@ public final class RedisCache {
         if (keys.isEmpty()) {
             return new HashMap<>();
         }
-        Map<String, Object> result = new HashMap<>();
+        Map<String, Object> result = new HashMap<>(keys.size());
         try {
-            List<Object> values = redisTemplate.opsForValue().multiGet(keys);
-            for (int i = 0; i < keys.size(); i++) {
-                String key = keys.get(i);
-                Object value = (values != null && i < values.size()) ? values.get(i) : null;
-                result.put(key, value);
+            // 按扫描批次分段 MGET，避免单条命令过大
+            int batchSize = redisProperties.scanCount;
+            for (int from = 0; from < keys.size(); from += batchSize) {
+                List<String> batch = keys.subList(from, Math.min(from + batchSize, keys.size()));
+                List<Object> values = multiGet(batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    result.put(batch.get(i), i < values.size() ? values.get(i) : null);
+                }
             }
         } catch (Exception e) {
             log.error("Redis scan keys with values failed, pattern: {}, error: {}", pattern, e.getMessage(), e);
@@ -193,6 +255,20 @@ public final class RedisCache {
     }
 
 
+    /**
+     * 执行Lua脚本，脚本参数按字符串传递，返回值使用模板的值序列化器反序列化
+     *
+     * @param script Lua脚本
+     * @param keys   脚本使用的键
+     * @param args   脚本参数
+     * @return 脚本执行结果
+     */
+    public <T> T execute(final RedisScript<T> script, final List<String> keys, final String... args) {
+        return (T) redisTemplate.execute(script, RedisSerializer.string(), redisTemplate.getValueSerializer(),
+                keys, (Object[]) args);
+    }
+
+
     /**
      * 判断缓存中是否有对应的value
      *
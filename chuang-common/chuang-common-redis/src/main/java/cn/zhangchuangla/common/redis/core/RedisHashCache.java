@@ -4,8 +4,10 @@ import cn.zhangchuangla.common.redis.config.RedisProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
@@ -85,6 +87,30 @@ public final class RedisHashCache {
     }
 
 
+    /**
+     * 使用管道批量获取多个 Hash 的所有字段和值，只需一次网络往返
+     *
+     * @param keys Redis 键列表
+     * @return 与键顺序一致的结果列表，键不存在时对应空Map
+     */
+    public List<Map<Object, Object>> multiHGetAll(final List<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        RedisSerializer keySerializer = redisTemplate.getKeySerializer();
+        List<Object> rawResults = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.hashCommands().hGetAll(keySerializer.serialize(key));
+            }
+            return null;
+        });
+        List<Map<Object, Object>> result = new ArrayList<>(keys.size());
+        for (Object rawResult : rawResults) {
+            result.add(rawResult instanceof Map ? (Map<Object, Object>) rawResult : new HashMap<>());
+        }
+        return result;
+    }
+
     /**
      * 从 Hash 中删除一个或多个字段
      *
@@ -190,7 +216,7 @@ public final class RedisHashCache {
 
     /**
      * 批量值获取方法 - 获取匹配模式的 Hash 键及其所有字段值
-     * 使用 Redis SCAN 操作高效扫描键，然后批量获取每个 Hash 的所有字段值
+     * 使用 Redis SCAN 操作高效扫描键，然后通过管道批量获取每个 Hash 的所有字段值
      *
      * @param pattern Redis 键模式，支持通配符（如：auth:session:index:*）
      * @return 嵌套Map，外层键为Hash键，内层Map为该Hash的所有字段值，如果没有匹配的键则返回空Map
@@ -206,12 +232,16 @@ public final class RedisHashCache {
             return new HashMap<>();
         }
 
-        Map<String, Map<Object, Object>> result = new HashMap<>();
+        Map<String, Map<Object, Object>> result = new HashMap<>(keys.size());
         try {
-            // 逐个获取每个 Hash 的所有字段值
-            for (String key : keys) {
-                Map<Object, Object> hashData = redisTemplate.opsForHash().entries(key);
-                result.put(key, hashData);
+            // 按扫描批次分段使用管道获取，每批一次网络往返
+            int batchSize = redisProperties.scanCount;
+            for (int from = 0; from < keys.size(); from += batchSize) {
+                List<String> batch = keys.subList(from, Math.min(from + batchSize, keys.size()));
+                List<Map<Object, Object>> hashes = multiHGetAll(batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    result.put(batch.get(i), hashes.get(i));
+                }
             }
         } catch (Exception e) {
             log.error("Redis Hash scan keys with values failed, pattern: {}, error: {}", pattern, e.getMessage(), e);
@@ -0,0 +1,60 @@
+package cn.zhangchuangla.common.redis.core;
+
+import com.alibaba.fastjson2.JSON;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Redis 发布/订阅工具类
+ * 消息体统一使用 JSON 字符串，不携带类型信息
+ *
+ * @author Chuang
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public final class RedisPubSub {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 向指定频道发布消息
+     *
+     * @param channel 频道名称
+     * @param message 消息对象
+     */
+    public void publish(final String channel, final Object message) {
+        try {
+            stringRedisTemplate.convertAndSend(channel, JSON.toJSONString(message));
+        } catch (Exception e) {
+            log.error("Redis publish failed, channel: {}, error: {}", channel, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 订阅指定频道
+     *
+     * @param channel 频道名称
+     * @param type    消息类型
+     * @param handler 消息处理器
+     * @param <T>     消息类型
+     */
+    public <T> void subscribe(final String channel, final Class<T> type, final Consumer<T> handler) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                String body = new String(message.getBody(), StandardCharsets.UTF_8);
+                handler.accept(JSON.parseObject(body, type));
+            } catch (Exception e) {
+                log.error("Redis message handle failed, channel: {}, error: {}", channel, e.getMessage(), e);
+            }
+        }, new ChannelTopic(channel));
+    }
+}
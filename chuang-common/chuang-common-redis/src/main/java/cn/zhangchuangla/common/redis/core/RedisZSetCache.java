@@ -3,10 +3,8 @@ package cn.zhangchuangla.common.redis.core;
 import cn.zhangchuangla.common.redis.config.RedisProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.Cursor;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ScanOptions;
-import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.*;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
@@ -161,6 +159,32 @@ public final class RedisZSetCache {
     }
 
 
+    /**
+     * 使用管道批量获取多个有序集合的所有成员（带分值），只需一次网络往返
+     *
+     * @param keys Redis 键列表
+     * @return 与键顺序一致的结果列表，键不存在时对应空集合
+     */
+    public <T> List<Set<ZSetOperations.TypedTuple<T>>> multiRangeWithScores(final List<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Object> rawResults = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (String key : keys) {
+                    operations.opsForZSet().rangeWithScores(key, 0, -1);
+                }
+                return null;
+            }
+        });
+        List<Set<ZSetOperations.TypedTuple<T>>> result = new ArrayList<>(keys.size());
+        for (Object rawResult : rawResults) {
+            result.add(rawResult instanceof Set ? (Set<ZSetOperations.TypedTuple<T>>) rawResult : new LinkedHashSet<>());
+        }
+        return result;
+    }
+
     /**
      * 获取某个成员的分值
      *
@@ -225,7 +249,7 @@ public final class RedisZSetCache {
 
     /**
      * 批量值获取方法 - 获取匹配模式的 ZSet 键及其所有成员（带分值）
-     * 使用 Redis SCAN 操作高效扫描键，然后批量获取每个 ZSet 的所有成员和分值
+     * 使用 Redis SCAN 操作高效扫描键，然后通过管道批量获取每个 ZSet 的所有成员和分值
      *
      * @param pattern Redis 键模式，支持通配符（如：ranking:*）
      * @return Map，键为ZSet键，值为该ZSet的所有成员（带分值），如果没有匹配的键则返回空Map
@@ -241,13 +265,16 @@ public final class RedisZSetCache {
             return new HashMap<>();
         }
 
-        Map<String, Set<ZSetOperations.TypedTuple<Object>>> result = new HashMap<>();
+        Map<String, Set<ZSetOperations.TypedTuple<Object>>> result = new HashMap<>(keys.size());
         try {
-            // 逐个获取每个 ZSet 的所有成员（带分值）
-            for (String key : keys) {
-                Set<ZSetOperations.TypedTuple<Object>> zsetMembers =
-                        redisTemplate.opsForZSet().rangeWithScores(key, 0, -1);
-                result.put(key, zsetMembers);
+            // 按扫描批次分段使用管道获取，每批一次网络往返
+            int batchSize = redisProperties.scanCount;
+            for (int from = 0; from < keys.size(); from += batchSize) {
+                List<String> batch = keys.subList(from, Math.min(from + batchSize, keys.size()));
+                List<Set<ZSetOperations.TypedTuple<Object>>> members = multiRangeWithScores(batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    result.put(batch.get(i), members.get(i));
+                }
             }
         } catch (Exception e) {
             log.error("Redis ZSet scan keys with values failed, pattern: {}, error: {}", pattern, e.getMessage(), e);
@@ -0,0 +1,227 @@
+package cn.zhangchuangla.common.redis.core;
+
+import cn.zhangchuangla.common.redis.constant.RedisConstants;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 带版本号的本地只读快照缓存基类
+ * <p>
+ * 快照在本地内存中不可变，读取时不访问数据库和Redis。数据变更后调用 {@link #publishChange()}，
+ * 在Redis中递增版本号并通过发布/订阅通知所有节点重建快照；各节点还会定期比对Redis中的版本号，
+ * 兜底处理丢失的广播消息。
+ * </p>
+ *
+ * @param <T> 快照类型，应为不可变对象
+ * @author Chuang
+ */
+@Slf4j
+public abstract class VersionedLocalCache<T> {
+
+    /**
+     * 所有本地缓存共用的版本检查线程
+     */
+    private static final ScheduledExecutorService VERSION_CHECK_EXECUTOR =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "local-cache-version-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * 版本检查间隔（秒）
+     */
+    private static final long VERSION_CHECK_INTERVAL_SECONDS = 60;
+
+    private final RedisCache redisCache;
+    private final RedisPubSub redisPubSub;
+    private final String cacheName;
+    private final String versionKey;
+    private final String channel;
+    private final Object refreshLock = new Object();
+
+    private volatile Snapshot<T> snapshot;
+    private ScheduledFuture<?> versionCheckTask;
+
+    protected VersionedLocalCache(RedisCache redisCache, RedisPubSub redisPubSub, String cacheName) {
+        this.redisCache = redisCache;
+        this.redisPubSub = redisPubSub;
+        this.cacheName = cacheName;
+        this.versionKey = RedisConstants.LocalCache.VERSION_KEY + cacheName;
+        this.channel = RedisConstants.Channel.LOCAL_CACHE_VERSION + cacheName;
+    }
+
+    /**
+     * 从数据源加载完整快照
+     *
+     * @return 新的快照数据
+     */
+    protected abstract T loadSnapshot();
+
+    /**
+     * 快照替换后回调，在刷新锁内按版本顺序执行，子类可据此比对新旧数据并通知变更；
+     * 实现应尽量轻量，抛出的异常不会影响快照替换
+     *
+     * @param previous 旧快照数据，首次加载时为null
+     * @param current  新快照数据
+     */
+    protected void onSnapshotChanged(T previous, T current) {
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        redisPubSub.subscribe(channel, CacheInvalidateMessage.class, this::onVersionChanged);
+        versionCheckTask = VERSION_CHECK_EXECUTOR.scheduleWithFixedDelay(this::checkVersion,
+                VERSION_CHECK_INTERVAL_SECONDS, VERSION_CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (versionCheckTask != null) {
+            versionCheckTask.cancel(false);
+        }
+    }
+
+    /**
+     * 获取当前快照，首次访问时同步加载
+     *
+     * @return 快照数据
+     */
+    public T get() {
+        Snapshot<T> current = snapshot;
+        if (current == null) {
+            current = refresh();
+        }
+        return current.data();
+    }
+
+    /**
+     * 当前快照的版本号，未加载时返回-1
+     *
+     * @return 版本号
+     */
+    public long getVersion() {
+        Snapshot<T> current = snapshot;
+        return current == null ? -1L : current.version();
+    }
+
+    /**
+     * 按Redis中的最新版本号重新加载快照
+     *
+     * @return 新快照
+     */
+    public Snapshot<T> refresh() {
+        return reload(readRemoteVersion());
+    }
+
+    /**
+     * 按当前版本号重新加载本节点快照，不访问Redis，也不通知其他节点
+     *
+     * @return 新快照
+     */
+    public Snapshot<T> reloadLocal() {
+        return reload(getVersion());
+    }
+
+    /**
+     * 数据发生变更后调用，递增版本号并通知所有节点重建快照。
+     * 若当前处于事务中，则在事务提交后执行，避免其他节点读取到未提交的数据。
+     */
+    public void publishChange() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doPublishChange();
+                }
+            });
+        } else {
+            doPublishChange();
+        }
+    }
+
+    private void doPublishChange() {
+        try {
+            long version = redisCache.increment(versionKey);
+            reload(version);
+            redisPubSub.publish(channel, CacheInvalidateMessage.builder()
+                    .version(version)
+                    .publishTime(System.currentTimeMillis())
+                    .build());
+        } catch (Exception e) {
+            log.error("本地缓存[{}]版本发布失败: {}", cacheName, e.getMessage(), e);
+            // Redis不可用时至少保证本节点数据正确
+            reload(getVersion());
+        }
+    }
+
+    private void onVersionChanged(CacheInvalidateMessage message) {
+        Long version = message.getVersion();
+        if (version == null || version > getVersion()) {
+            reload(version == null ? readRemoteVersion() : version);
+        }
+    }
+
+    private void checkVersion() {
+        try {
+            long remoteVersion = readRemoteVersion();
+            if (remoteVersion > getVersion()) {
+                log.info("本地缓存[{}]版本落后，重新加载: {} -> {}", cacheName, getVersion(), remoteVersion);
+                reload(remoteVersion);
+            }
+        } catch (Exception e) {
+            log.warn("本地缓存[{}]版本检查失败: {}", cacheName, e.getMessage());
+        }
+    }
+
+    private Snapshot<T> reload(long version) {
+        synchronized (refreshLock) {
+            Snapshot<T> current = snapshot;
+            if (current != null && current.version() > version) {
+                return current;
+            }
+            long startTime = System.currentTimeMillis();
+            Snapshot<T> loaded = new Snapshot<>(version, loadSnapshot());
+            snapshot = loaded;
+            log.debug("本地缓存[{}]加载完成，版本: {}，耗时: {}ms", cacheName, version,
+                    System.currentTimeMillis() - startTime);
+            try {
+                onSnapshotChanged(current == null ? null : current.data(), loaded.data());
+            } catch (Exception e) {
+                log.warn("本地缓存[{}]变更回调执行失败: {}", cacheName, e.getMessage(), e);
+            }
+            return loaded;
+        }
+    }
+
+    private long readRemoteVersion() {
+        try {
+            Object value = redisCache.getCacheObject(versionKey);
+            if (value instanceof Number number) {
+                return number.longValue();
+            }
+            return value == null ? 0L : Long.parseLong(value.toString());
+        } catch (Exception e) {
+            log.warn("读取本地缓存[{}]版本号失败: {}", cacheName, e.getMessage());
+            return Math.max(getVersion(), 0L);
+        }
+    }
+
+    /**
+     * 带版本号的快照
+     *
+     * @param version 版本号
+     * @param data    快照数据
+     * @param <T>     快照类型
+     */
+    public record Snapshot<T>(long version, T data) {
+    }
+}
@@ -0,0 +1,190 @@
+package cn.zhangchuangla.common.redis.config;
+
+import cn.zhangchuangla.common.core.entity.Option;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JSONB Redis序列化器测试
+ * <p>
+ * 覆盖各类缓存值的二进制往返、旧JSON数据的兼容读取，以及类型注册表：
+ * 已注册的类型以编号写入，追加注册的类型不影响已写入数据的读取。
+ * </p>
+ *
+ * @author Chuang
+ */
+class FastJson2JsonbRedisSerializerTest {
+
+    private static final String CACHED_USER_TYPE = CachedUser.class.getName();
+
+    private final FastJson2JsonbRedisSerializer<Object> serializer =
+            new FastJson2JsonbRedisSerializer<>(Object.class, true, List.of(CACHED_USER_TYPE));
+
+    private final FastJson2JsonRedisSerializer<Object> jsonSerializer = new FastJson2JsonRedisSerializer<>(Object.class);
+
+    @Test
+    void testBinaryRoundTrip() {
+        for (Object payload : List.of(cachedUser(), stringSet(), optionList())) {
+            byte[] bytes = serializer.serialize(payload);
+
+            assertEquals(FastJson2JsonbRedisSerializer.MAGIC, bytes[0]);
+            assertEquals(FastJson2JsonbRedisSerializer.VERSION, bytes[1]);
+            Object value = serializer.deserialize(bytes);
+            assertEquals(payload.getClass(), value.getClass());
+            assertEquals(payload, value);
+        }
+    }
+
+    @Test
+    void testOptionListKeepsElementType() {
+        List<?> value = (List<?>) serializer.deserialize(serializer.serialize(optionList()));
+
+        assertInstanceOf(Option.class, value.get(0));
+        assertEquals("用户管理", ((Option<?>) value.get(0)).getLabel());
+    }
+
+    @Test
+    void testReadPlainJson() {
+        for (Object payload : List.of(cachedUser(), stringSet(), optionList())) {
+            byte[] json = jsonSerializer.serialize(payload);
+
+            assertNotEquals(FastJson2JsonbRedisSerializer.MAGIC, json[0]);
+            assertEquals(payload, serializer.deserialize(json), "旧JSON数据应能直接读取: " + payload.getClass());
+        }
+    }
+
+    @Test
+    void testScalarWrittenAsJson() {
+        assertArrayEquals(jsonSerializer.serialize(42L), serializer.serialize(42L));
+        assertArrayEquals(jsonSerializer.serialize("token"), serializer.serialize("token"));
+        assertEquals(42, serializer.deserialize("42".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testJsonModeStillReadsBinary() {
+        FastJson2JsonbRedisSerializer<Object> jsonMode =
+                new FastJson2JsonbRedisSerializer<>(Object.class, false, List.of(CACHED_USER_TYPE));
+
+        assertArrayEquals(jsonSerializer.serialize(cachedUser()), jsonMode.serialize(cachedUser()));
+        assertEquals(cachedUser(), jsonMode.deserialize(serializer.serialize(cachedUser())));
+    }
+
+    @Test
+    void testRegisteredTypeWrittenAsSymbol() {
+        FastJson2JsonbRedisSerializer<Object> unregistered = new FastJson2JsonbRedisSerializer<>(Object.class, true, null);
+
+        byte[] registeredBytes = serializer.serialize(cachedUser());
+        byte[] unregisteredBytes = unregistered.serialize(cachedUser());
+
+        assertFalse(contains(registeredBytes, CACHED_USER_TYPE), "已注册的类型不应写入完整类名");
+        assertTrue(contains(unregisteredBytes, CACHED_USER_TYPE));
+        assertTrue(registeredBytes.length < unregisteredBytes.length);
+        assertFalse(contains(serializer.serialize(optionList()), Option.class.getName()));
+    }
+
+    @Test
+    void testAppendedTypeKeepsExistingDataReadable() {
+        FastJson2JsonbRedisSerializer<Object> appended = new FastJson2JsonbRedisSerializer<>(Object.class, true,
+                List.of(CACHED_USER_TYPE, "java.util.TreeMap"));
+
+        for (Object payload : List.of(cachedUser(), stringSet(), optionList())) {
+            assertEquals(payload, appended.deserialize(serializer.serialize(payload)));
+        }
+    }
+
+    @Test
+    void testUnsupportedVersionRejected() {
+        byte[] bytes = serializer.serialize(stringSet());
+        bytes[1] = 0x7F;
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+    }
+
+    @Test
+    void testNullAndEmpty() {
+        assertEquals(0, serializer.serialize(null).length);
+        assertNull(serializer.deserialize(null));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+
+    private static boolean contains(byte[] bytes, String text) {
+        return new String(bytes, StandardCharsets.ISO_8859_1).contains(text);
+    }
+
+    private static CachedUser cachedUser() {
+        CachedUser user = new CachedUser();
+        user.setUserId(1L);
+        user.setUsername("admin");
+        user.setRoles(new HashSet<>(Set.of("admin", "common")));
+        user.setAccessTime(1_700_000_000_000L);
+        return user;
+    }
+
+    private static Set<String> stringSet() {
+        return new HashSet<>(Set.of("system:user:list", "system:user:add", "system:role:list"));
+    }
+
+    private static List<Option<String>> optionList() {
+        return new ArrayList<>(List.of(new Option<>("1", "用户管理"), new Option<>("2", "角色管理")));
+    }
+
+    /**
+     * 模拟缓存中的用户对象
+     */
+    public static class CachedUser {
+
+        private Long userId;
+        private String username;
+        private Set<String> roles;
+        private Long accessTime;
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public Set<String> getRoles() {
+            return roles;
+        }
+
+        public void setRoles(Set<String> roles) {
+            this.roles = roles;
+        }
+
+        public Long getAccessTime() {
+            return accessTime;
+        }
+
+        public void setAccessTime(Long accessTime) {
+            this.accessTime = accessTime;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CachedUser other && Objects.equals(userId, other.userId)
+                    && Objects.equals(username, other.username) && Objects.equals(roles, other.roles)
+                    && Objects.equals(accessTime, other.accessTime);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, username, roles, accessTime);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package cn.zhangchuangla.framework.annotation;
 
 import cn.zhangchuangla.common.core.enums.AccessType;
+import cn.zhangchuangla.common.core.enums.LimitAlgorithm;
 
 import java.lang.annotation.*;
 
@@ -32,6 +33,11 @@ public @interface AccessLimit {
      */
     AccessType limitType() default AccessType.IP;
 
+    /**
+     * 限流算法，默认使用Redis固定窗口
+     */
+    LimitAlgorithm algorithm() default LimitAlgorithm.FIXED_WINDOW;
+
     /**
      * 限流提示消息
      */
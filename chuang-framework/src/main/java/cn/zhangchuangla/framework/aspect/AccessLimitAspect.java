@@ -8,6 +8,7 @@ import cn.zhangchuangla.common.core.utils.SecurityUtils;
 import cn.zhangchuangla.common.core.utils.client.IPUtils;
 import cn.zhangchuangla.common.redis.constant.RedisConstants;
 import cn.zhangchuangla.framework.annotation.AccessLimit;
+import cn.zhangchuangla.framework.limiter.RateLimiterEngine;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,17 +16,11 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.script.DefaultRedisScript;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.lang.reflect.Method;
-import java.util.Collections;
 
 /**
  * 访问限制切面
@@ -44,35 +39,10 @@ import java.util.Collections;
 public class AccessLimitAspect {
 
     /**
-     * 限流Lua脚本
+     * 限流引擎
      */
-    private static final String LIMIT_LUA_SCRIPT = """
-            local key = KEYS[1]
-            local maxCount = tonumber(ARGV[1])
-            local expireTime = tonumber(ARGV[2])
-            local permits = tonumber(ARGV[3])
-            
-            local current = tonumber(redis.call('get', key) or "0")
-            if current + permits > maxCount then
-                return 0
-            end
-            
-            if current == 0 then
-                redis.call('setex', key, expireTime, permits)
-            else
-                redis.call('incrby', key, permits)
-            end
-            return 1
-            """;
-    /**
-     * Redis Lua脚本对象
-     */
-    private static final DefaultRedisScript<Long> LIMIT_SCRIPT = new DefaultRedisScript<>(LIMIT_LUA_SCRIPT, Long.class);
-    /**
-     * Redis操作模板
-     */
-    private final StringRedisTemplate stringRedisTemplate;
-    private final ExpressionParser spelParser = new SpelExpressionParser();
+    private final RateLimiterEngine rateLimiterEngine;
+    private final SpelKeyEvaluator spelKeyEvaluator;
 
     /**
      * 环绕通知处理访问限制
@@ -110,16 +80,11 @@ public class AccessLimitAspect {
         String redisKey = buildLimitKey(attributes, joinPoint, limitType, effective.key());
 
         try {
-            // 执行Lua脚本进行限流判断
-            Long result = stringRedisTemplate.execute(
-                    LIMIT_SCRIPT,
-                    Collections.singletonList(redisKey),
-                    String.valueOf(maxCount),
-                    String.valueOf(limitPeriod),
-                    String.valueOf(permits));
-
-            // 如果执行结果为0，表示超过访问限制
-            if (result == 0) {
+            // 按注解指定的算法进行限流判断
+            boolean acquired = rateLimiterEngine.tryAcquire(effective.algorithm(), redisKey, maxCount, limitPeriod, permits);
+
+            // 获取失败，表示超过访问限制
+            if (!acquired) {
                 // 获取类名和方法名，用于日志记录
                 String className = method.getDeclaringClass().getName();
                 String methodName = method.getName();
@@ -142,7 +107,7 @@ public class AccessLimitAspect {
             // 直接抛出TooManyRequestException异常
             throw e;
         } catch (Exception e) {
-            // Redis异常时，为确保系统可用性，记录异常但放行请求
+            // 降级限流也失败时，为确保系统可用性，记录异常但放行请求
             log.error("AOP限流功能异常，请求已放行: {}", e.getMessage(), e);
         }
 
@@ -199,15 +164,7 @@ public class AccessLimitAspect {
                 String evaluated = null;
                 if (customKeyExpr != null && !customKeyExpr.isBlank()) {
                     try {
-                        StandardEvaluationContext context = new StandardEvaluationContext();
-                        context.setVariable("args", joinPoint.getArgs());
-                        context.setVariable("request", request);
-                        try {
-                            SysUserDetails user = SecurityUtils.getLoginUser();
-                            context.setVariable("user", user);
-                        } catch (Exception ignore) {
-                        }
-                        evaluated = String.valueOf(spelParser.parseExpression(customKeyExpr).getValue(context));
+                        evaluated = spelKeyEvaluator.evaluate(method, customKeyExpr, joinPoint.getArgs(), request);
                     } catch (Exception e) {
                         log.warn("自定义限流Key SpEL解析失败，降级为URI: {}", e.getMessage());
                     }
@@ -16,9 +16,6 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -39,7 +36,7 @@ public class DebounceAspect {
 
     private final StringRedisTemplate stringRedisTemplate;
 
-    private final ExpressionParser spelParser = new SpelExpressionParser();
+    private final SpelKeyEvaluator spelKeyEvaluator;
 
     @Around("@annotation(debounce)")
     public Object around(ProceedingJoinPoint joinPoint, Debounce debounce) throws Throwable {
@@ -114,15 +111,7 @@ public class DebounceAspect {
                 String evaluated = null;
                 if (customKeyExpr != null && !customKeyExpr.isBlank()) {
                     try {
-                        StandardEvaluationContext context = new StandardEvaluationContext();
-                        context.setVariable("args", joinPoint.getArgs());
-                        context.setVariable("request", request);
-                        try {
-                            SysUserDetails user = SecurityUtils.getLoginUser();
-                            context.setVariable("user", user);
-                        } catch (Exception ignore) {
-                        }
-                        evaluated = String.valueOf(spelParser.parseExpression(customKeyExpr).getValue(context));
+                        evaluated = spelKeyEvaluator.evaluate(method, customKeyExpr, joinPoint.getArgs(), request);
                     } catch (Exception e) {
                         log.warn("自定义防抖Key SpEL解析失败，降级为URI: {}", e.getMessage());
                     }
@@ -0,0 +1,120 @@
+package cn.zhangchuangla.framework.aspect;
+
+import cn.zhangchuangla.common.core.entity.security.SysUserDetails;
+import cn.zhangchuangla.common.core.utils.SecurityUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelMessage;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 切面自定义Key的SpEL求值器
+ * <p>
+ * 表达式按（方法, 表达式）缓存，首次使用时解析并尽量编译为字节码。编译后的字节码执行失败时改用解释模式重新求值，
+ * 解释执行成功说明编译结果不适用（例如参数的实际类型发生变化），之后改为解释执行；解释执行同样失败说明是表达式或参数本身的错误，
+ * 直接抛出且保留编译结果。其他求值异常（如 #user 为空）直接抛出，不影响编译模式。
+ * 方法参数名同样按方法缓存，需要以 -parameters 编译。表达式中可使用 #args、#request、#user 以及方法参数名。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Slf4j
+@Component
+public class SpelKeyEvaluator {
+
+    private static final String[] NO_PARAMETER_NAMES = new String[0];
+
+    private final SpelExpressionParser compiledParser = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, SpelKeyEvaluator.class.getClassLoader()));
+
+    private final SpelExpressionParser interpretedParser = new SpelExpressionParser();
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    private final Map<ExpressionKey, CachedExpression> expressionCache = new ConcurrentHashMap<>();
+
+    private final Map<Method, String[]> parameterNameCache = new ConcurrentHashMap<>();
+
+    /**
+     * 对方法上的自定义Key表达式求值
+     *
+     * @param method     被拦截的方法
+     * @param expression SpEL表达式
+     * @param args       方法参数
+     * @param request    当前请求，非Web调用时为null
+     * @return 求值结果
+     */
+    public String evaluate(Method method, String expression, Object[] args, HttpServletRequest request) {
+        ExpressionKey key = new ExpressionKey(method, expression);
+        CachedExpression cached = expressionCache.computeIfAbsent(key,
+                k -> new CachedExpression(compiledParser.parseExpression(expression), true));
+        StandardEvaluationContext context = createContext(method, args, request);
+        if (!cached.compiled()) {
+            return String.valueOf(cached.expression().getValue(context));
+        }
+        try {
+            return String.valueOf(cached.expression().getValue(context));
+        } catch (SpelEvaluationException e) {
+            if (e.getMessageCode() != SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION) {
+                throw e;
+            }
+            // 编译后的字节码执行失败，解释执行成功时才放弃编译；解释执行也失败则异常直接抛出
+            Expression interpreted = interpretedParser.parseExpression(expression);
+            String value = String.valueOf(interpreted.getValue(context));
+            log.debug("SpEL表达式编译结果不适用，改为解释执行: {}, 原因: {}", expression, e.getMessage());
+            expressionCache.put(key, new CachedExpression(interpreted, false));
+            return value;
+        }
+    }
+
+    private StandardEvaluationContext createContext(Method method, Object[] args, HttpServletRequest request) {
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("args", args);
+        context.setVariable("request", request);
+        try {
+            SysUserDetails user = SecurityUtils.getLoginUser();
+            context.setVariable("user", user);
+        } catch (Exception ignore) {
+        }
+        String[] parameterNames = parameterNameCache.computeIfAbsent(method, this::discoverParameterNames);
+        if (args != null) {
+            for (int i = 0; i < parameterNames.length && i < args.length; i++) {
+                context.setVariable(parameterNames[i], args[i]);
+            }
+        }
+        return context;
+    }
+
+    private String[] discoverParameterNames(Method method) {
+        String[] names = parameterNameDiscoverer.getParameterNames(BridgeMethodResolver.findBridgedMethod(method));
+        return names != null ? names : NO_PARAMETER_NAMES;
+    }
+
+    /**
+     * 表达式缓存Key，方法对象区分重载方法
+     */
+    private record ExpressionKey(Method method, String expression) {
+    }
+
+    /**
+     * 已解析的表达式
+     *
+     * @param expression 表达式
+     * @param compiled   是否以编译模式解析
+     */
+    private record CachedExpression(Expression expression, boolean compiled) {
+    }
+}
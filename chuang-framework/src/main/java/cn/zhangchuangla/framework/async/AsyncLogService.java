@@ -1,6 +1,7 @@
 package cn.zhangchuangla.framework.async;
 
 import cn.zhangchuangla.common.core.constant.Constants;
+import cn.zhangchuangla.common.core.entity.device.BrowserDevice;
 import cn.zhangchuangla.common.core.utils.client.IPUtils;
 import cn.zhangchuangla.common.core.utils.client.UserAgentUtils;
 import cn.zhangchuangla.system.core.model.entity.SysLoginLog;
@@ -9,16 +10,22 @@ import cn.zhangchuangla.system.core.model.entity.SysSecurityLog;
 import cn.zhangchuangla.system.core.service.SysLoginLogService;
 import cn.zhangchuangla.system.core.service.SysOperationLogService;
 import cn.zhangchuangla.system.core.service.SysSecurityLogService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.Date;
+import java.util.List;
 
 /**
- * Spring异步服务
- * 使用@Async注解替换原有的AsyncManager和AsyncFactory
+ * 异步日志服务
+ * <p>
+ * 操作日志、登录日志和安全日志先写入各自的 {@link BatchLogSink}，由后台线程补全地区信息后批量写入数据库，
+ * 请求线程不再执行数据库写入。
+ * </p>
  *
  * @author Chuang
  */
@@ -27,34 +34,43 @@ import java.util.Date;
 @RequiredArgsConstructor
 public class AsyncLogService {
 
+    private static final int LOGIN_SUCCESS = 0;
+    private static final int LOGIN_FAIL = 1;
+
     private final SysOperationLogService sysOperationLogService;
     private final SysLoginLogService sysLoginLogService;
     private final SysSecurityLogService sysSecurityLogService;
+    private final LogSinkProperties logSinkProperties;
+    private final MeterRegistry meterRegistry;
+
+    private BatchLogSink<SysOperationLog> operationLogSink;
+    private BatchLogSink<SysLoginLog> loginLogSink;
+    private BatchLogSink<SysSecurityLog> securityLogSink;
+
+    @PostConstruct
+    public void init() {
+        this.operationLogSink = new BatchLogSink<>("operation", logSinkProperties, this::saveOperationLogs, meterRegistry);
+        this.loginLogSink = new BatchLogSink<>("login", logSinkProperties, this::saveLoginLogs, meterRegistry);
+        this.securityLogSink = new BatchLogSink<>("security", logSinkProperties, this::saveSecurityLogs, meterRegistry);
+        log.info("日志批量写入初始化完成 - 队列容量: {}, 批量大小: {}, 写入间隔: {}ms, 溢出策略: {}",
+                logSinkProperties.getCapacity(), logSinkProperties.getBatchSize(),
+                logSinkProperties.getFlushInterval(), logSinkProperties.getOverflowPolicy());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        operationLogSink.shutdown();
+        loginLogSink.shutdown();
+        securityLogSink.shutdown();
+    }
 
     /**
      * 异步记录操作日志
      *
      * @param operLog 操作日志信息
      */
-    @Async("logProcessExecutor")
     public void recordOperationLog(SysOperationLog operLog) {
-        try {
-            // 如果IP地址为空或者地区为空，尝试根据IP获取地区信息
-            if (operLog.getOperationIp() != null && operLog.getOperationRegion() == null) {
-                String region = IPUtils.getRegion(operLog.getOperationIp());
-                operLog.setOperationRegion(region);
-            }
-
-            // 保存日志
-            boolean result = sysOperationLogService.save(operLog);
-            if (result) {
-                log.debug("异步保存操作日志成功，ID: {}, 操作: {}", operLog.getId(), operLog.getModule());
-            } else {
-                log.warn("异步保存操作日志失败，操作: {}", operLog.getModule());
-            }
-        } catch (Exception e) {
-            log.error("异步保存操作日志失败: {}", e.getMessage(), e);
-        }
+        operationLogSink.offer(operLog);
     }
 
     /**
@@ -62,25 +78,8 @@ public class AsyncLogService {
      *
      * @param securityLog 安全日志信息
      */
-    @Async("logProcessExecutor")
     public void recordSecurityLog(SysSecurityLog securityLog) {
-        try {
-            // 如果IP地址为空或者地区为空，尝试根据IP获取地区信息
-            if (securityLog.getOperationIp() != null && securityLog.getOperationRegion() == null) {
-                String region = IPUtils.getRegion(securityLog.getOperationIp());
-                securityLog.setOperationRegion(region);
-            }
-
-            // 保存安全日志
-            boolean result = sysSecurityLogService.save(securityLog);
-            if (result) {
-                log.debug("异步保存安全日志成功，ID: {}, 操作: {}", securityLog.getId(), securityLog.getTitle());
-            } else {
-                log.warn("异步保存安全日志失败，操作: {}", securityLog.getTitle());
-            }
-        } catch (Exception e) {
-            log.error("异步保存安全日志失败: {}", e.getMessage(), e);
-        }
+        securityLogSink.offer(securityLog);
     }
 
     /**
@@ -91,43 +90,55 @@ public class AsyncLogService {
      * @param userAgent 用户代理
      * @param isSuccess 是否登录成功
      */
-    @Async("logProcessExecutor")
     public void recordLoginLog(String username, String ipAddr, String userAgent, boolean isSuccess) {
-        final int loginSuccess = 0;
-        final int loginFail = 1;
-        try {
-            String region = IPUtils.getRegion(ipAddr);
-            String osName = UserAgentUtils.getOsName(userAgent);
-            String browserName = UserAgentUtils.getBrowserName(userAgent);
-
-            log.info("用户名: {}, 登录: {}, 登录时间: {}, 系统名称: {}, IP地址: {}, 浏览器名称: {}, 区域: {}",
-                    username,
-                    isSuccess ? "登录成功" : "登录失败",
-                    new Date(),
-                    osName,
-                    ipAddr,
-                    browserName,
-                    region
-            );
-
-            // 构建登录日志对象
-            SysLoginLog sysLoginLog = SysLoginLog.builder()
-                    .os(osName)
-                    .ip(ipAddr)
-                    .region(region)
-                    .username(username)
-                    .browser(browserName)
-                    .status(isSuccess ? loginSuccess : loginFail)
-                    .loginTime(new Date())
-                    .createBy(Constants.SYSTEM_CREATE)
-                    .build();
+        BrowserDevice device = UserAgentUtils.parse(userAgent);
+        SysLoginLog sysLoginLog = SysLoginLog.builder()
+                .os(device.getOsName())
+                .ip(ipAddr)
+                .username(username)
+                .browser(device.getBrowserName())
+                .status(isSuccess ? LOGIN_SUCCESS : LOGIN_FAIL)
+                .loginTime(new Date())
+                .createBy(Constants.SYSTEM_CREATE)
+                .build();
+        loginLogSink.offer(sysLoginLog);
+    }
 
-            // 保存登录日志
-            sysLoginLogService.save(sysLoginLog);
-        } catch (Exception e) {
-            log.error("异步保存登录日志失败: {}", e.getMessage(), e);
+    private void saveOperationLogs(List<SysOperationLog> operationLogs) {
+        for (SysOperationLog operLog : operationLogs) {
+            // 如果IP地址为空或者地区为空，尝试根据IP获取地区信息
+            if (operLog.getOperationIp() != null && operLog.getOperationRegion() == null) {
+                operLog.setOperationRegion(IPUtils.getRegion(operLog.getOperationIp()));
+            }
         }
+        sysOperationLogService.saveBatch(operationLogs, operationLogs.size());
+        log.debug("批量保存操作日志成功，数量: {}", operationLogs.size());
     }
 
+    private void saveSecurityLogs(List<SysSecurityLog> securityLogs) {
+        for (SysSecurityLog securityLog : securityLogs) {
+            // 如果IP地址为空或者地区为空，尝试根据IP获取地区信息
+            if (securityLog.getOperationIp() != null && securityLog.getOperationRegion() == null) {
+                securityLog.setOperationRegion(IPUtils.getRegion(securityLog.getOperationIp()));
+            }
+        }
+        sysSecurityLogService.saveBatch(securityLogs, securityLogs.size());
+        log.debug("批量保存安全日志成功，数量: {}", securityLogs.size());
+    }
 
+    private void saveLoginLogs(List<SysLoginLog> loginLogs) {
+        for (SysLoginLog loginLog : loginLogs) {
+            loginLog.setRegion(IPUtils.getRegion(loginLog.getIp()));
+            log.info("用户名: {}, 登录: {}, 登录时间: {}, 系统名称: {}, IP地址: {}, 浏览器名称: {}, 区域: {}",
+                    loginLog.getUsername(),
+                    loginLog.getStatus() == LOGIN_SUCCESS ? "登录成功" : "登录失败",
+                    loginLog.getLoginTime(),
+                    loginLog.getOs(),
+                    loginLog.getIp(),
+                    loginLog.getBrowser(),
+                    loginLog.getRegion()
+            );
+        }
+        sysLoginLogService.saveBatch(loginLogs, loginLogs.size());
+    }
 }
@@ -0,0 +1,222 @@
+package cn.zhangchuangla.framework.async;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 日志批量写入缓冲区
+ * <p>
+ * 调用线程只把日志放入有界环形队列，由独立的后台线程取出，达到批量大小或写入间隔后一次性写入数据库。
+ * 队列满时按 {@link LogOverflowPolicy} 处理，调用线程最多等待配置的阻塞时间，不会执行数据库写入。
+ * 批量写入失败时在后台线程中按指数退避重试，超过最大重试次数后才丢弃该批日志；
+ * 重试期间新日志继续进入队列，队列满后同样按溢出策略处理。
+ * </p>
+ *
+ * @param <T> 日志类型
+ * @author Chuang
+ */
+@Slf4j
+public class BatchLogSink<T> {
+
+    private static final String METRIC_NAME = "log.sink";
+
+    private final String name;
+    private final LogSinkProperties properties;
+    private final Consumer<List<T>> writer;
+    private final BlockingQueue<T> queue;
+    private final int highWatermark;
+    private final AtomicLong sampleSequence = new AtomicLong();
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Counter retryCounter;
+    private final Timer flushTimer;
+    private final Thread drainThread;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param name          日志类型名称，用于线程名和监控指标标签
+     * @param properties    批量写入配置
+     * @param writer        批量写入逻辑，在后台线程中执行
+     * @param meterRegistry 监控指标注册表
+     */
+    public BatchLogSink(String name, LogSinkProperties properties, Consumer<List<T>> writer, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.properties = properties;
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.highWatermark = properties.getCapacity() * 3 / 4;
+
+        Gauge.builder(METRIC_NAME + ".queue.depth", queue, BlockingQueue::size)
+                .description("等待写入的日志数量")
+                .tag("type", name)
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder(METRIC_NAME + ".dropped")
+                .description("因队列溢出被丢弃的日志数量")
+                .tag("type", name)
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder(METRIC_NAME + ".failed")
+                .description("写入数据库失败的日志数量")
+                .tag("type", name)
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder(METRIC_NAME + ".retry")
+                .description("批量写入失败后的重试次数")
+                .tag("type", name)
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder(METRIC_NAME + ".flush")
+                .description("单次批量写入耗时")
+                .tag("type", name)
+                .register(meterRegistry);
+
+        this.drainThread = new Thread(this::drainLoop, "log-sink-" + name);
+        this.drainThread.setDaemon(true);
+        this.drainThread.start();
+    }
+
+    /**
+     * 提交一条日志，不会在调用线程中访问数据库
+     *
+     * @param event 日志
+     */
+    public void offer(T event) {
+        if (event == null) {
+            return;
+        }
+        if (!running) {
+            droppedCounter.increment();
+            return;
+        }
+        switch (properties.getOverflowPolicy()) {
+            case SAMPLE -> offerSampled(event);
+            case BLOCK -> offerBlocking(event);
+            default -> offerDropOldest(event);
+        }
+    }
+
+    /**
+     * 停止接收日志，等待已缓冲的日志写入完成
+     */
+    public void shutdown() {
+        running = false;
+        drainThread.interrupt();
+        try {
+            drainThread.join(properties.getShutdownTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("日志缓冲区[{}]关闭超时，{} 条日志未写入", name, queue.size());
+        }
+    }
+
+    private void offerDropOldest(T event) {
+        while (!queue.offer(event)) {
+            if (queue.poll() != null) {
+                droppedCounter.increment();
+            }
+        }
+    }
+
+    private void offerSampled(T event) {
+        if (queue.size() >= highWatermark
+                && sampleSequence.incrementAndGet() % Math.max(properties.getSampleRate(), 1) != 0) {
+            droppedCounter.increment();
+            return;
+        }
+        if (!queue.offer(event)) {
+            droppedCounter.increment();
+        }
+    }
+
+    private void offerBlocking(T event) {
+        try {
+            if (!queue.offer(event, properties.getBlockTimeout(), TimeUnit.MILLISECONDS)) {
+                droppedCounter.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedCounter.increment();
+        }
+    }
+
+    private void drainLoop() {
+        int batchSize = Math.max(properties.getBatchSize(), 1);
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushInterval());
+        List<T> batch = new ArrayList<>(batchSize);
+        long deadline = System.nanoTime() + intervalNanos;
+        while (running || !queue.isEmpty()) {
+            try {
+                long remaining = deadline - System.nanoTime();
+                T event = remaining > 0 && running ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                if (event != null) {
+                    batch.add(event);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // 关闭时被中断，继续循环写完剩余日志
+                continue;
+            }
+            if (batch.size() >= batchSize || System.nanoTime() - deadline >= 0 || !running) {
+                flush(batch);
+                batch = new ArrayList<>(batchSize);
+                deadline = System.nanoTime() + intervalNanos;
+            }
+        }
+        flush(batch);
+    }
+
+    private void flush(List<T> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int maxRetries = Math.max(properties.getMaxRetries(), 0);
+        long backoff = Math.max(properties.getRetryBackoff(), 0);
+        for (int attempt = 0; ; attempt++) {
+            long startTime = System.nanoTime();
+            try {
+                writer.accept(batch);
+                return;
+            } catch (Exception e) {
+                if (attempt >= maxRetries) {
+                    failedCounter.increment(batch.size());
+                    log.error("日志缓冲区[{}]批量写入失败，重试 {} 次后丢弃 {} 条日志: {}",
+                            name, attempt, batch.size(), e.getMessage(), e);
+                    return;
+                }
+                retryCounter.increment();
+                log.warn("日志缓冲区[{}]批量写入失败，{}ms 后第 {} 次重试: {}", name, backoff, attempt + 1, e.getMessage());
+            } finally {
+                flushTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            }
+            backoff(backoff);
+            backoff *= 2;
+        }
+    }
+
+    /**
+     * 重试前等待，关闭时被中断则不再等待，立即重试
+     *
+     * @param millis 等待时间（毫秒）
+     */
+    private void backoff(long millis) {
+        if (millis <= 0 || !running) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            // 关闭时被中断，剩余的重试不再等待
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package cn.zhangchuangla.framework.async;
+
+/**
+ * 日志缓冲队列溢出策略
+ *
+ * @author Chuang
+ */
+public enum LogOverflowPolicy {
+
+    /**
+     * 丢弃队列中最早的日志，保留最新日志
+     */
+    DROP_OLDEST,
+
+    /**
+     * 队列超过高水位后按比例采样，队列满时丢弃新日志
+     */
+    SAMPLE,
+
+    /**
+     * 调用线程等待有限时间，超时后丢弃新日志
+     */
+    BLOCK
+}
@@ -0,0 +1,61 @@
+package cn.zhangchuangla.framework.async;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 日志批量写入配置
+ *
+ * @author Chuang
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.log-sink")
+@Data
+public class LogSinkProperties {
+
+    /**
+     * 每类日志的缓冲队列容量
+     */
+    private int capacity = 4096;
+
+    /**
+     * 单次批量写入的最大条数，达到后立即写入
+     */
+    private int batchSize = 200;
+
+    /**
+     * 最长写入间隔（毫秒），未达到批量大小时也按此间隔写入
+     */
+    private long flushInterval = 1000;
+
+    /**
+     * 队列满时的处理策略
+     */
+    private LogOverflowPolicy overflowPolicy = LogOverflowPolicy.DROP_OLDEST;
+
+    /**
+     * 采样策略下，队列超过高水位后每N条保留1条
+     */
+    private int sampleRate = 10;
+
+    /**
+     * 阻塞策略下，调用线程最长等待时间（毫秒），超时后丢弃
+     */
+    private long blockTimeout = 50;
+
+    /**
+     * 批量写入失败后的最大重试次数，超过后丢弃该批日志
+     */
+    private int maxRetries = 3;
+
+    /**
+     * 首次重试前的等待时间（毫秒），之后每次重试翻倍
+     */
+    private long retryBackoff = 200;
+
+    /**
+     * 应用关闭时等待剩余日志写入的最长时间（毫秒）
+     */
+    private long shutdownTimeout = 10000;
+}
@@ -59,23 +59,6 @@ public class AsyncConfig {
      */
     private static final int IMAGE_QUEUE_CAPACITY = 50;
 
-    // ==================== 日志处理执行器配置常量 ====================
-
-    /**
-     * 日志处理核心线程数 - IO密集型任务保持适中线程数
-     */
-    private static final int LOG_CORE_POOL_SIZE = 3;
-
-    /**
-     * 日志处理最大线程数 - 日志处理峰值线程数
-     */
-    private static final int LOG_MAX_POOL_SIZE = 10;
-
-    /**
-     * 日志处理队列容量 - 日志任务可以有较大缓存队列
-     */
-    private static final int LOG_QUEUE_CAPACITY = 500;
-
     /**
      * 默认异步任务执行器
      * 用于@Async注解标记的方法
@@ -138,31 +121,4 @@ public class AsyncConfig {
 
         return executor;
     }
-
-    /**
-     * 日志处理专用异步执行器
-     * 用于操作日志、登录日志等IO密集型任务
-     */
-    @Bean("logProcessExecutor")
-    public Executor logProcessExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-
-        executor.setCorePoolSize(LOG_CORE_POOL_SIZE);
-        executor.setMaxPoolSize(LOG_MAX_POOL_SIZE);
-        executor.setQueueCapacity(LOG_QUEUE_CAPACITY);
-        executor.setKeepAliveSeconds(DEFAULT_KEEP_ALIVE_SECONDS);
-        executor.setThreadNamePrefix("log-process-");
-
-        // 拒绝策略：由调用线程执行
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(DEFAULT_AWAIT_TERMINATION_SECONDS);
-
-        executor.initialize();
-        log.info("日志处理异步线程池初始化完成 - 核心线程数: {}, 最大线程数: {}",
-                executor.getCorePoolSize(), executor.getMaxPoolSize());
-
-        return executor;
-    }
 }
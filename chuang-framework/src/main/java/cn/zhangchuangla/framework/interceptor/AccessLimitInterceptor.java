@@ -8,23 +8,21 @@ import cn.zhangchuangla.common.core.utils.SecurityUtils;
 import cn.zhangchuangla.common.core.utils.client.IPUtils;
 import cn.zhangchuangla.common.redis.constant.RedisConstants;
 import cn.zhangchuangla.framework.annotation.AccessLimit;
+import cn.zhangchuangla.framework.limiter.RateLimiterEngine;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
-import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import java.lang.reflect.Method;
-import java.util.Collections;
 
 /**
  * 接口访问限流拦截器
- * 基于Redis实现分布式限流功能
+ * 限流算法由 {@link AccessLimit#algorithm()} 指定，具体实现见 {@link RateLimiterEngine}
  *
  * @author Chuang
  * <p>
@@ -36,37 +34,9 @@ import java.util.Collections;
 public class AccessLimitInterceptor implements HandlerInterceptor {
 
     /**
-     * 限流Lua脚本，保证原子性操作
-     * 1. 获取当前访问次数
-     * 2. 如果是第一次访问，设置初始值为1和过期时间
-     * 3. 如果不是第一次访问且未超过限制，计数器加1
-     * 4. 如果超过限制，直接拒绝
+     * 限流引擎
      */
-    private static final String LIMIT_LUA_SCRIPT = """
-            local key = KEYS[1]
-            local maxCount = tonumber(ARGV[1])
-            local expireTime = tonumber(ARGV[2])
-            
-            local current = tonumber(redis.call('get', key) or "0")
-            if current >= maxCount then
-                return 0
-            end
-            
-            if current == 0 then
-                redis.call('setex', key, expireTime, 1)
-            else
-                redis.call('incr', key)
-            end
-            return 1
-            """;
-    /**
-     * Redis Lua脚本对象
-     */
-    private static final DefaultRedisScript<Long> LIMIT_SCRIPT = new DefaultRedisScript<>(LIMIT_LUA_SCRIPT, Long.class);
-    /**
-     * Redis操作模板
-     */
-    private final StringRedisTemplate stringRedisTemplate;
+    private final RateLimiterEngine rateLimiterEngine;
 
     @Override
     public boolean preHandle(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response,
@@ -95,15 +65,11 @@ public class AccessLimitInterceptor implements HandlerInterceptor {
         String redisKey = buildLimitKey(request, method, limitType);
 
         try {
-            // 执行Lua脚本进行限流判断
-            Long result = stringRedisTemplate.execute(
-                    LIMIT_SCRIPT,
-                    Collections.singletonList(redisKey),
-                    String.valueOf(maxCount),
-                    String.valueOf(limitPeriod));
-
-            // 如果执行结果为0，表示超过访问限制
-            if (result == 0) {
+            // 按注解指定的算法进行限流判断
+            boolean acquired = rateLimiterEngine.tryAcquire(accessLimit.algorithm(), redisKey, maxCount, limitPeriod, 1);
+
+            // 获取失败，表示超过访问限制
+            if (!acquired) {
                 String ip = IPUtils.getIpAddress(request);
                 String uri = request.getRequestURI();
                 log.warn("接口访问频率超限 - IP: {}, URI: {}, 限制: {}次/{}秒, 限流类型: {}",
@@ -116,7 +82,7 @@ public class AccessLimitInterceptor implements HandlerInterceptor {
             // 直接将TooManyRequestException向上抛出
             throw e;
         } catch (Exception e) {
-            // Redis异常时，为确保系统可用性，记录异常但放行请求
+            // 降级限流也失败时，为确保系统可用性，记录异常但放行请求
             log.error("限流功能异常，请求已放行: {}", e.getMessage(), e);
         }
 
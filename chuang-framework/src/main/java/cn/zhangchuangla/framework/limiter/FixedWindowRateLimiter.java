@@ -0,0 +1,57 @@
+package cn.zhangchuangla.framework.limiter;
+
+import cn.zhangchuangla.common.core.enums.LimitAlgorithm;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+
+/**
+ * Redis固定窗口限流器
+ *
+ * @author Chuang
+ */
+@Component
+@RequiredArgsConstructor
+public class FixedWindowRateLimiter implements RateLimiter {
+
+    /**
+     * 限流Lua脚本，窗口内计数未超过上限时累加，首次访问时设置过期时间
+     */
+    private static final String LIMIT_LUA_SCRIPT = """
+            local key = KEYS[1]
+            local maxCount = tonumber(ARGV[1])
+            local expireTime = tonumber(ARGV[2])
+            local permits = tonumber(ARGV[3])
+            
+            local current = tonumber(redis.call('get', key) or "0")
+            if current + permits > maxCount then
+                return 0
+            end
+            
+            if current == 0 then
+                redis.call('setex', key, expireTime, permits)
+            else
+                redis.call('incrby', key, permits)
+            end
+            return 1
+            """;
+
+    private static final DefaultRedisScript<Long> LIMIT_SCRIPT = new DefaultRedisScript<>(LIMIT_LUA_SCRIPT, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public LimitAlgorithm algorithm() {
+        return LimitAlgorithm.FIXED_WINDOW;
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int maxCount, int period, int permits) {
+        Long result = stringRedisTemplate.execute(LIMIT_SCRIPT, Collections.singletonList(key),
+                String.valueOf(maxCount), String.valueOf(period), String.valueOf(permits));
+        return result != null && result == 1L;
+    }
+}
@@ -0,0 +1,64 @@
+package cn.zhangchuangla.framework.limiter;
+
+import cn.zhangchuangla.common.core.enums.LimitAlgorithm;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+
+/**
+ * Redis GCRA限流器
+ * <p>
+ * 每个Key只保存理论到达时间（TAT），请求按 窗口/最大次数 的间隔匀速放行，允许一个窗口的突发量。
+ * 与滑动窗口日志精度相近，但存储开销固定。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Component
+@RequiredArgsConstructor
+public class GcraRateLimiter implements RateLimiter {
+
+    /**
+     * KEYS[1]为限流Key；ARGV[1]为单个许可的间隔毫秒数，ARGV[2]为突发容忍毫秒数，ARGV[3]为许可数
+     */
+    private static final String LIMIT_LUA_SCRIPT = """
+            local key = KEYS[1]
+            local emissionInterval = tonumber(ARGV[1])
+            local burstTolerance = tonumber(ARGV[2])
+            local permits = tonumber(ARGV[3])
+            local time = redis.call('time')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            
+            local tat = tonumber(redis.call('get', key) or now)
+            if tat < now then
+                tat = now
+            end
+            local newTat = tat + emissionInterval * permits
+            if newTat - now > burstTolerance + emissionInterval then
+                return 0
+            end
+            redis.call('set', key, newTat, 'PX', math.ceil(newTat - now))
+            return 1
+            """;
+
+    private static final DefaultRedisScript<Long> LIMIT_SCRIPT = new DefaultRedisScript<>(LIMIT_LUA_SCRIPT, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public LimitAlgorithm algorithm() {
+        return LimitAlgorithm.GCRA;
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int maxCount, int period, int permits) {
+        double emissionInterval = period * 1000.0 / Math.max(maxCount, 1);
+        double burstTolerance = period * 1000.0 - emissionInterval;
+        Long result = stringRedisTemplate.execute(LIMIT_SCRIPT, Collections.singletonList(key),
+                String.valueOf(emissionInterval), String.valueOf(burstTolerance), String.valueOf(permits));
+        return result != null && result == 1L;
+    }
+}
@@ -0,0 +1,160 @@
+package cn.zhangchuangla.framework.limiter;
+
+import cn.zhangchuangla.common.core.enums.LimitAlgorithm;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * 本地+Redis混合限流器
+ * <p>
+ * 窗口内的总配额保存在Redis中，各节点每次按块领取一部分配额后在本地消耗，用完再领取，
+ * 大部分请求不需要访问Redis。各节点领取的配额之和不会超过窗口上限，因此不会超发；
+ * 窗口结束时节点未用完的配额作废，最多少放行 节点数×块大小 次请求。窗口按系统时间对齐，要求各节点时钟同步。
+ * Redis中的配额领完后，本窗口内剩余的请求直接在本地拒绝，不再访问Redis。
+ * </p>
+ * <p>
+ * 领取配额时只在锁内登记，访问Redis在锁外进行，拿到结果后再加锁写回，本地配额充足的请求不会被Redis往返阻塞。
+ * 同一个Key同时只有一个线程领取配额，其余配额不足的线程等待领取结果，避免重复领取。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Component
+@RequiredArgsConstructor
+public class HybridRateLimiter implements RateLimiter {
+
+    /**
+     * 领取配额的Lua脚本，返回实际领取到的数量
+     * KEYS[1]为当前窗口的计数Key；ARGV[1]为窗口上限，ARGV[2]为期望领取数量，ARGV[3]为过期时间（秒）
+     */
+    private static final String LEASE_LUA_SCRIPT = """
+            local key = KEYS[1]
+            local maxCount = tonumber(ARGV[1])
+            local chunk = tonumber(ARGV[2])
+            
+            local current = tonumber(redis.call('get', key) or "0")
+            local granted = math.min(chunk, maxCount - current)
+            if granted <= 0 then
+                return 0
+            end
+            redis.call('incrby', key, granted)
+            if current == 0 then
+                redis.call('expire', key, tonumber(ARGV[3]))
+            end
+            return granted
+            """;
+
+    private static final DefaultRedisScript<Long> LEASE_SCRIPT = new DefaultRedisScript<>(LEASE_LUA_SCRIPT, Long.class);
+
+    private static final long MAXIMUM_LEASES = 100_000;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final Cache<String, QuotaLease> leases = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_LEASES)
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
+
+    /**
+     * 每次领取的配额占窗口上限的比例
+     */
+    @Value("${app.rate-limit.hybrid-chunk-ratio:0.1}")
+    private double chunkRatio;
+
+    @Override
+    public LimitAlgorithm algorithm() {
+        return LimitAlgorithm.HYBRID;
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int maxCount, int period, int permits) {
+        long periodMillis = Math.max(period, 1) * 1000L;
+        long window = System.currentTimeMillis() / periodMillis;
+        QuotaLease lease = leases.get(key, k -> new QuotaLease());
+        synchronized (lease) {
+            while (true) {
+                if (lease.window != window) {
+                    lease.window = window;
+                    lease.remaining = 0;
+                    lease.exhausted = false;
+                }
+                if (lease.remaining >= permits) {
+                    lease.remaining -= permits;
+                    return true;
+                }
+                if (lease.exhausted) {
+                    return false;
+                }
+                if (!lease.refilling) {
+                    // 登记由当前线程领取配额，Redis调用在锁外进行
+                    lease.refilling = true;
+                    break;
+                }
+                try {
+                    lease.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+
+        Long granted;
+        try {
+            int chunk = Math.max(permits, (int) Math.ceil(maxCount * chunkRatio));
+            granted = stringRedisTemplate.execute(LEASE_SCRIPT,
+                    Collections.singletonList(key + ":" + window),
+                    String.valueOf(maxCount), String.valueOf(chunk), String.valueOf(period + 1));
+        } catch (RuntimeException e) {
+            synchronized (lease) {
+                lease.refilling = false;
+                lease.notifyAll();
+            }
+            throw e;
+        }
+
+        synchronized (lease) {
+            // 写回结果与唤醒等待线程在同一次加锁内完成，等待线程醒来时直接看到新配额
+            lease.refilling = false;
+            lease.notifyAll();
+            // 领取期间窗口已经切换，领到的是旧窗口的配额，直接作废
+            if (lease.window != window) {
+                return false;
+            }
+            if (granted == null || granted <= 0) {
+                // 窗口内的配额已被领完，计数只增不减，本窗口内不会再有配额
+                lease.exhausted = true;
+            } else {
+                lease.remaining += granted;
+            }
+            if (lease.remaining < permits) {
+                return false;
+            }
+            lease.remaining -= permits;
+            return true;
+        }
+    }
+
+    /**
+     * 节点在当前窗口内持有的配额
+     */
+    private static final class QuotaLease {
+
+        private long window = -1;
+        private long remaining;
+        private boolean exhausted;
+
+        /**
+         * 是否有线程正在从Redis领取配额
+         */
+        private boolean refilling;
+    }
+}
@@ -0,0 +1,76 @@
+package cn.zhangchuangla.framework.limiter;
+
+import cn.zhangchuangla.common.core.enums.LimitAlgorithm;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 本地令牌桶限流器
+ * <p>
+ * 桶容量为窗口内最大次数，按 最大次数/窗口 的速率补充令牌。只在当前节点内生效，
+ * 多节点部署时整体上限为单节点上限乘以节点数；也用作Redis不可用时的降级限流器。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Component
+public class LocalTokenBucketRateLimiter implements RateLimiter {
+
+    /**
+     * 最多保留的令牌桶数量
+     */
+    private static final long MAXIMUM_BUCKETS = 100_000;
+
+    /**
+     * 令牌桶空闲多久后回收，回收后重新创建的桶是满的，与空闲期间补满的效果相同
+     */
+    private static final Duration BUCKET_IDLE_TIME = Duration.ofMinutes(30);
+
+    private final Cache<String, TokenBucket> buckets = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_BUCKETS)
+            .expireAfterAccess(BUCKET_IDLE_TIME)
+            .build();
+
+    @Override
+    public LimitAlgorithm algorithm() {
+        return LimitAlgorithm.LOCAL_TOKEN_BUCKET;
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int maxCount, int period, int permits) {
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(maxCount, period));
+        return bucket.tryAcquire(permits);
+    }
+
+    /**
+     * 令牌桶，按需在获取时补充令牌
+     */
+    private static final class TokenBucket {
+
+        private final double capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefillTime;
+
+        private TokenBucket(int maxCount, int period) {
+            this.capacity = Math.max(maxCount, 1);
+            this.refillPerNano = capacity / Duration.ofSeconds(Math.max(period, 1)).toNanos();
+            this.tokens = capacity;
+            this.lastRefillTime = System.nanoTime();
+        }
+
+        private synchronized boolean tryAcquire(int permits) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillTime) * refillPerNano);
+            lastRefillTime = now;
+            if (tokens < permits) {
+                return false;
+            }
+            tokens -= permits;
+            return true;
+        }
+    }
+}
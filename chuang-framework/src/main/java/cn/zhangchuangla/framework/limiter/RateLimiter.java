@@ -0,0 +1,29 @@
+package cn.zhangchuangla.framework.limiter;
+
+import cn.zhangchuangla.common.core.enums.LimitAlgorithm;
+
+/**
+ * 限流器
+ *
+ * @author Chuang
+ */
+public interface RateLimiter {
+
+    /**
+     * 当前实现对应的限流算法
+     *
+     * @return 限流算法
+     */
+    LimitAlgorithm algorithm();
+
+    /**
+     * 尝试获取许可
+     *
+     * @param key      限流Key
+     * @param maxCount 窗口内最大访问次数
+     * @param period   窗口长度（秒）
+     * @param permits  本次消耗的许可数
+     * @return true - 获取成功，false - 超过限制
+     */
+    boolean tryAcquire(String key, int maxCount, int period, int permits);
+}
@@ -0,0 +1,54 @@
+package cn.zhangchuangla.framework.limiter;
+
+import cn.zhangchuangla.common.core.enums.LimitAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 限流引擎
+ * <p>
+ * 按注解指定的算法分发到对应的 {@link RateLimiter}。依赖Redis的算法执行失败时降级为本地令牌桶，
+ * 不再直接放行请求。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Slf4j
+@Component
+public class RateLimiterEngine {
+
+    private final Map<LimitAlgorithm, RateLimiter> limiters = new EnumMap<>(LimitAlgorithm.class);
+    private final LocalTokenBucketRateLimiter localLimiter;
+
+    public RateLimiterEngine(List<RateLimiter> limiters, LocalTokenBucketRateLimiter localLimiter) {
+        limiters.forEach(limiter -> this.limiters.put(limiter.algorithm(), limiter));
+        this.localLimiter = localLimiter;
+    }
+
+    /**
+     * 尝试获取许可
+     *
+     * @param algorithm 限流算法
+     * @param key       限流Key
+     * @param maxCount  窗口内最大访问次数
+     * @param period    窗口长度（秒）
+     * @param permits   本次消耗的许可数
+     * @return true - 获取成功，false - 超过限制
+     */
+    public boolean tryAcquire(LimitAlgorithm algorithm, String key, int maxCount, int period, int permits) {
+        RateLimiter limiter = limiters.getOrDefault(algorithm, limiters.get(LimitAlgorithm.FIXED_WINDOW));
+        try {
+            return limiter.tryAcquire(key, maxCount, period, permits);
+        } catch (Exception e) {
+            if (limiter == localLimiter) {
+                throw e;
+            }
+            log.warn("限流器[{}]执行异常，降级为本地令牌桶: {}", algorithm.getDescription(), e.getMessage());
+            return localLimiter.tryAcquire(key, maxCount, period, permits);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package cn.zhangchuangla.framework.limiter;
+
+import cn.zhangchuangla.common.core.enums.LimitAlgorithm;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Redis滑动窗口日志限流器
+ * <p>
+ * 每次访问以时间戳为分值写入有序集合，统计最近一个窗口内的记录数，窗口边界不会出现双倍突发。
+ * 时间取自Redis服务器，避免各节点时钟偏差。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Component
+@RequiredArgsConstructor
+public class SlidingWindowLogRateLimiter implements RateLimiter {
+
+    /**
+     * KEYS[1]为限流Key；ARGV[1]为最大次数，ARGV[2]为窗口毫秒数，ARGV[3]为许可数，ARGV[4]为本次请求唯一标识
+     */
+    private static final String LIMIT_LUA_SCRIPT = """
+            local key = KEYS[1]
+            local maxCount = tonumber(ARGV[1])
+            local windowMillis = tonumber(ARGV[2])
+            local permits = tonumber(ARGV[3])
+            local time = redis.call('time')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            
+            redis.call('zremrangebyscore', key, '-inf', now - windowMillis)
+            if redis.call('zcard', key) + permits > maxCount then
+                return 0
+            end
+            for i = 1, permits do
+                redis.call('zadd', key, now, ARGV[4] .. ':' .. i)
+            end
+            redis.call('pexpire', key, windowMillis)
+            return 1
+            """;
+
+    private static final DefaultRedisScript<Long> LIMIT_SCRIPT = new DefaultRedisScript<>(LIMIT_LUA_SCRIPT, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public LimitAlgorithm algorithm() {
+        return LimitAlgorithm.SLIDING_WINDOW_LOG;
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int maxCount, int period, int permits) {
+        Long result = stringRedisTemplate.execute(LIMIT_SCRIPT, Collections.singletonList(key),
+                String.valueOf(maxCount), String.valueOf(period * 1000L), String.valueOf(permits),
+                UUID.randomUUID().toString());
+        return result != null && result == 1L;
+    }
+}
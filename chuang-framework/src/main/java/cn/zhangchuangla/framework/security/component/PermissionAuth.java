@@ -1,11 +1,9 @@
 package cn.zhangchuangla.framework.security.component;
 
-import cn.zhangchuangla.common.core.constant.Constants;
 import cn.zhangchuangla.common.core.constant.RolesConstant;
 import cn.zhangchuangla.common.core.entity.security.SysUserDetails;
 import cn.zhangchuangla.common.core.utils.SecurityUtils;
 import cn.zhangchuangla.system.core.service.SysPermissionService;
-import cn.zhangchuangla.system.core.service.SysRoleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -27,7 +25,6 @@ import java.util.Set;
 public class PermissionAuth {
 
 
-    private final SysRoleService sysRoleService;
     private final SysPermissionService sysPermissionService;
 
     /**
@@ -37,13 +34,8 @@ public class PermissionAuth {
      * @return true - 拥有该权限，false - 没有该权限
      */
     public boolean hasPermission(String permission) {
-        Set<String> roles = SecurityUtils.getRoles();
-        // 如果是超级管理员，直接返回 true
-        if (roles.contains(RolesConstant.SUPER_ADMIN)) {
-            return true;
-        }
-        Set<String> permissionByRole = sysPermissionService.getPermissionByRole(roles);
-        return isAllow(permissionByRole, permission);
+        // 权限校验只读本地角色权限索引，不访问数据库和Redis
+        return sysPermissionService.hasPermission(SecurityUtils.getRoles(), StringUtils.trim(permission));
     }
 
 
@@ -54,7 +46,8 @@ public class PermissionAuth {
      * @return true - 角色匹配，false - 角色不匹配
      */
     public boolean isSpecificRole(String role) {
-        if (isSuperAdmin() || isSuperAdmin() || StringUtils.isBlank(role)) {
+        Set<String> roles = getRoles();
+        if (roles.contains(RolesConstant.SUPER_ADMIN) || StringUtils.isBlank(role)) {
             return true;
         }
         SysUserDetails sysUserDetails = getLoginUser();
@@ -62,24 +55,11 @@ public class PermissionAuth {
             log.warn("未找到登录用户信息，无法进行角色校验");
             return false;
         }
-        Long userId = SecurityUtils.getUserId();
-        Set<String> roleSetByRoleId = sysRoleService.getRoleSetByRoleId(userId);
-        boolean hasRole = roleSetByRoleId.contains(role);
+        boolean hasRole = roles.contains(role);
         log.debug("用户 [{}] 角色校验 [{}]，匹配结果：{}", sysUserDetails.getUsername(), role, hasRole);
         return hasRole;
     }
 
-    /**
-     * 判断当前用户是否拥有指定的权限
-     *
-     * @param permissions 用户权限集合
-     * @param permission  需要校验的权限标识符
-     * @return true - 拥有该权限，false - 没有该权限
-     */
-    private boolean isAllow(Set<String> permissions, String permission) {
-        return permissions.contains(Constants.ALL_PERMISSION) || permissions.contains(StringUtils.trim(permission));
-    }
-
     /**
      * 判断当前用户是否是管理员
      *
@@ -101,14 +81,12 @@ public class PermissionAuth {
     }
 
     /**
-     * 获取当前登录用户的角色集合,这边权限对实时性较高所以不使用缓存
+     * 获取当前登录用户的角色集合，直接读取认证信息中的角色，不访问数据库和Redis
      *
      * @return 角色集合
      */
     private Set<String> getRoles() {
-        Long userId = SecurityUtils.getUserId();
-        sysRoleService.getRoleSetByUserId(userId);
-        return sysRoleService.getRoleSetByUserId(userId);
+        return SecurityUtils.getRoles();
     }
 
     /**
@@ -10,6 +10,7 @@ import cn.zhangchuangla.common.redis.core.RedisHashCache;
 import cn.zhangchuangla.common.redis.core.RedisZSetCache;
 import cn.zhangchuangla.framework.model.dto.LoginDeviceDTO;
 import cn.zhangchuangla.framework.security.property.SecurityProperties;
+import cn.zhangchuangla.framework.security.session.SessionIndex;
 import cn.zhangchuangla.framework.security.token.RedisTokenStore;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
@@ -19,13 +20,9 @@ import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
-import java.util.Comparator;
-import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -48,6 +45,7 @@ public class DeviceLimiter {
     private final RedisZSetCache redisZSetCache;
     private final SecurityProperties securityProperties;
     private final RedisTokenStore redisTokenStore;
+    private final SessionIndex sessionIndex;
 
     /**
      * 获取用户对应的锁
@@ -133,20 +131,19 @@ public class DeviceLimiter {
         Set<ZSetOperations.TypedTuple<String>> allDeviceIndexSet = redisZSetCache.getAllWithScore(deviceIndexRedisKey);
 
         if (allDeviceIndexSet != null && !allDeviceIndexSet.isEmpty()) {
-            allDeviceIndexSet.forEach(tuple -> {
-                String refreshTokenId = tuple.getValue();
-                String deviceRedisKey = RedisConstants.Auth.SESSIONS_DEVICE_KEY + refreshTokenId;
-
-                if (refreshTokenId != null) {
-                    // 删除刷新令牌和访问令牌
-                    redisTokenStore.deleteRefreshTokenAndAccessToken(refreshTokenId);
-                    // 删除设备数据
-                    redisCache.deleteObject(deviceRedisKey);
-                }
-            });
+            List<String> refreshTokenIds = allDeviceIndexSet.stream()
+                    .map(ZSetOperations.TypedTuple::getValue)
+                    .filter(Objects::nonNull)
+                    .toList();
+            // 删除刷新令牌和访问令牌
+            refreshTokenIds.forEach(redisTokenStore::deleteRefreshTokenAndAccessToken);
 
-            // 清空索引
-            redisCache.deleteObject(deviceIndexRedisKey);
+            // 批量删除设备数据并清空索引
+            List<String> deleteKeys = new ArrayList<>(refreshTokenIds.size() + 1);
+            refreshTokenIds.forEach(refreshTokenId -> deleteKeys.add(RedisConstants.Auth.SESSIONS_DEVICE_KEY + refreshTokenId));
+            deleteKeys.add(deviceIndexRedisKey);
+            redisCache.unlink(deleteKeys);
+            sessionIndex.removeDevice(refreshTokenIds);
             log.info("用户 {} 所有会话已清除，共清除 {} 个会话", username, allDeviceIndexSet.size());
         }
     }
@@ -181,6 +178,7 @@ public class DeviceLimiter {
                     redisCache.deleteObject(deviceRedisKey);
                     //3.删除索引
                     redisZSetCache.zRemove(deviceIndexRedisKey, refreshTokenId);
+                    sessionIndex.removeDevice(List.of(refreshTokenId));
                 }
             });
         }
@@ -213,6 +211,7 @@ public class DeviceLimiter {
                 // 删除设备数据与索引
                 redisCache.deleteObject(deviceRedisKey);
                 redisZSetCache.zRemove(deviceIndexRedisKey, refreshTokenId);
+                sessionIndex.removeDevice(List.of(refreshTokenId));
             }
         });
     }
@@ -227,28 +226,42 @@ public class DeviceLimiter {
     private long countCurrentSessions(String username, String deviceType) {
         String deviceIndexRedisKey = RedisConstants.Auth.SESSIONS_INDEX_KEY + username;
         Set<ZSetOperations.TypedTuple<String>> allDeviceSet = redisZSetCache.getAllWithScore(deviceIndexRedisKey);
-        AtomicLong count = new AtomicLong();
         // 转换为毫秒
         long effectiveTime = System.currentTimeMillis() - securityProperties.getSession().getRefreshTokenExpireTime() * 1000;
+        List<String> refreshTokenIds = new ArrayList<>();
         allDeviceSet.forEach(tuple -> {
             Double score = tuple.getScore();
-            if (score != null && score >= effectiveTime) {
-                String refreshTokenId = tuple.getValue();
-                String deviceRedisKey = RedisConstants.Auth.SESSIONS_DEVICE_KEY + refreshTokenId;
-                Map<String, String> deviceInfo = redisHashCache.hGetAll(deviceRedisKey);
-                if (!deviceInfo.isEmpty()) {
-                    String loginDeviceType = deviceInfo.get(SecurityConstants.DEVICE_TYPE);
-                    if (deviceType.equals(loginDeviceType)) {
-                        count.getAndIncrement();
-                    }
-                } else {
-                    // 如果设备信息为空，则删除索引
-                    redisZSetCache.zRemove(deviceIndexRedisKey, refreshTokenId);
-                }
+            if (score != null && score >= effectiveTime && tuple.getValue() != null) {
+                refreshTokenIds.add(tuple.getValue());
             }
         });
+        if (refreshTokenIds.isEmpty()) {
+            return 0;
+        }
 
-        return count.get();
+        // 通过管道一次读取全部设备详情
+        List<Map<Object, Object>> deviceInfos = redisHashCache.multiHGetAll(refreshTokenIds.stream()
+                .map(refreshTokenId -> RedisConstants.Auth.SESSIONS_DEVICE_KEY + refreshTokenId)
+                .toList());
+        long count = 0;
+        List<String> staleIds = new ArrayList<>();
+        for (int i = 0; i < deviceInfos.size(); i++) {
+            Map<Object, Object> deviceInfo = deviceInfos.get(i);
+            if (!deviceInfo.isEmpty()) {
+                Object loginDeviceType = deviceInfo.get(SecurityConstants.DEVICE_TYPE);
+                if (loginDeviceType != null && deviceType.equals(loginDeviceType.toString())) {
+                    count++;
+                }
+            } else {
+                staleIds.add(refreshTokenIds.get(i));
+            }
+        }
+        // 如果设备信息为空，则删除索引
+        if (!staleIds.isEmpty()) {
+            redisZSetCache.zRemove(deviceIndexRedisKey, staleIds.toArray());
+            sessionIndex.removeDevice(staleIds);
+        }
+        return count;
     }
 
     /**
@@ -295,6 +308,8 @@ public class DeviceLimiter {
         // 写入ZSet索引
         String deviceIndexRedisKey = RedisConstants.Auth.SESSIONS_INDEX_KEY + loginDeviceDTO.getUsername();
         redisZSetCache.zAdd(deviceIndexRedisKey, loginDeviceDTO.getRefreshSessionId(), now, refreshTokenExpireTime, TimeUnit.SECONDS);
+        // 写入全局设备索引
+        sessionIndex.addDevice(loginDeviceDTO.getRefreshSessionId(), now);
     }
 
 }
@@ -14,9 +14,12 @@ import cn.zhangchuangla.common.redis.core.RedisHashCache;
 import cn.zhangchuangla.common.redis.core.RedisZSetCache;
 import cn.zhangchuangla.framework.model.entity.SessionDevice;
 import cn.zhangchuangla.framework.model.request.SessionDeviceQueryRequest;
+import cn.zhangchuangla.framework.security.property.SecurityProperties;
+import cn.zhangchuangla.framework.security.session.SessionIndex;
 import cn.zhangchuangla.framework.security.token.RedisTokenStore;
 import cn.zhangchuangla.system.core.service.SysUserService;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
 
@@ -35,11 +38,18 @@ import java.util.*;
 @RequiredArgsConstructor
 public class DeviceService {
 
+    /**
+     * 带过滤条件查询时，每批从索引读取的设备数量
+     */
+    private static final int INDEX_BATCH_SIZE = 500;
+
     private final RedisZSetCache redisZSetCache;
     private final RedisHashCache redisHashCache;
     private final SysUserService sysUserService;
     private final RedisTokenStore redisTokenStore;
     private final RedisCache redisCache;
+    private final SessionIndex sessionIndex;
+    private final SecurityProperties securityProperties;
 
     /**
      * 查询指定用户的登录设备列表
@@ -53,20 +63,26 @@ public class DeviceService {
         SysUser user = sysUserService.getUserInfoByUsername(username);
         Assert.isTrue(user != null, "用户不存在");
 
-        Set<SessionDevice> deviceSet = new LinkedHashSet<>();
         String deviceIndexRedisKey = RedisConstants.Auth.SESSIONS_INDEX_KEY + username;
         Set<ZSetOperations.TypedTuple<String>> allDeviceIndex = redisZSetCache.getAllWithScore(deviceIndexRedisKey);
 
-        //获取用户设备的索引信息并转换为SessionDevice
+        //获取用户设备的索引信息，并通过管道一次读取全部设备详情
+        List<String> refreshTokenIds = new ArrayList<>(allDeviceIndex.size());
+        List<Double> scores = new ArrayList<>(allDeviceIndex.size());
         allDeviceIndex.forEach(tuple -> {
-            String member = tuple.getValue();
-            Double score = tuple.getScore();
-            // 转换成 SessionDevice
-            SessionDevice device = convertToSessionDevice(member, score);
+            if (tuple.getValue() != null && !tuple.getValue().isEmpty()) {
+                refreshTokenIds.add(tuple.getValue());
+                scores.add(tuple.getScore());
+            }
+        });
+        List<Map<Object, Object>> deviceInfos = loadDeviceInfos(refreshTokenIds);
+        Set<SessionDevice> deviceSet = new LinkedHashSet<>();
+        for (int i = 0; i < deviceInfos.size(); i++) {
+            SessionDevice device = convertToSessionDevice(deviceInfos.get(i), scores.get(i));
             if (device != null) {
                 deviceSet.add(device);
             }
-        });
+        }
 
         List<SessionDevice> sessionDevices = new ArrayList<>(deviceSet);
         return querySessionDevice(sessionDevices, request);
@@ -90,6 +106,7 @@ public class DeviceService {
         String username = getAll.get(SecurityConstants.USER_NAME);
         String deviceIndexRedisKey = RedisConstants.Auth.SESSIONS_INDEX_KEY + username;
         redisZSetCache.zRemove(deviceIndexRedisKey, refreshTokenId);
+        sessionIndex.removeDevice(List.of(refreshTokenId));
         redisCache.deleteObject(deviceInfoRedisKey);
 
         //删除对应会话
@@ -135,6 +152,7 @@ public class DeviceService {
         // 1. 从用户的 session 索引 ZSet 中移除这条记录
         String indexKey = RedisConstants.Auth.SESSIONS_INDEX_KEY + username;
         redisZSetCache.zRemove(indexKey, refreshTokenId);
+        sessionIndex.removeDevice(List.of(refreshTokenId));
 
         // 2. 删除设备详情 Hash
         String infoKey = RedisConstants.Auth.SESSIONS_DEVICE_KEY + refreshTokenId;
@@ -147,33 +165,96 @@ public class DeviceService {
 
     /**
      * 查询设备列表
+     * <p>
+     * 设备按登录时间维护在全局索引中：无过滤条件时直接按页读取索引，开销只与页大小相关；
+     * 有过滤条件时按批遍历索引并通过管道读取设备详情，不再扫描整个键空间。
+     * </p>
      *
      * @param request 查询条件
      * @return 设备列表
      */
     public PageResult<SessionDevice> listDevice(SessionDeviceQueryRequest request) {
-        // 采用增量扫描：先 scan 匹配所有用户的 session 索引 ZSet key，再对每个 ZSet 用 zscan 扫描成员
-        String keyPattern = RedisConstants.Auth.SESSIONS_INDEX_KEY + "*";
-        List<String> indexKeys = redisZSetCache.scanKeys(keyPattern);
+        long expireTime = securityProperties.getSession().getRefreshTokenExpireTime();
+        long pageNum = request.getPageNum();
+        long pageSize = request.getPageSize();
+        boolean noPaging = pageNum == -1 && pageSize == -1;
 
-        Set<SessionDevice> deviceSet = new LinkedHashSet<>();
-        for (String indexKey : indexKeys) {
-            Set<ZSetOperations.TypedTuple<Object>> tuples = redisZSetCache.zScanWithScores(indexKey);
-            if (tuples == null || tuples.isEmpty()) {
-                continue;
+        if (!noPaging && !hasFilter(request)) {
+            long validPageNum = Math.max(pageNum, 1);
+            long validPageSize = Math.max(pageSize, 1);
+            List<String> refreshTokenIds = sessionIndex.rangeDevices((validPageNum - 1) * validPageSize, validPageSize, expireTime);
+            List<String> staleIds = new ArrayList<>();
+            List<SessionDevice> rows = loadDevices(refreshTokenIds, staleIds);
+            sessionIndex.removeDevice(staleIds);
+            return PageResult.<SessionDevice>builder()
+                    .pageNum(pageNum)
+                    .pageSize(pageSize)
+                    .total(sessionIndex.countDevices())
+                    .rows(rows)
+                    .build();
+        }
+
+        List<SessionDevice> sessionDevices = new ArrayList<>();
+        List<String> staleIds = new ArrayList<>();
+        long offset = 0;
+        while (true) {
+            List<String> refreshTokenIds = sessionIndex.rangeDevices(offset, INDEX_BATCH_SIZE, offset == 0 ? expireTime : 0);
+            sessionDevices.addAll(loadDevices(refreshTokenIds, staleIds));
+            if (refreshTokenIds.size() < INDEX_BATCH_SIZE) {
+                break;
             }
-            for (ZSetOperations.TypedTuple<Object> tuple : tuples) {
-                String member = String.valueOf(tuple.getValue());
-                Double score = tuple.getScore();
-                SessionDevice device = convertToSessionDevice(member, score);
-                if (device != null) {
-                    deviceSet.add(device);
-                }
+            offset += INDEX_BATCH_SIZE;
+        }
+        // 遍历结束后再清理失效索引，避免遍历过程中偏移量错位
+        sessionIndex.removeDevice(staleIds);
+        return querySessionDevice(sessionDevices, request);
+    }
+
+    /**
+     * 是否包含过滤条件
+     *
+     * @param request 查询条件
+     * @return 是否包含过滤条件
+     */
+    private boolean hasFilter(SessionDeviceQueryRequest request) {
+        return StringUtils.isNotBlank(request.getDeviceName())
+                || request.getDeviceType() != null
+                || StringUtils.isNotBlank(request.getIp())
+                || StringUtils.isNotBlank(request.getLocation());
+    }
+
+    /**
+     * 通过管道批量读取设备详情，保持索引顺序
+     *
+     * @param refreshTokenIds 刷新令牌ID列表
+     * @param staleIds        收集详情已不存在的刷新令牌ID，由调用方统一从索引中移除
+     * @return 设备列表
+     */
+    private List<SessionDevice> loadDevices(List<String> refreshTokenIds, List<String> staleIds) {
+        List<Map<Object, Object>> deviceInfos = loadDeviceInfos(refreshTokenIds);
+        List<SessionDevice> devices = new ArrayList<>(deviceInfos.size());
+        for (int i = 0; i < deviceInfos.size(); i++) {
+            SessionDevice device = convertToSessionDevice(deviceInfos.get(i), null);
+            if (device != null) {
+                devices.add(device);
+            } else {
+                staleIds.add(refreshTokenIds.get(i));
             }
         }
+        return devices;
+    }
 
-        List<SessionDevice> sessionDevices = new ArrayList<>(deviceSet);
-        return querySessionDevice(sessionDevices, request);
+    /**
+     * 通过管道批量读取设备详情
+     *
+     * @param refreshTokenIds 刷新令牌ID列表
+     * @return 与入参顺序一致的设备详情
+     */
+    private List<Map<Object, Object>> loadDeviceInfos(List<String> refreshTokenIds) {
+        List<String> deviceKeys = refreshTokenIds.stream()
+                .map(refreshTokenId -> RedisConstants.Auth.SESSIONS_DEVICE_KEY + refreshTokenId)
+                .toList();
+        return redisHashCache.multiHGetAll(deviceKeys);
     }
 
 
@@ -263,20 +344,14 @@ public class DeviceService {
 
 
     /**
-     * 根据字符串和值转换为SessionDevice对象。示例方法，具体实现需按你的业务补全字段解析。
+     * 将设备详情Hash转换为SessionDevice对象
      *
-     * @param value redis存储的设备信息（如JSON或ID字符串）
-     * @param score 分值（如需使用可扩展，部分场景可忽略）
+     * @param deviceInfo redis存储的设备详情
+     * @param score      索引分值（登录时间），设备详情缺少登录时间时使用
      * @return SessionDevice对象或null
      */
-    private SessionDevice convertToSessionDevice(String value, Double score) {
-        if (value == null || value.isEmpty()) {
-            return null;
-        }
-
-        String deviceRedisKey = RedisConstants.Auth.SESSIONS_DEVICE_KEY + value;
-        Map<String, Object> deviceInfo = redisHashCache.hGetAll(deviceRedisKey);
-        if (deviceInfo.isEmpty()) {
+    private SessionDevice convertToSessionDevice(Map<Object, Object> deviceInfo, Double score) {
+        if (deviceInfo == null || deviceInfo.isEmpty()) {
             return null;
         }
 
@@ -354,14 +429,14 @@ public class DeviceService {
         allWithScore.forEach(tuple -> {
             refreshTokenIds.add(tuple.getValue());
         });
-        // 删除设备信息和访问令牌和刷新令牌信息
-        refreshTokenIds.forEach(refreshTokenId -> {
-            String deviceInfoRedisKey = RedisConstants.Auth.SESSIONS_DEVICE_KEY + refreshTokenId;
-            redisTokenStore.deleteRefreshTokenAndAccessToken(refreshTokenId);
-            redisCache.deleteObject(deviceInfoRedisKey);
-        });
-        //删除设备索引
-        redisCache.deleteObject(deviceIndexRedisKey);
+        // 删除访问令牌和刷新令牌信息
+        refreshTokenIds.forEach(redisTokenStore::deleteRefreshTokenAndAccessToken);
+        // 批量删除设备信息和设备索引
+        List<String> deleteKeys = new ArrayList<>(refreshTokenIds.size() + 1);
+        refreshTokenIds.forEach(refreshTokenId -> deleteKeys.add(RedisConstants.Auth.SESSIONS_DEVICE_KEY + refreshTokenId));
+        deleteKeys.add(deviceIndexRedisKey);
+        redisCache.unlink(deleteKeys);
+        sessionIndex.removeDevice(refreshTokenIds);
         return true;
     }
 
@@ -380,31 +455,31 @@ public class DeviceService {
         Set<String> refreshTokenIds = new HashSet<>();
         Set<ZSetOperations.TypedTuple<String>> allWithScore = redisZSetCache.getAllWithScore(deviceIndexRedisKey);
 
-        // 筛选出指定设备类型的会话
-        allWithScore.forEach(tuple -> {
-            String refreshTokenId = tuple.getValue();
-            String deviceInfoRedisKey = RedisConstants.Auth.SESSIONS_DEVICE_KEY + refreshTokenId;
-            Map<String, String> deviceInfo = redisHashCache.hGetAll(deviceInfoRedisKey);
-
-            if (!deviceInfo.isEmpty()) {
-                String loginDeviceType = deviceInfo.get(SecurityConstants.DEVICE_TYPE);
-                if (deviceType.getValue().equals(loginDeviceType)) {
-                    refreshTokenIds.add(refreshTokenId);
-                }
+        // 通过管道一次读取全部设备详情，筛选出指定设备类型的会话
+        List<String> allRefreshTokenIds = allWithScore.stream()
+                .map(ZSetOperations.TypedTuple::getValue)
+                .filter(Objects::nonNull)
+                .toList();
+        List<Map<Object, Object>> deviceInfos = loadDeviceInfos(allRefreshTokenIds);
+        for (int i = 0; i < deviceInfos.size(); i++) {
+            Object loginDeviceType = deviceInfos.get(i).get(SecurityConstants.DEVICE_TYPE);
+            if (loginDeviceType != null && deviceType.getValue().equals(loginDeviceType.toString())) {
+                refreshTokenIds.add(allRefreshTokenIds.get(i));
             }
-        });
+        }
+        if (refreshTokenIds.isEmpty()) {
+            return false;
+        }
 
-        // 删除指定设备类型的设备信息和令牌
-        refreshTokenIds.forEach(refreshTokenId -> {
-            String deviceInfoRedisKey = RedisConstants.Auth.SESSIONS_DEVICE_KEY + refreshTokenId;
-            // 删除刷新令牌和访问令牌
-            redisTokenStore.deleteRefreshTokenAndAccessToken(refreshTokenId);
-            // 删除设备信息
-            redisCache.deleteObject(deviceInfoRedisKey);
-            // 从索引中移除该设备
-            redisZSetCache.zRemove(deviceIndexRedisKey, refreshTokenId);
-        });
+        // 删除刷新令牌和访问令牌
+        refreshTokenIds.forEach(redisTokenStore::deleteRefreshTokenAndAccessToken);
+        // 批量删除设备信息并从索引中移除
+        redisCache.unlink(refreshTokenIds.stream()
+                .map(refreshTokenId -> RedisConstants.Auth.SESSIONS_DEVICE_KEY + refreshTokenId)
+                .toList());
+        redisZSetCache.zRemove(deviceIndexRedisKey, refreshTokenIds.toArray());
+        sessionIndex.removeDevice(refreshTokenIds);
 
-        return !refreshTokenIds.isEmpty();
+        return true;
     }
 }
@@ -28,6 +28,27 @@ import java.util.Map;
 @Order(1) // 确保在其他过滤器之前执行
 public class CspHeaderFilter extends OncePerRequestFilter {
 
+    /**
+     * 不应用CSP的静态资源路径
+     */
+    private static final WhitelistPathMatcher STATIC_RESOURCE_MATCHER = new WhitelistPathMatcher(new String[]{
+            "/static/**",
+            "/css/**",
+            "/js/**",
+            "/images/**",
+            "/**/*.ico"
+    });
+
+    /**
+     * 通用CSP策略，启动时构建一次
+     */
+    private static final String GENERAL_CSP_POLICY = buildGeneralCspPolicy();
+
+    /**
+     * Druid页面安全头部，启动时构建一次
+     */
+    private static final Map<String, String> DRUID_SECURITY_HEADERS = Map.copyOf(DruidCspConfig.getDruidSecurityHeaders());
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, @NotNull HttpServletResponse response,
                                     @NotNull FilterChain filterChain) throws ServletException, IOException {
@@ -37,16 +58,12 @@ public class CspHeaderFilter extends OncePerRequestFilter {
         // 检查是否为Druid监控页面
         if (DruidCspConfig.isDruidRequest(requestUri)) {
             // 为Druid页面应用专用的CSP策略和安全头部
-            Map<String, String> druidHeaders = DruidCspConfig.getDruidSecurityHeaders();
-            for (Map.Entry<String, String> header : druidHeaders.entrySet()) {
+            for (Map.Entry<String, String> header : DRUID_SECURITY_HEADERS.entrySet()) {
                 response.setHeader(header.getKey(), header.getValue());
             }
         } else {
             // 为其他页面应用通用CSP策略
-            String generalCspPolicy = buildGeneralCspPolicy();
-            if (!generalCspPolicy.isEmpty()) {
-                response.setHeader("Content-Security-Policy", generalCspPolicy);
-            }
+            response.setHeader("Content-Security-Policy", GENERAL_CSP_POLICY);
         }
 
         filterChain.doFilter(request, response);
@@ -57,7 +74,7 @@ public class CspHeaderFilter extends OncePerRequestFilter {
      *
      * @return CSP策略字符串
      */
-    private String buildGeneralCspPolicy() {
+    private static String buildGeneralCspPolicy() {
         return String.join(" ",
                 "default-src 'self';",
                 "script-src 'self' 'unsafe-inline';",
@@ -76,13 +93,7 @@ public class CspHeaderFilter extends OncePerRequestFilter {
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        String path = request.getRequestURI();
-
         // 对于静态资源，可以选择不应用CSP
-        return path.startsWith("/static/") ||
-                path.startsWith("/css/") ||
-                path.startsWith("/js/") ||
-                path.startsWith("/images/") ||
-                path.endsWith(".ico");
+        return STATIC_RESOURCE_MATCHER.matches(request.getRequestURI());
     }
 }
@@ -16,11 +16,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
 
 /**
  * Token认证拦截器
@@ -30,6 +28,13 @@ import java.util.Arrays;
 @Slf4j
 public class TokenAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * 不需要认证的白名单路径匹配器
+     */
+    private static final WhitelistPathMatcher WHITELIST_MATCHER = new WhitelistPathMatcher(
+            SecurityConstants.WHITELIST,
+            SecurityConstants.STATIC_RESOURCES_WHITELIST,
+            SecurityConstants.SWAGGER_WHITELIST);
 
     @Autowired
     private SecurityProperties securityProperties;
@@ -79,40 +84,13 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
 
     /**
      * 此方法用于排除不需要过滤的请求，防止过滤器对某些请求进行处理。
+     * 普通白名单、静态资源白名单和Swagger白名单在启动时合并为一个匹配器。
      *
      * @param request current HTTP request
      */
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        String path = request.getRequestURI();
-
-        AntPathMatcher pathMatcher = new AntPathMatcher();
-
-        // 检查普通白名单
-        if (isPathMatchAny(path, SecurityConstants.WHITELIST, pathMatcher)) {
-            return true;
-        }
-
-        // 检查静态资源白名单
-        if (isPathMatchAny(path, SecurityConstants.STATIC_RESOURCES_WHITELIST, pathMatcher)) {
-            return true;
-        }
-
-        // 检查Swagger白名单
-        return isPathMatchAny(path, SecurityConstants.SWAGGER_WHITELIST, pathMatcher);
-    }
-
-    /**
-     * 检查路径是否匹配任一白名单规则
-     *
-     * @param path        请求路径
-     * @param patterns    匹配模式数组
-     * @param pathMatcher 路径匹配器
-     * @return 是否匹配
-     */
-    private boolean isPathMatchAny(String path, String[] patterns, AntPathMatcher pathMatcher) {
-        return Arrays.stream(patterns)
-                .anyMatch(pattern -> pathMatcher.match(pattern, path.trim()));
+        return WHITELIST_MATCHER.matches(request.getRequestURI());
     }
 
 }
@@ -0,0 +1,86 @@
+package cn.zhangchuangla.framework.security.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 白名单路径匹配器
+ * <p>
+ * 白名单规则在构造时预处理一次：不含通配符的规则放入精确匹配集合，其余规则交给共享的
+ * {@link AntPathMatcher}（其内部会缓存已解析的规则）。每个请求路径的匹配结果会被缓存，
+ * 热点接口只需一次查表。匹配语义与 {@link AntPathMatcher} 保持一致。
+ * </p>
+ *
+ * @author Chuang
+ */
+public class WhitelistPathMatcher {
+
+    /**
+     * 路径匹配结果缓存的最大条目数，防止带路径参数的URI无限增长
+     */
+    private static final long DECISION_CACHE_MAXIMUM_SIZE = 10000;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * 不含通配符的规则
+     */
+    private final List<String> exactPatterns = new ArrayList<>();
+
+    /**
+     * 含通配符的规则
+     */
+    private final List<String> wildcardPatterns = new ArrayList<>();
+
+    private final Cache<String, Boolean> decisionCache = Caffeine.newBuilder()
+            .maximumSize(DECISION_CACHE_MAXIMUM_SIZE)
+            .build();
+
+    /**
+     * 使用一组或多组白名单规则构建匹配器
+     *
+     * @param patternGroups 白名单规则
+     */
+    public WhitelistPathMatcher(String[]... patternGroups) {
+        Arrays.stream(patternGroups)
+                .flatMap(Arrays::stream)
+                .distinct()
+                .forEach(pattern -> {
+                    if (pathMatcher.isPattern(pattern)) {
+                        wildcardPatterns.add(pattern);
+                    } else {
+                        exactPatterns.add(pattern);
+                    }
+                });
+    }
+
+    /**
+     * 判断路径是否命中任一白名单规则
+     *
+     * @param path 请求路径
+     * @return 是否匹配
+     */
+    public boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+        return decisionCache.get(path.trim(), this::doMatch);
+    }
+
+    private boolean doMatch(String path) {
+        if (exactPatterns.contains(path)) {
+            return true;
+        }
+        for (String pattern : wildcardPatterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -35,6 +35,11 @@ public class SecurityProperties {
      */
     private String secret;
 
+    /**
+     * 是否缓存已验签的JWT Claims，默认启用
+     */
+    private boolean claimsCacheEnabled = true;
+
 
     @Data
     public static class PasswordConfig {
@@ -98,6 +103,41 @@ public class SecurityProperties {
         @Min(-1)
         private int maxLoginPerDay = 50;
 
+        /**
+         * 访问令牌本地近端缓存配置
+         */
+        private NearCache nearCache = new NearCache();
+
+        /**
+         * 访问令牌本地近端缓存配置
+         */
+        @Data
+        public static class NearCache {
+
+            /**
+             * 是否启用本地近端缓存，默认启用
+             */
+            private boolean enabled = true;
+
+            /**
+             * 本地缓存最大条目数，默认10000
+             */
+            @Min(1)
+            private long maximumSize = 10000;
+
+            /**
+             * 本地缓存条目存活时间（单位：秒），兜底失效广播丢失的情况，默认30秒
+             */
+            @Min(1)
+            private long expireTime = 30;
+
+            /**
+             * 访问时间批量回写Redis的间隔（单位：秒），默认5秒
+             */
+            @Min(1)
+            private long accessTimeFlushInterval = 5;
+        }
+
         /**
          * 每个客户端允许的最大会话数
          */
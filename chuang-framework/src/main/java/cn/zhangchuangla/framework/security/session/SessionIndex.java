@@ -0,0 +1,144 @@
+package cn.zhangchuangla.framework.security.session;
+
+import cn.zhangchuangla.common.redis.constant.RedisConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 全局会话索引
+ * <p>
+ * 维护在线会话与登录设备两个全局有序集合，在线用户和设备列表按索引分页，
+ * 查询开销只与页大小相关，不再需要扫描整个键空间。成员以普通字符串保存，便于Lua脚本直接维护。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionIndex {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 写入在线会话索引
+     *
+     * @param accessTokenId 访问令牌ID
+     * @param accessTime    最后访问时间
+     */
+    public void addAccessToken(String accessTokenId, long accessTime) {
+        stringRedisTemplate.opsForZSet().add(RedisConstants.Auth.SESSIONS_ACCESS_TOKEN_GLOBAL_INDEX, accessTokenId, accessTime);
+    }
+
+    /**
+     * 从在线会话索引中移除
+     *
+     * @param accessTokenIds 访问令牌ID
+     */
+    public void removeAccessToken(Collection<String> accessTokenIds) {
+        remove(RedisConstants.Auth.SESSIONS_ACCESS_TOKEN_GLOBAL_INDEX, accessTokenIds);
+    }
+
+    /**
+     * 写入登录设备索引
+     *
+     * @param refreshTokenId 刷新令牌ID
+     * @param loginTime      登录时间
+     */
+    public void addDevice(String refreshTokenId, long loginTime) {
+        stringRedisTemplate.opsForZSet().add(RedisConstants.Auth.SESSIONS_DEVICE_GLOBAL_INDEX, refreshTokenId, loginTime);
+    }
+
+    /**
+     * 从登录设备索引中移除
+     *
+     * @param refreshTokenIds 刷新令牌ID
+     */
+    public void removeDevice(Collection<String> refreshTokenIds) {
+        remove(RedisConstants.Auth.SESSIONS_DEVICE_GLOBAL_INDEX, refreshTokenIds);
+    }
+
+    /**
+     * 按最后访问时间倒序分页读取访问令牌ID，并清理已过期的索引
+     *
+     * @param offset            偏移量
+     * @param count             数量
+     * @param expireTimeSeconds 访问令牌有效期（秒），小于等于0表示不清理
+     * @return 访问令牌ID列表
+     */
+    public List<String> rangeAccessTokens(long offset, long count, long expireTimeSeconds) {
+        return range(RedisConstants.Auth.SESSIONS_ACCESS_TOKEN_GLOBAL_INDEX, offset, count, expireTimeSeconds);
+    }
+
+    /**
+     * 按登录时间倒序分页读取刷新令牌ID，并清理已过期的索引
+     *
+     * @param offset            偏移量
+     * @param count             数量
+     * @param expireTimeSeconds 刷新令牌有效期（秒），小于等于0表示不清理
+     * @return 刷新令牌ID列表
+     */
+    public List<String> rangeDevices(long offset, long count, long expireTimeSeconds) {
+        return range(RedisConstants.Auth.SESSIONS_DEVICE_GLOBAL_INDEX, offset, count, expireTimeSeconds);
+    }
+
+    /**
+     * 在线会话数量
+     *
+     * @return 索引中的会话数量
+     */
+    public long countAccessTokens() {
+        return count(RedisConstants.Auth.SESSIONS_ACCESS_TOKEN_GLOBAL_INDEX);
+    }
+
+    /**
+     * 登录设备数量
+     *
+     * @return 索引中的设备数量
+     */
+    public long countDevices() {
+        return count(RedisConstants.Auth.SESSIONS_DEVICE_GLOBAL_INDEX);
+    }
+
+    /**
+     * 索引是否已存在，用于判断是否需要重建
+     *
+     * @param indexKey 索引键
+     * @return 是否存在
+     */
+    public boolean exists(String indexKey) {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(indexKey));
+    }
+
+    private List<String> range(String indexKey, long offset, long count, long expireTimeSeconds) {
+        if (expireTimeSeconds > 0) {
+            // 分值早于有效期的成员一定已过期，可直接按分值区间删除
+            long expireBefore = System.currentTimeMillis() - expireTimeSeconds * 1000;
+            stringRedisTemplate.opsForZSet().removeRangeByScore(indexKey, Double.NEGATIVE_INFINITY, expireBefore);
+        }
+        if (count <= 0) {
+            return new ArrayList<>();
+        }
+        Set<String> members = stringRedisTemplate.opsForZSet().reverseRange(indexKey, offset, offset + count - 1);
+        return members == null ? new ArrayList<>() : new ArrayList<>(members);
+    }
+
+    private long count(String indexKey) {
+        Long size = stringRedisTemplate.opsForZSet().zCard(indexKey);
+        return size == null ? 0L : size;
+    }
+
+    private void remove(String indexKey, Collection<String> members) {
+        if (members == null || members.isEmpty()) {
+            return;
+        }
+        stringRedisTemplate.opsForZSet().remove(indexKey, members.toArray());
+    }
+}
@@ -0,0 +1,94 @@
+package cn.zhangchuangla.framework.security.session;
+
+import cn.zhangchuangla.common.core.loader.DataLoader;
+import cn.zhangchuangla.common.redis.constant.RedisConstants;
+import cn.zhangchuangla.common.redis.core.RedisHashCache;
+import cn.zhangchuangla.common.redis.core.RedisZSetCache;
+import cn.zhangchuangla.framework.model.entity.OnlineLoginUser;
+import cn.zhangchuangla.framework.security.token.RedisTokenStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 全局会话索引加载器
+ * <p>
+ * 全局索引不存在时（首次部署或Redis数据被清空），从现有的访问令牌和用户设备索引中一次性重建，
+ * 之后由登录、登出和令牌访问流程增量维护。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionIndexLoader implements DataLoader {
+
+    private final SessionIndex sessionIndex;
+    private final RedisHashCache redisHashCache;
+    private final RedisZSetCache redisZSetCache;
+    private final RedisTokenStore redisTokenStore;
+
+    @Override
+    public String getName() {
+        return "全局会话索引加载器";
+    }
+
+    @Override
+    public int getOrder() {
+        return 20;
+    }
+
+    @Override
+    public boolean isAsync() {
+        return true;
+    }
+
+    @Override
+    public boolean load() {
+        if (!sessionIndex.exists(RedisConstants.Auth.SESSIONS_ACCESS_TOKEN_GLOBAL_INDEX)) {
+            rebuildAccessTokenIndex();
+        }
+        if (!sessionIndex.exists(RedisConstants.Auth.SESSIONS_DEVICE_GLOBAL_INDEX)) {
+            rebuildDeviceIndex();
+        }
+        return true;
+    }
+
+    private void rebuildAccessTokenIndex() {
+        String prefix = RedisConstants.Auth.USER_ACCESS_TOKEN;
+        Map<String, Map<Object, Object>> accessTokens = redisHashCache.scanKeysWithValues(prefix + "*");
+        int count = 0;
+        for (Map.Entry<String, Map<Object, Object>> entry : accessTokens.entrySet()) {
+            OnlineLoginUser onlineLoginUser = redisTokenStore.toOnlineLoginUser(entry.getValue());
+            if (onlineLoginUser == null) {
+                continue;
+            }
+            Long accessTime = onlineLoginUser.getAccessTime();
+            sessionIndex.addAccessToken(entry.getKey().substring(prefix.length()),
+                    accessTime != null ? accessTime : System.currentTimeMillis());
+            count++;
+        }
+        log.info("全局在线会话索引重建完成，共 {} 个会话", count);
+    }
+
+    private void rebuildDeviceIndex() {
+        Map<String, Set<ZSetOperations.TypedTuple<Object>>> userIndexes =
+                redisZSetCache.scanKeysWithValues(RedisConstants.Auth.SESSIONS_INDEX_KEY + "*");
+        int count = 0;
+        for (Set<ZSetOperations.TypedTuple<Object>> tuples : userIndexes.values()) {
+            for (ZSetOperations.TypedTuple<Object> tuple : tuples) {
+                if (tuple.getValue() == null || tuple.getScore() == null) {
+                    continue;
+                }
+                sessionIndex.addDevice(String.valueOf(tuple.getValue()), tuple.getScore().longValue());
+                count++;
+            }
+        }
+        log.info("全局登录设备索引重建完成，共 {} 个设备", count);
+    }
+}
@@ -3,14 +3,16 @@ package cn.zhangchuangla.framework.security.session;
 import cn.zhangchuangla.common.core.entity.base.PageResult;
 import cn.zhangchuangla.common.core.utils.Assert;
 import cn.zhangchuangla.common.redis.constant.RedisConstants;
-import cn.zhangchuangla.common.redis.core.RedisCache;
+import cn.zhangchuangla.common.redis.core.RedisHashCache;
 import cn.zhangchuangla.framework.model.entity.OnlineLoginUser;
 import cn.zhangchuangla.framework.model.vo.OnlineLoginUserVo;
 import cn.zhangchuangla.framework.security.device.DeviceService;
+import cn.zhangchuangla.framework.security.property.SecurityProperties;
 import cn.zhangchuangla.framework.security.token.RedisTokenStore;
 import cn.zhangchuangla.system.core.model.request.monitor.OnlineUserQueryRequest;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 
@@ -23,33 +25,108 @@ import java.util.stream.Collectors;
  * created on 2025/7/28 14:38
  */
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Slf4j
 public class SessionService {
 
+    /**
+     * 带过滤条件查询时，每批从索引读取的会话数量
+     */
+    private static final int INDEX_BATCH_SIZE = 500;
+
     private final RedisTokenStore redisTokenStore;
     private final DeviceService deviceService;
-    private RedisCache redisCache;
+    private final RedisHashCache redisHashCache;
+    private final SessionIndex sessionIndex;
+    private final SecurityProperties securityProperties;
 
     /**
      * 获取在线用户列表
+     * <p>
+     * 会话按最后访问时间维护在全局索引中：无过滤条件时直接按页读取索引，开销只与页大小相关；
+     * 有过滤条件时按批遍历索引并通过管道读取会话，不再扫描整个键空间。
+     * </p>
      *
      * @param request 查询参数
      * @return 在线用户列表
      */
     public PageResult<OnlineLoginUserVo> sessionList(OnlineUserQueryRequest request) {
-        String accessTokenRedisKey = RedisConstants.Auth.USER_ACCESS_TOKEN + "*";
+        long expireTime = securityProperties.getSession().getAccessTokenExpireTime();
+        long pageNum = request.getPageNum();
+        long pageSize = request.getPageSize();
+        boolean noPaging = pageNum == -1 && pageSize == -1;
+
+        if (!noPaging && !hasFilter(request)) {
+            long validPageNum = Math.max(pageNum, 1);
+            long validPageSize = Math.max(pageSize, 1);
+            List<String> accessTokenIds = sessionIndex.rangeAccessTokens((validPageNum - 1) * validPageSize, validPageSize, expireTime);
+            List<String> staleIds = new ArrayList<>();
+            List<OnlineLoginUserVo> rows = loadOnlineUsers(accessTokenIds, staleIds).stream()
+                    .map(this::convertToVo)
+                    .collect(Collectors.toList());
+            sessionIndex.removeAccessToken(staleIds);
+            return PageResult.<OnlineLoginUserVo>builder()
+                    .pageNum(pageNum)
+                    .pageSize(pageSize)
+                    .total(sessionIndex.countAccessTokens())
+                    .rows(rows)
+                    .build();
+        }
+
         List<OnlineLoginUser> sessionList = new ArrayList<>();
-        Map<String, Object> stringObjectMap = redisCache.scanKeysWithValues(accessTokenRedisKey);
-        stringObjectMap.forEach((key, value) -> {
-            if (value instanceof OnlineLoginUser) {
-                sessionList.add((OnlineLoginUser) value);
+        List<String> staleIds = new ArrayList<>();
+        long offset = 0;
+        while (true) {
+            List<String> accessTokenIds = sessionIndex.rangeAccessTokens(offset, INDEX_BATCH_SIZE, offset == 0 ? expireTime : 0);
+            sessionList.addAll(loadOnlineUsers(accessTokenIds, staleIds));
+            if (accessTokenIds.size() < INDEX_BATCH_SIZE) {
+                break;
             }
-        });
-
+            offset += INDEX_BATCH_SIZE;
+        }
+        // 遍历结束后再清理失效索引，避免遍历过程中偏移量错位
+        sessionIndex.removeAccessToken(staleIds);
         return queryOnlineUsers(sessionList, request);
     }
 
+    /**
+     * 是否包含过滤条件
+     *
+     * @param request 查询参数
+     * @return 是否包含过滤条件
+     */
+    private boolean hasFilter(OnlineUserQueryRequest request) {
+        return StringUtils.isNotBlank(request.getSessionId())
+                || StringUtils.isNotBlank(request.getUsername())
+                || request.getUserId() != null
+                || StringUtils.isNotBlank(request.getIp())
+                || StringUtils.isNotBlank(request.getRegion());
+    }
+
+    /**
+     * 通过管道批量读取在线会话，保持索引顺序
+     *
+     * @param accessTokenIds 访问令牌ID列表
+     * @param staleIds       收集已过期的访问令牌ID，由调用方统一从索引中移除
+     * @return 在线用户列表
+     */
+    private List<OnlineLoginUser> loadOnlineUsers(List<String> accessTokenIds, List<String> staleIds) {
+        List<String> accessTokenKeys = accessTokenIds.stream()
+                .map(accessTokenId -> RedisConstants.Auth.USER_ACCESS_TOKEN + accessTokenId)
+                .toList();
+        List<Map<Object, Object>> accessTokens = redisHashCache.multiHGetAll(accessTokenKeys);
+        List<OnlineLoginUser> onlineUsers = new ArrayList<>(accessTokens.size());
+        for (int i = 0; i < accessTokens.size(); i++) {
+            OnlineLoginUser onlineLoginUser = redisTokenStore.toOnlineLoginUser(accessTokens.get(i));
+            if (onlineLoginUser != null) {
+                onlineUsers.add(onlineLoginUser);
+            } else {
+                staleIds.add(accessTokenIds.get(i));
+            }
+        }
+        return onlineUsers;
+    }
+
     /**
      * 查询在线用户
      *
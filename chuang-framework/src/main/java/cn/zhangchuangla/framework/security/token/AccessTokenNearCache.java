@@ -0,0 +1,261 @@
+package cn.zhangchuangla.framework.security.token;
+
+import cn.zhangchuangla.common.redis.constant.RedisConstants;
+import cn.zhangchuangla.common.redis.core.CacheInvalidateMessage;
+import cn.zhangchuangla.common.redis.core.RedisCache;
+import cn.zhangchuangla.common.redis.core.RedisPubSub;
+import cn.zhangchuangla.framework.model.entity.OnlineLoginUser;
+import cn.zhangchuangla.framework.security.property.SecurityProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 访问令牌本地近端缓存
+ * <p>
+ * 位于 {@link RedisTokenStore} 之前，命中时不访问Redis；访问时间先记录在本地，
+ * 按固定间隔合并后批量回写Redis。令牌被删除时通过Redis发布/订阅通知所有节点丢弃本地缓存。
+ * 每次失效都会递增失效代数，回源Redis前读取代数，写入缓存后代数发生变化则丢弃写入，
+ * 避免读取Redis与写入缓存之间发生的失效被覆盖，已注销的令牌重新进入缓存。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccessTokenNearCache {
+
+    /**
+     * 批量回写访问时间的Lua脚本，仅更新仍然存在的令牌，避免重新创建已删除的令牌
+     * KEYS[1]为全局会话索引，其余为访问令牌键；ARGV[1]为访问时间字段，ARGV[2]为访问令牌键前缀
+     */
+    private static final String FLUSH_ACCESS_TIME_LUA_SCRIPT = """
+            local updated = 0
+            local prefixLength = string.len(ARGV[2])
+            for i = 2, #KEYS do
+                local key = KEYS[i]
+                if redis.call('exists', key) == 1 then
+                    redis.call('hset', key, ARGV[1], ARGV[i + 1])
+                    redis.call('zadd', KEYS[1], 'XX', ARGV[i + 1], string.sub(key, prefixLength + 1))
+                    updated = updated + 1
+                end
+            end
+            return updated
+            """;
+
+    /**
+     * Redis Lua脚本对象
+     */
+    private static final DefaultRedisScript<Long> FLUSH_ACCESS_TIME_SCRIPT =
+            new DefaultRedisScript<>(FLUSH_ACCESS_TIME_LUA_SCRIPT, Long.class);
+
+    /**
+     * 单次回写的最大令牌数
+     */
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private static final String METRIC_NAME = "auth.token.near-cache";
+
+    private final SecurityProperties securityProperties;
+    private final RedisCache redisCache;
+    private final RedisPubSub redisPubSub;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 待回写的访问时间，同一令牌多次访问只保留最新值
+     */
+    private final Map<String, Long> pendingAccessTimes = new ConcurrentHashMap<>();
+
+    /**
+     * 失效代数，每次失效时递增
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private Cache<String, OnlineLoginUser> cache;
+    private ScheduledExecutorService flushExecutor;
+    private Timer invalidationLagTimer;
+    private boolean enabled;
+
+    @PostConstruct
+    public void init() {
+        SecurityProperties.SessionConfig.NearCache config = securityProperties.getSession().getNearCache();
+        this.enabled = config.isEnabled();
+        if (!enabled) {
+            log.info("访问令牌本地近端缓存未启用");
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(config.getExpireTime()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, METRIC_NAME);
+        Gauge.builder(METRIC_NAME + ".pending.access-time", pendingAccessTimes, Map::size)
+                .description("等待回写Redis的访问时间数量")
+                .register(meterRegistry);
+        this.invalidationLagTimer = Timer.builder(METRIC_NAME + ".invalidation.lag")
+                .description("令牌失效广播从发布到本节点处理的延迟")
+                .register(meterRegistry);
+
+        redisPubSub.subscribe(RedisConstants.Channel.ACCESS_TOKEN_INVALIDATE,
+                CacheInvalidateMessage.class, this::onInvalidate);
+
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-access-time-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getAccessTimeFlushInterval();
+        flushExecutor.scheduleWithFixedDelay(this::flushAccessTimes, interval, interval, TimeUnit.SECONDS);
+        log.info("访问令牌本地近端缓存初始化完成 - 最大条目数: {}, 存活时间: {}秒, 访问时间回写间隔: {}秒",
+                config.getMaximumSize(), config.getExpireTime(), interval);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdown();
+            flushAccessTimes();
+        }
+    }
+
+    /**
+     * 从本地缓存读取在线用户，命中时记录访问时间等待批量回写
+     *
+     * @param accessTokenId 访问令牌ID
+     * @return 在线用户信息，未命中或未启用时返回null
+     */
+    public OnlineLoginUser getIfPresent(String accessTokenId) {
+        if (!enabled) {
+            return null;
+        }
+        OnlineLoginUser onlineLoginUser = cache.getIfPresent(accessTokenId);
+        if (onlineLoginUser != null) {
+            pendingAccessTimes.put(accessTokenId, System.currentTimeMillis());
+        }
+        return onlineLoginUser;
+    }
+
+    /**
+     * 当前失效代数，回源Redis之前读取，写入缓存时传入 {@link #put(String, OnlineLoginUser, long)}
+     *
+     * @return 失效代数
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 将从Redis读取的在线用户放入本地缓存。
+     * 读取Redis之后发生过失效时不写入，写入后才发生的失效由失效方负责清除。
+     *
+     * @param accessTokenId      访问令牌ID
+     * @param onlineLoginUser    在线用户信息
+     * @param expectedGeneration 读取Redis之前的失效代数
+     */
+    public void put(String accessTokenId, OnlineLoginUser onlineLoginUser, long expectedGeneration) {
+        if (!enabled || onlineLoginUser == null || generation.get() != expectedGeneration) {
+            return;
+        }
+        cache.put(accessTokenId, onlineLoginUser);
+        // 写入期间发生了失效，失效方可能已在写入前完成清除
+        if (generation.get() != expectedGeneration) {
+            cache.invalidate(accessTokenId);
+        }
+    }
+
+    /**
+     * 使访问令牌的本地缓存失效，并广播到其他节点
+     *
+     * @param accessTokenIds 访问令牌ID
+     */
+    public void invalidate(String... accessTokenIds) {
+        if (!enabled || accessTokenIds == null || accessTokenIds.length == 0) {
+            return;
+        }
+        List<String> keys = List.of(accessTokenIds);
+        evict(keys);
+        redisPubSub.publish(RedisConstants.Channel.ACCESS_TOKEN_INVALIDATE, CacheInvalidateMessage.builder()
+                .keys(keys)
+                .publishTime(System.currentTimeMillis())
+                .build());
+    }
+
+    /**
+     * 处理其他节点发布的失效消息
+     *
+     * @param message 失效消息
+     */
+    private void onInvalidate(CacheInvalidateMessage message) {
+        if (message.getKeys() == null || message.getKeys().isEmpty()) {
+            generation.incrementAndGet();
+            cache.invalidateAll();
+            pendingAccessTimes.clear();
+        } else {
+            evict(message.getKeys());
+        }
+        long lag = System.currentTimeMillis() - message.getPublishTime();
+        invalidationLagTimer.record(Math.max(lag, 0), TimeUnit.MILLISECONDS);
+    }
+
+    private void evict(List<String> accessTokenIds) {
+        generation.incrementAndGet();
+        cache.invalidateAll(accessTokenIds);
+        accessTokenIds.forEach(pendingAccessTimes::remove);
+    }
+
+    /**
+     * 将累计的访问时间批量回写Redis，每批一次往返
+     */
+    private void flushAccessTimes() {
+        if (pendingAccessTimes.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(FLUSH_BATCH_SIZE + 1);
+        List<String> args = new ArrayList<>(FLUSH_BATCH_SIZE + 2);
+        keys.add(RedisConstants.Auth.SESSIONS_ACCESS_TOKEN_GLOBAL_INDEX);
+        args.add(RedisConstants.Auth.ACCESS_TOKEN_ACCESS_TIME_FIELD);
+        args.add(RedisConstants.Auth.USER_ACCESS_TOKEN);
+        try {
+            for (String accessTokenId : pendingAccessTimes.keySet()) {
+                Long accessTime = pendingAccessTimes.remove(accessTokenId);
+                if (accessTime == null) {
+                    continue;
+                }
+                keys.add(RedisConstants.Auth.USER_ACCESS_TOKEN + accessTokenId);
+                args.add(String.valueOf(accessTime));
+                if (keys.size() > FLUSH_BATCH_SIZE) {
+                    redisCache.execute(FLUSH_ACCESS_TIME_SCRIPT, keys, args.toArray(new String[0]));
+                    keys.subList(1, keys.size()).clear();
+                    args.subList(2, args.size()).clear();
+                }
+            }
+            if (keys.size() > 1) {
+                redisCache.execute(FLUSH_ACCESS_TIME_SCRIPT, keys, args.toArray(new String[0]));
+            }
+        } catch (Exception e) {
+            log.error("批量回写访问时间失败: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package cn.zhangchuangla.framework.security.token;
 import cn.zhangchuangla.common.core.constant.SecurityConstants;
 import cn.zhangchuangla.common.core.exception.AuthorizationException;
 import cn.zhangchuangla.framework.security.property.SecurityProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -13,6 +15,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -30,13 +34,46 @@ import static cn.zhangchuangla.common.core.enums.ResultCode.ACCESS_TOKEN_INVALID
 @RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    /**
+     * 已验签Claims缓存的最大条目数
+     */
+    private static final long CLAIMS_CACHE_MAXIMUM_SIZE = 10000;
+
+    /**
+     * 已验签Claims缓存的存活时间
+     */
+    private static final Duration CLAIMS_CACHE_EXPIRE_TIME = Duration.ofMinutes(5);
+
     private final SecurityProperties securityProperties;
     private SecretKey jwtSecretKey;
 
+    /**
+     * JWT解析器，不可变且线程安全，启动时构建一次
+     */
+    private JwtParser jwtParser;
+
+    /**
+     * 已验签的Claims缓存，热点令牌无需重复解析和HMAC验签。
+     * 缓存中保存的是解析结果的副本且从不直接返回，调用方拿到的始终是独立的副本，修改它不会影响其他调用方
+     */
+    private final Cache<String, Claims> claimsCache = Caffeine.newBuilder()
+            .maximumSize(CLAIMS_CACHE_MAXIMUM_SIZE)
+            .expireAfterWrite(CLAIMS_CACHE_EXPIRE_TIME)
+            .build();
+
+    /**
+     * 是否启用Claims缓存
+     */
+    private boolean claimsCacheEnabled;
+
     @PostConstruct
     public void init() {
+        this.claimsCacheEnabled = securityProperties.isClaimsCacheEnabled();
         byte[] keyBytes = Decoders.BASE64.decode(securityProperties.getSecret());
         this.jwtSecretKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(jwtSecretKey)
+                .build();
     }
 
 
@@ -60,19 +97,32 @@ public class JwtTokenProvider {
 
     /**
      * 从JWT中解析Claims。
+     * 验签成功的结果会被缓存，同一令牌再次解析时返回缓存Claims的副本，无需重新验签。
      * 遇到已知错误（过期、签名错误等）时抛出自定义异常。
      *
      * @param token JWT字符串
-     * @return Claims对象，包含JWT的声明信息
+     * @return Claims对象，包含JWT的声明信息；每次调用返回独立的实例
      * @throws AuthorizationException 如果JWT无效 (例如格式错误、签名错误、过期)
      */
     public Claims getClaimsFromToken(String token) {
+        if (claimsCacheEnabled && token != null) {
+            Claims cached = claimsCache.getIfPresent(token);
+            if (cached != null) {
+                Date expiration = cached.getExpiration();
+                if (expiration == null || expiration.after(new Date())) {
+                    return Jwts.claims(cached);
+                }
+                // 已过期的令牌交由解析器抛出过期异常
+                claimsCache.invalidate(token);
+            }
+        }
         try {
-            Jws<Claims> jwsClaims = Jwts.parserBuilder()
-                    .setSigningKey(jwtSecretKey)
-                    .build()
-                    .parseClaimsJws(token);
-            return jwsClaims.getBody();
+            Jws<Claims> jwsClaims = jwtParser.parseClaimsJws(token);
+            Claims claims = jwsClaims.getBody();
+            if (claimsCacheEnabled) {
+                claimsCache.put(token, Jwts.claims(claims));
+            }
+            return claims;
         } catch (ExpiredJwtException e) {
             log.warn("JWT已过期, message: {}", e.getMessage());
             // 或者更具体的 REFRESH_TOKEN_EXPIRED
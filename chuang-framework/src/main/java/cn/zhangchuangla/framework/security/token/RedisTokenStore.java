@@ -5,12 +5,20 @@ import cn.zhangchuangla.common.core.exception.AuthorizationException;
 import cn.zhangchuangla.common.core.utils.Assert;
 import cn.zhangchuangla.common.redis.constant.RedisConstants;
 import cn.zhangchuangla.common.redis.core.RedisCache;
+import cn.zhangchuangla.common.redis.core.RedisHashCache;
 import cn.zhangchuangla.framework.model.entity.OnlineLoginUser;
 import cn.zhangchuangla.framework.security.property.SecurityProperties;
+import cn.zhangchuangla.framework.security.session.SessionIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Redis中读取令牌操作
  *
@@ -23,20 +31,58 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class RedisTokenStore {
 
+    /**
+     * 校验访问令牌并刷新访问时间的Lua脚本，一次往返完成读取与更新
+     * 1. 键不存在或不是Hash（旧版本以字符串保存的令牌）时返回nil，按令牌不存在处理，避免HGET抛出WRONGTYPE
+     * 2. 读取Hash中的在线用户信息，不存在则返回nil
+     * 3. 仅更新accessTime字段，不重写整个用户对象，也不改变剩余TTL
+     * 4. 同步更新全局会话索引中的访问时间
+     */
+    private static final String TOUCH_ACCESS_TOKEN_LUA_SCRIPT = """
+            if redis.call('type', KEYS[1]).ok ~= 'hash' then
+                return false
+            end
+            local user = redis.call('hget', KEYS[1], ARGV[1])
+            if not user then
+                return false
+            end
+            redis.call('hset', KEYS[1], ARGV[2], ARGV[3])
+            redis.call('zadd', KEYS[2], 'XX', ARGV[3], ARGV[4])
+            return user
+            """;
+
+    /**
+     * Redis Lua脚本对象
+     */
+    private static final DefaultRedisScript<OnlineLoginUser> TOUCH_ACCESS_TOKEN_SCRIPT =
+            new DefaultRedisScript<>(TOUCH_ACCESS_TOKEN_LUA_SCRIPT, OnlineLoginUser.class);
+
     private final RedisCache redisCache;
+    private final RedisHashCache redisHashCache;
     private final SecurityProperties securityProperties;
+    private final AccessTokenNearCache accessTokenNearCache;
+    private final SessionIndex sessionIndex;
 
 
     /**
      * 保存访问令牌到Redis中
+     * 访问令牌以Hash存储，用户信息与访问时间分字段保存，访问时间可单独更新
      *
      * @param accessTokenId   访问令牌会话ID
      * @param onlineLoginUser 在线用户信息
      */
     protected void setAccessToken(String accessTokenId, OnlineLoginUser onlineLoginUser) {
         String accessTokenKey = RedisConstants.Auth.USER_ACCESS_TOKEN + accessTokenId;
-        redisCache.setCacheObject(accessTokenKey, onlineLoginUser,
-                securityProperties.getSession().getAccessTokenExpireTime());
+        Map<String, Object> fields = new HashMap<>(4);
+        fields.put(RedisConstants.Auth.ACCESS_TOKEN_USER_FIELD, onlineLoginUser);
+        fields.put(RedisConstants.Auth.ACCESS_TOKEN_ACCESS_TIME_FIELD, onlineLoginUser.getAccessTime());
+        redisHashCache.hPutAll(accessTokenKey, fields);
+        long expireTime = securityProperties.getSession().getAccessTokenExpireTime();
+        if (expireTime > 0) {
+            redisHashCache.expire(accessTokenKey, expireTime, TimeUnit.SECONDS);
+        }
+        Long accessTime = onlineLoginUser.getAccessTime();
+        sessionIndex.addAccessToken(accessTokenId, accessTime != null ? accessTime : System.currentTimeMillis());
     }
 
     /**
@@ -59,7 +105,33 @@ public class RedisTokenStore {
      */
     public OnlineLoginUser getAccessToken(String accessTokenId) {
         String accessTokenRedisKey = RedisConstants.Auth.USER_ACCESS_TOKEN + accessTokenId;
-        return redisCache.getCacheObject(accessTokenRedisKey);
+        return toOnlineLoginUser(redisHashCache.hGetAll(accessTokenRedisKey));
+    }
+
+    /**
+     * 将访问令牌Hash转换为在线用户信息，访问时间以独立字段为准
+     *
+     * @param fields 访问令牌Hash的全部字段
+     * @return 在线用户信息，Hash为空或缺少用户信息时返回null
+     */
+    public OnlineLoginUser toOnlineLoginUser(Map<Object, Object> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return null;
+        }
+        if (!(fields.get(RedisConstants.Auth.ACCESS_TOKEN_USER_FIELD) instanceof OnlineLoginUser onlineLoginUser)) {
+            return null;
+        }
+        Object accessTime = fields.get(RedisConstants.Auth.ACCESS_TOKEN_ACCESS_TIME_FIELD);
+        if (accessTime instanceof Number number) {
+            onlineLoginUser.setAccessTime(number.longValue());
+        } else if (accessTime != null) {
+            try {
+                onlineLoginUser.setAccessTime(Long.parseLong(accessTime.toString()));
+            } catch (NumberFormatException e) {
+                log.warn("访问令牌访问时间格式错误: {}", accessTime);
+            }
+        }
+        return onlineLoginUser;
     }
 
     /**
@@ -81,6 +153,8 @@ public class RedisTokenStore {
     public void deleteAccessToken(String accessTokenId) {
         String accessTokenRedisKey = RedisConstants.Auth.USER_ACCESS_TOKEN + accessTokenId;
         redisCache.deleteObject(accessTokenRedisKey);
+        sessionIndex.removeAccessToken(List.of(accessTokenId));
+        accessTokenNearCache.invalidate(accessTokenId);
     }
 
     /**
@@ -105,6 +179,8 @@ public class RedisTokenStore {
         if (accessToken != null) {
             String accessTokenKey = RedisConstants.Auth.USER_ACCESS_TOKEN + accessToken;
             redisCache.deleteObject(accessTokenKey);
+            sessionIndex.removeAccessToken(List.of(accessToken));
+            accessTokenNearCache.invalidate(accessToken);
         }
         redisCache.deleteObject(refreshTokenRedisKey);
     }
@@ -137,7 +213,7 @@ public class RedisTokenStore {
     public String getRefreshTokenIdByAccessTokenId(String accessTokenId) {
         Assert.hasText(accessTokenId, "访问令牌ID不能为空!");
         String accessTokenRedisKey = RedisConstants.Auth.USER_ACCESS_TOKEN + accessTokenId;
-        OnlineLoginUser onlineLoginUser = redisCache.getCacheObject(accessTokenRedisKey);
+        OnlineLoginUser onlineLoginUser = redisHashCache.hGet(accessTokenRedisKey, RedisConstants.Auth.ACCESS_TOKEN_USER_FIELD);
         Assert.notNull(onlineLoginUser, "访问令牌不存在!");
         return onlineLoginUser.getRefreshTokenId();
     }
@@ -172,35 +248,34 @@ public class RedisTokenStore {
         if (redisCache.exists(oldAccessKey)) {
             redisCache.deleteObject(oldAccessKey);
         }
+        sessionIndex.removeAccessToken(List.of(oldAccessToken));
+        accessTokenNearCache.invalidate(oldAccessToken);
         // a) refresh → access
         redisCache.setCacheObject(refreshKey, newAccessToken, ttlSeconds);
     }
 
 
     /**
-     * 更新访问令牌时间
+     * 校验访问令牌并更新访问时间
+     * 通过Lua脚本在Redis端一次完成读取和访问时间更新，只写入accessTime字段
      *
      * @param accessTokenId 访问令牌ID
-     * @return 是否更新成功
+     * @return 在线用户信息，令牌不存在或已过期时返回null
      */
-    public boolean updateAccessTime(String accessTokenId) {
+    public OnlineLoginUser touchAccessToken(String accessTokenId) {
         String accessTokenRedisKey = RedisConstants.Auth.USER_ACCESS_TOKEN + accessTokenId;
-        OnlineLoginUser onlineLoginUser = redisCache.getCacheObject(accessTokenRedisKey);
-
-        // 检查令牌是否存在
+        long accessTime = System.currentTimeMillis();
+        OnlineLoginUser onlineLoginUser = redisCache.execute(TOUCH_ACCESS_TOKEN_SCRIPT,
+                List.of(accessTokenRedisKey, RedisConstants.Auth.SESSIONS_ACCESS_TOKEN_GLOBAL_INDEX),
+                RedisConstants.Auth.ACCESS_TOKEN_USER_FIELD,
+                RedisConstants.Auth.ACCESS_TOKEN_ACCESS_TIME_FIELD,
+                String.valueOf(accessTime),
+                accessTokenId);
         if (onlineLoginUser == null) {
             log.warn("尝试更新访问时间时，令牌不存在: {}", accessTokenId);
-            return false;
+            return null;
         }
-
-        Long expire = redisCache.getExpire(accessTokenRedisKey);
-        if (expire <= 0) {
-            log.warn("尝试更新访问时间时，令牌已过期: {}", accessTokenId);
-            return false;
-        }
-
-        onlineLoginUser.setAccessTime(System.currentTimeMillis());
-        redisCache.setCacheObject(accessTokenRedisKey, onlineLoginUser, expire);
-        return true;
+        onlineLoginUser.setAccessTime(accessTime);
+        return onlineLoginUser;
     }
 }
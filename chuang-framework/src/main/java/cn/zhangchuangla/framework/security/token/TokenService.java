@@ -49,6 +49,7 @@ public class TokenService {
     private final SysRoleService sysRoleService;
     private final SysUserService userService;
     private final RedisTokenStore redisTokenStore;
+    private final AccessTokenNearCache accessTokenNearCache;
 
 
     /**
@@ -108,13 +109,18 @@ public class TokenService {
             return null;
         }
 
-        OnlineLoginUser onlineUser = redisTokenStore.getAccessToken(accessTokenId);
-
-        //更新访问时间
-        boolean updateSuccess = redisTokenStore.updateAccessTime(accessTokenId);
-        if (!updateSuccess) {
-            log.warn("更新访问时间失败，令牌可能已被删除: {}", accessTokenId);
-            return null;
+        // 优先读取本地近端缓存，命中时访问时间由近端缓存批量回写
+        OnlineLoginUser onlineUser = accessTokenNearCache.getIfPresent(accessTokenId);
+        if (onlineUser == null) {
+            // 先读取失效代数，读取Redis之后发生的注销不会被写回近端缓存
+            long nearCacheGeneration = accessTokenNearCache.generation();
+            // 读取在线用户并更新访问时间，一次Redis往返完成
+            onlineUser = redisTokenStore.touchAccessToken(accessTokenId);
+            if (onlineUser == null) {
+                log.warn("更新访问时间失败，令牌可能已被删除: {}", accessTokenId);
+                return null;
+            }
+            accessTokenNearCache.put(accessTokenId, onlineUser, nearCacheGeneration);
         }
 
         Set<SimpleGrantedAuthority> authorities = onlineUser.getRoles().stream()
@@ -0,0 +1,184 @@
+package cn.zhangchuangla.framework.aspect;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelMessage;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 切面自定义Key的SpEL求值器测试
+ * <p>
+ * 覆盖重载方法、泛型参数和桥接方法的参数名解析；每个表达式重复求值，第三次起走编译后的字节码。
+ * 另外覆盖编译结果不适用时改为解释执行，以及普通求值错误直接抛出且不影响编译模式。
+ * </p>
+ *
+ * @author Chuang
+ */
+class SpelKeyEvaluatorTest {
+
+    private static final int REPEAT = 5;
+
+    private final SpelKeyEvaluator evaluator = new SpelKeyEvaluator();
+
+    @Test
+    void testOverloadedMethodsResolveOwnParameters() throws Exception {
+        Method single = OrderService.class.getMethod("submit", String.class);
+        Method pair = OrderService.class.getMethod("submit", Long.class, String.class);
+
+        for (int i = 0; i < REPEAT; i++) {
+            assertEquals("A-" + i, evaluator.evaluate(single, "#orderId", new Object[]{"A-" + i}, null));
+            assertEquals(i + ":备注", evaluator.evaluate(pair, "#orderId + ':' + #remark", new Object[]{(long) i, "备注"}, null));
+        }
+        assertTrue(isCompiled(single, "#orderId"));
+        assertTrue(isCompiled(pair, "#orderId + ':' + #remark"));
+    }
+
+    @Test
+    void testGenericParameters() throws Exception {
+        Method save = OrderService.class.getMethod("save", Object.class);
+        Method batch = OrderService.class.getMethod("batch", List.class);
+        Method group = OrderService.class.getMethod("group", Map.class);
+
+        for (int i = 0; i < REPEAT; i++) {
+            assertEquals(String.valueOf(i), evaluator.evaluate(save, "#entity.id", new Object[]{new Order((long) i)}, null));
+            assertEquals("7", evaluator.evaluate(batch, "#orders[0].id", new Object[]{List.of(new Order(7L))}, null));
+            assertEquals("8", evaluator.evaluate(group, "#orders['main'].id", new Object[]{Map.of("main", new Order(8L))}, null));
+        }
+    }
+
+    @Test
+    void testBridgeMethodUsesBridgedParameterNames() throws Exception {
+        Method bridge = OrderController.class.getDeclaredMethod("update", Object.class);
+        assertTrue(bridge.isBridge());
+
+        for (int i = 0; i < REPEAT; i++) {
+            assertEquals("9", evaluator.evaluate(bridge, "#body.id", new Object[]{new Order(9L)}, null));
+        }
+    }
+
+    @Test
+    void testArgsVariable() throws Exception {
+        Method pair = OrderService.class.getMethod("submit", Long.class, String.class);
+
+        for (int i = 0; i < REPEAT; i++) {
+            assertEquals("备注", evaluator.evaluate(pair, "#args[1]", new Object[]{1L, "备注"}, null));
+        }
+    }
+
+    @Test
+    void testArgumentTypeChangeFallsBackToInterpreted() throws Exception {
+        Method length = OrderService.class.getMethod("length", CharSequence.class);
+
+        for (int i = 0; i < REPEAT; i++) {
+            assertEquals("3", evaluator.evaluate(length, "#value.length()", new Object[]{"abc"}, null));
+        }
+        assertTrue(isCompiled(length, "#value.length()"));
+
+        // 编译后的字节码按 String 生成，换成 StringBuilder 后改为解释执行
+        assertEquals("2", evaluator.evaluate(length, "#value.length()", new Object[]{new StringBuilder("ab")}, null));
+        assertFalse(isCompiled(length, "#value.length()"));
+        assertEquals("3", evaluator.evaluate(length, "#value.length()", new Object[]{"abc"}, null));
+    }
+
+    @Test
+    void testEvaluationErrorIsRethrownWithoutDemotion() throws Exception {
+        Method submit = OrderService.class.getMethod("submit", String.class);
+
+        // 未登录时 #user 为空
+        for (int i = 0; i < REPEAT; i++) {
+            SpelEvaluationException e = assertThrows(SpelEvaluationException.class,
+                    () -> evaluator.evaluate(submit, "#user.userId", new Object[]{"A"}, null));
+            assertEquals(SpelMessage.PROPERTY_OR_FIELD_NOT_READABLE_ON_NULL, e.getMessageCode());
+        }
+        assertTrue(isCompiled(submit, "#user.userId"));
+    }
+
+    @Test
+    void testNullArgumentAfterCompileIsRethrownWithoutDemotion() throws Exception {
+        Method save = OrderService.class.getMethod("save", Object.class);
+
+        for (int i = 0; i < REPEAT; i++) {
+            evaluator.evaluate(save, "#entity.id", new Object[]{new Order(1L)}, null);
+        }
+        // 编译后的字节码执行失败，解释执行同样失败，属于参数本身的错误
+        assertThrows(SpelEvaluationException.class,
+                () -> evaluator.evaluate(save, "#entity.id", new Object[]{null}, null));
+        assertTrue(isCompiled(save, "#entity.id"));
+        assertEquals("2", evaluator.evaluate(save, "#entity.id", new Object[]{new Order(2L)}, null));
+    }
+
+    /**
+     * 读取表达式缓存中的编译标记
+     */
+    private boolean isCompiled(Method method, String expression) throws Exception {
+        Field field = SpelKeyEvaluator.class.getDeclaredField("expressionCache");
+        field.setAccessible(true);
+        Map<?, ?> cache = (Map<?, ?>) field.get(evaluator);
+        for (Map.Entry<?, ?> entry : cache.entrySet()) {
+            Object key = entry.getKey();
+            if (method.equals(invoke(key, "method")) && expression.equals(invoke(key, "expression"))) {
+                return (Boolean) invoke(entry.getValue(), "compiled");
+            }
+        }
+        throw new AssertionError("表达式未缓存: " + expression);
+    }
+
+    private static Object invoke(Object target, String accessor) throws Exception {
+        Method method = target.getClass().getDeclaredMethod(accessor);
+        method.setAccessible(true);
+        return method.invoke(target);
+    }
+
+    public static class Order {
+
+        private final Long id;
+
+        public Order(Long id) {
+            this.id = id;
+        }
+
+        public Long getId() {
+            return id;
+        }
+    }
+
+    public static class OrderService {
+
+        public void submit(String orderId) {
+        }
+
+        public void submit(Long orderId, String remark) {
+        }
+
+        public <T> void save(T entity) {
+        }
+
+        public void batch(List<Order> orders) {
+        }
+
+        public void group(Map<String, Order> orders) {
+        }
+
+        public void length(CharSequence value) {
+        }
+    }
+
+    public static class BaseController<T> {
+
+        public void update(T body) {
+        }
+    }
+
+    public static class OrderController extends BaseController<Order> {
+
+        @Override
+        public void update(Order body) {
+        }
+    }
+}
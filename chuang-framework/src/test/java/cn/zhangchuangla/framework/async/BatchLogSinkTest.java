@@ -0,0 +1,162 @@
+package cn.zhangchuangla.framework.async;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 日志批量写入缓冲区测试
+ * <p>
+ * 负载测试模拟数据库写入缓慢，多个请求线程持续提交日志，调用线程的提交延迟应保持稳定；
+ * 另外覆盖写入失败后的重试、超过重试次数后的丢弃以及关闭时写完剩余日志。
+ * </p>
+ *
+ * @author Chuang
+ */
+class BatchLogSinkTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testOfferLatencyStaysFlatWhenWriterIsSlow() throws Exception {
+        LogSinkProperties properties = properties();
+        properties.setCapacity(1024);
+        properties.setBatchSize(100);
+        properties.setFlushInterval(20);
+        long writeDelayMillis = 200;
+        AtomicInteger written = new AtomicInteger();
+        BatchLogSink<Integer> sink = new BatchLogSink<>("load", properties, batch -> {
+            sleep(writeDelayMillis);
+            written.addAndGet(batch.size());
+        }, meterRegistry);
+
+        int threads = 8;
+        int eventsPerThread = 20000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[eventsPerThread];
+                    start.await();
+                    for (int i = 0; i < eventsPerThread; i++) {
+                        long begin = System.nanoTime();
+                        sink.offer(i);
+                        latencies[i] = System.nanoTime() - begin;
+                    }
+                    return latencies;
+                }));
+            }
+            start.countDown();
+            long[] all = new long[threads * eventsPerThread];
+            int offset = 0;
+            for (Future<long[]> future : futures) {
+                long[] latencies = future.get(60, TimeUnit.SECONDS);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+                offset += latencies.length;
+            }
+            Arrays.sort(all);
+            long p99Micros = TimeUnit.NANOSECONDS.toMicros(all[(int) (all.length * 0.99)]);
+            long maxMillis = TimeUnit.NANOSECONDS.toMillis(all[all.length - 1]);
+            System.out.printf("提交 %d 条日志，p99 %dus，最大 %dms，写入 %d 条，丢弃 %.0f 条%n", all.length, p99Micros, maxMillis,
+                    written.get(), meterRegistry.get("log.sink.dropped").tag("type", "load").counter().count());
+
+            // 单次写入需要200ms，提交日志的调用线程不能被写入拖慢
+            assertTrue(p99Micros < TimeUnit.MILLISECONDS.toMicros(writeDelayMillis) / 20,
+                    "数据库写入缓慢时提交延迟p99过高: " + p99Micros + "us");
+        } finally {
+            executor.shutdownNow();
+            sink.shutdown();
+        }
+    }
+
+    @Test
+    void testFailedBatchIsRetried() {
+        LogSinkProperties properties = properties();
+        // 5条日志凑成一批立即写入
+        properties.setBatchSize(5);
+        properties.setFlushInterval(60000);
+        AtomicInteger attempts = new AtomicInteger();
+        List<Integer> written = new CopyOnWriteArrayList<>();
+        BatchLogSink<Integer> sink = new BatchLogSink<>("retry", properties, batch -> {
+            if (attempts.incrementAndGet() <= 2) {
+                throw new IllegalStateException("数据库暂时不可用");
+            }
+            written.addAll(batch);
+        }, meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            sink.offer(i);
+        }
+        sink.shutdown();
+
+        assertEquals(List.of(0, 1, 2, 3, 4), written);
+        assertEquals(3, attempts.get());
+        assertEquals(2, meterRegistry.get("log.sink.retry").tag("type", "retry").counter().count());
+        assertEquals(0, meterRegistry.get("log.sink.failed").tag("type", "retry").counter().count());
+    }
+
+    @Test
+    void testBatchDroppedAfterMaxRetries() {
+        LogSinkProperties properties = properties();
+        properties.setMaxRetries(2);
+        properties.setBatchSize(5);
+        properties.setFlushInterval(60000);
+        AtomicInteger attempts = new AtomicInteger();
+        BatchLogSink<Integer> sink = new BatchLogSink<>("drop", properties, batch -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("数据库不可用");
+        }, meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            sink.offer(i);
+        }
+        sink.shutdown();
+
+        assertEquals(3, attempts.get());
+        assertEquals(2, meterRegistry.get("log.sink.retry").tag("type", "drop").counter().count());
+        assertEquals(5, meterRegistry.get("log.sink.failed").tag("type", "drop").counter().count());
+    }
+
+    @Test
+    void testShutdownFlushesBufferedEvents() {
+        LogSinkProperties properties = properties();
+        properties.setFlushInterval(60000);
+        Set<Integer> written = ConcurrentHashMap.newKeySet();
+        BatchLogSink<Integer> sink = new BatchLogSink<>("shutdown", properties, written::addAll, meterRegistry);
+
+        for (int i = 0; i < 1000; i++) {
+            sink.offer(i);
+        }
+        sink.shutdown();
+
+        assertEquals(1000, written.size());
+    }
+
+    private static LogSinkProperties properties() {
+        LogSinkProperties properties = new LogSinkProperties();
+        properties.setCapacity(4096);
+        properties.setBatchSize(200);
+        properties.setFlushInterval(50);
+        properties.setRetryBackoff(10);
+        properties.setShutdownTimeout(5000);
+        return properties;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package cn.zhangchuangla.framework.limiter;
+
+import cn.zhangchuangla.common.core.enums.LimitAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 限流器多节点精度测试
+ * <p>
+ * 每个节点是一个独立的限流器实例，多个节点共享同一个模拟Redis，每个节点多线程并发请求同一个限流Key。
+ * 依赖Redis的算法在所有节点上合计不能超过窗口上限；本地令牌桶只在节点内生效。
+ * 窗口推进相关的测试使用模拟Redis的服务器时间。
+ * </p>
+ *
+ * @author Chuang
+ */
+class RateLimiterAccuracyTest {
+
+    private static final int NODES = 4;
+    private static final int THREADS_PER_NODE = 4;
+    private static final int ATTEMPTS_PER_THREAD = 1000;
+    private static final int MAX_COUNT = 1000;
+    private static final int PERIOD = 3600;
+
+    private final SimulatedRedisTemplate redis = new SimulatedRedisTemplate();
+
+    @Test
+    void testFixedWindowAcrossNodes() throws Exception {
+        assertEquals(MAX_COUNT, runNodes(() -> new FixedWindowRateLimiter(redis), "fixed"));
+    }
+
+    @Test
+    void testSlidingWindowLogAcrossNodes() throws Exception {
+        assertEquals(MAX_COUNT, runNodes(() -> new SlidingWindowLogRateLimiter(redis), "sliding"));
+    }
+
+    @Test
+    void testGcraAcrossNodes() throws Exception {
+        assertEquals(MAX_COUNT, runNodes(() -> new GcraRateLimiter(redis), "gcra"));
+    }
+
+    @Test
+    void testHybridAcrossNodes() throws Exception {
+        long periodMillis = PERIOD * 1000L;
+        long window = System.currentTimeMillis() / periodMillis;
+
+        int granted = runNodes(() -> hybrid(0.1), "hybrid");
+
+        // 混合模式按系统时间划分窗口，测试期间跨越窗口时结果没有意义
+        assumeTrue(window == System.currentTimeMillis() / periodMillis);
+        assertEquals(MAX_COUNT, granted);
+        // 每个节点按块领取配额，配额领完后在本地拒绝，访问Redis的次数只与块数和节点数有关
+        long chunks = MAX_COUNT / (long) Math.ceil(MAX_COUNT * 0.1);
+        assertTrue(redis.scriptCalls() <= chunks + NODES, "混合模式访问Redis次数过多: " + redis.scriptCalls());
+    }
+
+    @Test
+    void testHybridUnevenDemandNeverOverIssues() throws Exception {
+        long periodMillis = PERIOD * 1000L;
+        long window = System.currentTimeMillis() / periodMillis;
+        List<HybridRateLimiter> nodes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(hybrid(0.1));
+        }
+
+        // 前三个节点各只放行一次请求，但已领取一整块配额
+        int granted = 0;
+        for (int i = 0; i < NODES - 1; i++) {
+            granted += nodes.get(i).tryAcquire("uneven", MAX_COUNT, PERIOD, 1) ? 1 : 0;
+        }
+        // 最后一个节点持续请求，只能用到剩余的配额
+        for (int i = 0; i < MAX_COUNT * 2; i++) {
+            granted += nodes.get(NODES - 1).tryAcquire("uneven", MAX_COUNT, PERIOD, 1) ? 1 : 0;
+        }
+
+        assumeTrue(window == System.currentTimeMillis() / periodMillis);
+        int chunk = (int) Math.ceil(MAX_COUNT * 0.1);
+        assertTrue(granted <= MAX_COUNT, "混合模式超发: " + granted);
+        assertTrue(granted >= MAX_COUNT - (NODES - 1) * chunk, "混合模式少放行超过 节点数×块大小: " + granted);
+    }
+
+    @Test
+    void testHybridRefillDoesNotBlockLocalQuota() throws Exception {
+        CountDownLatch refillStarted = new CountDownLatch(1);
+        CountDownLatch releaseRefill = new CountDownLatch(1);
+        SimulatedRedisTemplate slowRedis = new SimulatedRedisTemplate() {
+            @Override
+            public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+                if (scriptCalls() > 0) {
+                    refillStarted.countDown();
+                    try {
+                        releaseRefill.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.execute(script, keys, args);
+            }
+        };
+        HybridRateLimiter limiter = hybrid(slowRedis, 0.1);
+        long periodMillis = PERIOD * 1000L;
+        long window = System.currentTimeMillis() / periodMillis;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // 领取一块10个配额，用掉8个
+            assertTrue(limiter.tryAcquire("refill", 100, PERIOD, 8));
+            // 剩余配额不足5个，该请求访问Redis并阻塞在领取中
+            Future<Boolean> refill = executor.submit(() -> limiter.tryAcquire("refill", 100, PERIOD, 5));
+            assertTrue(refillStarted.await(10, TimeUnit.SECONDS));
+
+            // 领取期间本地剩余的配额仍可直接使用，不等待Redis
+            Future<Boolean> local = executor.submit(() -> limiter.tryAcquire("refill", 100, PERIOD, 1));
+            assertTrue(local.get(5, TimeUnit.SECONDS));
+
+            releaseRefill.countDown();
+            assertTrue(refill.get(10, TimeUnit.SECONDS));
+        } finally {
+            releaseRefill.countDown();
+            executor.shutdownNow();
+        }
+        assumeTrue(window == System.currentTimeMillis() / periodMillis);
+        // 10 - 8 - 1 + 10 - 5，剩余6个配额在本地消耗，不再访问Redis
+        assertEquals(6, acquire(limiter, "refill", 100, PERIOD, 6));
+        assertEquals(2, slowRedis.scriptCalls());
+    }
+
+    @Test
+    void testHybridConcurrentRefillLeasesOnce() throws Exception {
+        CountDownLatch releaseRefill = new CountDownLatch(1);
+        SimulatedRedisTemplate slowRedis = new SimulatedRedisTemplate() {
+            @Override
+            public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+                try {
+                    releaseRefill.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.execute(script, keys, args);
+            }
+        };
+        HybridRateLimiter limiter = hybrid(slowRedis, 0.1);
+        long periodMillis = PERIOD * 1000L;
+        long window = System.currentTimeMillis() / periodMillis;
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> limiter.tryAcquire("coalesce", 100, PERIOD, 1)));
+            }
+            // 等待所有线程进入领取或等待状态后再放行Redis
+            Thread.sleep(200);
+            releaseRefill.countDown();
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            releaseRefill.countDown();
+            executor.shutdownNow();
+        }
+        assumeTrue(window == System.currentTimeMillis() / periodMillis);
+        // 同一块配额足够所有线程使用，只需领取一次
+        assertEquals(1, slowRedis.scriptCalls());
+    }
+
+    @Test
+    void testLocalTokenBucketIsPerNode() throws Exception {
+        int granted = runNodes(LocalTokenBucketRateLimiter::new, "local");
+
+        // 窗口为1小时，测试期间补充的令牌不足1个
+        assertTrue(granted >= NODES * MAX_COUNT && granted <= NODES * (MAX_COUNT + 1), "本地令牌桶放行次数: " + granted);
+        assertEquals(0, redis.scriptCalls());
+    }
+
+    @Test
+    void testSlidingWindowHasNoBoundaryBurst() {
+        int maxCount = 10;
+        int period = 10;
+        SlidingWindowLogRateLimiter limiter = new SlidingWindowLogRateLimiter(redis);
+
+        assertEquals(maxCount / 2, acquire(limiter, "boundary", maxCount, period, maxCount / 2));
+        redis.advance(period * 1000L - 1);
+        // 窗口末尾只能用到剩余的一半
+        assertEquals(maxCount / 2, acquire(limiter, "boundary", maxCount, period, maxCount));
+        redis.advance(1);
+        // 最早的一半滑出窗口，最近一个窗口内始终不超过上限
+        assertEquals(maxCount / 2, acquire(limiter, "boundary", maxCount, period, maxCount));
+    }
+
+    @Test
+    void testGcraSpacesRequestsAfterBurst() {
+        int maxCount = 10;
+        int period = 10;
+        GcraRateLimiter limiter = new GcraRateLimiter(redis);
+
+        assertEquals(maxCount, acquire(limiter, "spacing", maxCount, period, maxCount * 2));
+        // 突发用完后按 窗口/上限 的间隔匀速放行
+        redis.advance(999);
+        assertFalse(limiter.tryAcquire("spacing", maxCount, period, 1));
+        redis.advance(1);
+        assertTrue(limiter.tryAcquire("spacing", maxCount, period, 1));
+        assertFalse(limiter.tryAcquire("spacing", maxCount, period, 1));
+    }
+
+    @Test
+    void testFixedWindowResetsAfterPeriod() {
+        int maxCount = 10;
+        int period = 10;
+        FixedWindowRateLimiter limiter = new FixedWindowRateLimiter(redis);
+
+        assertEquals(maxCount, acquire(limiter, "reset", maxCount, period, maxCount * 2));
+        redis.advance(period * 1000L);
+        assertEquals(maxCount, acquire(limiter, "reset", maxCount, period, maxCount * 2));
+    }
+
+    @Test
+    void testEngineFallsBackToLocalLimiterWhenRedisFails() {
+        LocalTokenBucketRateLimiter localLimiter = new LocalTokenBucketRateLimiter();
+        RateLimiterEngine engine = new RateLimiterEngine(List.of(new FixedWindowRateLimiter(redis), localLimiter), localLimiter);
+        redis.setUnavailable(true);
+
+        int granted = 0;
+        for (int i = 0; i < 100; i++) {
+            granted += engine.tryAcquire(LimitAlgorithm.FIXED_WINDOW, "fallback", 10, PERIOD, 1) ? 1 : 0;
+        }
+        // Redis不可用时仍按本节点的上限限流，而不是全部放行
+        assertEquals(10, granted);
+    }
+
+    /**
+     * 模拟多个节点并发请求同一个Key
+     *
+     * @param nodeFactory 创建一个节点的限流器
+     * @param key         限流Key
+     * @return 所有节点合计放行的请求数
+     */
+    private int runNodes(Supplier<RateLimiter> nodeFactory, String key) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(NODES * THREADS_PER_NODE);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int node = 0; node < NODES; node++) {
+                RateLimiter limiter = nodeFactory.get();
+                for (int thread = 0; thread < THREADS_PER_NODE; thread++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return acquire(limiter, key, MAX_COUNT, PERIOD, ATTEMPTS_PER_THREAD);
+                    }));
+                }
+            }
+            start.countDown();
+            int granted = 0;
+            for (Future<Integer> future : futures) {
+                granted += future.get(60, TimeUnit.SECONDS);
+            }
+            return granted;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int acquire(RateLimiter limiter, String key, int maxCount, int period, int attempts) {
+        int granted = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (limiter.tryAcquire(key, maxCount, period, 1)) {
+                granted++;
+            }
+        }
+        return granted;
+    }
+
+    private HybridRateLimiter hybrid(double chunkRatio) {
+        return hybrid(redis, chunkRatio);
+    }
+
+    private static HybridRateLimiter hybrid(SimulatedRedisTemplate redis, double chunkRatio) {
+        HybridRateLimiter limiter = new HybridRateLimiter(redis);
+        try {
+            Field field = HybridRateLimiter.class.getDeclaredField("chunkRatio");
+            field.setAccessible(true);
+            field.setDouble(limiter, chunkRatio);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        return limiter;
+    }
+}
@@ -0,0 +1,162 @@
+package cn.zhangchuangla.framework.limiter;
+
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 模拟Redis，供多个限流器实例（即多个节点）共享
+ * <p>
+ * 按脚本内容识别限流算法，用Java实现与Lua脚本相同的逻辑；所有脚本串行执行，与Redis执行Lua脚本的原子性一致。
+ * 服务器时间由测试控制，用于模拟窗口推进。
+ * </p>
+ *
+ * @author Chuang
+ */
+class SimulatedRedisTemplate extends StringRedisTemplate {
+
+    private final Map<String, Double> values = new HashMap<>();
+    private final Map<String, Long> expireAt = new HashMap<>();
+    private final Map<String, List<Long>> sortedSets = new HashMap<>();
+    private final AtomicLong scriptCalls = new AtomicLong();
+
+    /**
+     * 服务器时间（毫秒）
+     */
+    private long now = 1_000_000L;
+
+    /**
+     * 模拟Redis不可用
+     */
+    private volatile boolean unavailable;
+
+    void setUnavailable(boolean unavailable) {
+        this.unavailable = unavailable;
+    }
+
+    /**
+     * 推进服务器时间
+     *
+     * @param millis 毫秒数
+     */
+    synchronized void advance(long millis) {
+        now += millis;
+    }
+
+    /**
+     * 已执行的脚本次数，即访问Redis的次数
+     */
+    long scriptCalls() {
+        return scriptCalls.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        if (unavailable) {
+            throw new RedisConnectionFailureException("模拟Redis不可用");
+        }
+        scriptCalls.incrementAndGet();
+        String source = script.getScriptAsString();
+        String key = keys.get(0);
+        Long result;
+        if (source.contains("zremrangebyscore")) {
+            result = slidingWindowLog(key, args);
+        } else if (source.contains("emissionInterval")) {
+            result = gcra(key, args);
+        } else if (source.contains("chunk")) {
+            result = lease(key, args);
+        } else {
+            result = fixedWindow(key, args);
+        }
+        return (T) result;
+    }
+
+    private long fixedWindow(String key, Object[] args) {
+        long maxCount = parseLong(args[0]);
+        long expireSeconds = parseLong(args[1]);
+        long permits = parseLong(args[2]);
+        long current = get(key).longValue();
+        if (current + permits > maxCount) {
+            return 0L;
+        }
+        if (current == 0) {
+            values.put(key, (double) permits);
+            expireAt.put(key, now + expireSeconds * 1000);
+        } else {
+            values.put(key, (double) (current + permits));
+        }
+        return 1L;
+    }
+
+    private long slidingWindowLog(String key, Object[] args) {
+        long maxCount = parseLong(args[0]);
+        long windowMillis = parseLong(args[1]);
+        long permits = parseLong(args[2]);
+        List<Long> entries = sortedSets.computeIfAbsent(key, k -> new ArrayList<>());
+        entries.removeIf(score -> score <= now - windowMillis);
+        if (entries.size() + permits > maxCount) {
+            return 0L;
+        }
+        for (int i = 0; i < permits; i++) {
+            entries.add(now);
+        }
+        return 1L;
+    }
+
+    private long gcra(String key, Object[] args) {
+        double emissionInterval = Double.parseDouble(args[0].toString());
+        double burstTolerance = Double.parseDouble(args[1].toString());
+        long permits = parseLong(args[2]);
+        Double stored = get(key);
+        double tat = values.containsKey(key) ? stored : now;
+        if (tat < now) {
+            tat = now;
+        }
+        double newTat = tat + emissionInterval * permits;
+        if (newTat - now > burstTolerance + emissionInterval) {
+            return 0L;
+        }
+        values.put(key, newTat);
+        expireAt.put(key, now + (long) Math.ceil(newTat - now));
+        return 1L;
+    }
+
+    private long lease(String key, Object[] args) {
+        long maxCount = parseLong(args[0]);
+        long chunk = parseLong(args[1]);
+        long expireSeconds = parseLong(args[2]);
+        long current = get(key).longValue();
+        long granted = Math.min(chunk, maxCount - current);
+        if (granted <= 0) {
+            return 0L;
+        }
+        values.put(key, (double) (current + granted));
+        if (current == 0) {
+            expireAt.put(key, now + expireSeconds * 1000);
+        }
+        return granted;
+    }
+
+    /**
+     * 读取数值，已过期的Key视为不存在
+     */
+    private Double get(String key) {
+        Long expire = expireAt.get(key);
+        if (expire != null && expire <= now) {
+            values.remove(key);
+            expireAt.remove(key);
+        }
+        return values.getOrDefault(key, 0.0);
+    }
+
+    private static long parseLong(Object value) {
+        return Long.parseLong(value.toString());
+    }
+}
@@ -0,0 +1,232 @@
+package cn.zhangchuangla.framework.security.session;
+
+import cn.zhangchuangla.common.core.constant.SecurityConstants;
+import cn.zhangchuangla.common.core.entity.base.BasePageRequest;
+import cn.zhangchuangla.common.core.entity.base.PageResult;
+import cn.zhangchuangla.common.redis.constant.RedisConstants;
+import cn.zhangchuangla.common.redis.core.RedisHashCache;
+import cn.zhangchuangla.framework.model.entity.OnlineLoginUser;
+import cn.zhangchuangla.framework.model.entity.SessionDevice;
+import cn.zhangchuangla.framework.model.request.SessionDeviceQueryRequest;
+import cn.zhangchuangla.framework.model.vo.OnlineLoginUserVo;
+import cn.zhangchuangla.framework.security.device.DeviceService;
+import cn.zhangchuangla.framework.security.property.SecurityProperties;
+import cn.zhangchuangla.framework.security.token.RedisTokenStore;
+import cn.zhangchuangla.system.core.model.request.monitor.OnlineUserQueryRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 在线会话与登录设备分页查询的Redis往返次数测试
+ * <p>
+ * Redis由计数替身代替，每条命令或每个管道记一次往返。确认每页会话和设备详情通过一次管道读取，
+ * 往返次数与页大小无关，而不是每条记录一次往返的N+1查询。
+ * </p>
+ *
+ * @author Chuang
+ */
+class SessionIndexPagingTest {
+
+    private static final int SESSION_COUNT = 1200;
+
+    private CountingRedis redis;
+    private SessionService sessionService;
+    private DeviceService deviceService;
+
+    @BeforeEach
+    void setUp() {
+        SecurityProperties securityProperties = new SecurityProperties();
+        securityProperties.setSession(new SecurityProperties.SessionConfig());
+        redis = new CountingRedis();
+        SessionIndex sessionIndex = new SessionIndex(redis.stringRedisTemplate);
+        RedisHashCache redisHashCache = new RedisHashCache(redis.redisTemplate, null);
+        RedisTokenStore redisTokenStore = new RedisTokenStore(null, redisHashCache, securityProperties, null, sessionIndex);
+        deviceService = new DeviceService(null, redisHashCache, null, redisTokenStore, null, sessionIndex, securityProperties);
+        sessionService = new SessionService(redisTokenStore, deviceService, redisHashCache, sessionIndex, securityProperties);
+
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < SESSION_COUNT; i++) {
+            redis.addSession("access-" + i, "refresh-" + i, "user" + (i % 10), now - i);
+        }
+    }
+
+    @Test
+    void testSessionPageUsesOnePipeline() {
+        for (int pageSize : new int[]{10, 50, 200}) {
+            redis.reset();
+            PageResult<OnlineLoginUserVo> page = sessionService.sessionList(pageRequest(new OnlineUserQueryRequest(), 2, pageSize));
+
+            assertEquals(pageSize, page.getRows().size());
+            assertEquals(SESSION_COUNT, page.getTotal());
+            assertEquals("access-" + pageSize, page.getRows().get(0).getAccessTokenId());
+            assertEquals(List.of(pageSize), redis.pipelineSizes, "每页会话应通过一次管道读取");
+            // 清理过期索引、读取索引、管道读取会话、统计总数，与页大小无关
+            assertEquals(4, redis.roundTrips, "页大小为 " + pageSize + " 时的往返次数");
+        }
+    }
+
+    @Test
+    void testSessionPageRemovesStaleIndexInOneCommand() {
+        redis.hashes.remove(RedisConstants.Auth.USER_ACCESS_TOKEN + "access-1");
+        redis.hashes.remove(RedisConstants.Auth.USER_ACCESS_TOKEN + "access-2");
+
+        PageResult<OnlineLoginUserVo> page = sessionService.sessionList(pageRequest(new OnlineUserQueryRequest(), 1, 10));
+
+        assertEquals(8, page.getRows().size());
+        assertEquals(List.of(10), redis.pipelineSizes);
+        assertEquals(5, redis.roundTrips, "失效索引应一次批量删除");
+        assertFalse(redis.index(RedisConstants.Auth.SESSIONS_ACCESS_TOKEN_GLOBAL_INDEX).containsKey("access-1"));
+    }
+
+    @Test
+    void testFilteredSessionListPipelinesPerBatch() {
+        OnlineUserQueryRequest request = new OnlineUserQueryRequest();
+        request.setUsername("user3");
+        PageResult<OnlineLoginUserVo> page = sessionService.sessionList(pageRequest(request, 1, 10));
+
+        assertEquals(SESSION_COUNT / 10, page.getTotal());
+        // 1200个会话按每批500个读取，共3批，每批一次读取索引和一次管道
+        assertEquals(List.of(500, 500, 200), redis.pipelineSizes);
+        assertEquals(7, redis.roundTrips);
+    }
+
+    @Test
+    void testDevicePageUsesOnePipeline() {
+        for (int pageSize : new int[]{10, 50, 200}) {
+            redis.reset();
+            SessionDeviceQueryRequest request = pageRequest(new SessionDeviceQueryRequest(), 1, pageSize);
+            PageResult<SessionDevice> page = deviceService.listDevice(request);
+
+            assertEquals(pageSize, page.getRows().size());
+            assertEquals(SESSION_COUNT, page.getTotal());
+            assertEquals("refresh-0", page.getRows().get(0).getRefreshTokenId());
+            assertEquals(List.of(pageSize), redis.pipelineSizes, "每页设备应通过一次管道读取");
+            assertEquals(4, redis.roundTrips, "页大小为 " + pageSize + " 时的往返次数");
+        }
+    }
+
+    private static <T extends BasePageRequest> T pageRequest(T request, int pageNum, int pageSize) {
+        request.setPageNum(pageNum);
+        request.setPageSize(pageSize);
+        return request;
+    }
+
+    /**
+     * 计数Redis替身，只实现会话索引和管道读取Hash用到的命令，每条命令或每个管道记一次往返
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final class CountingRedis {
+
+        private final Map<String, Map<Object, Object>> hashes = new HashMap<>();
+        private final Map<String, Map<String, Double>> sortedSets = new HashMap<>();
+        private final List<Integer> pipelineSizes = new ArrayList<>();
+        private int roundTrips;
+
+        private final StringRedisTemplate stringRedisTemplate = new StringRedisTemplate() {
+            @Override
+            public ZSetOperations<String, String> opsForZSet() {
+                return (ZSetOperations<String, String>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                        new Class<?>[]{ZSetOperations.class}, (proxy, method, args) -> {
+                            roundTrips++;
+                            Map<String, Double> index = index((String) args[0]);
+                            return switch (method.getName()) {
+                                case "removeRangeByScore" -> {
+                                    long before = index.size();
+                                    index.values().removeIf(score -> score >= (double) args[1] && score <= (double) args[2]);
+                                    yield before - index.size();
+                                }
+                                case "reverseRange" -> {
+                                    List<String> members = index.entrySet().stream()
+                                            .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                                            .map(Map.Entry::getKey)
+                                            .toList();
+                                    int from = (int) Math.min((long) args[1], members.size());
+                                    int to = (int) Math.min((long) args[2] + 1, members.size());
+                                    yield new LinkedHashSet<>(members.subList(from, to));
+                                }
+                                case "zCard" -> (long) index.size();
+                                case "remove" -> {
+                                    long removed = 0;
+                                    for (Object member : (Object[]) args[1]) {
+                                        removed += index.remove(member) != null ? 1 : 0;
+                                    }
+                                    yield removed;
+                                }
+                                default -> throw new UnsupportedOperationException(method.getName());
+                            };
+                        });
+            }
+        };
+
+        private final RedisTemplate<Object, Object> redisTemplate = new RedisTemplate<>() {
+            @Override
+            public List<Object> executePipelined(RedisCallback<?> action) {
+                roundTrips++;
+                List<String> keys = new ArrayList<>();
+                RedisConnection connection = (RedisConnection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                        new Class<?>[]{RedisConnection.class}, (proxy, method, args) -> switch (method.getName()) {
+                            case "hashCommands" -> proxy;
+                            case "hGetAll" -> {
+                                keys.add(new String((byte[]) args[0], StandardCharsets.UTF_8));
+                                yield null;
+                            }
+                            default -> throw new UnsupportedOperationException(method.getName());
+                        });
+                action.doInRedis(connection);
+                pipelineSizes.add(keys.size());
+                List<Object> results = new ArrayList<>(keys.size());
+                for (String key : keys) {
+                    results.add(new HashMap<>(hashes.getOrDefault(key, Map.of())));
+                }
+                return results;
+            }
+        };
+
+        CountingRedis() {
+            redisTemplate.setKeySerializer(RedisSerializer.string());
+        }
+
+        void addSession(String accessTokenId, String refreshTokenId, String username, long time) {
+            OnlineLoginUser onlineLoginUser = OnlineLoginUser.builder()
+                    .accessTokenId(accessTokenId)
+                    .refreshTokenId(refreshTokenId)
+                    .userId((long) username.hashCode())
+                    .username(username)
+                    .build();
+            Map<Object, Object> accessToken = new HashMap<>();
+            accessToken.put(RedisConstants.Auth.ACCESS_TOKEN_USER_FIELD, onlineLoginUser);
+            accessToken.put(RedisConstants.Auth.ACCESS_TOKEN_ACCESS_TIME_FIELD, String.valueOf(time));
+            hashes.put(RedisConstants.Auth.USER_ACCESS_TOKEN + accessTokenId, accessToken);
+            index(RedisConstants.Auth.SESSIONS_ACCESS_TOKEN_GLOBAL_INDEX).put(accessTokenId, (double) time);
+
+            Map<Object, Object> device = new HashMap<>();
+            device.put(SecurityConstants.USER_ID, onlineLoginUser.getUserId());
+            device.put(SecurityConstants.USER_NAME, username);
+            device.put(SecurityConstants.REFRESH_TOKEN_ID, refreshTokenId);
+            device.put(SecurityConstants.LOGIN_TIME, time);
+            hashes.put(RedisConstants.Auth.SESSIONS_DEVICE_KEY + refreshTokenId, device);
+            index(RedisConstants.Auth.SESSIONS_DEVICE_GLOBAL_INDEX).put(refreshTokenId, (double) time);
+        }
+
+        Map<String, Double> index(String key) {
+            return sortedSets.computeIfAbsent(key, k -> new HashMap<>());
+        }
+
+        void reset() {
+            roundTrips = 0;
+            pipelineSizes.clear();
+        }
+    }
+}
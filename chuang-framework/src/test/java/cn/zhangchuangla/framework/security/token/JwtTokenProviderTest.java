@@ -0,0 +1,69 @@
+package cn.zhangchuangla.framework.security.token;
+
+import cn.zhangchuangla.common.core.constant.SecurityConstants;
+import cn.zhangchuangla.common.core.exception.AuthorizationException;
+import cn.zhangchuangla.framework.security.property.SecurityProperties;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JWT解析与Claims缓存测试
+ * <p>
+ * 确认缓存命中时返回独立的副本，调用方修改返回的Claims不会影响后续解析结果；关闭缓存时解析结果一致。
+ * </p>
+ *
+ * @author Chuang
+ */
+class JwtTokenProviderTest {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("echo-pro-test-secret-key-0123456789abcdefghij".getBytes());
+
+    @Test
+    void testCachedClaimsNotSharedBetweenCallers() {
+        JwtTokenProvider jwtTokenProvider = jwtTokenProvider(true);
+        String jwt = jwtTokenProvider.createJwt("token-1", "admin");
+
+        Claims first = jwtTokenProvider.getClaimsFromToken(jwt);
+        first.put(SecurityConstants.CLAIM_KEY_USERNAME, "hacker");
+        Claims second = jwtTokenProvider.getClaimsFromToken(jwt);
+        second.put(SecurityConstants.CLAIM_KEY_SESSION_ID, "token-2");
+        Claims third = jwtTokenProvider.getClaimsFromToken(jwt);
+
+        assertNotSame(second, third);
+        assertEquals("admin", third.get(SecurityConstants.CLAIM_KEY_USERNAME));
+        assertEquals("token-1", third.get(SecurityConstants.CLAIM_KEY_SESSION_ID));
+    }
+
+    @Test
+    void testClaimsCacheDisabled() {
+        JwtTokenProvider jwtTokenProvider = jwtTokenProvider(false);
+        String jwt = jwtTokenProvider.createJwt("token-1", "admin");
+
+        assertEquals("admin", jwtTokenProvider.getClaimsFromToken(jwt).get(SecurityConstants.CLAIM_KEY_USERNAME));
+        assertEquals("admin", jwtTokenProvider.getClaimsFromToken(jwt).get(SecurityConstants.CLAIM_KEY_USERNAME));
+    }
+
+    @Test
+    void testTamperedTokenRejected() {
+        JwtTokenProvider jwtTokenProvider = jwtTokenProvider(true);
+        String jwt = jwtTokenProvider.createJwt("token-1", "admin");
+        jwtTokenProvider.getClaimsFromToken(jwt);
+
+        String tampered = jwt.substring(0, jwt.length() - 2) + (jwt.endsWith("AA") ? "BB" : "AA");
+        assertThrows(AuthorizationException.class, () -> jwtTokenProvider.getClaimsFromToken(tampered));
+    }
+
+    private JwtTokenProvider jwtTokenProvider(boolean claimsCacheEnabled) {
+        SecurityProperties securityProperties = new SecurityProperties();
+        securityProperties.setSecret(SECRET);
+        securityProperties.setClaimsCacheEnabled(claimsCacheEnabled);
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(securityProperties);
+        jwtTokenProvider.init();
+        return jwtTokenProvider;
+    }
+}
@@ -0,0 +1,206 @@
+package cn.zhangchuangla.framework.security.token;
+
+import cn.zhangchuangla.common.redis.core.RedisCache;
+import cn.zhangchuangla.common.redis.core.RedisPubSub;
+import cn.zhangchuangla.framework.model.entity.OnlineLoginUser;
+import cn.zhangchuangla.framework.security.property.SecurityProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.security.core.Authentication;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 访问令牌近端缓存与令牌解析的并发测试
+ * <p>
+ * 在读取Redis之后、写入近端缓存之前插入注销操作，确认已注销的令牌不会重新进入近端缓存。
+ * </p>
+ *
+ * @author Chuang
+ */
+class TokenServiceNearCacheTest {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("echo-pro-test-secret-key-0123456789abcdefghij".getBytes());
+
+    private JwtTokenProvider jwtTokenProvider;
+    private AccessTokenNearCache nearCache;
+    private InterceptingTokenStore tokenStore;
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        SecurityProperties securityProperties = new SecurityProperties();
+        securityProperties.setSecret(SECRET);
+        securityProperties.setSession(new SecurityProperties.SessionConfig());
+        jwtTokenProvider = new JwtTokenProvider(securityProperties);
+        jwtTokenProvider.init();
+
+        RedisPubSub redisPubSub = new RedisPubSub(new StringRedisTemplate() {
+            @Override
+            public Long convertAndSend(String channel, Object message) {
+                return 0L;
+            }
+        }, new RedisMessageListenerContainer());
+        nearCache = new AccessTokenNearCache(securityProperties, noopRedisCache(), redisPubSub, new SimpleMeterRegistry());
+        nearCache.init();
+        tokenStore = new InterceptingTokenStore(securityProperties, nearCache);
+        tokenService = new TokenService(jwtTokenProvider, null, null, tokenStore, nearCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nearCache.destroy();
+    }
+
+    @Test
+    void testParsePopulatesNearCache() {
+        String jwt = login("token-1");
+
+        assertNotNull(tokenService.parseAccessToken(jwt));
+        assertNotNull(nearCache.getIfPresent("token-1"));
+        assertEquals(1, tokenStore.touches.get("token-1"));
+
+        assertNotNull(tokenService.parseAccessToken(jwt));
+        assertEquals(1, tokenStore.touches.get("token-1"), "近端缓存命中时不应访问Redis");
+    }
+
+    @Test
+    void testInvalidateBetweenTouchAndPut() {
+        String jwt = login("token-2");
+        // Redis已经返回在线用户，写入近端缓存之前令牌被注销
+        tokenStore.afterTouch = accessTokenId -> logout(accessTokenId);
+
+        assertNotNull(tokenService.parseAccessToken(jwt), "读取Redis时令牌仍有效，本次请求允许通过");
+        assertNull(nearCache.getIfPresent("token-2"), "已注销的令牌不能写回近端缓存");
+
+        tokenStore.afterTouch = null;
+        assertNull(tokenService.parseAccessToken(jwt), "注销后的请求必须被拒绝");
+    }
+
+    @Test
+    void testConcurrentInvalidateAndParse() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            for (int i = 0; i < 200; i++) {
+                String accessTokenId = "token-" + i;
+                String jwt = login(accessTokenId);
+                CountDownLatch touched = new CountDownLatch(1);
+                CountDownLatch loggedOut = new CountDownLatch(1);
+                tokenStore.afterTouch = id -> {
+                    touched.countDown();
+                    await(loggedOut);
+                };
+
+                Future<Authentication> parsing = executor.submit(() -> tokenService.parseAccessToken(jwt));
+                await(touched);
+                logout(accessTokenId);
+                loggedOut.countDown();
+                parsing.get(5, TimeUnit.SECONDS);
+
+                tokenStore.afterTouch = null;
+                assertNull(nearCache.getIfPresent(accessTokenId), "第 " + i + " 次：已注销的令牌被写回近端缓存");
+                assertNull(tokenService.parseAccessToken(jwt), "第 " + i + " 次：注销后的请求必须被拒绝");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testUnrelatedInvalidationOnlySkipsOnePut() {
+        String jwt = login("token-3");
+        login("token-4");
+        tokenStore.afterTouch = accessTokenId -> logout("token-4");
+
+        assertNotNull(tokenService.parseAccessToken(jwt));
+        tokenStore.afterTouch = null;
+        // 其他令牌的失效只会让本次结果不进入缓存，下次请求重新回源即可
+        assertNotNull(tokenService.parseAccessToken(jwt));
+        assertNotNull(nearCache.getIfPresent("token-3"));
+    }
+
+    private String login(String accessTokenId) {
+        tokenStore.accessTokens.put(accessTokenId, OnlineLoginUser.builder()
+                .accessTokenId(accessTokenId)
+                .userId(1L)
+                .username("admin")
+                .deptId(100L)
+                .roles(Set.of("admin"))
+                .accessTime(System.currentTimeMillis())
+                .build());
+        return jwtTokenProvider.createJwt(accessTokenId, "admin");
+    }
+
+    private void logout(String accessTokenId) {
+        tokenStore.accessTokens.remove(accessTokenId);
+        nearCache.invalidate(accessTokenId);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "等待超时");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 访问时间回写不做任何操作的Redis缓存
+     */
+    private static RedisCache noopRedisCache() {
+        RedisTemplate<Object, Object> redisTemplate = new RedisTemplate<>() {
+            @Override
+            public <T> T execute(RedisScript<T> script, RedisSerializer<?> argsSerializer,
+                                 RedisSerializer<T> resultSerializer, List<Object> keys, Object... args) {
+                return null;
+            }
+        };
+        return new RedisCache(redisTemplate, null);
+    }
+
+    /**
+     * 内存令牌存储，读取Redis之后执行回调，用于在读取与写入近端缓存之间插入操作
+     */
+    private static final class InterceptingTokenStore extends RedisTokenStore {
+
+        private final Map<String, OnlineLoginUser> accessTokens = new ConcurrentHashMap<>();
+        private final Map<String, Integer> touches = new ConcurrentHashMap<>();
+        private volatile Consumer<String> afterTouch;
+
+        InterceptingTokenStore(SecurityProperties securityProperties, AccessTokenNearCache accessTokenNearCache) {
+            super(null, null, securityProperties, accessTokenNearCache, null);
+        }
+
+        @Override
+        public OnlineLoginUser touchAccessToken(String accessTokenId) {
+            touches.merge(accessTokenId, 1, Integer::sum);
+            OnlineLoginUser onlineUser = accessTokens.get(accessTokenId);
+            Consumer<String> callback = afterTouch;
+            if (onlineUser != null && callback != null) {
+                callback.accept(accessTokenId);
+            }
+            return onlineUser;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.Date;
 import java.util.List;
@@ -73,10 +74,10 @@ public interface SysJobLogMapper extends BaseMapper<SysJobLog> {
     List<SysJobLog> selectRecentLogs(@Param("jobId") Long jobId, @Param("limit") Integer limit);
 
     /**
-     * 导出定时任务日志列表
+     * 流式导出定时任务日志列表，结果逐行交给处理器
      *
      * @param request 查询条件
-     * @return 定时任务日志列表
+     * @param handler 结果处理器
      */
-    List<SysJobLog> exportJobLogList(@Param("request") SysJobLogQueryRequest request);
+    void exportJobLogList(@Param("request") SysJobLogQueryRequest request, ResultHandler<SysJobLog> handler);
 }
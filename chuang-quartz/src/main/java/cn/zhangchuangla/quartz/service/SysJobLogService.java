@@ -5,6 +5,7 @@ import cn.zhangchuangla.quartz.model.request.SysJobLogQueryRequest;
 import cn.zhangchuangla.quartz.model.vo.SysJobLogVo;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.Date;
 import java.util.List;
@@ -104,7 +105,7 @@ public interface SysJobLogService extends IService<SysJobLog> {
      * 导出任务日志列表
      *
      * @param request 查询条件
-     * @return 日志列表
+     * @param handler 结果处理器
      */
-    List<SysJobLog> exportJobLogList(SysJobLogQueryRequest request);
+    void exportJobLogList(SysJobLogQueryRequest request, ResultHandler<SysJobLog> handler);
 }
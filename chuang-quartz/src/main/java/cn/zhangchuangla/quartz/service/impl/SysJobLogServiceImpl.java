@@ -12,6 +12,7 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -125,11 +126,11 @@ public class SysJobLogServiceImpl extends ServiceImpl<SysJobLogMapper, SysJobLog
      * 导出任务日志
      *
      * @param request 查询条件
-     * @return 返回任务日志列表
+     * @param handler 结果处理器
      */
     @Override
-    public List<SysJobLog> exportJobLogList(SysJobLogQueryRequest request) {
-        return sysJobLogMapper.exportJobLogList(request);
+    public void exportJobLogList(SysJobLogQueryRequest request, ResultHandler<SysJobLog> handler) {
+        sysJobLogMapper.exportJobLogList(request, handler);
     }
 
     /**
@@ -0,0 +1,207 @@
+package cn.zhangchuangla.system.core.cache;
+
+import cn.zhangchuangla.common.redis.core.RedisCache;
+import cn.zhangchuangla.common.redis.core.RedisPubSub;
+import cn.zhangchuangla.common.redis.core.VersionedLocalCache;
+import cn.zhangchuangla.system.core.mapper.SysConfigMapper;
+import cn.zhangchuangla.system.core.model.entity.SysConfig;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 运行时系统配置注册表
+ * <p>
+ * 保存 sys_config 中配置键到配置值的不可变快照，按键读取只访问本地内存，不加锁、不访问数据库和Redis。
+ * 配置新增、修改或删除后通过 {@link #publishChange()} 通知所有节点重建快照，
+ * 快照替换后比对新旧数据，向监听对应键的组件推送新值，组件无需重启即可调整参数。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Slf4j
+@Component
+public class ConfigRegistry extends VersionedLocalCache<Map<String, String>> {
+
+    private final SysConfigMapper sysConfigMapper;
+
+    /**
+     * 配置键到变更监听器的映射
+     */
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    public ConfigRegistry(RedisCache redisCache, RedisPubSub redisPubSub, SysConfigMapper sysConfigMapper) {
+        super(redisCache, redisPubSub, "sys-config");
+        this.sysConfigMapper = sysConfigMapper;
+    }
+
+    @Override
+    protected Map<String, String> loadSnapshot() {
+        List<SysConfig> configs = sysConfigMapper.selectList(new LambdaQueryWrapper<SysConfig>()
+                .select(SysConfig::getConfigKey, SysConfig::getConfigValue));
+        Map<String, String> values = new HashMap<>(configs.size());
+        for (SysConfig config : configs) {
+            if (config.getConfigKey() == null || config.getConfigValue() == null) {
+                continue;
+            }
+            values.put(config.getConfigKey().trim(), config.getConfigValue().trim());
+        }
+        log.info("系统配置快照加载完成，配置数: {}", values.size());
+        return Map.copyOf(values);
+    }
+
+    @Override
+    protected void onSnapshotChanged(Map<String, String> previous, Map<String, String> current) {
+        if (previous == null || listeners.isEmpty()) {
+            return;
+        }
+        listeners.forEach((key, keyListeners) -> {
+            String value = current.get(key);
+            if (Objects.equals(previous.get(key), value)) {
+                return;
+            }
+            log.info("系统配置[{}]已变更，通知 {} 个监听器", key, keyListeners.size());
+            for (Consumer<String> listener : keyListeners) {
+                try {
+                    listener.accept(value);
+                } catch (Exception e) {
+                    log.warn("系统配置[{}]变更监听器执行失败: {}", key, e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 注册配置变更监听器，配置值变化时回调新值，配置被删除时回调null。
+     * 回调在快照刷新线程中执行，应尽量轻量。
+     *
+     * @param configKey 配置键名
+     * @param listener  变更监听器
+     */
+    public void addListener(String configKey, Consumer<String> listener) {
+        listeners.computeIfAbsent(configKey, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * 移除配置变更监听器
+     *
+     * @param configKey 配置键名
+     * @param listener  变更监听器
+     */
+    public void removeListener(String configKey, Consumer<String> listener) {
+        List<Consumer<String>> keyListeners = listeners.get(configKey);
+        if (keyListeners != null) {
+            keyListeners.remove(listener);
+        }
+    }
+
+    /**
+     * 获取字符串配置
+     *
+     * @param configKey 配置键名
+     * @return 配置值，不存在时返回null
+     */
+    public String getString(String configKey) {
+        return get().get(configKey);
+    }
+
+    /**
+     * 获取字符串配置
+     *
+     * @param configKey    配置键名
+     * @param defaultValue 默认值
+     * @return 配置值，不存在时返回默认值
+     */
+    public String getString(String configKey, String defaultValue) {
+        return get().getOrDefault(configKey, defaultValue);
+    }
+
+    /**
+     * 获取整数配置
+     *
+     * @param configKey    配置键名
+     * @param defaultValue 默认值
+     * @return 配置值，不存在或格式错误时返回默认值
+     */
+    public int getInt(String configKey, int defaultValue) {
+        String value = getString(configKey);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            log.warn("系统配置[{}]不是合法的整数: {}，使用默认值: {}", configKey, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * 获取长整数配置
+     *
+     * @param configKey    配置键名
+     * @param defaultValue 默认值
+     * @return 配置值，不存在或格式错误时返回默认值
+     */
+    public long getLong(String configKey, long defaultValue) {
+        String value = getString(configKey);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            log.warn("系统配置[{}]不是合法的整数: {}，使用默认值: {}", configKey, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * 获取布尔配置，支持 true/false、1/0、yes/no、on/off
+     *
+     * @param configKey    配置键名
+     * @param defaultValue 默认值
+     * @return 配置值，不存在或格式错误时返回默认值
+     */
+    public boolean getBoolean(String configKey, boolean defaultValue) {
+        String value = getString(configKey);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "yes", "on" -> true;
+            case "false", "0", "no", "off" -> false;
+            default -> {
+                log.warn("系统配置[{}]不是合法的布尔值: {}，使用默认值: {}", configKey, value, defaultValue);
+                yield defaultValue;
+            }
+        };
+    }
+
+    /**
+     * 获取时长配置，支持 30s、5m、1h 等简单格式和 PT30S 等ISO-8601格式，纯数字按毫秒处理
+     *
+     * @param configKey    配置键名
+     * @param defaultValue 默认值
+     * @return 配置值，不存在或格式错误时返回默认值
+     */
+    public Duration getDuration(String configKey, Duration defaultValue) {
+        String value = getString(configKey);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return DurationStyle.detectAndParse(value);
+        } catch (IllegalArgumentException e) {
+            log.warn("系统配置[{}]不是合法的时长: {}，使用默认值: {}", configKey, value, defaultValue);
+            return defaultValue;
+        }
+    }
+}
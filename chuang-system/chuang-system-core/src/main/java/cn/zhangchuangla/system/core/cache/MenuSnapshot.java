@@ -0,0 +1,121 @@
+package cn.zhangchuangla.system.core.cache;
+
+import cn.zhangchuangla.common.core.entity.KeyValue;
+import cn.zhangchuangla.system.core.model.entity.SysMenu;
+import cn.zhangchuangla.system.core.model.vo.menu.RouterVo;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 菜单快照
+ * <p>
+ * 一次遍历建立按父菜单ID分组的子菜单索引（组内已按排序值倒序），构建树时每个节点只访问一次。
+ * 快照不可变，按角色集合构建的路由树缓存在快照内，快照被替换时随之失效。
+ * 其中的菜单实体为共享对象，调用方不能修改。
+ * </p>
+ *
+ * @author Chuang
+ */
+public final class MenuSnapshot {
+
+    private static final Comparator<SysMenu> SORT_DESC =
+            Comparator.comparing(SysMenu::getSort, Comparator.nullsFirst(Comparator.naturalOrder())).reversed();
+
+    private final List<SysMenu> menus;
+    private final Map<Long, List<SysMenu>> childrenByParentId;
+    private final Map<String, Set<Long>> menuIdsByRole;
+    private final Map<Set<String>, List<RouterVo>> routeCache = new ConcurrentHashMap<>();
+
+    private MenuSnapshot(List<SysMenu> menus, Map<String, Set<Long>> menuIdsByRole) {
+        this.menus = menus;
+        this.childrenByParentId = indexByParentId(menus);
+        this.menuIdsByRole = menuIdsByRole;
+    }
+
+    /**
+     * 构建快照
+     *
+     * @param menus     全部菜单
+     * @param roleMenus 角色菜单关系，键为角色标识符，值为菜单ID
+     * @return 菜单快照
+     */
+    public static MenuSnapshot of(List<SysMenu> menus, List<KeyValue> roleMenus) {
+        Map<String, Set<Long>> grouped = new HashMap<>();
+        for (KeyValue roleMenu : roleMenus) {
+            if (roleMenu.getKey() == null || roleMenu.getValue() == null) {
+                continue;
+            }
+            grouped.computeIfAbsent(roleMenu.getKey(), key -> new HashSet<>()).add(Long.valueOf(roleMenu.getValue()));
+        }
+        Map<String, Set<Long>> menuIdsByRole = new HashMap<>(grouped.size());
+        grouped.forEach((role, menuIds) -> menuIdsByRole.put(role, Set.copyOf(menuIds)));
+        return new MenuSnapshot(List.copyOf(menus), Map.copyOf(menuIdsByRole));
+    }
+
+    /**
+     * 按父菜单ID分组，组内按排序值倒序
+     *
+     * @param menus 菜单列表
+     * @return 父菜单ID到子菜单列表的映射
+     */
+    public static Map<Long, List<SysMenu>> indexByParentId(Collection<SysMenu> menus) {
+        Map<Long, List<SysMenu>> grouped = new HashMap<>();
+        for (SysMenu menu : menus) {
+            if (menu.getParentId() != null) {
+                grouped.computeIfAbsent(menu.getParentId(), key -> new ArrayList<>()).add(menu);
+            }
+        }
+        Map<Long, List<SysMenu>> index = new HashMap<>(grouped.size());
+        grouped.forEach((parentId, children) -> {
+            children.sort(SORT_DESC);
+            index.put(parentId, List.copyOf(children));
+        });
+        return Map.copyOf(index);
+    }
+
+    /**
+     * 全部菜单
+     */
+    public List<SysMenu> getMenus() {
+        return menus;
+    }
+
+    /**
+     * 已按排序值倒序排列的子菜单
+     *
+     * @param parentId 父菜单ID
+     * @return 子菜单列表
+     */
+    public List<SysMenu> getChildren(Long parentId) {
+        return childrenByParentId.getOrDefault(parentId, List.of());
+    }
+
+    /**
+     * 父菜单ID到子菜单列表的映射
+     */
+    public Map<Long, List<SysMenu>> getChildrenByParentId() {
+        return childrenByParentId;
+    }
+
+    /**
+     * 角色集合拥有的菜单ID
+     *
+     * @param roles 角色标识符集合
+     * @return 菜单ID集合
+     */
+    public Set<Long> getMenuIds(Set<String> roles) {
+        Set<Long> menuIds = new HashSet<>();
+        for (String role : roles) {
+            menuIds.addAll(menuIdsByRole.getOrDefault(role, Set.of()));
+        }
+        return menuIds;
+    }
+
+    /**
+     * 路由树缓存，键为角色标识符集合
+     */
+    public Map<Set<String>, List<RouterVo>> getRouteCache() {
+        return routeCache;
+    }
+}
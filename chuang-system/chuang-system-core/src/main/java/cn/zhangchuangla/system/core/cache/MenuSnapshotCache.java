@@ -0,0 +1,41 @@
+package cn.zhangchuangla.system.core.cache;
+
+import cn.zhangchuangla.common.core.entity.KeyValue;
+import cn.zhangchuangla.common.redis.core.RedisCache;
+import cn.zhangchuangla.common.redis.core.RedisPubSub;
+import cn.zhangchuangla.common.redis.core.VersionedLocalCache;
+import cn.zhangchuangla.system.core.mapper.SysMenuMapper;
+import cn.zhangchuangla.system.core.model.entity.SysMenu;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 菜单本地快照缓存
+ * <p>
+ * 保存全部菜单和角色菜单关系，路由、菜单列表和菜单树直接从快照构建，不再每次查询整张菜单表。
+ * 菜单、角色或角色菜单变更后通过 {@link #publishChange()} 通知所有节点重建。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Slf4j
+@Component
+public class MenuSnapshotCache extends VersionedLocalCache<MenuSnapshot> {
+
+    private final SysMenuMapper sysMenuMapper;
+
+    public MenuSnapshotCache(RedisCache redisCache, RedisPubSub redisPubSub, SysMenuMapper sysMenuMapper) {
+        super(redisCache, redisPubSub, "menu");
+        this.sysMenuMapper = sysMenuMapper;
+    }
+
+    @Override
+    protected MenuSnapshot loadSnapshot() {
+        List<SysMenu> menus = sysMenuMapper.selectList(null);
+        List<KeyValue> roleMenus = sysMenuMapper.listRoleMenuId();
+        log.info("菜单快照加载完成，菜单数: {}，角色菜单关系数: {}", menus.size(), roleMenus.size());
+        return MenuSnapshot.of(menus, roleMenus);
+    }
+}
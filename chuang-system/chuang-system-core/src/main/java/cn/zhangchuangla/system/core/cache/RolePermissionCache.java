@@ -0,0 +1,94 @@
+package cn.zhangchuangla.system.core.cache;
+
+import cn.zhangchuangla.common.core.constant.Constants;
+import cn.zhangchuangla.common.core.entity.KeyValue;
+import cn.zhangchuangla.common.redis.core.RedisCache;
+import cn.zhangchuangla.common.redis.core.RedisPubSub;
+import cn.zhangchuangla.common.redis.core.VersionedLocalCache;
+import cn.zhangchuangla.system.core.mapper.SysMenuMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 角色权限本地索引
+ * <p>
+ * 保存角色标识符到权限标识符集合的不可变映射，权限字符串统一驻留，多个角色共享同一实例。
+ * 权限校验只读本地快照，不访问数据库和Redis；角色、菜单或角色权限变更后通过
+ * {@link #publishChange()} 通知所有节点重建。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Slf4j
+@Component
+public class RolePermissionCache extends VersionedLocalCache<Map<String, Set<String>>> {
+
+    private final SysMenuMapper sysMenuMapper;
+
+    public RolePermissionCache(RedisCache redisCache, RedisPubSub redisPubSub, SysMenuMapper sysMenuMapper) {
+        super(redisCache, redisPubSub, "role-permission");
+        this.sysMenuMapper = sysMenuMapper;
+    }
+
+    @Override
+    protected Map<String, Set<String>> loadSnapshot() {
+        List<KeyValue> rolePermissions = sysMenuMapper.listRolePermission();
+        Map<String, Set<String>> grouped = new HashMap<>();
+        for (KeyValue rolePermission : rolePermissions) {
+            if (rolePermission.getKey() == null || rolePermission.getValue() == null) {
+                continue;
+            }
+            grouped.computeIfAbsent(rolePermission.getKey(), key -> new HashSet<>())
+                    .add(rolePermission.getValue().trim().intern());
+        }
+        Map<String, Set<String>> index = new HashMap<>(grouped.size());
+        grouped.forEach((role, permissions) -> index.put(role.intern(), Set.copyOf(permissions)));
+        log.info("角色权限索引加载完成，角色数: {}，权限记录数: {}", index.size(), rolePermissions.size());
+        return Map.copyOf(index);
+    }
+
+    /**
+     * 获取角色集合拥有的全部权限
+     *
+     * @param roles 角色标识符集合
+     * @return 权限标识符集合
+     */
+    public Set<String> getPermissions(Set<String> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Map<String, Set<String>> index = get();
+        if (roles.size() == 1) {
+            return index.getOrDefault(roles.iterator().next(), Collections.emptySet());
+        }
+        Set<String> permissions = new HashSet<>();
+        for (String role : roles) {
+            permissions.addAll(index.getOrDefault(role, Collections.emptySet()));
+        }
+        return permissions;
+    }
+
+    /**
+     * 判断角色集合是否拥有指定权限，不产生中间集合
+     *
+     * @param roles      角色标识符集合
+     * @param permission 权限标识符
+     * @return true - 拥有该权限，false - 没有该权限
+     */
+    public boolean hasPermission(Set<String> roles, String permission) {
+        if (roles == null || roles.isEmpty() || permission == null) {
+            return false;
+        }
+        Map<String, Set<String>> index = get();
+        for (String role : roles) {
+            Set<String> permissions = index.get(role);
+            if (permissions != null
+                    && (permissions.contains(Constants.ALL_PERMISSION) || permissions.contains(permission))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
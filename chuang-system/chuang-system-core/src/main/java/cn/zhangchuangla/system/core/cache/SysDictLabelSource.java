@@ -0,0 +1,45 @@
+package cn.zhangchuangla.system.core.cache;
+
+import cn.zhangchuangla.common.excel.core.DictLabelSource;
+import cn.zhangchuangla.system.core.mapper.SysDictDataMapper;
+import cn.zhangchuangla.system.core.model.entity.SysDictData;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 基于字典数据表的字典标签数据源
+ * <p>
+ * 一次查询加载多个字典类型的全部字典数据，包括已停用的字典值，保证历史数据导出时仍能显示标签。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Component
+@RequiredArgsConstructor
+public class SysDictLabelSource implements DictLabelSource {
+
+    private final SysDictDataMapper sysDictDataMapper;
+
+    @Override
+    public Map<String, Map<String, String>> loadDictLabels(Collection<String> dictTypes) {
+        if (dictTypes == null || dictTypes.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<SysDictData> dictDataList = sysDictDataMapper.selectList(new LambdaQueryWrapper<SysDictData>()
+                .select(SysDictData::getDictType, SysDictData::getDictValue, SysDictData::getDictLabel)
+                .in(SysDictData::getDictType, dictTypes)
+                .orderByAsc(SysDictData::getSort));
+        Map<String, Map<String, String>> labels = new HashMap<>();
+        for (SysDictData dictData : dictDataList) {
+            if (dictData.getDictType() == null || dictData.getDictValue() == null || dictData.getDictLabel() == null) {
+                continue;
+            }
+            labels.computeIfAbsent(dictData.getDictType(), key -> new HashMap<>())
+                    .putIfAbsent(dictData.getDictValue(), dictData.getDictLabel());
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,149 @@
+package cn.zhangchuangla.system.core.captcha;
+
+import cn.zhangchuangla.common.core.utils.CaptchaUtils;
+import cn.zhangchuangla.common.core.utils.ImageCaptchaUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 图形验证码预生成池
+ * <p>
+ * 由低优先级后台线程预先渲染验证码图片放入有界队列，请求线程只需出队，不再在请求中绘图和PNG编码。
+ * 每张图片只会被取出一次；池为空或未启用时退回到请求线程同步渲染。
+ * 池只能削平突发流量，持续压力下的吞吐上限仍取决于渲染速度。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Slf4j
+@Component
+public class CaptchaImagePool {
+
+    private static final int CODE_LENGTH = 4;
+    private static final int IMAGE_WIDTH = 160;
+    private static final int IMAGE_HEIGHT = 50;
+
+    private final boolean enabled;
+    private final int capacity;
+    private final int refillBatch;
+    private final long refillInterval;
+    private final BlockingQueue<CaptchaImage> pool;
+    private final LongAdder fallbackCount = new LongAdder();
+
+    private ScheduledExecutorService refillExecutor;
+
+    /**
+     * @param enabled        是否启用预生成池
+     * @param capacity       池容量
+     * @param refillBatch    每轮最多补充的图片数量
+     * @param refillInterval 补充间隔（毫秒）
+     */
+    public CaptchaImagePool(@Value("${app.captcha.pool.enabled:true}") boolean enabled,
+                            @Value("${app.captcha.pool.size:200}") int capacity,
+                            @Value("${app.captcha.pool.refill-batch:20}") int refillBatch,
+                            @Value("${app.captcha.pool.refill-interval:100}") long refillInterval) {
+        this.enabled = enabled;
+        this.capacity = Math.max(1, capacity);
+        this.refillBatch = Math.max(1, refillBatch);
+        this.refillInterval = Math.max(1, refillInterval);
+        this.pool = new ArrayBlockingQueue<>(this.capacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("图形验证码预生成池未启用，验证码将同步渲染");
+            return;
+        }
+        refillExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "captcha-pool-refill");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        refillExecutor.scheduleWithFixedDelay(this::refillQuietly, 0, refillInterval, TimeUnit.MILLISECONDS);
+        log.info("图形验证码预生成池已启动，容量: {}，每轮补充: {}，间隔: {}ms",
+                capacity, refillBatch, refillInterval);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refillExecutor != null) {
+            refillExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 取出一张验证码图片，池为空时同步渲染
+     *
+     * @return 验证码图片
+     */
+    public CaptchaImage take() {
+        CaptchaImage image = pool.poll();
+        if (image != null) {
+            return image;
+        }
+        if (enabled) {
+            fallbackCount.increment();
+        }
+        return render();
+    }
+
+    /**
+     * 补充一轮验证码图片，直到池满或达到单轮上限
+     *
+     * @return 本轮补充的数量
+     */
+    public int refill() {
+        int added = 0;
+        while (added < refillBatch && pool.remainingCapacity() > 0) {
+            if (!pool.offer(render())) {
+                break;
+            }
+            added++;
+        }
+        return added;
+    }
+
+    /**
+     * 当前池中可用的图片数量
+     */
+    public int size() {
+        return pool.size();
+    }
+
+    /**
+     * 因池为空而同步渲染的累计次数
+     */
+    public long getFallbackCount() {
+        return fallbackCount.sum();
+    }
+
+    private void refillQuietly() {
+        try {
+            refill();
+        } catch (Exception e) {
+            log.warn("图形验证码预生成失败: {}", e.getMessage());
+        }
+    }
+
+    private static CaptchaImage render() {
+        String code = CaptchaUtils.randomNumeric(CODE_LENGTH);
+        return new CaptchaImage(code, ImageCaptchaUtils.generateBase64Png(code, IMAGE_WIDTH, IMAGE_HEIGHT));
+    }
+
+    /**
+     * 预生成的验证码图片
+     *
+     * @param code      验证码
+     * @param imgBase64 图片Base64（含Data URI前缀）
+     */
+    public record CaptchaImage(String code, String imgBase64) {
+    }
+}
@@ -0,0 +1,38 @@
+package cn.zhangchuangla.system.core.loader;
+
+import cn.zhangchuangla.common.core.loader.DataLoader;
+import cn.zhangchuangla.system.core.cache.ConfigRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 系统配置加载器
+ * 启动时加载系统配置快照，避免首次读取配置的请求同步查询数据库
+ *
+ * @author Chuang
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConfigRegistryLoader implements DataLoader {
+
+    private final ConfigRegistry configRegistry;
+
+    @Override
+    public String getName() {
+        return "系统配置加载器";
+    }
+
+    @Override
+    public int getOrder() {
+        return 5;
+    }
+
+    @Override
+    public boolean load() {
+        configRegistry.refresh();
+        log.info("系统配置快照版本: {}", configRegistry.getVersion());
+        return true;
+    }
+}
@@ -1,10 +1,12 @@
 package cn.zhangchuangla.system.core.mapper;
 
+import cn.zhangchuangla.common.core.entity.base.PageCursor;
 import cn.zhangchuangla.system.core.model.entity.SysLoginLog;
 import cn.zhangchuangla.system.core.model.request.log.SysLoginLogQueryRequest;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.List;
 
@@ -22,12 +24,24 @@ public interface SysLoginLogMapper extends BaseMapper<SysLoginLog> {
     Page<SysLoginLog> listLoginLog(Page<SysLoginLog> sysLoginLogPage, @Param("request") SysLoginLogQueryRequest request);
 
     /**
-     * 查询登录日志
+     * 游标分页查询登录日志，按登录时间和主键倒序，不统计总数
      *
      * @param request 查询参数
+     * @param cursor  上一页最后一条记录的位置，为null时查询第一页
+     * @param limit   查询条数
      * @return 登录日志列表
      */
-    List<SysLoginLog> listLoginLog(@Param("request") SysLoginLogQueryRequest request);
+    List<SysLoginLog> listLoginLogByCursor(@Param("request") SysLoginLogQueryRequest request,
+                                           @Param("cursor") PageCursor cursor,
+                                           @Param("limit") int limit);
+
+    /**
+     * 流式查询登录日志，结果逐行交给处理器
+     *
+     * @param request 查询参数
+     * @param handler 结果处理器
+     */
+    void exportLoginLog(@Param("request") SysLoginLogQueryRequest request, ResultHandler<SysLoginLog> handler);
 
     /**
      * 清空登录日志
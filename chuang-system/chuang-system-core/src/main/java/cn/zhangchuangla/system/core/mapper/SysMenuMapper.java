@@ -1,5 +1,6 @@
 package cn.zhangchuangla.system.core.mapper;
 
+import cn.zhangchuangla.common.core.entity.KeyValue;
 import cn.zhangchuangla.system.core.model.entity.SysMenu;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Param;
@@ -32,6 +33,20 @@ public interface SysMenuMapper extends BaseMapper<SysMenu> {
      */
     Set<String> getPermissionByRole(@Param("roleSet") Set<String> roleSet);
 
+    /**
+     * 获取全部角色的权限标识，键为角色标识符，值为权限标识符
+     *
+     * @return 角色权限列表
+     */
+    List<KeyValue> listRolePermission();
+
+    /**
+     * 获取全部角色的菜单，键为角色标识符，值为菜单ID
+     *
+     * @return 角色菜单列表
+     */
+    List<KeyValue> listRoleMenuId();
+
 }
 
 
@@ -1,10 +1,12 @@
 package cn.zhangchuangla.system.core.mapper;
 
+import cn.zhangchuangla.common.core.entity.base.PageCursor;
 import cn.zhangchuangla.system.core.model.entity.SysOperationLog;
 import cn.zhangchuangla.system.core.model.request.log.SysOperationLogQueryRequest;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.List;
 
@@ -23,12 +25,24 @@ public interface SysOperationLogMapper extends BaseMapper<SysOperationLog> {
     Page<SysOperationLog> listOperationLog(Page<SysOperationLog> page, @Param("request") SysOperationLogQueryRequest request);
 
     /**
-     * 查询操作日志,无分页
+     * 游标分页查询操作日志，按操作时间和主键倒序，不统计总数
      *
      * @param request 查询参数
-     * @return 返回数据
+     * @param cursor  上一页最后一条记录的位置，为null时查询第一页
+     * @param limit   查询条数
+     * @return 操作日志列表
      */
-    List<SysOperationLog> listOperationLog(@Param("request") SysOperationLogQueryRequest request);
+    List<SysOperationLog> listOperationLogByCursor(@Param("request") SysOperationLogQueryRequest request,
+                                                   @Param("cursor") PageCursor cursor,
+                                                   @Param("limit") int limit);
+
+    /**
+     * 流式查询操作日志，无分页，结果逐行交给处理器
+     *
+     * @param request 查询参数
+     * @param handler 结果处理器
+     */
+    void exportOperationLog(@Param("request") SysOperationLogQueryRequest request, ResultHandler<SysOperationLog> handler);
 
     /**
      * 清空操作日志
@@ -73,4 +73,11 @@ public class SysOperationLogQueryRequest extends BasePageRequest {
     @Schema(description = "结束时间", example = "2023-12-31", type = "string")
     @JsonFormat(pattern = "yyyy-MM-dd", timezone = "GMT+8")
     private LocalDate endTime;
+
+    /**
+     * 游标分页位置，仅游标分页接口使用，格式为“操作时间毫秒时间戳,主键”，为空表示第一页
+     */
+    @Schema(description = "游标分页位置，格式为“操作时间毫秒时间戳,主键”，取自上一页返回的 nextCursor，为空表示第一页",
+            example = "1755330073000,1024", type = "string")
+    private String after;
 }
@@ -1,10 +1,12 @@
 package cn.zhangchuangla.system.core.service;
 
+import cn.zhangchuangla.common.core.entity.base.CursorPage;
 import cn.zhangchuangla.system.core.model.entity.SysLoginLog;
 import cn.zhangchuangla.system.core.model.request.log.SysLoginLogQueryRequest;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
 import jakarta.servlet.http.HttpServletRequest;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.List;
 
@@ -34,13 +36,21 @@ public interface SysLoginLogService extends IService<SysLoginLog> {
      */
     Page<SysLoginLog> listLoginLog(SysLoginLogQueryRequest request);
 
+    /**
+     * 游标分页查询登录日志，不统计总数，适合深度翻页
+     *
+     * @param request 查询参数，after 为上一页返回的游标
+     * @return 登录日志游标分页结果
+     */
+    CursorPage<SysLoginLog> listLoginLogByCursor(SysLoginLogQueryRequest request);
+
     /**
      * 导出登录日志
      *
      * @param request 查询参数
-     * @return 登录日志列表
+     * @param handler 结果处理器
      */
-    List<SysLoginLog> exportLoginLog(SysLoginLogQueryRequest request);
+    void exportLoginLog(SysLoginLogQueryRequest request, ResultHandler<SysLoginLog> handler);
 
     /**
      * 清空登录日志
@@ -77,6 +77,14 @@ public interface SysMenuService extends IService<SysMenu> {
      */
     List<RouterVo> buildRouteVo(List<SysMenu> sysMenu);
 
+    /**
+     * 获取角色集合的前端路由
+     *
+     * @param roles 角色标识符集合
+     * @return 前端路由
+     */
+    List<RouterVo> listRouteByRoles(Set<String> roles);
+
     /**
      * 获取菜单选项
      *
@@ -1,9 +1,11 @@
 package cn.zhangchuangla.system.core.service;
 
+import cn.zhangchuangla.common.core.entity.base.CursorPage;
 import cn.zhangchuangla.system.core.model.entity.SysOperationLog;
 import cn.zhangchuangla.system.core.model.request.log.SysOperationLogQueryRequest;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.List;
 
@@ -22,6 +24,14 @@ public interface SysOperationLogService extends IService<SysOperationLog> {
      */
     Page<SysOperationLog> listOperationLog(SysOperationLogQueryRequest request);
 
+    /**
+     * 游标分页获取系统操作日志列表，不统计总数，适合深度翻页
+     *
+     * @param request 请求对象，after 为上一页返回的游标
+     * @return 操作日志游标分页结果
+     */
+    CursorPage<SysOperationLog> listOperationLogByCursor(SysOperationLogQueryRequest request);
+
     /**
      * 清空操作日志
      *
@@ -38,12 +48,12 @@ public interface SysOperationLogService extends IService<SysOperationLog> {
     SysOperationLog getOperationLogById(Long id);
 
     /**
-     * 导出操作日志
+     * 流式导出操作日志，查询结果逐行交给处理器，不在内存中保留完整列表
      *
      * @param request 请求对象
-     * @return 操作日志列表
+     * @param handler 结果处理器
      */
-    List<SysOperationLog> exportOperationLog(SysOperationLogQueryRequest request);
+    void exportOperationLog(SysOperationLogQueryRequest request, ResultHandler<SysOperationLog> handler);
 
 
     /**
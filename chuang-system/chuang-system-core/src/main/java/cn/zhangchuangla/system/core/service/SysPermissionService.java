@@ -30,6 +30,15 @@ public interface SysPermissionService {
      */
     Set<String> getPermissionByRole(String role);
 
+    /**
+     * 判断角色集合是否拥有指定权限
+     *
+     * @param roleSet    角色标识符集合
+     * @param permission 权限标识符
+     * @return true - 拥有该权限，false - 没有该权限
+     */
+    boolean hasPermission(Set<String> roleSet, String permission);
+
     /**
      * 根据角色id获取权限列表
      *
@@ -2,9 +2,9 @@ package cn.zhangchuangla.system.core.service.impl;
 
 import cn.zhangchuangla.common.core.utils.Assert;
 import cn.zhangchuangla.common.core.utils.CaptchaUtils;
-import cn.zhangchuangla.common.core.utils.ImageCaptchaUtils;
 import cn.zhangchuangla.common.redis.constant.RedisConstants;
 import cn.zhangchuangla.common.redis.core.RedisCache;
+import cn.zhangchuangla.system.core.captcha.CaptchaImagePool;
 import cn.zhangchuangla.system.core.model.request.CaptchaRequest;
 import cn.zhangchuangla.system.core.model.vo.captcha.CaptchaImageVo;
 import cn.zhangchuangla.system.core.service.CaptchaService;
@@ -27,6 +27,7 @@ public class CaptchaServiceImpl implements CaptchaService {
 
     private final static String CAPTCHA_CODE_KEY = RedisConstants.CAPTCHA_CODE;
     private final RedisCache redisCache;
+    private final CaptchaImagePool captchaImagePool;
     private final long timeout = 5;
 
     @Override
@@ -113,15 +114,14 @@ public class CaptchaServiceImpl implements CaptchaService {
      */
     @Override
     public CaptchaImageVo generateImageCaptcha() {
-        String code = CaptchaUtils.randomNumeric(4);
+        CaptchaImagePool.CaptchaImage image = captchaImagePool.take();
 
         String uuid = UUID.randomUUID().toString();
-        String base64 = ImageCaptchaUtils.generateBase64Png(code, 160, 50);
         // 存储到Redis，大小写不敏感校验采用统一大写
-        redisCache.setCacheObject(CAPTCHA_CODE_KEY + uuid, code.toUpperCase(), timeout, TimeUnit.MINUTES);
+        redisCache.setCacheObject(CAPTCHA_CODE_KEY + uuid, image.code().toUpperCase(), timeout, TimeUnit.MINUTES);
         CaptchaImageVo vo = new CaptchaImageVo();
         vo.setUuid(uuid);
-        vo.setImgBase64(base64);
+        vo.setImgBase64(image.imgBase64());
         return vo;
     }
 
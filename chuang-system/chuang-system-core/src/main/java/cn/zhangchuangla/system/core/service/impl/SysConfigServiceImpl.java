@@ -1,6 +1,7 @@
 package cn.zhangchuangla.system.core.service.impl;
 
 import cn.zhangchuangla.common.core.exception.ServiceException;
+import cn.zhangchuangla.system.core.cache.ConfigRegistry;
 import cn.zhangchuangla.system.core.mapper.SysConfigMapper;
 import cn.zhangchuangla.system.core.model.entity.SysConfig;
 import cn.zhangchuangla.system.core.model.request.config.SysConfigAddRequest;
@@ -28,6 +29,7 @@ public class SysConfigServiceImpl extends ServiceImpl<SysConfigMapper, SysConfig
         implements SysConfigService {
 
     private final SysConfigMapper sysConfigMapper;
+    private final ConfigRegistry configRegistry;
 
     /**
      * 分页查询系统配置
@@ -65,7 +67,11 @@ public class SysConfigServiceImpl extends ServiceImpl<SysConfigMapper, SysConfig
         }
         SysConfig sysConfig = new SysConfig();
         BeanUtils.copyProperties(request, sysConfig);
-        return save(sysConfig);
+        boolean saved = save(sysConfig);
+        if (saved) {
+            configRegistry.publishChange();
+        }
+        return saved;
     }
 
     /**
@@ -81,7 +87,11 @@ public class SysConfigServiceImpl extends ServiceImpl<SysConfigMapper, SysConfig
         }
         SysConfig sysConfig = new SysConfig();
         BeanUtils.copyProperties(request, sysConfig);
-        return updateById(sysConfig);
+        boolean updated = updateById(sysConfig);
+        if (updated) {
+            configRegistry.publishChange();
+        }
+        return updated;
     }
 
     /**
@@ -94,7 +104,11 @@ public class SysConfigServiceImpl extends ServiceImpl<SysConfigMapper, SysConfig
     @Override
     public boolean deleteSysConfigById(List<Integer> id) {
         if (id != null && !id.isEmpty()) {
-            return removeByIds(id);
+            boolean removed = removeByIds(id);
+            if (removed) {
+                configRegistry.publishChange();
+            }
+            return removed;
         }
         return false;
     }
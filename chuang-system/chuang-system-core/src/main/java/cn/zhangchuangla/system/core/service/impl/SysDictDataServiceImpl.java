@@ -5,6 +5,7 @@ import cn.zhangchuangla.common.core.enums.ResultCode;
 import cn.zhangchuangla.common.core.exception.ServiceException;
 import cn.zhangchuangla.common.core.utils.SecurityUtils;
 import cn.zhangchuangla.common.redis.constant.RedisConstants;
+import cn.zhangchuangla.common.excel.core.DictDataHandler;
 import cn.zhangchuangla.common.redis.core.RedisCache;
 import cn.zhangchuangla.system.core.mapper.SysDictDataMapper;
 import cn.zhangchuangla.system.core.model.entity.SysDictData;
@@ -41,6 +42,7 @@ public class SysDictDataServiceImpl extends ServiceImpl<SysDictDataMapper, SysDi
     private final SysDictDataMapper sysDictDataMapper;
     private final CacheManager cacheManager;
     private final RedisCache redisCache;
+    private final DictDataHandler dictDataHandler;
 
     /**
      * 分页查询字典数据列表
@@ -109,7 +111,11 @@ public class SysDictDataServiceImpl extends ServiceImpl<SysDictDataMapper, SysDi
         sysDictData.setCreateBy(SecurityUtils.getUsername());
 
         sysDictData.setCreateBy(SecurityUtils.getUsername());
-        return save(sysDictData);
+        boolean result = save(sysDictData);
+        if (result) {
+            evictDictOptions(request.getDictType());
+        }
+        return result;
     }
 
     /**
@@ -224,6 +230,8 @@ public class SysDictDataServiceImpl extends ServiceImpl<SysDictDataMapper, SysDi
                 // 同步删除旧的手工Redis键，兼容 Excel 等读取逻辑
                 String manualKey = String.format(RedisConstants.Dict.DICT_DATA_KEY, dictType);
                 redisCache.deleteObject(manualKey);
+                // 通知所有节点丢弃 Excel 导出使用的本地字典缓存
+                dictDataHandler.publishChange();
             } catch (Exception e) {
                 log.warn("清除字典缓存失败: {}, 错误: {}", dictType, e.getMessage());
             }
@@ -4,6 +4,7 @@ import cn.zhangchuangla.common.core.entity.Option;
 import cn.zhangchuangla.common.core.enums.ResultCode;
 import cn.zhangchuangla.common.core.exception.ServiceException;
 import cn.zhangchuangla.common.core.utils.SecurityUtils;
+import cn.zhangchuangla.common.excel.core.DictDataHandler;
 import cn.zhangchuangla.common.redis.constant.RedisConstants;
 import cn.zhangchuangla.common.redis.core.RedisCache;
 import cn.zhangchuangla.system.core.mapper.SysDictTypeMapper;
@@ -43,6 +44,7 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
     private final SysDictDataService sysDictDataService;
     private final CacheManager cacheManager;
     private final RedisCache redisCache;
+    private final DictDataHandler dictDataHandler;
 
     /**
      * 分页查询字典类型列表
@@ -210,6 +212,7 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
 
             if (dictTypes.isEmpty()) {
                 log.info("没有找到启用的字典类型");
+                dictDataHandler.publishChange();
                 return true;
             }
 
@@ -245,6 +248,8 @@ public class SysDictTypeServiceImpl extends ServiceImpl<SysDictTypeMapper, SysDi
             }
 
             log.info("字典缓存刷新完成，成功: {} 个，失败: {} 个", successCount, failCount);
+            // 通知所有节点丢弃 Excel 导出使用的本地字典缓存
+            dictDataHandler.publishChange();
             // 只有当没有失败的时候才返回true
             return failCount == 0;
 
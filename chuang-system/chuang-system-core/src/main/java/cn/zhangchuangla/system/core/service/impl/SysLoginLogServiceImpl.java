@@ -1,6 +1,9 @@
 package cn.zhangchuangla.system.core.service.impl;
 
 import cn.zhangchuangla.common.core.constant.Constants;
+import cn.zhangchuangla.common.core.entity.base.CursorPage;
+import cn.zhangchuangla.common.core.entity.base.PageCursor;
+import cn.zhangchuangla.common.core.entity.device.BrowserDevice;
 import cn.zhangchuangla.common.core.utils.Assert;
 import cn.zhangchuangla.common.core.utils.client.IPUtils;
 import cn.zhangchuangla.common.core.utils.client.UserAgentUtils;
@@ -14,6 +17,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.stereotype.Service;
 
 import java.util.Date;
@@ -44,15 +48,15 @@ public class SysLoginLogServiceImpl extends ServiceImpl<SysLoginLogMapper, SysLo
     public void recordLoginLog(String username, HttpServletRequest httpServletRequest, boolean isSuccess) {
         String ipAddr = IPUtils.getIpAddress(httpServletRequest);
         String userAgent = UserAgentUtils.getUserAgent(httpServletRequest);
-        UserAgentUtils.getDeviceManufacturer(userAgent);
+        BrowserDevice device = UserAgentUtils.parse(userAgent);
 
         String region = IPUtils.getRegion(ipAddr);
-        String osName = UserAgentUtils.getOsName(userAgent);
-        String browserName = UserAgentUtils.getBrowserName(userAgent);
-        String osVersion = UserAgentUtils.getOsVersion(userAgent);
-        String browserType = UserAgentUtils.getBrowserType(userAgent);
-        String deviceType = UserAgentUtils.getDeviceType(userAgent);
-        String browserRenderingEngine = UserAgentUtils.getBrowserRenderingEngine(userAgent);
+        String osName = device.getOsName();
+        String browserName = device.getBrowserName();
+        String osVersion = device.getOsVersion();
+        String browserType = device.getBrowserType();
+        String deviceType = device.getDeviceType();
+        String browserRenderingEngine = device.getBrowserRenderingEngine();
 
         log.info("用户名: {},登录: {},登录时间: {},系统名称: {}, IP地址: {}, 浏览器名称: {}, 设备版本: {}, 浏览器类型: {}, 设备类型: {}, 浏览器渲染引擎: {}, 区域: {}",
                 username,
@@ -94,15 +98,30 @@ public class SysLoginLogServiceImpl extends ServiceImpl<SysLoginLogMapper, SysLo
         return sysLoginLogMapper.listLoginLog(sysLoginLogPage, request);
     }
 
+    /**
+     * 游标分页查询登录日志
+     *
+     * @param request 查询参数
+     * @return 登录日志游标分页结果
+     */
+    @Override
+    public CursorPage<SysLoginLog> listLoginLogByCursor(SysLoginLogQueryRequest request) {
+        int size = Math.max(request.getPageSize(), 1);
+        PageCursor cursor = PageCursor.parse(request.getAfter());
+        // 多取一条用于判断是否存在下一页
+        List<SysLoginLog> records = sysLoginLogMapper.listLoginLogByCursor(request, cursor, size + 1);
+        return CursorPage.of(records, size, loginLog -> new PageCursor(loginLog.getLoginTime(), loginLog.getId()));
+    }
+
     /**
      * 导出登录日志
      *
      * @param request 登录日志列表查询参数
-     * @return 登录日志列表
+     * @param handler 结果处理器
      */
     @Override
-    public List<SysLoginLog> exportLoginLog(SysLoginLogQueryRequest request) {
-        return sysLoginLogMapper.listLoginLog(request);
+    public void exportLoginLog(SysLoginLogQueryRequest request, ResultHandler<SysLoginLog> handler) {
+        sysLoginLogMapper.exportLoginLog(request, handler);
     }
 
 
@@ -8,6 +8,9 @@ import cn.zhangchuangla.common.core.exception.ServiceException;
 import cn.zhangchuangla.common.core.utils.BeanCotyUtils;
 import cn.zhangchuangla.common.core.utils.SecurityUtils;
 import cn.zhangchuangla.system.core.enums.MenuTypeEnum;
+import cn.zhangchuangla.system.core.cache.MenuSnapshot;
+import cn.zhangchuangla.system.core.cache.MenuSnapshotCache;
+import cn.zhangchuangla.system.core.cache.RolePermissionCache;
 import cn.zhangchuangla.system.core.mapper.SysMenuMapper;
 import cn.zhangchuangla.system.core.model.entity.SysMenu;
 import cn.zhangchuangla.system.core.model.request.menu.SysMenuAddRequest;
@@ -26,8 +29,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -41,10 +44,16 @@ import java.util.Set;
 public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu>
         implements SysMenuService {
 
-    private final SysMenuMapper sysMenuMapper;
     private final SysRoleMenuService sysRoleMenuService;
+    private final RolePermissionCache rolePermissionCache;
+    private final MenuSnapshotCache menuSnapshotCache;
     private final long ROOT_MENU_ID = 0L;
 
+    /**
+     * 菜单启用状态
+     */
+    private static final int MENU_STATUS_ENABLE = 0;
+
 
     /**
      * 获取菜单列表
@@ -54,7 +63,7 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu>
      */
     @Override
     public List<SysMenu> listMenu(SysMenuQueryRequest request) {
-        return list();
+        return menuSnapshotCache.get().getMenus();
     }
 
 
@@ -125,7 +134,10 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu>
         };
 
         // 7. 保存菜单
-        return save(processedMenu);
+        boolean result = save(processedMenu);
+        rolePermissionCache.publishChange();
+        menuSnapshotCache.publishChange();
+        return result;
     }
 
     /**
@@ -176,7 +188,10 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu>
             case EMBEDDED -> saveEmbedded(sysMenu);
             case LINK -> saveLink(sysMenu);
         };
-        return updateById(processedMenu);
+        boolean result = updateById(processedMenu);
+        rolePermissionCache.publishChange();
+        menuSnapshotCache.publishChange();
+        return result;
     }
 
     /**
@@ -229,7 +244,10 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu>
         if (sysRoleMenuService.isMenuAssignedToRoles(menuId)) {
             throw new ServiceException(ResultCode.OPERATION_ERROR, "当前菜单已分配，请先解除分配");
         }
-        return removeById(menuId);
+        boolean result = removeById(menuId);
+        rolePermissionCache.publishChange();
+        menuSnapshotCache.publishChange();
+        return result;
     }
 
     /**
@@ -240,15 +258,31 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu>
      */
     @Override
     public List<SysMenu> listMenuByRoleName(Set<String> roleName) {
+        MenuSnapshot snapshot = menuSnapshotCache.get();
         //超级管理员拥有所有权限
         if (roleName.contains(RolesConstant.SUPER_ADMIN)) {
-            return list();
+            return snapshot.getMenus();
         }
-        return sysMenuMapper.listSysMenuByRoleName(roleName).stream()
-                .distinct()
+        Set<Long> menuIds = snapshot.getMenuIds(roleName);
+        return snapshot.getMenus().stream()
+                .filter(menu -> menuIds.contains(menu.getId()))
+                .filter(menu -> Integer.valueOf(MENU_STATUS_ENABLE).equals(menu.getStatus()))
                 .toList();
     }
 
+    /**
+     * 获取角色集合的路由树，结果按角色集合缓存在当前菜单快照中
+     *
+     * @param roles 角色标识符集合
+     * @return 路由树
+     */
+    @Override
+    public List<RouterVo> listRouteByRoles(Set<String> roles) {
+        MenuSnapshot snapshot = menuSnapshotCache.get();
+        return snapshot.getRouteCache().computeIfAbsent(Set.copyOf(roles),
+                key -> buildRouteVo(listMenuByRoleName(key)));
+    }
+
     /**
      * 构建菜单路由
      *
@@ -257,26 +291,22 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu>
      */
     @Override
     public List<RouterVo> buildRouteVo(List<SysMenu> sysMenu) {
-        return buildRouterTree(sysMenu, ROOT_MENU_ID);
+        return buildRouterTree(MenuSnapshot.indexByParentId(sysMenu), ROOT_MENU_ID);
     }
 
     /**
      * 递归构建路由树
      *
-     * @param menuList 菜单列表
-     * @param parentId 父菜单ID
+     * @param childrenIndex 按父菜单ID分组并已排序的菜单
+     * @param parentId      父菜单ID
      * @return 路由树
      */
-    private List<RouterVo> buildRouterTree(List<SysMenu> menuList, Long parentId) {
-        int statusEnable = 0;
-        return menuList.stream()
-                .filter(menu -> parentId.equals(menu.getParentId()))
+    private List<RouterVo> buildRouterTree(Map<Long, List<SysMenu>> childrenIndex, Long parentId) {
+        return childrenIndex.getOrDefault(parentId, List.of()).stream()
                 //菜单状态为启用
-                .filter(menu -> menu.getStatus() == statusEnable)
+                .filter(menu -> Integer.valueOf(MENU_STATUS_ENABLE).equals(menu.getStatus()))
                 //按钮类型不进行生成
                 .filter(menu -> !MenuTypeEnum.BUTTON.getValue().equals(menu.getType()))
-                //排序
-                .sorted(Comparator.comparing(SysMenu::getSort).reversed())
                 .map(menu -> {
                     RouterVo routerVo = new RouterVo();
                     routerVo.setName(menu.getName());
@@ -285,7 +315,7 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu>
                     routerVo.setComponent(menu.getComponent());
                     routerVo.setMeta(setMateVo(menu));
                     // 递归构建子路由
-                    List<RouterVo> children = buildRouterTree(menuList, menu.getId());
+                    List<RouterVo> children = buildRouterTree(childrenIndex, menu.getId());
                     if (!children.isEmpty()) {
                         routerVo.setChildren(children);
                     }
@@ -318,7 +348,7 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu>
      */
     @Override
     public List<Option<String>> getMenuOptions() {
-        return list().stream()
+        return menuSnapshotCache.get().getMenus().stream()
                 .map(menu -> new Option<>(menu.getId().toString(), menu.getTitle()))
                 .toList();
     }
@@ -367,8 +397,7 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu>
      */
     @Override
     public List<MenuOption> menuTree() {
-        List<SysMenu> list = list();
-        return buildMenuTreeOption(list, ROOT_MENU_ID);
+        return buildMenuTreeOption(menuSnapshotCache.get().getChildrenByParentId(), ROOT_MENU_ID);
     }
 
     /**
@@ -378,7 +407,7 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu>
      */
     @Override
     public List<SysMenuListVo> buildMenuList(List<SysMenu> list) {
-        return buildMenuList(list, ROOT_MENU_ID);
+        return buildMenuList(MenuSnapshot.indexByParentId(list), ROOT_MENU_ID);
     }
 
 
@@ -397,17 +426,15 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu>
     /**
      * 构建菜单列表
      *
-     * @param menuList 菜单列表
-     * @param parentId 父菜单ID
+     * @param childrenIndex 按父菜单ID分组并已排序的菜单
+     * @param parentId      父菜单ID
      * @return 菜单列表
      */
-    private List<SysMenuListVo> buildMenuList(List<SysMenu> menuList, Long parentId) {
-        return menuList.stream()
-                .filter(menu -> parentId.equals(menu.getParentId()))
-                .sorted(Comparator.comparing(SysMenu::getSort).reversed())
+    private List<SysMenuListVo> buildMenuList(Map<Long, List<SysMenu>> childrenIndex, Long parentId) {
+        return childrenIndex.getOrDefault(parentId, List.of()).stream()
                 .map(menu -> {
                     SysMenuListVo sysMenuListVo = BeanCotyUtils.copyProperties(menu, SysMenuListVo.class);
-                    sysMenuListVo.setChildren(buildMenuList(menuList, menu.getId()));
+                    sysMenuListVo.setChildren(buildMenuList(childrenIndex, menu.getId()));
                     return sysMenuListVo;
                 })
                 .toList();
@@ -416,20 +443,18 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu>
     /**
      * 构建菜单树选项
      *
-     * @param menuList 菜单列表
-     * @param parentId 父菜单ID
+     * @param childrenIndex 按父菜单ID分组并已排序的菜单
+     * @param parentId      父菜单ID
      * @return 菜单树选项
      */
-    public List<MenuOption> buildMenuTreeOption(List<SysMenu> menuList, Long parentId) {
-        return menuList.stream()
-                .filter(menu -> parentId.equals(menu.getParentId()))
-                .sorted(Comparator.comparing(SysMenu::getSort).reversed())
+    public List<MenuOption> buildMenuTreeOption(Map<Long, List<SysMenu>> childrenIndex, Long parentId) {
+        return childrenIndex.getOrDefault(parentId, List.of()).stream()
                 .map(menu -> {
                     MenuOption menuOption = new MenuOption();
                     menuOption.setId(menu.getId());
                     menuOption.setTitle(menu.getTitle());
                     menuOption.setIcon(menu.getIcon());
-                    menuOption.setChildren(buildMenuTreeOption(menuList, menu.getId()));
+                    menuOption.setChildren(buildMenuTreeOption(childrenIndex, menu.getId()));
                     return menuOption;
                 })
                 .toList();
@@ -1,5 +1,7 @@
 package cn.zhangchuangla.system.core.service.impl;
 
+import cn.zhangchuangla.common.core.entity.base.CursorPage;
+import cn.zhangchuangla.common.core.entity.base.PageCursor;
 import cn.zhangchuangla.common.core.utils.Assert;
 import cn.zhangchuangla.system.core.mapper.SysOperationLogMapper;
 import cn.zhangchuangla.system.core.model.entity.SysOperationLog;
@@ -10,6 +12,7 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -40,6 +43,21 @@ public class SysOperationLogServiceImpl extends ServiceImpl<SysOperationLogMappe
         return sysOperationLogMapper.listOperationLog(sysOperationLogPage, request);
     }
 
+    /**
+     * 游标分页获取系统操作日志列表
+     *
+     * @param request 请求对象
+     * @return 操作日志游标分页结果
+     */
+    @Override
+    public CursorPage<SysOperationLog> listOperationLogByCursor(SysOperationLogQueryRequest request) {
+        int size = Math.max(request.getPageSize(), 1);
+        PageCursor cursor = PageCursor.parse(request.getAfter());
+        // 多取一条用于判断是否存在下一页
+        List<SysOperationLog> records = sysOperationLogMapper.listOperationLogByCursor(request, cursor, size + 1);
+        return CursorPage.of(records, size, operationLog -> new PageCursor(operationLog.getCreateTime(), operationLog.getId()));
+    }
+
 
     /**
      * 清空操作日志
@@ -68,11 +86,11 @@ public class SysOperationLogServiceImpl extends ServiceImpl<SysOperationLogMappe
      * 导出操作日志
      *
      * @param request 请求对象
-     * @return 操作日志列表
+     * @param handler 结果处理器
      */
     @Override
-    public List<SysOperationLog> exportOperationLog(SysOperationLogQueryRequest request) {
-        return sysOperationLogMapper.listOperationLog(request);
+    public void exportOperationLog(SysOperationLogQueryRequest request, ResultHandler<SysOperationLog> handler) {
+        sysOperationLogMapper.exportOperationLog(request, handler);
     }
 
     /**
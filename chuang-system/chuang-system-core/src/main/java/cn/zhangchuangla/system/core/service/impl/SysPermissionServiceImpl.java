@@ -4,7 +4,8 @@ import cn.zhangchuangla.common.core.constant.RolesConstant;
 import cn.zhangchuangla.common.core.enums.ResultCode;
 import cn.zhangchuangla.common.core.exception.ServiceException;
 import cn.zhangchuangla.common.core.utils.BeanCotyUtils;
-import cn.zhangchuangla.system.core.mapper.SysMenuMapper;
+import cn.zhangchuangla.system.core.cache.MenuSnapshotCache;
+import cn.zhangchuangla.system.core.cache.RolePermissionCache;
 import cn.zhangchuangla.system.core.model.entity.SysMenu;
 import cn.zhangchuangla.system.core.model.entity.SysRole;
 import cn.zhangchuangla.system.core.model.entity.SysRoleMenu;
@@ -19,6 +20,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -33,10 +35,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SysPermissionServiceImpl implements SysPermissionService {
 
-    private final SysMenuMapper sysMenuMapper;
     private final SysRoleService sysRoleService;
     private final SysMenuService sysMenuService;
     private final SysRoleMenuService sysRoleMenuService;
+    private final RolePermissionCache rolePermissionCache;
+    private final MenuSnapshotCache menuSnapshotCache;
 
     /**
      * 根据角色标识符集合获取权限标识符
@@ -50,7 +53,22 @@ public class SysPermissionServiceImpl implements SysPermissionService {
         if (roleSet.contains(RolesConstant.SUPER_ADMIN)) {
             return Set.of("*:*:*");
         }
-        return sysMenuMapper.getPermissionByRole(roleSet);
+        return rolePermissionCache.getPermissions(roleSet);
+    }
+
+    /**
+     * 判断角色集合是否拥有指定权限
+     *
+     * @param roleSet    角色标识符集合
+     * @param permission 权限标识符
+     * @return true - 拥有该权限，false - 没有该权限
+     */
+    @Override
+    public boolean hasPermission(Set<String> roleSet, String permission) {
+        if (roleSet.contains(RolesConstant.SUPER_ADMIN)) {
+            return true;
+        }
+        return rolePermissionCache.hasPermission(roleSet, permission);
     }
 
     /**
@@ -89,6 +107,7 @@ public class SysPermissionServiceImpl implements SysPermissionService {
      * @return 是否更新成功
      */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public boolean updateRolePermission(SysUpdateRolePermissionRequest request) {
         Long roleId = request.getRoleId();
         SysRole sysRole = sysRoleService.getById(roleId);
@@ -99,6 +118,10 @@ public class SysPermissionServiceImpl implements SysPermissionService {
             throw new ServiceException(ResultCode.OPERATION_ERROR, "超级管理员角色不允许修改");
         }
 
+        // 权限变更在事务提交后通知各节点重建角色权限索引
+        rolePermissionCache.publishChange();
+        menuSnapshotCache.publishChange();
+
         // 删除旧权限
         sysRoleMenuService.remove(new LambdaQueryWrapper<SysRoleMenu>().eq(SysRoleMenu::getRoleId, roleId));
 
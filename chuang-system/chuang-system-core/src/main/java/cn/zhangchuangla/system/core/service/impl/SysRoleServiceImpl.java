@@ -9,6 +9,8 @@ import cn.zhangchuangla.common.core.utils.Assert;
 import cn.zhangchuangla.common.core.utils.SecurityUtils;
 import cn.zhangchuangla.common.redis.constant.RedisConstants;
 import cn.zhangchuangla.common.redis.core.RedisCache;
+import cn.zhangchuangla.system.core.cache.MenuSnapshotCache;
+import cn.zhangchuangla.system.core.cache.RolePermissionCache;
 import cn.zhangchuangla.system.core.mapper.SysRoleMapper;
 import cn.zhangchuangla.system.core.model.entity.SysMenu;
 import cn.zhangchuangla.system.core.model.entity.SysRole;
@@ -53,6 +55,8 @@ public class SysRoleServiceImpl extends ServiceImpl<SysRoleMapper, SysRole>
     private final RedisCache redisCache;
     private final SysMenuService sysMenuService;
     private final SysUserRoleService sysUserRoleService;
+    private final RolePermissionCache rolePermissionCache;
+    private final MenuSnapshotCache menuSnapshotCache;
 
     /**
      * 角色列表
@@ -117,7 +121,10 @@ public class SysRoleServiceImpl extends ServiceImpl<SysRoleMapper, SysRole>
         }
         BeanUtils.copyProperties(roleAddRequest, sysRole);
         sysRole.setCreateBy(SecurityUtils.getUsername());
-        return save(sysRole);
+        boolean result = save(sysRole);
+        rolePermissionCache.publishChange();
+        menuSnapshotCache.publishChange();
+        return result;
     }
 
     /**
@@ -172,7 +179,10 @@ public class SysRoleServiceImpl extends ServiceImpl<SysRoleMapper, SysRole>
         SysRole sysRole = new SysRole();
         sysRole.setUpdateBy(SecurityUtils.getUsername());
         BeanUtils.copyProperties(request, sysRole);
-        return updateById(sysRole);
+        boolean result = updateById(sysRole);
+        rolePermissionCache.publishChange();
+        menuSnapshotCache.publishChange();
+        return result;
     }
 
     /**
@@ -237,7 +247,10 @@ public class SysRoleServiceImpl extends ServiceImpl<SysRoleMapper, SysRole>
             throw new ServiceException(ResultCode.OPERATION_ERROR, "角色已分配菜单，不能删除");
         }
 
-        return removeByIds(ids);
+        boolean result = removeByIds(ids);
+        rolePermissionCache.publishChange();
+        menuSnapshotCache.publishChange();
+        return result;
     }
 
     /**
@@ -331,6 +344,10 @@ public class SysRoleServiceImpl extends ServiceImpl<SysRoleMapper, SysRole>
             addParentMenuIds(menuId, allMenus, finalMenuIds);
         }
 
+        // 权限变更在事务提交后通知各节点重建角色权限索引
+        rolePermissionCache.publishChange();
+        menuSnapshotCache.publishChange();
+
         // 删除旧权限
         sysRoleMenuService.remove(new LambdaQueryWrapper<SysRoleMenu>()
                 .eq(SysRoleMenu::getRoleId, role.getId()));
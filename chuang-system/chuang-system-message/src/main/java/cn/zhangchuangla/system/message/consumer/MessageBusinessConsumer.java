@@ -2,6 +2,7 @@ package cn.zhangchuangla.system.message.consumer;
 
 import cn.zhangchuangla.common.mq.config.RabbitMQConfig;
 import cn.zhangchuangla.common.mq.dto.MessageSendDTO;
+import cn.zhangchuangla.system.message.counter.UserMessageCounter;
 import cn.zhangchuangla.system.message.enums.MessageReceiveTypeEnum;
 import cn.zhangchuangla.system.message.model.entity.SysUserMessage;
 import cn.zhangchuangla.system.message.service.SysUserMessageService;
@@ -10,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
@@ -37,13 +39,18 @@ import java.util.stream.Collectors;
 public class MessageBusinessConsumer {
 
     private final SysUserMessageService sysUserMessageService;
+    private final UserMessageCounter userMessageCounter;
 
     /**
      * 消费用户消息队列中的消息，批量插入用户消息记录
+     * <p>
+     * 在事务内处理，消息总数的增量在记录提交后才执行，与阅读计数的统计保持一致。
+     * </p>
      *
      * @param message 消息内容
      */
     @RabbitListener(queues = RabbitMQConfig.USER_MESSAGE_QUEUE)
+    @Transactional(rollbackFor = Exception.class)
     public void handleUserMessageBatch(String message) {
         long startTime = System.currentTimeMillis();
         try {
@@ -92,6 +99,10 @@ public class MessageBusinessConsumer {
 
         // 批量插入
         boolean success = sysUserMessageService.saveBatch(userMessages);
+        if (success) {
+            // 消息记录落库后再增加接收用户的消息总数
+            userMessageCounter.increaseTotal(userIds);
+        }
         logResult(success, messageSendDTO, userIds.size(), startTime);
     }
 
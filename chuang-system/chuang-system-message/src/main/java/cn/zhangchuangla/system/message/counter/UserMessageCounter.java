@@ -0,0 +1,398 @@
+package cn.zhangchuangla.system.message.counter;
+
+import cn.zhangchuangla.common.redis.constant.RedisConstants;
+import cn.zhangchuangla.system.message.mapper.SysMessageMapper;
+import cn.zhangchuangla.system.message.mapper.UserMessageExtMapper;
+import cn.zhangchuangla.system.message.model.dto.UserMessageReadCountDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 用户消息计数器
+ * <p>
+ * 在Redis中为每个用户维护消息总数与已读数量（Hash字段 total/read），获取未读数量只需一次读取，
+ * 不再每次联表统计。发送、阅读、删除等操作在事务提交后增量更新计数，计数不存在时从数据库统计后写入。
+ * </p>
+ * <p>
+ * 每次增量更新都会递增Hash中的 version 字段，从数据库统计的结果只有在统计期间版本未变化时才会写入，
+ * 避免覆盖并发发生的增量；后台按固定间隔用数据库重新校准已缓存的计数，修正角色、部门调整等带来的偏差。
+ * </p>
+ * <p>
+ * 数据提交后、增量执行前，数据库统计已经包含本次变更，此时写入统计结果会与随后的增量重复计数。
+ * 因此计数变更在事务内先为相关用户设置待提交标记，事务结束并执行增量后再清除，存在标记时统计结果只返回不写入。
+ * 标记带有过期时间，节点异常退出时不会永久阻止写入。
+ * </p>
+ *
+ * @author Chuang
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserMessageCounter {
+
+    /**
+     * 增量更新计数的Lua脚本，只更新已缓存的计数，未缓存的用户在下次读取时从数据库统计
+     * KEYS为计数键；ARGV[1]为字段名，ARGV[2]为增量
+     */
+    private static final String INCREMENT_LUA_SCRIPT = """
+            local delta = tonumber(ARGV[2])
+            local updated = 0
+            for i = 1, #KEYS do
+                local key = KEYS[i]
+                if redis.call('exists', key) == 1 then
+                    redis.call('hincrby', key, 'version', 1)
+                    if redis.call('hexists', key, ARGV[1]) == 1 then
+                        if redis.call('hincrby', key, ARGV[1], delta) < 0 then
+                            redis.call('hset', key, ARGV[1], 0)
+                        end
+                        updated = updated + 1
+                    end
+                end
+            end
+            return updated
+            """;
+
+    /**
+     * 读取计数版本号的Lua脚本，计数不存在且 ARGV[1] 为1时创建只包含版本号的占位计数并加入索引
+     * KEYS[1]为计数键，KEYS[2]为用户索引；ARGV[2]为过期时间（秒），ARGV[3]为用户ID
+     */
+    private static final String VERSION_LUA_SCRIPT = """
+            local version = redis.call('hget', KEYS[1], 'version')
+            if version then
+                return tonumber(version)
+            end
+            if ARGV[1] ~= '1' then
+                return -1
+            end
+            redis.call('hset', KEYS[1], 'version', 0)
+            redis.call('expire', KEYS[1], ARGV[2])
+            redis.call('sadd', KEYS[2], ARGV[3])
+            return 0
+            """;
+
+    /**
+     * 写入数据库统计结果的Lua脚本，仅当没有待提交的计数变更且版本号与统计前一致时写入
+     * KEYS[1]为计数键，KEYS[2]为用户待提交标记，KEYS[3]为全员待提交标记；
+     * ARGV[1]为统计前的版本号，ARGV[2]为总数，ARGV[3]为已读数，ARGV[4]为过期时间（秒）
+     */
+    private static final String STORE_LUA_SCRIPT = """
+            if redis.call('exists', KEYS[2]) == 1 or redis.call('exists', KEYS[3]) == 1 then
+                return 0
+            end
+            if redis.call('hget', KEYS[1], 'version') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('hset', KEYS[1], 'total', ARGV[2], 'read', ARGV[3])
+            redis.call('expire', KEYS[1], ARGV[4])
+            return 1
+            """;
+
+    /**
+     * 设置待提交标记的Lua脚本，同一用户的多个事务分别计数
+     * KEYS为待提交标记键；ARGV[1]为过期时间（秒）
+     */
+    private static final String MARK_PENDING_LUA_SCRIPT = """
+            for i = 1, #KEYS do
+                redis.call('incr', KEYS[i])
+                redis.call('expire', KEYS[i], ARGV[1])
+            end
+            return #KEYS
+            """;
+
+    /**
+     * 清除待提交标记的Lua脚本，计数归零时删除
+     * KEYS为待提交标记键
+     */
+    private static final String RELEASE_PENDING_LUA_SCRIPT = """
+            for i = 1, #KEYS do
+                if redis.call('decr', KEYS[i]) <= 0 then
+                    redis.call('del', KEYS[i])
+                end
+            end
+            return #KEYS
+            """;
+
+    private static final DefaultRedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(INCREMENT_LUA_SCRIPT, Long.class);
+    private static final DefaultRedisScript<Long> VERSION_SCRIPT = new DefaultRedisScript<>(VERSION_LUA_SCRIPT, Long.class);
+    private static final DefaultRedisScript<Long> STORE_SCRIPT = new DefaultRedisScript<>(STORE_LUA_SCRIPT, Long.class);
+    private static final DefaultRedisScript<Long> MARK_PENDING_SCRIPT = new DefaultRedisScript<>(MARK_PENDING_LUA_SCRIPT, Long.class);
+    private static final DefaultRedisScript<Long> RELEASE_PENDING_SCRIPT = new DefaultRedisScript<>(RELEASE_PENDING_LUA_SCRIPT, Long.class);
+
+    private static final String TOTAL_FIELD = "total";
+    private static final String READ_FIELD = "read";
+
+    /**
+     * 单次脚本调用处理的最大用户数
+     */
+    private static final int BATCH_SIZE = 500;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final SysMessageMapper sysMessageMapper;
+    private final UserMessageExtMapper userMessageExtMapper;
+
+    /**
+     * 计数过期时间（秒），过期后下次读取时重新从数据库统计
+     */
+    @Value("${app.message.counter.expire-time:86400}")
+    private long expireTime;
+
+    /**
+     * 校准间隔（秒），小于等于0表示不校准
+     */
+    @Value("${app.message.counter.reconcile-interval:600}")
+    private long reconcileInterval;
+
+    /**
+     * 待提交标记过期时间（秒），应大于发送、阅读等事务的最长执行时间
+     */
+    @Value("${app.message.counter.pending-timeout:300}")
+    private long pendingTimeout;
+
+    private ScheduledExecutorService reconcileExecutor;
+
+    @PostConstruct
+    public void init() {
+        if (reconcileInterval <= 0) {
+            log.info("用户消息计数校准未启用");
+            return;
+        }
+        this.reconcileExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "message-counter-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconcileExecutor.scheduleWithFixedDelay(this::reconcile, reconcileInterval, reconcileInterval, TimeUnit.SECONDS);
+        log.info("用户消息计数校准任务已启动 - 间隔: {}秒", reconcileInterval);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (reconcileExecutor != null) {
+            reconcileExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 获取用户消息数量统计，计数未缓存时从数据库统计并写入
+     *
+     * @param userId 用户ID
+     * @return 消息总数、已读数量与未读数量
+     */
+    public UserMessageReadCountDto getCount(Long userId) {
+        String key = counterKey(userId);
+        try {
+            List<Object> values = stringRedisTemplate.opsForHash().multiGet(key, List.of(TOTAL_FIELD, READ_FIELD));
+            if (values.get(0) != null && values.get(1) != null) {
+                return toCount(Long.parseLong((String) values.get(0)), Long.parseLong((String) values.get(1)));
+            }
+            Long version = stringRedisTemplate.execute(VERSION_SCRIPT, List.of(key, RedisConstants.Message.USER_COUNTER_INDEX),
+                    "1", String.valueOf(expireTime), String.valueOf(userId));
+            return loadAndStore(userId, version == null ? -1 : version);
+        } catch (Exception e) {
+            log.warn("读取用户消息计数失败，改为从数据库统计 - 用户ID: {}, 原因: {}", userId, e.getMessage());
+            return toCount(countTotal(userId), countRead(userId));
+        }
+    }
+
+    /**
+     * 新消息送达用户后增加消息总数，需要在写入消息记录的事务内调用
+     *
+     * @param userIds 接收消息的用户ID
+     */
+    public void increaseTotal(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        afterCommit(userIds.stream().map(this::pendingKey).toList(), () -> increment(userIds, TOTAL_FIELD, 1));
+    }
+
+    /**
+     * 全员消息发送后增加所有已缓存用户的消息总数，需要在写入消息的事务内调用
+     */
+    public void increaseTotalForAll() {
+        afterCommit(List.of(RedisConstants.Message.USER_COUNTER_PENDING_ALL),
+                () -> forEachIndexedUser(userIds -> increment(userIds, TOTAL_FIELD, 1)));
+    }
+
+    /**
+     * 调整用户的已读数量，需要在修改阅读记录的事务内调用
+     *
+     * @param userId 用户ID
+     * @param delta  变化量，标记已读为正数，标记未读为负数
+     */
+    public void changeRead(Long userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        afterCommit(List.of(pendingKey(userId)), () -> increment(List.of(userId), READ_FIELD, delta));
+    }
+
+    /**
+     * 消息被删除后清除所有已缓存的计数
+     * <p>
+     * 删除操作较少，而确定受影响的用户及其已读状态需要与统计同等的联表查询，因此直接清除，
+     * 下次读取时重新统计；正在进行的统计会因版本号不一致而放弃写入。
+     * </p>
+     */
+    public void invalidateAll() {
+        afterCommit(List.of(), () -> forEachIndexedUser(userIds ->
+                stringRedisTemplate.delete(userIds.stream().map(this::counterKey).toList())));
+    }
+
+    /**
+     * 按数据库统计结果校准所有已缓存的计数，同时清理已过期计数的索引
+     */
+    public void reconcile() {
+        long startTime = System.currentTimeMillis();
+        int[] result = new int[2];
+        try {
+            forEachIndexedUser(userIds -> {
+                List<String> expired = new ArrayList<>();
+                for (Long userId : userIds) {
+                    Long version = stringRedisTemplate.execute(VERSION_SCRIPT, List.of(counterKey(userId),
+                            RedisConstants.Message.USER_COUNTER_INDEX), "0");
+                    if (version == null || version < 0) {
+                        expired.add(String.valueOf(userId));
+                        continue;
+                    }
+                    loadAndStore(userId, version);
+                    result[0]++;
+                }
+                if (!expired.isEmpty()) {
+                    stringRedisTemplate.opsForSet().remove(RedisConstants.Message.USER_COUNTER_INDEX, expired.toArray());
+                    result[1] += expired.size();
+                }
+            });
+            log.debug("用户消息计数校准完成 - 校准: {}, 清理过期索引: {}, 耗时: {}ms",
+                    result[0], result[1], System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("用户消息计数校准失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 从数据库统计计数，没有待提交的变更且统计期间版本号未变化时写入Redis
+     */
+    private UserMessageReadCountDto loadAndStore(Long userId, long version) {
+        long total = countTotal(userId);
+        long read = countRead(userId);
+        if (version >= 0) {
+            stringRedisTemplate.execute(STORE_SCRIPT, List.of(counterKey(userId), pendingKey(userId),
+                            RedisConstants.Message.USER_COUNTER_PENDING_ALL), String.valueOf(version),
+                    String.valueOf(total), String.valueOf(read), String.valueOf(expireTime));
+        }
+        return toCount(total, read);
+    }
+
+    private void increment(Collection<Long> userIds, String field, long delta) {
+        if (userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        executeInBatches(INCREMENT_SCRIPT, userIds.stream().map(this::counterKey).toList(), field, String.valueOf(delta));
+    }
+
+    /**
+     * 按批执行脚本，每批最多 {@value #BATCH_SIZE} 个键
+     */
+    private void executeInBatches(DefaultRedisScript<Long> script, List<String> keys, String... args) {
+        for (int from = 0; from < keys.size(); from += BATCH_SIZE) {
+            stringRedisTemplate.execute(script, keys.subList(from, Math.min(from + BATCH_SIZE, keys.size())), (Object[]) args);
+        }
+    }
+
+    /**
+     * 分批遍历已缓存计数的用户
+     */
+    private void forEachIndexedUser(Consumer<List<Long>> consumer) {
+        ScanOptions options = ScanOptions.scanOptions().count(BATCH_SIZE).build();
+        try (Cursor<String> cursor = stringRedisTemplate.opsForSet().scan(RedisConstants.Message.USER_COUNTER_INDEX, options)) {
+            List<Long> batch = new ArrayList<>(BATCH_SIZE);
+            while (cursor.hasNext()) {
+                batch.add(Long.valueOf(cursor.next()));
+                if (batch.size() >= BATCH_SIZE) {
+                    consumer.accept(batch);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                consumer.accept(batch);
+            }
+        }
+    }
+
+    /**
+     * 存在事务时在事务提交后执行，保证计数变更不早于数据可见
+     * <p>
+     * 调用时立即设置待提交标记，事务结束后（提交时在执行变更之后，回滚时直接）清除。
+     * 没有事务时数据已经提交，只能缩短而无法消除提交与变更之间的窗口。
+     * </p>
+     *
+     * @param pendingKeys 待提交标记键
+     * @param action      计数变更
+     */
+    private void afterCommit(List<String> pendingKeys, Runnable action) {
+        runSafely(() -> executeInBatches(MARK_PENDING_SCRIPT, pendingKeys, String.valueOf(pendingTimeout)));
+        Runnable release = () -> runSafely(() -> executeInBatches(RELEASE_PENDING_SCRIPT, pendingKeys));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        runSafely(action);
+                    }
+                    release.run();
+                }
+            });
+        } else {
+            runSafely(action);
+            release.run();
+        }
+    }
+
+    private void runSafely(Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            // 计数变更失败不影响业务操作，偏差由定期校准修正
+            log.error("更新用户消息计数失败: {}", e.getMessage(), e);
+        }
+    }
+
+    private long countTotal(Long userId) {
+        return sysMessageMapper.getUserMessageCount(userId);
+    }
+
+    private long countRead(Long userId) {
+        return userMessageExtMapper.getReadMessageCount(userId);
+    }
+
+    private String counterKey(Long userId) {
+        return RedisConstants.Message.USER_COUNTER_KEY + userId;
+    }
+
+    private String pendingKey(Long userId) {
+        return RedisConstants.Message.USER_COUNTER_PENDING_KEY + userId;
+    }
+
+    private UserMessageReadCountDto toCount(long total, long read) {
+        return new UserMessageReadCountDto(total, read, Math.max(total - read, 0));
+    }
+}
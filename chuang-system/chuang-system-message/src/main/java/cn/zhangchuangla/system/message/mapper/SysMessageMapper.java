@@ -1,5 +1,6 @@
 package cn.zhangchuangla.system.message.mapper;
 
+import cn.zhangchuangla.common.core.entity.base.PageCursor;
 import cn.zhangchuangla.system.message.model.dto.AroundMessageIdDto;
 import cn.zhangchuangla.system.message.model.entity.SysMessage;
 import cn.zhangchuangla.system.message.model.request.SysMessageQueryRequest;
@@ -38,6 +39,20 @@ public interface SysMessageMapper extends BaseMapper<SysMessage> {
                                      @Param("userId") Long userId,
                                      @Param("request") UserMessageListQueryRequest request);
 
+    /**
+     * 游标分页查询用户可见消息，按创建时间和主键倒序，不统计总数
+     *
+     * @param userId  用户ID
+     * @param request 查询参数，isRead 不为空时按已读状态筛选
+     * @param cursor  上一页最后一条记录的位置，为null时查询第一页
+     * @param limit   查询条数
+     * @return 消息列表
+     */
+    List<SysMessage> listUserMessageByCursor(@Param("userId") Long userId,
+                                             @Param("request") UserMessageListQueryRequest request,
+                                             @Param("cursor") PageCursor cursor,
+                                             @Param("limit") int limit);
+
     /**
      * 根据用户ID分页查询系统消息表信息（已读消息）
      *
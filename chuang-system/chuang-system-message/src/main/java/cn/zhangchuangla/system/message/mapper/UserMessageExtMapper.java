@@ -4,6 +4,9 @@ import cn.zhangchuangla.system.message.model.entity.SysUserMessageExt;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Date;
+import java.util.List;
+
 /**
  * @author Chuang
  */
@@ -15,6 +18,37 @@ public interface UserMessageExtMapper extends BaseMapper<SysUserMessageExt> {
      * @return 已读消息数量
      */
     long getReadMessageCount(@Param("userId") Long userId);
+
+    /**
+     * 批量插入阅读记录，用户与消息已有记录时忽略
+     *
+     * @param records 阅读记录
+     * @return 实际插入的记录数
+     */
+    int insertIgnoreBatch(@Param("records") List<SysUserMessageExt> records);
+
+    /**
+     * 将未读的记录标记为已读
+     *
+     * @param userId         用户ID
+     * @param messageIds     消息ID集合
+     * @param now            当前时间
+     * @param recordReadTime 是否记录阅读时间
+     * @return 由未读变为已读的记录数
+     */
+    int markAsRead(@Param("userId") Long userId, @Param("messageIds") List<Long> messageIds,
+                   @Param("now") Date now, @Param("recordReadTime") boolean recordReadTime);
+
+    /**
+     * 将已读的记录标记为未读，保留阅读时间
+     *
+     * @param userId     用户ID
+     * @param messageIds 消息ID集合
+     * @param now        当前时间
+     * @return 由已读变为未读的记录数
+     */
+    int markAsUnread(@Param("userId") Long userId, @Param("messageIds") List<Long> messageIds,
+                     @Param("now") Date now);
 }
 
 
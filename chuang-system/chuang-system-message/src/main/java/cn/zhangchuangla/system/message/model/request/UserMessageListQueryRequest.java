@@ -47,5 +47,10 @@ public class UserMessageListQueryRequest extends BasePageRequest {
     @Schema(description = "发送者姓名", type = "string", example = "张三")
     private String senderName;
 
-
+    /**
+     * 游标分页位置，仅游标分页接口使用，格式为“创建时间毫秒时间戳,主键”，为空表示第一页
+     */
+    @Schema(description = "游标分页位置，格式为“创建时间毫秒时间戳,主键”，取自上一页返回的 nextCursor，为空表示第一页",
+            example = "1755330073000,1024", type = "string")
+    private String after;
 }
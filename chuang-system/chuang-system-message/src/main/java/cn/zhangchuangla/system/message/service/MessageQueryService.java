@@ -1,5 +1,6 @@
 package cn.zhangchuangla.system.message.service;
 
+import cn.zhangchuangla.common.core.entity.base.CursorPage;
 import cn.zhangchuangla.system.message.model.dto.UserMessageDto;
 import cn.zhangchuangla.system.message.model.dto.UserMessageReadCountDto;
 import cn.zhangchuangla.system.message.model.request.UserMessageListQueryRequest;
@@ -22,6 +23,14 @@ public interface MessageQueryService {
      */
     Page<UserMessageDto> listUserMessageList(UserMessageListQueryRequest request);
 
+    /**
+     * 游标分页获取用户消息列表，不统计总数
+     *
+     * @param request 查询参数，after 为上一页返回的游标
+     * @return 用户消息游标分页数据
+     */
+    CursorPage<UserMessageDto> listUserMessageByCursor(UserMessageListQueryRequest request);
+
     /**
      * 获取用户消息详情（自动标记为已读）
      *
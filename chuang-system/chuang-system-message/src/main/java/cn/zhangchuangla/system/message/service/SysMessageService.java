@@ -1,5 +1,6 @@
 package cn.zhangchuangla.system.message.service;
 
+import cn.zhangchuangla.common.core.entity.base.CursorPage;
 import cn.zhangchuangla.system.message.model.entity.SysMessage;
 import cn.zhangchuangla.system.message.model.request.SysMessageQueryRequest;
 import cn.zhangchuangla.system.message.model.request.SysMessageUpdateRequest;
@@ -97,6 +98,15 @@ public interface SysMessageService extends IService<SysMessage> {
      */
     Page<SysMessage> pageUserMessage(Page<SysMessage> sysMessagePage, Long userId, UserMessageListQueryRequest request);
 
+    /**
+     * 游标分页查询用户消息，不统计总数
+     *
+     * @param userId  用户ID
+     * @param request 查询参数，after 为上一页返回的游标
+     * @return 游标分页结果
+     */
+    CursorPage<SysMessage> listUserMessageByCursor(Long userId, UserMessageListQueryRequest request);
+
 
     /**
      * 分页查询用户已读消息
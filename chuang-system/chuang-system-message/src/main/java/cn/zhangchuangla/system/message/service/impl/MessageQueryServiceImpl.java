@@ -1,9 +1,11 @@
 package cn.zhangchuangla.system.message.service.impl;
 
+import cn.zhangchuangla.common.core.entity.base.CursorPage;
 import cn.zhangchuangla.common.core.enums.ResultCode;
 import cn.zhangchuangla.common.core.exception.ServiceException;
 import cn.zhangchuangla.common.core.utils.SecurityUtils;
 import cn.zhangchuangla.system.message.constant.MessageConstants;
+import cn.zhangchuangla.system.message.counter.UserMessageCounter;
 import cn.zhangchuangla.system.message.mapper.SysMessageMapper;
 import cn.zhangchuangla.system.message.model.bo.MessageReadStatusBo;
 import cn.zhangchuangla.system.message.model.dto.AroundMessageIdDto;
@@ -55,6 +57,7 @@ public class MessageQueryServiceImpl implements MessageQueryService {
     private final SysMessageMapper sysMessageMapper;
     private final UserMessageExtService userMessageExtService;
     private final UserMessageReadService userMessageReadService;
+    private final UserMessageCounter userMessageCounter;
 
     /**
      * 分页查询用户消息列表
@@ -84,6 +87,22 @@ public class MessageQueryServiceImpl implements MessageQueryService {
         return buildResultPage(messagePage, messageWithReadStatus);
     }
 
+    /**
+     * 游标分页查询用户消息列表
+     *
+     * <p>已读状态筛选在SQL中完成，不需要先加载用户全部已读消息ID；查询完成后同样填充每条消息的已读状态</p>
+     *
+     * @param request 查询参数，after 为上一页返回的游标
+     * @return 包含已读状态的用户消息游标分页结果
+     */
+    @Override
+    public CursorPage<UserMessageDto> listUserMessageByCursor(UserMessageListQueryRequest request) {
+        final Long currentUserId = SecurityUtils.getUserId();
+        CursorPage<SysMessage> messagePage = sysMessageService.listUserMessageByCursor(currentUserId, request);
+        List<UserMessageDto> records = buildMessageDtosWithReadStatus(messagePage.getRecords(), currentUserId);
+        return new CursorPage<>(messagePage.getSize(), messagePage.getNextCursor(), records);
+    }
+
     /**
      * 执行消息查询
      *
@@ -289,7 +308,7 @@ public class MessageQueryServiceImpl implements MessageQueryService {
      * 获取用户消息已读未读统计信息
      *
      * <p>统计当前用户的消息总数、已读数量和未读数量。
-     * 该方法会查询用户可见的所有消息进行统计。</p>
+     * 数量读取自Redis中维护的用户消息计数，计数不存在时才会查询数据库统计。</p>
      *
      * @return 用户消息已读未读统计信息
      * @throws ServiceException 当获取用户信息失败时抛出
@@ -299,23 +318,7 @@ public class MessageQueryServiceImpl implements MessageQueryService {
         final Long currentUserId = SecurityUtils.getUserId();
 
         try {
-            // 获取用户消息总数
-            long totalMessageCount = sysMessageService.getUserMessageCount(currentUserId);
-
-            // 如果用户没有任何消息，直接返回全零统计
-            if (totalMessageCount == 0L) {
-                return new UserMessageReadCountDto(0L, 0L, 0L);
-            }
-
-            // 获取已读消息数量
-            long readMessageCount = userMessageExtService.getReadMessageCount(currentUserId);
-
-            // 计算未读消息数量
-            long unreadMessageCount = totalMessageCount - readMessageCount;
-
-            return new UserMessageReadCountDto(
-                    totalMessageCount, readMessageCount, unreadMessageCount);
-
+            return userMessageCounter.getCount(currentUserId);
         } catch (Exception e) {
             throw new ServiceException(ResultCode.OPERATION_ERROR, "获取消息统计信息失败");
         }
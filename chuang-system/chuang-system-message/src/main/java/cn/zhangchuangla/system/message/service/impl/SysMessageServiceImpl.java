@@ -1,5 +1,7 @@
 package cn.zhangchuangla.system.message.service.impl;
 
+import cn.zhangchuangla.common.core.entity.base.CursorPage;
+import cn.zhangchuangla.common.core.entity.base.PageCursor;
 import cn.zhangchuangla.common.core.entity.security.SysUser;
 import cn.zhangchuangla.common.core.enums.ResultCode;
 import cn.zhangchuangla.common.core.exception.ParamException;
@@ -11,6 +13,7 @@ import cn.zhangchuangla.common.mq.production.MessageProducer;
 import cn.zhangchuangla.system.core.model.entity.SysUserRole;
 import cn.zhangchuangla.system.core.service.SysUserRoleService;
 import cn.zhangchuangla.system.core.service.SysUserService;
+import cn.zhangchuangla.system.message.counter.UserMessageCounter;
 import cn.zhangchuangla.system.message.enums.MessageReceiveTypeEnum;
 import cn.zhangchuangla.system.message.mapper.SysMessageMapper;
 import cn.zhangchuangla.system.message.model.dto.NewMessageNoticeDTO;
@@ -55,6 +58,7 @@ public class SysMessageServiceImpl extends ServiceImpl<SysMessageMapper, SysMess
     private final MessageProducer messageProducer;
     private final SysUserMessageService sysUserMessageService;
     private final MessagePushService messagePushService;
+    private final UserMessageCounter userMessageCounter;
 
     /**
      * 分页查询系统消息表
@@ -116,7 +120,11 @@ public class SysMessageServiceImpl extends ServiceImpl<SysMessageMapper, SysMess
      */
     @Override
     public boolean deleteSysMessageByIds(List<Long> ids) {
-        return removeByIds(ids);
+        boolean removed = removeByIds(ids);
+        if (removed) {
+            userMessageCounter.invalidateAll();
+        }
+        return removed;
     }
 
     /**
@@ -271,6 +279,7 @@ public class SysMessageServiceImpl extends ServiceImpl<SysMessageMapper, SysMess
             removeById(sysMessage.getId());
             throw new ServiceException("角色消息关联保存失败");
         }
+        userMessageCounter.increaseTotal(targetUserIds);
 
         // 点对点发送给拥有指定角色的用户
         NewMessageNoticeDTO notice = buildNotice(sysMessage);
@@ -327,6 +336,7 @@ public class SysMessageServiceImpl extends ServiceImpl<SysMessageMapper, SysMess
             removeById(sysMessage.getId());
             throw new ServiceException("部门消息关联保存失败");
         }
+        userMessageCounter.increaseTotal(targetUserIds);
 
         // 点对点发送给属于指定部门的用户
         NewMessageNoticeDTO notice = buildNotice(sysMessage);
@@ -350,6 +360,7 @@ public class SysMessageServiceImpl extends ServiceImpl<SysMessageMapper, SysMess
         // 发送给全部用户无需设置用户消息对应表，直接保存消息即可
         boolean ok = save(sysMessage);
         if (ok) {
+            userMessageCounter.increaseTotalForAll();
             NewMessageNoticeDTO notice = buildNotice(sysMessage);
             // 只给已认证的用户发送全员消息
             messagePushService.pushMessageNotifyToAllUser(notice);
@@ -414,6 +425,22 @@ public class SysMessageServiceImpl extends ServiceImpl<SysMessageMapper, SysMess
         return sysMessageMapper.pageUserMessage(sysMessagePage, userId, request);
     }
 
+    /**
+     * 游标分页查询用户消息
+     *
+     * @param userId  用户ID
+     * @param request 查询参数
+     * @return 游标分页结果
+     */
+    @Override
+    public CursorPage<SysMessage> listUserMessageByCursor(Long userId, UserMessageListQueryRequest request) {
+        int size = Math.max(request.getPageSize(), 1);
+        PageCursor cursor = PageCursor.parse(request.getAfter());
+        // 多取一条用于判断是否存在下一页
+        List<SysMessage> records = sysMessageMapper.listUserMessageByCursor(userId, request, cursor, size + 1);
+        return CursorPage.of(records, size, message -> new PageCursor(message.getCreateTime(), message.getId()));
+    }
+
     /**
      * 分页查询用户已读消息
      *
@@ -461,7 +488,11 @@ public class SysMessageServiceImpl extends ServiceImpl<SysMessageMapper, SysMess
     @Override
     @Transactional(rollbackFor = Exception.class)
     public boolean deleteMessages(List<Long> ids) {
-        return removeBatchByIds(ids);
+        boolean removed = removeBatchByIds(ids);
+        if (removed) {
+            userMessageCounter.invalidateAll();
+        }
+        return removed;
     }
 
     /**
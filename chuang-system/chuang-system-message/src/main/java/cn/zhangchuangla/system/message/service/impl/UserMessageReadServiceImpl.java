@@ -2,17 +2,17 @@ package cn.zhangchuangla.system.message.service.impl;
 
 import cn.zhangchuangla.common.core.exception.ParamException;
 import cn.zhangchuangla.system.message.constant.MessageConstants;
+import cn.zhangchuangla.system.message.counter.UserMessageCounter;
 import cn.zhangchuangla.system.message.mapper.UserMessageExtMapper;
 import cn.zhangchuangla.system.message.model.entity.SysUserMessageExt;
 import cn.zhangchuangla.system.message.service.UserMessageReadService;
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -29,6 +29,8 @@ import java.util.stream.Collectors;
 public class UserMessageReadServiceImpl extends ServiceImpl<UserMessageExtMapper, SysUserMessageExt>
         implements UserMessageReadService {
 
+    private final UserMessageCounter userMessageCounter;
+
     /**
      * 真实阅读单个消息（用户实际查看消息内容）
      * 会记录首次和最后阅读时间
@@ -58,25 +60,17 @@ public class UserMessageReadServiceImpl extends ServiceImpl<UserMessageExtMapper
             throw new ParamException("参数错误");
         }
 
-        // 查询已存在的记录
-        List<SysUserMessageExt> existingRecords = lambdaQuery()
-                .eq(SysUserMessageExt::getUserId, userId)
-                .in(SysUserMessageExt::getMessageId, messageIds)
-                .list();
-
-        // 处理不存在的 messageId
-        List<Long> newMessageIds = new ArrayList<>(messageIds);
-        if (!existingRecords.isEmpty()) {
-            newMessageIds.removeAll(existingRecords.stream()
-                    .map(SysUserMessageExt::getMessageId)
-                    .toList());
-        }
-
         Date now = new Date();
+        List<Long> existingMessageIds = listExistingMessageIds(userId, messageIds);
+        List<Long> newMessageIds = messageIds.stream()
+                .filter(messageId -> !existingMessageIds.contains(messageId))
+                .distinct()
+                .toList();
 
-        // 创建新记录
+        // 计数只按实际插入和由未读变为已读的行数调整，并发阅读同一消息时只有一次生效
         List<SysUserMessageExt> toCreate = newMessageIds.stream()
                 .map(messageId -> SysUserMessageExt.builder()
+                        .id(IdWorker.getId())
                         .userId(userId)
                         .messageId(messageId)
                         .isRead(MessageConstants.StatusConstants.MESSAGE_IS_READ)
@@ -86,37 +80,23 @@ public class UserMessageReadServiceImpl extends ServiceImpl<UserMessageExtMapper
                         .updateTime(now)
                         .build())
                 .collect(Collectors.toList());
+        int created = toCreate.isEmpty() ? 0 : baseMapper.insertIgnoreBatch(toCreate);
 
-        // 保存新记录
-        if (!toCreate.isEmpty() && !saveBatch(toCreate)) {
-            log.error("批量保存真实阅读记录失败: userId={}, messageIds={}", userId, newMessageIds);
-            return false;
-        }
-
-        // 更新已存在记录（如果需要）
-        if (!existingRecords.isEmpty()) {
-            boolean updated = existingRecords.stream().allMatch(record -> {
-                record.setIsRead(MessageConstants.StatusConstants.MESSAGE_IS_READ);
-                record.setUpdateTime(now);
-
-                // 只更新首次阅读时间，如果它尚未设置
-                if (record.getFirstReadTime() == null) {
-                    record.setFirstReadTime(now);
-                }
-
-                record.setLastReadTime(now);
-                return updateById(record);
-            });
-
-            if (!updated) {
-                log.warn("部分已有消息记录更新阅读状态失败: userId={}, messageIds={}", userId,
-                        existingRecords.stream().map(SysUserMessageExt::getMessageId).collect(Collectors.toList()));
-                // 根据业务需求决定是否返回false
-            }
+        int updated = 0;
+        if (!existingMessageIds.isEmpty()) {
+            // 未读记录改为已读并补充首次阅读时间，已读记录只刷新最后阅读时间
+            updated = baseMapper.markAsRead(userId, existingMessageIds, now, true);
+            lambdaUpdate()
+                    .eq(SysUserMessageExt::getUserId, userId)
+                    .in(SysUserMessageExt::getMessageId, existingMessageIds)
+                    .set(SysUserMessageExt::getLastReadTime, now)
+                    .set(SysUserMessageExt::getUpdateTime, now)
+                    .update();
         }
 
+        userMessageCounter.changeRead(userId, created + updated);
         log.info("真实阅读操作完成: userId={}, total={}, created={}, updated={}",
-                userId, messageIds.size(), toCreate.size(), existingRecords.size());
+                userId, messageIds.size(), created, updated);
         return true;
     }
 
@@ -136,57 +116,30 @@ public class UserMessageReadServiceImpl extends ServiceImpl<UserMessageExtMapper
         }
 
         Date now = new Date();
+        List<Long> existingMessageIds = listExistingMessageIds(userId, messageIds);
 
-        // 查询用户已有的阅读记录
-        List<Long> existingMessageIds = this.lambdaQuery()
-                .eq(SysUserMessageExt::getUserId, userId)
-                .in(SysUserMessageExt::getMessageId, messageIds)
-                .list()
-                .stream()
-                .map(SysUserMessageExt::getMessageId)
-                .collect(Collectors.toList());
-
-        // 更新已存在的记录为已读状态（不修改阅读时间）
-        if (!existingMessageIds.isEmpty()) {
-            boolean updateResult = this.lambdaUpdate()
-                    .eq(SysUserMessageExt::getUserId, userId)
-                    .in(SysUserMessageExt::getMessageId, existingMessageIds)
-                    .set(SysUserMessageExt::getIsRead, 1)
-                    .set(SysUserMessageExt::getUpdateTime, now)
-                    // 注意：批量标记不修改 firstReadTime 和 lastReadTime
-                    .update();
-
-            if (!updateResult) {
-                log.error("批量更新已读状态失败: userId={}, messageIds={}", userId, existingMessageIds);
-                return false;
-            }
-        }
+        // 更新已存在的未读记录为已读状态（不修改阅读时间）
+        int updated = existingMessageIds.isEmpty() ? 0 : baseMapper.markAsRead(userId, existingMessageIds, now, false);
 
         // 为不存在的消息创建新的已读记录（不设置阅读时间）
-        List<Long> newMessageIds = messageIds.stream()
+        List<SysUserMessageExt> newRecords = messageIds.stream()
                 .filter(id -> !existingMessageIds.contains(id))
+                .distinct()
+                .map(messageId -> SysUserMessageExt.builder()
+                        .id(IdWorker.getId())
+                        .userId(userId)
+                        .messageId(messageId)
+                        .isRead(MessageConstants.StatusConstants.MESSAGE_IS_READ)
+                        // 注意：批量标记不设置 firstReadTime 和 lastReadTime
+                        .createTime(now)
+                        .updateTime(now)
+                        .build())
                 .collect(Collectors.toList());
+        int created = newRecords.isEmpty() ? 0 : baseMapper.insertIgnoreBatch(newRecords);
 
-        if (!newMessageIds.isEmpty()) {
-            List<SysUserMessageExt> newRecords = newMessageIds.stream()
-                    .map(messageId -> SysUserMessageExt.builder()
-                            .userId(userId)
-                            .messageId(messageId)
-                            .isRead(1)
-                            // 注意：批量标记不设置 firstReadTime 和 lastReadTime
-                            .createTime(now)
-                            .updateTime(now)
-                            .build())
-                    .collect(Collectors.toList());
-
-            if (!this.saveBatch(newRecords)) {
-                log.error("批量保存已读记录失败: userId={}, messageIds={}", userId, newMessageIds);
-                return false;
-            }
-        }
-
+        userMessageCounter.changeRead(userId, updated + created);
         log.info("批量标记消息已读完成: userId={}, totalCount={}, updated={}, created={}",
-                userId, messageIds.size(), existingMessageIds.size(), newMessageIds.size());
+                userId, messageIds.size(), updated, created);
 
         return true;
     }
@@ -219,20 +172,30 @@ public class UserMessageReadServiceImpl extends ServiceImpl<UserMessageExtMapper
         }
 
         // 将已读状态设置为未读，但保留阅读时间记录（用于数据分析）
-        boolean result = lambdaUpdate()
-                .eq(SysUserMessageExt::getUserId, userId)
-                .in(SysUserMessageExt::getMessageId, messageIds)
-                .set(SysUserMessageExt::getIsRead, MessageConstants.StatusConstants.MESSAGE_UN_READ)
-                .set(SysUserMessageExt::getUpdateTime, new Date())
-                .update();
+        int changed = baseMapper.markAsUnread(userId, messageIds, new Date());
+        // 消息原本就是未读时同样视为成功
+        boolean result = changed > 0 || !listExistingMessageIds(userId, messageIds).isEmpty();
 
-        new LambdaQueryWrapper<SysUserMessageExt>().eq(SysUserMessageExt::getUserId, userId)
-                .in(SysUserMessageExt::getMessageId, messageIds);
+        userMessageCounter.changeRead(userId, -changed);
 
         log.info("批量标记消息未读: userId={}, messageIds={}, result={}", userId, messageIds, result);
         return result;
     }
 
+    /**
+     * 查询用户已有阅读记录的消息ID
+     */
+    private List<Long> listExistingMessageIds(Long userId, List<Long> messageIds) {
+        return lambdaQuery()
+                .select(SysUserMessageExt::getMessageId)
+                .eq(SysUserMessageExt::getUserId, userId)
+                .in(SysUserMessageExt::getMessageId, messageIds)
+                .list()
+                .stream()
+                .map(SysUserMessageExt::getMessageId)
+                .toList();
+    }
+
     /**
      * 检查用户是否已读指定消息
      *
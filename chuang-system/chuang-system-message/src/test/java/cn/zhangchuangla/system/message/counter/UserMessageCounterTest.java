@@ -0,0 +1,391 @@
+package cn.zhangchuangla.system.message.counter;
+
+import cn.zhangchuangla.common.mq.dto.MessageSendDTO;
+import cn.zhangchuangla.common.redis.constant.RedisConstants;
+import cn.zhangchuangla.system.message.consumer.MessageBusinessConsumer;
+import cn.zhangchuangla.system.message.mapper.SysMessageMapper;
+import cn.zhangchuangla.system.message.mapper.UserMessageExtMapper;
+import cn.zhangchuangla.system.message.model.dto.UserMessageReadCountDto;
+import cn.zhangchuangla.system.message.service.SysUserMessageService;
+import com.alibaba.fastjson.JSON;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 用户消息计数器测试
+ * <p>
+ * 数据库与Redis均为内存模拟：数据库按已提交数据统计，阅读状态的条件更新持有行锁直到提交，
+ * 与 InnoDB 的当前读一致；Redis按脚本内容识别并用Java实现相同逻辑，所有脚本串行执行。
+ * 事务提交与提交后回调之间留有间隙，用于覆盖统计结果与增量重复计数的窗口。
+ * </p>
+ *
+ * @author Chuang
+ */
+class UserMessageCounterTest {
+
+    private final SimulatedRedis redis = new SimulatedRedis();
+
+    private final MessageDatabase database = new MessageDatabase();
+
+    private final UserMessageCounter counter = new UserMessageCounter(redis, database.sysMessageMapper(),
+            database.userMessageExtMapper());
+
+    {
+        setField(counter, "expireTime", 86400L);
+        setField(counter, "pendingTimeout", 300L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testRecountBetweenCommitAndIncrementNotDoubleCounted() {
+        long userId = 1L;
+        counter.getCount(userId);
+
+        // 计数过期后，统计恰好发生在发送事务提交之后、增量执行之前
+        redis.delete(RedisConstants.Message.USER_COUNTER_KEY + userId);
+        inTransaction(() -> counter.increaseTotal(List.of(userId)),
+                () -> database.send(userId),
+                () -> assertEquals(1, counter.getCount(userId).getTotal()));
+
+        assertEquals(1, counter.getCount(userId).getTotal());
+        assertEquals(1, redis.field(userId, "total"));
+        assertFalse(redis.hasPendingKeys(), "事务结束后待提交标记应被清除");
+    }
+
+    @Test
+    void testRollbackReleasesPendingWithoutIncrement() {
+        long userId = 1L;
+        counter.getCount(userId);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counter.increaseTotal(List.of(userId));
+            assertTrue(redis.hasPendingKeys());
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(redis.hasPendingKeys());
+        assertEquals(0, redis.field(userId, "total"));
+        // 标记清除后统计结果可以正常写入
+        redis.delete(RedisConstants.Message.USER_COUNTER_KEY + userId);
+        counter.getCount(userId);
+        assertEquals(0, redis.field(userId, "total"));
+    }
+
+    @Test
+    void testConcurrentSendAndReadConsistentWithDatabase() throws Exception {
+        List<Long> userIds = List.of(1L, 2L, 3L, 4L);
+        userIds.forEach(counter::getCount);
+        int threads = 8;
+        int rounds = 200;
+        int operations = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+
+        try {
+            for (int round = 0; round < rounds; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    int role = t;
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (int i = 0; i < operations; i++) {
+                            long userId = userIds.get(random.nextInt(userIds.size()));
+                            switch ((role + i) % 4) {
+                                case 0, 1 -> inTransaction(() -> counter.increaseTotal(List.of(userId)),
+                                        () -> database.send(userId), null);
+                                case 2 -> database.changeRead(userId, true, counter);
+                                default -> database.changeRead(userId, random.nextInt(4) != 0, counter);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                // 每轮为每个用户清除一次计数，迫使统计与发送、阅读并发执行
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<Long> shuffled = new ArrayList<>(userIds);
+                    Collections.shuffle(shuffled);
+                    for (Long userId : shuffled) {
+                        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(200_000));
+                        redis.delete(RedisConstants.Message.USER_COUNTER_KEY + userId);
+                        counter.getCount(userId);
+                    }
+                    return null;
+                }));
+
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(60, TimeUnit.SECONDS);
+                }
+
+                // 本轮的偏差不会被下一轮清除，逐轮核对
+                assertFalse(redis.hasPendingKeys());
+                for (Long userId : userIds) {
+                    UserMessageReadCountDto count = counter.getCount(userId);
+                    assertEquals(database.total(userId), count.getTotal(), "第" + round + "轮用户" + userId + "消息总数");
+                    assertEquals(database.read(userId), count.getRead(), "第" + round + "轮用户" + userId + "已读数量");
+                    assertEquals(database.total(userId), redis.field(userId, "total"));
+                    assertEquals(database.read(userId), redis.field(userId, "read"));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailedSaveDoesNotIncreaseTotal() {
+        long userId = 1L;
+        counter.getCount(userId);
+        SysUserMessageService failingService = (SysUserMessageService) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{SysUserMessageService.class},
+                (proxy, method, args) -> "saveBatch".equals(method.getName()) ? false : null);
+        MessageBusinessConsumer consumer = new MessageBusinessConsumer(failingService, counter);
+        String message = JSON.toJSONString(MessageSendDTO.builder()
+                .messageId(100L)
+                .sendMethod("user")
+                .userIds(List.of(userId))
+                .build());
+
+        assertThrows(RuntimeException.class, () -> consumer.handleUserMessageBatch(message));
+
+        assertEquals(0, redis.field(userId, "total"));
+        assertFalse(redis.hasPendingKeys());
+    }
+
+    /**
+     * 模拟事务：执行业务并登记提交回调，提交数据后在回调前执行 beforeCallbacks，最后按提交状态触发回调
+     */
+    private static void inTransaction(Runnable body, Runnable commit, Runnable beforeCallbacks) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            body.run();
+            commit.run();
+            if (beforeCallbacks != null) {
+                beforeCallbacks.run();
+            }
+            // 提交与提交后回调之间的间隙
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(100_000));
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 内存数据库，统计只读取已提交的数据
+     */
+    private static final class MessageDatabase {
+
+        private final Map<Long, Queue<MessageRow>> messages = new ConcurrentHashMap<>();
+
+        void send(long userId) {
+            messages.computeIfAbsent(userId, id -> new ConcurrentLinkedQueue<>())
+                    .add(new MessageRow());
+        }
+
+        /**
+         * 按条件更新修改一条消息的阅读状态，行锁持有到事务提交
+         */
+        void changeRead(long userId, boolean read, UserMessageCounter counter) {
+            List<MessageRow> rows = new ArrayList<>(messages.getOrDefault(userId, new ConcurrentLinkedQueue<>()));
+            if (rows.isEmpty()) {
+                return;
+            }
+            MessageRow row = rows.get(ThreadLocalRandom.current().nextInt(rows.size()));
+            row.lock.lock();
+            try {
+                int affected = row.read == read ? 0 : 1;
+                inTransaction(() -> counter.changeRead(userId, read ? affected : -affected),
+                        () -> row.read = read, null);
+            } finally {
+                row.lock.unlock();
+            }
+        }
+
+        long total(long userId) {
+            return messages.getOrDefault(userId, new ConcurrentLinkedQueue<>()).size();
+        }
+
+        long read(long userId) {
+            return messages.getOrDefault(userId, new ConcurrentLinkedQueue<>()).stream().filter(row -> row.read).count();
+        }
+
+        SysMessageMapper sysMessageMapper() {
+            return mapper(SysMessageMapper.class, "getUserMessageCount", this::total);
+        }
+
+        UserMessageExtMapper userMessageExtMapper() {
+            return mapper(UserMessageExtMapper.class, "getReadMessageCount", this::read);
+        }
+
+        /**
+         * 统计前后稍作停顿，拉长统计与提交交错的窗口
+         */
+        @SuppressWarnings("unchecked")
+        private static <T> T mapper(Class<T> type, String methodName, LongUnaryOperator count) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (!methodName.equals(method.getName())) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(50_000));
+                long result = count.applyAsLong((Long) args[0]);
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(50_000));
+                return result;
+            });
+        }
+
+        private static final class MessageRow {
+
+            private final ReentrantLock lock = new ReentrantLock();
+            private volatile boolean read;
+        }
+    }
+
+    /**
+     * 模拟Redis，按脚本内容识别计数器的各个脚本
+     */
+    private static final class SimulatedRedis extends StringRedisTemplate {
+
+        private final Map<String, Map<String, String>> hashes = new HashMap<>();
+        private final Map<String, Long> values = new HashMap<>();
+        private final Set<String> index = new HashSet<>();
+
+        synchronized long field(long userId, String field) {
+            Map<String, String> hash = hashes.get(RedisConstants.Message.USER_COUNTER_KEY + userId);
+            assertNotNull(hash, "计数未缓存");
+            return Long.parseLong(hash.get(field));
+        }
+
+        synchronized boolean hasPendingKeys() {
+            return !values.isEmpty();
+        }
+
+        @Override
+        public synchronized Boolean delete(String key) {
+            return hashes.remove(key) != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <HK, HV> HashOperations<String, HK, HV> opsForHash() {
+            return (HashOperations<String, HK, HV>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{HashOperations.class}, (proxy, method, args) -> {
+                        if (!"multiGet".equals(method.getName())) {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                        synchronized (this) {
+                            Map<String, String> hash = hashes.getOrDefault((String) args[0], Map.of());
+                            return ((Collection<?>) args[1]).stream().map(hash::get).toList();
+                        }
+                    });
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+            String source = script.getScriptAsString();
+            Long result;
+            if (source.contains("'hincrby', key, 'version'")) {
+                result = increment(keys, args);
+            } else if (source.contains("'sadd'")) {
+                result = version(keys, args);
+            } else if (source.contains("'hset', KEYS[1], 'total'")) {
+                result = store(keys, args);
+            } else if (source.contains("'incr'")) {
+                keys.forEach(key -> values.merge(key, 1L, Long::sum));
+                result = (long) keys.size();
+            } else if (source.contains("'decr'")) {
+                keys.forEach(key -> values.computeIfPresent(key, (k, v) -> v - 1 <= 0 ? null : v - 1));
+                result = (long) keys.size();
+            } else {
+                throw new UnsupportedOperationException(source);
+            }
+            return (T) result;
+        }
+
+        private long increment(List<String> keys, Object[] args) {
+            String field = args[0].toString();
+            long delta = Long.parseLong(args[1].toString());
+            long updated = 0;
+            for (String key : keys) {
+                Map<String, String> hash = hashes.get(key);
+                if (hash == null) {
+                    continue;
+                }
+                hash.merge("version", "1", (a, b) -> String.valueOf(Long.parseLong(a) + 1));
+                if (hash.containsKey(field)) {
+                    hash.put(field, String.valueOf(Math.max(Long.parseLong(hash.get(field)) + delta, 0)));
+                    updated++;
+                }
+            }
+            return updated;
+        }
+
+        private long version(List<String> keys, Object[] args) {
+            Map<String, String> hash = hashes.get(keys.get(0));
+            if (hash != null) {
+                return Long.parseLong(hash.get("version"));
+            }
+            if (!"1".equals(args[0].toString())) {
+                return -1;
+            }
+            hashes.put(keys.get(0), new HashMap<>(Map.of("version", "0")));
+            index.add(args[2].toString());
+            return 0;
+        }
+
+        private long store(List<String> keys, Object[] args) {
+            if (values.containsKey(keys.get(1)) || values.containsKey(keys.get(2))) {
+                return 0;
+            }
+            Map<String, String> hash = hashes.get(keys.get(0));
+            if (hash == null || !args[0].toString().equals(hash.get("version"))) {
+                return 0;
+            }
+            hash.put("total", args[1].toString());
+            hash.put("read", args[2].toString());
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ 游标分页与 OFFSET 分页对比脚本（MySQL 8.0.18+）
+
+ 在独立的测试表中生成 100 万条操作日志，对比第 1 页与第 10000 页（每页 20 条）两种分页方式的执行计划与耗时。
+ EXPLAIN ANALYZE 会实际执行查询，输出中的 actual time 即为各步骤耗时，rows 为实际扫描行数。
+ 脚本只读写 bench_operation_log，不影响业务表，执行完毕后删除测试表。
+
+ 已有数据库升级时，需先补充 echo_pro.sql 中新增的索引：
+   ALTER TABLE sys_operation_log ADD KEY idx_create_time_id (create_time, id),
+                                 ADD KEY idx_user_id_create_time (user_id, create_time, id);
+   ALTER TABLE sys_login_log ADD KEY idx_login_time_id (login_time, id);
+   ALTER TABLE sys_message ADD KEY idx_deleted_create_time_id (is_deleted, create_time, id);
+   ALTER TABLE user_message_ext ADD KEY idx_user_message_read (user_id, message_id, is_read);
+*/
+
+DROP TABLE IF EXISTS `bench_operation_log`;
+CREATE TABLE `bench_operation_log` LIKE `sys_operation_log`;
+
+-- ----------------------------
+-- 生成测试数据：100 万条，每 3 条记录共用同一毫秒时间以覆盖同一时间多条记录的情况
+-- ----------------------------
+SET SESSION cte_max_recursion_depth = 1000000;
+INSERT INTO `bench_operation_log` (`user_id`, `user_name`, `module`, `operation_status`, `request_method`,
+                                   `operation_ip`, `operation_type`, `request_url`, `cost_time`, `create_time`)
+WITH RECURSIVE seq (n) AS (SELECT 1
+                           UNION ALL
+                           SELECT n + 1
+                           FROM seq
+                           WHERE n < 1000000)
+SELECT n % 100 + 1,
+       CONCAT('user', n % 100 + 1),
+       ELT(n % 4 + 1, '用户管理', '角色管理', '菜单管理', '字典管理'),
+       n % 3,
+       ELT(n % 4 + 1, 'GET', 'POST', 'PUT', 'DELETE'),
+       CONCAT('192.168.', n % 255, '.', n % 200),
+       ELT(n % 3 + 1, 'CREATE', 'UPDATE', 'DELETE'),
+       CONCAT('/system/resource/', n % 1000),
+       n % 500,
+       TIMESTAMP('2025-01-01 00:00:00') + INTERVAL (n - n % 3) * 1000 MICROSECOND
+FROM seq;
+ANALYZE TABLE `bench_operation_log`;
+
+-- ----------------------------
+-- OFFSET 分页：总数统计 + 第 1 页 + 第 10000 页
+-- ----------------------------
+EXPLAIN ANALYZE
+SELECT COUNT(*)
+FROM `bench_operation_log`;
+
+EXPLAIN ANALYZE
+SELECT `id`, `user_name`, `module`, `operation_status`, `request_method`, `operation_ip`, `create_time`
+FROM `bench_operation_log`
+ORDER BY `create_time` DESC, `id` DESC
+LIMIT 0, 20;
+
+EXPLAIN ANALYZE
+SELECT `id`, `user_name`, `module`, `operation_status`, `request_method`, `operation_ip`, `create_time`
+FROM `bench_operation_log`
+ORDER BY `create_time` DESC, `id` DESC
+LIMIT 199980, 20;
+
+-- ----------------------------
+-- 游标分页：第 1 页 + 第 10000 页（游标取第 9999 页最后一条记录，与客户端逐页翻到此处时收到的 nextCursor 相同）
+-- ----------------------------
+EXPLAIN ANALYZE
+SELECT `id`, `user_name`, `module`, `operation_status`, `request_method`, `operation_ip`, `create_time`
+FROM `bench_operation_log`
+ORDER BY `create_time` DESC, `id` DESC
+LIMIT 21;
+
+SELECT `create_time`, `id`
+INTO @cursor_time, @cursor_id
+FROM `bench_operation_log`
+ORDER BY `create_time` DESC, `id` DESC
+LIMIT 199979, 1;
+
+EXPLAIN ANALYZE
+SELECT `id`, `user_name`, `module`, `operation_status`, `request_method`, `operation_ip`, `create_time`
+FROM `bench_operation_log`
+WHERE `create_time` <= @cursor_time
+  AND (`create_time` < @cursor_time OR `id` < @cursor_id)
+ORDER BY `create_time` DESC, `id` DESC
+LIMIT 21;
+
+-- ----------------------------
+-- 带用户筛选的游标分页，使用 idx_user_id_create_time
+-- ----------------------------
+EXPLAIN ANALYZE
+SELECT `id`, `user_name`, `module`, `operation_status`, `request_method`, `operation_ip`, `create_time`
+FROM `bench_operation_log`
+WHERE `user_id` = 1
+  AND `create_time` <= @cursor_time
+  AND (`create_time` < @cursor_time OR `id` < @cursor_id)
+ORDER BY `create_time` DESC, `id` DESC
+LIMIT 21;
+
+-- ----------------------------
+-- 一致性检查：游标第 10000 页与 OFFSET 第 10000 页应返回相同的记录，结果为 0 表示一致
+-- ----------------------------
+SELECT COUNT(*) AS mismatched
+FROM (SELECT `id`
+      FROM `bench_operation_log`
+      ORDER BY `create_time` DESC, `id` DESC
+      LIMIT 199980, 20) offset_page
+         LEFT JOIN (SELECT `id`
+                    FROM `bench_operation_log`
+                    WHERE `create_time` <= @cursor_time
+                      AND (`create_time` < @cursor_time OR `id` < @cursor_id)
+                    ORDER BY `create_time` DESC, `id` DESC
+                    LIMIT 20) cursor_page ON offset_page.id = cursor_page.id
+WHERE cursor_page.id IS NULL;
+
+DROP TABLE IF EXISTS `bench_operation_log`;
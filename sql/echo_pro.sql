@@ -383,7 +383,8 @@ CREATE TABLE `sys_login_log`
     `os`         varchar(255) DEFAULT NULL COMMENT '操作系统',
     `login_time` datetime     DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     `create_by`  varchar(100) DEFAULT NULL COMMENT '创建人',
-    PRIMARY KEY (`id`)
+    PRIMARY KEY (`id`),
+    KEY `idx_login_time_id` (`login_time`, `id`)
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8mb4
   COLLATE = utf8mb4_0900_ai_ci COMMENT ='系统登录日志';
@@ -1356,7 +1357,8 @@ CREATE TABLE `sys_message`
     KEY `idx_target_type` (`target_type`),
     KEY `idx_publish_time` (`publish_time`),
     KEY `idx_create_time` (`create_time`),
-    KEY `idx_is_deleted` (`is_deleted`)
+    KEY `idx_is_deleted` (`is_deleted`),
+    KEY `idx_deleted_create_time_id` (`is_deleted`, `create_time`, `id`)
 ) ENGINE = InnoDB
   AUTO_INCREMENT = 3
   DEFAULT CHARSET = utf8mb4
@@ -1432,7 +1434,9 @@ CREATE TABLE `sys_operation_log`
     `error_msg`        text COMMENT '错误信息',
     `cost_time`        bigint               DEFAULT NULL COMMENT '耗时（毫秒）',
     `create_time`      datetime(6)          DEFAULT NULL COMMENT '操作时间',
-    PRIMARY KEY (`id`)
+    PRIMARY KEY (`id`),
+    KEY `idx_create_time_id` (`create_time`, `id`),
+    KEY `idx_user_id_create_time` (`user_id`, `create_time`, `id`)
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8mb4
   COLLATE = utf8mb4_0900_ai_ci COMMENT ='操作日志表';
@@ -2122,7 +2126,9 @@ CREATE TABLE `user_message_ext`
     `last_read_time`  datetime       DEFAULT NULL COMMENT '最近一次阅读时间 ',
     `create_time`     timestamp NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     `update_time`     timestamp NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
-    PRIMARY KEY (`id`)
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_user_message` (`user_id`, `message_id`),
+    KEY `idx_user_message_read` (`user_id`, `message_id`, `is_read`)
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8mb4
   COLLATE = utf8mb4_0900_ai_ci COMMENT ='用户-消息扩展表 ';